@@ -1,16 +1,57 @@
 package de.seuhd.campuscoffee.api.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.seuhd.campuscoffee.api.converter.PosFieldsResponseBodyAdvice;
+import de.seuhd.campuscoffee.api.converter.PosRepresentation;
+import de.seuhd.campuscoffee.api.dtos.DuplicatePosGroupDto;
+import de.seuhd.campuscoffee.api.dtos.NearbyPosDto;
+import de.seuhd.campuscoffee.api.dtos.OsmExtractImportReportDto;
+import de.seuhd.campuscoffee.api.dtos.OsmImportReportDto;
+import de.seuhd.campuscoffee.api.dtos.OsmSyncReportDto;
 import de.seuhd.campuscoffee.api.dtos.PosDto;
+import de.seuhd.campuscoffee.api.mapper.DuplicatePosGroupDtoMapper;
+import de.seuhd.campuscoffee.api.mapper.NearbyPosDtoMapper;
+import de.seuhd.campuscoffee.api.mapper.OsmExtractImportReportDtoMapper;
+import de.seuhd.campuscoffee.api.mapper.OsmImportReportDtoMapper;
+import de.seuhd.campuscoffee.api.mapper.OsmSyncReportDtoMapper;
 import de.seuhd.campuscoffee.api.mapper.PosDtoMapper;
+import de.seuhd.campuscoffee.domain.exceptions.PosVersionConflictException;
+import de.seuhd.campuscoffee.domain.model.CampusType;
+import de.seuhd.campuscoffee.domain.model.Pos;
+import de.seuhd.campuscoffee.domain.model.PosCollectionVersion;
+import de.seuhd.campuscoffee.domain.model.PosField;
+import de.seuhd.campuscoffee.domain.model.PosPage;
+import de.seuhd.campuscoffee.domain.model.PosQuery;
+import de.seuhd.campuscoffee.domain.model.PosSortKey;
+import de.seuhd.campuscoffee.domain.model.PosType;
 import de.seuhd.campuscoffee.domain.ports.PosService;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.jspecify.annotations.Nullable;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.net.URI;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Set;
 
 /**
  * Controller for handling POS-related API requests.
@@ -18,27 +59,236 @@ import java.util.List;
 @Controller
 @RequestMapping("/api/pos")
 @RequiredArgsConstructor
+@Slf4j
 public class PosController {
     private final PosService posService;
     private final PosDtoMapper posDtoMapper;
+    private final OsmImportReportDtoMapper osmImportReportDtoMapper;
+    private final OsmSyncReportDtoMapper osmSyncReportDtoMapper;
+    private final OsmExtractImportReportDtoMapper osmExtractImportReportDtoMapper;
+    private final NearbyPosDtoMapper nearbyPosDtoMapper;
+    private final DuplicatePosGroupDtoMapper duplicatePosGroupDtoMapper;
+    private final ObjectMapper objectMapper;
 
+    /**
+     * Clients may store responses but must revalidate them (using the ETag) before each reuse.
+     */
+    private static final CacheControl CACHE_CONTROL = CacheControl.noCache();
+
+    /**
+     * Returns all POS or, if {@code limit} or {@code after} is given, one page of POS ordered by ID.
+     * For paginated requests, the URI of the next page is returned in a {@code Link} header with {@code rel="next"}.
+     * If a filter criterion or a sort key is given, the first {@code limit} matching POS in the requested order
+     * are returned instead; if more POS match, the URI of the next page (the same query continuing after the last
+     * returned POS) is returned in a {@code Link} header with {@code rel="next"} as well.
+     * The response carries an ETag derived from the version of the POS collection and the negotiated representation
+     * (see {@link PosRepresentation}); if it matches the {@code If-None-Match} header, 304 Not Modified is returned
+     * without loading any POS.
+     *
+     * @param limit the maximum number of POS per page (paginated, filtered, or sorted requests only)
+     * @param after the cursor, i.e., the ID of the last POS of the previous page (paginated, filtered, or sorted
+     *              requests only)
+     * @param campus only POS on this campus
+     * @param type only POS of this type
+     * @param city only POS in this city
+     * @param postalCodeFrom only POS with a postal code greater than or equal to this value
+     * @param postalCodeTo only POS with a postal code less than or equal to this value
+     * @param sort the attribute to sort by (default: ID)
+     * @param desc whether to sort in descending order
+     * @param fields the comma-separated fields to return, e.g., {@code name,type,campus} (default: all fields);
+     *               only these fields are read from the database, and the ID is always returned
+     * @param webRequest the current request, used to evaluate conditional request headers
+     * @return the (paginated or filtered) list of POS
+     */
     @GetMapping("")
-    public ResponseEntity<List<PosDto>> getAll() {
+    public ResponseEntity<List<PosDto>> getAll(
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) CampusType campus,
+            @RequestParam(required = false) PosType type,
+            @RequestParam(required = false) String city,
+            @RequestParam(required = false) Integer postalCodeFrom,
+            @RequestParam(required = false) Integer postalCodeTo,
+            @RequestParam(required = false) PosSortKey sort,
+            @RequestParam(defaultValue = "false") boolean desc,
+            @RequestParam(required = false) @Nullable String fields,
+            WebRequest webRequest) {
+        Set<PosField> selectedFields = selectFields(fields, webRequest);
+        String eTag = PosRepresentation.negotiate(webRequest.getHeader(HttpHeaders.ACCEPT))
+                .eTag(getETag(posService.getVersion()));
+        if (webRequest.checkNotModified(eTag)) {
+            return notModified(eTag);
+        }
+
+        if (campus != null || type != null || city != null || postalCodeFrom != null || postalCodeTo != null || sort != null) {
+            int pageSize = limit == null ? PosService.DEFAULT_PAGE_SIZE : limit;
+            PosQuery query = PosQuery.builder()
+                    .campus(campus)
+                    .type(type)
+                    .city(city)
+                    .postalCodeFrom(postalCodeFrom)
+                    .postalCodeTo(postalCodeTo)
+                    .sortKey(sort == null ? PosSortKey.ID : sort)
+                    .descending(desc)
+                    .after(after)
+                    .limit(pageSize)
+                    .build();
+            PosPage page = selectedFields == null ? posService.find(query) : posService.find(query, selectedFields);
+            return pageResponse(page, pageSize, eTag);
+        }
+
+        if (limit == null && after == null) {
+            List<Pos> posList = selectedFields == null ? posService.getAll() : posService.getAll(selectedFields);
+            return ResponseEntity.ok()
+                    .eTag(eTag)
+                    .cacheControl(CACHE_CONTROL)
+                    .varyBy(HttpHeaders.ACCEPT)
+                    .body(
+                            posList.stream()
+                                    .map(posDtoMapper::fromDomain)
+                                    .toList()
+                    );
+        }
+
+        int pageSize = limit == null ? PosService.DEFAULT_PAGE_SIZE : limit;
+        PosPage page = selectedFields == null
+                ? posService.getPage(after, pageSize)
+                : posService.getPage(after, pageSize, selectedFields);
+        return pageResponse(page, pageSize, eTag);
+    }
+
+    /**
+     * Builds the response for one page of POS, linking to the next page (with the same query parameters) if any.
+     */
+    private ResponseEntity<List<PosDto>> pageResponse(PosPage page, int pageSize, String eTag) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .eTag(eTag)
+                .cacheControl(CACHE_CONTROL)
+                .varyBy(HttpHeaders.ACCEPT);
+        if (page.hasNext()) {
+            response.header(HttpHeaders.LINK, "<" + getNextPageLocation(page.nextCursor(), pageSize) + ">; rel=\"next\"");
+        }
+        return response.body(
+                page.items().stream()
+                        .map(posDtoMapper::fromDomain)
+                        .toList()
+        );
+    }
+
+    /**
+     * Exports all POS as newline-delimited JSON (one POS per line), ordered by ID.
+     * POS are read from a database cursor and written to the response one at a time,
+     * so the response starts immediately and memory usage does not depend on the number of POS.
+     *
+     * @return the streaming response body
+     */
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> export() {
+        StreamingResponseBody body = outputStream -> {
+            try {
+                posService.exportAll(pos -> writeLine(outputStream, posDtoMapper.fromDomain(pos)));
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    /**
+     * Searches POS by keywords in their name and description, best matches first.
+     *
+     * @param q the search query (supports quoted phrases, {@code or}, and {@code -} to exclude words)
+     * @param limit the maximum number of POS to return
+     * @return the matching POS
+     */
+    @GetMapping("/search")
+    public ResponseEntity<List<PosDto>> search(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "" + PosService.DEFAULT_SEARCH_LIMIT) int limit) {
         return ResponseEntity.ok(
-                posService.getAll().stream()
+                posService.search(q, limit).stream()
                         .map(posDtoMapper::fromDomain)
                         .toList()
         );
     }
 
-    @GetMapping("/{id}")
-    public ResponseEntity<PosDto> getById(
-            @PathVariable Long id) {
+    /**
+     * Returns the POS closest to the given location, ordered by distance.
+     * POS without a known location are not considered.
+     *
+     * @param lat the WGS 84 latitude of the location in degrees
+     * @param lon the WGS 84 longitude of the location in degrees
+     * @param k the maximum number of POS to return
+     * @return the nearest POS with their distances in meters
+     */
+    @GetMapping("/nearest")
+    public ResponseEntity<List<NearbyPosDto>> getNearest(
+            @RequestParam double lat,
+            @RequestParam double lon,
+            @RequestParam(defaultValue = "" + PosService.DEFAULT_NEAREST_COUNT) int k) {
         return ResponseEntity.ok(
-                posDtoMapper.fromDomain(posService.getById(id))
+                posService.findNearest(lat, lon, k).stream()
+                        .map(nearbyPosDtoMapper::fromDomain)
+                        .toList()
         );
     }
 
+    /**
+     * Returns groups of POS that share the same normalized address and are therefore likely duplicates,
+     * e.g., the same café imported twice under slightly different names.
+     *
+     * @return the groups of likely duplicates
+     */
+    @GetMapping("/duplicates")
+    public ResponseEntity<List<DuplicatePosGroupDto>> getDuplicates() {
+        return ResponseEntity.ok(
+                posService.findDuplicates().stream()
+                        .map(duplicatePosGroupDtoMapper::fromDomain)
+                        .toList()
+        );
+    }
+
+    /**
+     * Returns the POS with the given ID.
+     * The response carries an ETag derived from the ID and the version of the POS and the negotiated representation;
+     * if it matches the {@code If-None-Match} header, 304 Not Modified is returned without a body.
+     *
+     * @param id the ID of the POS
+     * @param fields the comma-separated fields to return (default: all fields); the ID is always returned
+     * @param webRequest the current request, used to evaluate conditional request headers
+     * @return the POS
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<PosDto> getById(
+            @PathVariable Long id,
+            @RequestParam(required = false) @Nullable String fields,
+            WebRequest webRequest) {
+        Set<PosField> selectedFields = selectFields(fields, webRequest);
+        Pos pos;
+        if (selectedFields == null) {
+            pos = posService.getById(id);
+        } else {
+            // the version is read in any case for the ETag
+            EnumSet<PosField> fieldsToRead = EnumSet.copyOf(selectedFields);
+            fieldsToRead.add(PosField.VERSION);
+            pos = posService.getById(id, fieldsToRead);
+        }
+        String eTag = PosRepresentation.negotiate(webRequest.getHeader(HttpHeaders.ACCEPT)).eTag(getETag(pos));
+        if (webRequest.checkNotModified(eTag)) {
+            return notModified(eTag);
+        }
+        if (selectedFields != null) {
+            pos = PosField.project(pos, selectedFields);
+        }
+        return ResponseEntity.ok()
+                .eTag(eTag)
+                .cacheControl(CACHE_CONTROL)
+                .varyBy(HttpHeaders.ACCEPT)
+                .body(posDtoMapper.fromDomain(pos));
+    }
+
     @PostMapping("")
     public ResponseEntity<PosDto> create(
             @RequestBody PosDto posDto) {
@@ -48,6 +298,27 @@ public class PosController {
                 .body(created);
     }
 
+    /**
+     * Creates or updates multiple POS in one request and one transaction.
+     * POS without ID are created, POS with ID are updated; either all POS are persisted or none.
+     *
+     * @param posDtos the POS to create or update
+     * @return the persisted POS in request order
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<List<PosDto>> upsertAll(
+            @RequestBody List<PosDto> posDtos) {
+        return ResponseEntity.ok(
+                posService.upsertAll(
+                        posDtos.stream()
+                                .map(posDtoMapper::toDomain)
+                                .toList()
+                ).stream()
+                        .map(posDtoMapper::fromDomain)
+                        .toList()
+        );
+    }
+
     @PostMapping("/import/osm/{nodeId}")
     public ResponseEntity<PosDto> create(
             @PathVariable Long nodeId) {
@@ -59,14 +330,84 @@ public class PosController {
                 .body(created);
     }
 
+    /**
+     * Imports multiple POS from OpenStreetMap nodes in one request.
+     * Nodes are fetched in batches; the response contains a success or failure entry for each node.
+     *
+     * @param nodeIds the OpenStreetMap node IDs to import
+     * @return the import report
+     */
+    @PostMapping("/import/osm")
+    public ResponseEntity<OsmImportReportDto> importAll(
+            @RequestBody List<Long> nodeIds) {
+        return ResponseEntity.ok(
+                osmImportReportDtoMapper.fromDomain(posService.importFromOsmNodes(nodeIds))
+        );
+    }
+
+    /**
+     * Imports POS from an OpenStreetMap XML extract sent as request body, without contacting the OSM API.
+     * The body is streamed through the parser, so extracts of any size can be imported; progress is logged
+     * after each persisted batch.
+     *
+     * @param extract the OSM XML extract
+     * @return the import report with the number of read, imported, and skipped nodes and the throughput
+     */
+    @PostMapping(value = "/import/osm/extract",
+            consumes = {MediaType.APPLICATION_XML_VALUE, MediaType.TEXT_XML_VALUE, MediaType.APPLICATION_OCTET_STREAM_VALUE})
+    public ResponseEntity<OsmExtractImportReportDto> importExtract(InputStream extract) {
+        return ResponseEntity.ok(osmExtractImportReportDtoMapper.fromDomain(
+                posService.importFromOsmExtract(extract, progress -> log.info(
+                        "Extract import: {} nodes read, {} POS imported, {} skipped ({} rows/s)",
+                        progress.nodesRead(), progress.imported(), progress.skipped(),
+                        Math.round(progress.rowsPerSecond())))
+        ));
+    }
+
+    /**
+     * Synchronizes all POS imported from OpenStreetMap with the current OpenStreetMap data.
+     * Only POS whose node has a new version are updated; this also runs periodically if enabled
+     * ({@code campus-coffee.osm.sync.enabled}).
+     *
+     * @return the sync report with the number of checked, updated, unchanged, missing, and failed POS
+     */
+    @PostMapping("/sync/osm")
+    public ResponseEntity<OsmSyncReportDto> syncWithOsm() {
+        return ResponseEntity.ok(
+                osmSyncReportDtoMapper.fromDomain(posService.syncWithOsm())
+        );
+    }
+
+    /**
+     * Updates the POS with the given ID.
+     * The update is conditional if the request has an {@code If-Match} header with the ETag of the POS
+     * (412 Precondition Failed if the POS was modified since) or if the body contains a {@code version}
+     * (409 Conflict if the POS was modified since). The response carries the new ETag.
+     * ETags of all representations are accepted in {@code If-Match}.
+     *
+     * @param id the ID of the POS
+     * @param ifMatch the ETag of the POS version the update is based on; {@code *} matches any version
+     * @param accept the media types accepted for the response, which determine the representation of the new ETag
+     * @param posDto the new values of the POS
+     * @return the updated POS
+     */
     @PutMapping("/{id}")
     public ResponseEntity<PosDto> update(
             @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) @Nullable String ifMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) @Nullable String accept,
             @RequestBody PosDto posDto) {
         if (!id.equals(posDto.id())) {
             throw new IllegalArgumentException("POS ID in path and body do not match.");
         }
-        return ResponseEntity.ok(upsert(posDto));
+        if (ifMatch != null) {
+            posDto = posDto.toBuilder().version(getExpectedVersion(id, ifMatch)).build();
+        }
+        PosDto updated = upsert(posDto);
+        return ResponseEntity.ok()
+                .eTag(PosRepresentation.negotiate(accept).eTag(getETag(id, updated.version())))
+                .varyBy(HttpHeaders.ACCEPT)
+                .body(updated);
     }
 
     /**
@@ -83,6 +424,136 @@ public class PosController {
         );
     }
 
+    /**
+     * Writes a single POS as one line of newline-delimited JSON and flushes it to the client.
+     *
+     * @param outputStream the response output stream
+     * @param posDto the POS DTO to write
+     */
+    private void writeLine(OutputStream outputStream, PosDto posDto) {
+        try {
+            outputStream.write(objectMapper.writeValueAsBytes(posDto));
+            outputStream.write('\n');
+            outputStream.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Parses the {@code fields} parameter of a read request and selects these fields for the response body
+     * (see {@link PosFieldsResponseBodyAdvice}).
+     *
+     * @param fields the comma-separated property names of the fields, or null for all fields
+     * @param webRequest the current request
+     * @return the selected fields including the ID, or null if all fields are requested
+     * @throws IllegalArgumentException if a field does not exist
+     */
+    private static @Nullable Set<PosField> selectFields(@Nullable String fields, WebRequest webRequest) {
+        if (fields == null) {
+            return null;
+        }
+        EnumSet<PosField> selectedFields = EnumSet.of(PosField.ID);
+        for (String field : fields.split(",")) {
+            if (!field.isBlank()) {
+                selectedFields.add(PosField.fromPropertyName(field.strip()));
+            }
+        }
+        webRequest.setAttribute(PosFieldsResponseBodyAdvice.FIELDS_ATTRIBUTE, selectedFields, RequestAttributes.SCOPE_REQUEST);
+        return selectedFields;
+    }
+
+    /**
+     * Builds a 304 Not Modified response that repeats the validator and caching headers of the full response.
+     *
+     * @param eTag the ETag of the unchanged resource
+     * @return the 304 response
+     */
+    private static <T> ResponseEntity<T> notModified(String eTag) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .eTag(eTag)
+                .cacheControl(CACHE_CONTROL)
+                .varyBy(HttpHeaders.ACCEPT)
+                .build();
+    }
+
+    /**
+     * Derives a strong ETag for a single POS from its ID and version.
+     * @param pos the POS
+     * @return the quoted ETag
+     */
+    private static String getETag(Pos pos) {
+        return getETag(pos.id(), pos.version());
+    }
+
+    private static String getETag(Long id, @Nullable Long version) {
+        return "\"" + id + "-" + (version == null ? 0 : version) + "\"";
+    }
+
+    /**
+     * Extracts the expected version of a POS from an {@code If-Match} header with a single ETag (see {@link #getETag(Pos)}).
+     * @param id the ID of the POS to update
+     * @param ifMatch the value of the {@code If-Match} header
+     * @return the expected version, or null for {@code *} (any version)
+     * @throws IllegalArgumentException if the header is not a single strong ETag
+     * @throws PosVersionConflictException if the ETag belongs to another POS, so it cannot match
+     */
+    private static @Nullable Long getExpectedVersion(Long id, String ifMatch) {
+        String eTag = PosRepresentation.stripSuffix(ifMatch.strip());
+        if (eTag.equals("*")) {
+            return null;
+        }
+        int separator = eTag.lastIndexOf('-');
+        if (eTag.length() < 2 || !eTag.startsWith("\"") || !eTag.endsWith("\"") || separator < 0) {
+            throw new IllegalArgumentException("If-Match must be a single strong ETag of the POS.");
+        }
+        try {
+            long eTagId = Long.parseLong(eTag.substring(1, separator));
+            long version = Long.parseLong(eTag.substring(separator + 1, eTag.length() - 1));
+            if (eTagId != id) {
+                throw new PosVersionConflictException(id);
+            }
+            return version;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("If-Match must be a single strong ETag of the POS.");
+        }
+    }
+
+    /**
+     * Derives a strong ETag for the POS collection from the number of POS and their latest update timestamp.
+     * @param version the version of the POS collection
+     * @return the quoted ETag
+     */
+    private static String getETag(PosCollectionVersion version) {
+        return "\"" + version.count() + "-" + toVersionToken(version.lastUpdatedAt()) + "\"";
+    }
+
+    /**
+     * Encodes a timestamp as hexadecimal microseconds since the epoch.
+     * Microseconds are the precision of the database, so the token does not depend on
+     * whether the timestamp was read from the database or is still the in-memory value of a write.
+     */
+    private static String toVersionToken(@Nullable LocalDateTime timestamp) {
+        if (timestamp == null) {
+            return "0";
+        }
+        return Long.toHexString(ChronoUnit.MICROS.between(Instant.EPOCH, timestamp.toInstant(ZoneOffset.UTC)));
+    }
+
+    /**
+     * Builds the URI of the next page for a paginated request.
+     * @param nextCursor the cursor pointing to the last POS of the current page
+     * @param limit the page size of the current request
+     * @return the URI of the next page
+     */
+    private URI getNextPageLocation(Long nextCursor, int limit) {
+        return ServletUriComponentsBuilder.fromCurrentRequest()
+                .replaceQueryParam("after", nextCursor)
+                .replaceQueryParam("limit", limit)
+                .build()
+                .toUri();
+    }
+
     /**
      * Builds the location URI for a newly created resource.
      * @param resourceId the ID of the created resource
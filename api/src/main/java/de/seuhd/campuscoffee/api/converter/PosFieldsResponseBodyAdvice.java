@@ -0,0 +1,42 @@
+package de.seuhd.campuscoffee.api.converter;
+
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import de.seuhd.campuscoffee.domain.model.PosField;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.AbstractMappingJacksonResponseBodyAdvice;
+
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Writes only the selected fields of POS DTOs in JSON, CBOR, and Smile responses (sparse fieldsets).
+ * Controllers select the fields by setting the request attribute {@link #FIELDS_ATTRIBUTE} to a set of {@link PosField};
+ * the Protobuf representation omits unselected fields anyway, because they are null.
+ * The filter is registered for {@code PosDto} in {@link SparseFieldsetConfig}.
+ */
+@ControllerAdvice
+public class PosFieldsResponseBodyAdvice extends AbstractMappingJacksonResponseBodyAdvice {
+    public static final String FIELDS_ATTRIBUTE = PosFieldsResponseBodyAdvice.class.getName() + ".fields";
+    static final String FILTER_ID = "posFields";
+
+    @Override
+    protected void beforeBodyWriteInternal(MappingJacksonValue bodyContainer, MediaType contentType,
+                                           MethodParameter returnType, ServerHttpRequest request,
+                                           ServerHttpResponse response) {
+        if (request instanceof ServletServerHttpRequest servletRequest
+                && servletRequest.getServletRequest().getAttribute(FIELDS_ATTRIBUTE) instanceof Set<?> fields) {
+            Set<String> propertyNames = fields.stream()
+                    .map(field -> ((PosField) field).getPropertyName())
+                    .collect(Collectors.toSet());
+            bodyContainer.setFilters(new SimpleFilterProvider()
+                    .addFilter(FILTER_ID, SimpleBeanPropertyFilter.filterOutAllExcept(propertyNames)));
+        }
+    }
+}
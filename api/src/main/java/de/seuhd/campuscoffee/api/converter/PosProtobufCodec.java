@@ -0,0 +1,317 @@
+package de.seuhd.campuscoffee.api.converter;
+
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.google.protobuf.WireFormat;
+import de.seuhd.campuscoffee.api.dtos.PosDto;
+import de.seuhd.campuscoffee.domain.model.CampusType;
+import de.seuhd.campuscoffee.domain.model.PosType;
+import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Encodes and decodes POS DTOs in the Protobuf representation of the REST API, as defined by the versioned schema
+ * {@code campuscoffee/pos/v1/pos.proto} (served at {@value #SCHEMA}). Messages are written and read field by field
+ * with the protobuf runtime instead of generated classes, so that the same {@link PosDto} and mappers are used as
+ * for JSON. Absent fields are decoded as null; unknown fields are skipped, so that clients of version 1 can read
+ * messages with fields added later.
+ * <p>
+ * Timestamps are encoded as microseconds since 1970-01-01T00:00, the precision of the database.
+ */
+public final class PosProtobufCodec {
+    /**
+     * Path of the schema, relative to the root of the application.
+     */
+    public static final String SCHEMA = "/proto/campuscoffee/pos/v1/pos.proto";
+    public static final String POS_MESSAGE = "campuscoffee.pos.v1.Pos";
+    public static final String POS_LIST_MESSAGE = "campuscoffee.pos.v1.PosList";
+
+    private static final int BUFFER_SIZE = 8192;
+    private static final long MICROS_PER_SECOND = 1_000_000;
+
+    // field numbers of Pos
+    private static final int ID = 1;
+    private static final int CREATED_AT = 2;
+    private static final int UPDATED_AT = 3;
+    private static final int VERSION = 4;
+    private static final int NAME = 5;
+    private static final int DESCRIPTION = 6;
+    private static final int TYPE = 7;
+    private static final int CAMPUS = 8;
+    private static final int STREET = 9;
+    private static final int HOUSE_NUMBER = 10;
+    private static final int POSTAL_CODE = 11;
+    private static final int CITY = 12;
+    private static final int LATITUDE = 13;
+    private static final int LONGITUDE = 14;
+    private static final int OSM_NODE_ID = 15;
+    private static final int OSM_VERSION = 16;
+    // field number and tag of PosList
+    private static final int POS_LIST_POS = 1;
+    private static final int POS_LIST_POS_TAG = (POS_LIST_POS << 3) | WireFormat.WIRETYPE_LENGTH_DELIMITED;
+
+    private PosProtobufCodec() {}
+
+    /**
+     * Writes a single POS as {@code Pos} message.
+     *
+     * @param pos the POS
+     * @param out the output stream; not closed by this method
+     * @throws IOException if writing fails
+     */
+    public static void writePos(@NonNull PosDto pos, @NonNull OutputStream out) throws IOException {
+        CodedOutputStream output = CodedOutputStream.newInstance(out, BUFFER_SIZE);
+        writeFields(pos, output);
+        output.flush();
+    }
+
+    /**
+     * Writes a list of POS as {@code PosList} message.
+     *
+     * @param posList the POS
+     * @param out     the output stream; not closed by this method
+     * @throws IOException if writing fails
+     */
+    public static void writePosList(@NonNull List<PosDto> posList, @NonNull OutputStream out) throws IOException {
+        CodedOutputStream output = CodedOutputStream.newInstance(out, BUFFER_SIZE);
+        for (PosDto pos : posList) {
+            output.writeTag(POS_LIST_POS, WireFormat.WIRETYPE_LENGTH_DELIMITED);
+            output.writeUInt32NoTag(computeSize(pos));
+            writeFields(pos, output);
+        }
+        output.flush();
+    }
+
+    /**
+     * Reads a single POS from a {@code Pos} message.
+     *
+     * @param in the input stream, which must contain exactly one message; not closed by this method
+     * @return the POS
+     * @throws IOException if reading fails or the message is invalid
+     */
+    public static @NonNull PosDto readPos(@NonNull InputStream in) throws IOException {
+        return readFields(CodedInputStream.newInstance(in, BUFFER_SIZE));
+    }
+
+    /**
+     * Reads a list of POS from a {@code PosList} message.
+     *
+     * @param in the input stream, which must contain exactly one message; not closed by this method
+     * @return the POS in message order
+     * @throws IOException if reading fails or the message is invalid
+     */
+    public static @NonNull List<PosDto> readPosList(@NonNull InputStream in) throws IOException {
+        CodedInputStream input = CodedInputStream.newInstance(in, BUFFER_SIZE);
+        List<PosDto> posList = new ArrayList<>();
+        int tag;
+        while ((tag = input.readTag()) != 0) {
+            if (tag == POS_LIST_POS_TAG) {
+                int previousLimit = input.pushLimit(input.readRawVarint32());
+                posList.add(readFields(input));
+                input.popLimit(previousLimit);
+            } else if (!input.skipField(tag)) {
+                break;
+            }
+        }
+        return posList;
+    }
+
+    private static void writeFields(PosDto pos, CodedOutputStream output) throws IOException {
+        if (pos.id() != null) {
+            output.writeInt64(ID, pos.id());
+        }
+        if (pos.createdAt() != null) {
+            output.writeInt64(CREATED_AT, toMicros(pos.createdAt()));
+        }
+        if (pos.updatedAt() != null) {
+            output.writeInt64(UPDATED_AT, toMicros(pos.updatedAt()));
+        }
+        if (pos.version() != null) {
+            output.writeInt64(VERSION, pos.version());
+        }
+        if (pos.name() != null) {
+            output.writeString(NAME, pos.name());
+        }
+        if (pos.description() != null) {
+            output.writeString(DESCRIPTION, pos.description());
+        }
+        if (pos.type() != null) {
+            output.writeEnum(TYPE, toNumber(pos.type()));
+        }
+        if (pos.campus() != null) {
+            output.writeEnum(CAMPUS, toNumber(pos.campus()));
+        }
+        if (pos.street() != null) {
+            output.writeString(STREET, pos.street());
+        }
+        if (pos.houseNumber() != null) {
+            output.writeString(HOUSE_NUMBER, pos.houseNumber());
+        }
+        if (pos.postalCode() != null) {
+            output.writeInt32(POSTAL_CODE, pos.postalCode());
+        }
+        if (pos.city() != null) {
+            output.writeString(CITY, pos.city());
+        }
+        if (pos.latitude() != null) {
+            output.writeDouble(LATITUDE, pos.latitude());
+        }
+        if (pos.longitude() != null) {
+            output.writeDouble(LONGITUDE, pos.longitude());
+        }
+        if (pos.osmNodeId() != null) {
+            output.writeInt64(OSM_NODE_ID, pos.osmNodeId());
+        }
+        if (pos.osmVersion() != null) {
+            output.writeInt64(OSM_VERSION, pos.osmVersion());
+        }
+    }
+
+    /**
+     * Computes the size of the fields written by {@link #writeFields}, which precedes nested messages.
+     */
+    private static int computeSize(PosDto pos) {
+        int size = 0;
+        if (pos.id() != null) {
+            size += CodedOutputStream.computeInt64Size(ID, pos.id());
+        }
+        if (pos.createdAt() != null) {
+            size += CodedOutputStream.computeInt64Size(CREATED_AT, toMicros(pos.createdAt()));
+        }
+        if (pos.updatedAt() != null) {
+            size += CodedOutputStream.computeInt64Size(UPDATED_AT, toMicros(pos.updatedAt()));
+        }
+        if (pos.version() != null) {
+            size += CodedOutputStream.computeInt64Size(VERSION, pos.version());
+        }
+        if (pos.name() != null) {
+            size += CodedOutputStream.computeStringSize(NAME, pos.name());
+        }
+        if (pos.description() != null) {
+            size += CodedOutputStream.computeStringSize(DESCRIPTION, pos.description());
+        }
+        if (pos.type() != null) {
+            size += CodedOutputStream.computeEnumSize(TYPE, toNumber(pos.type()));
+        }
+        if (pos.campus() != null) {
+            size += CodedOutputStream.computeEnumSize(CAMPUS, toNumber(pos.campus()));
+        }
+        if (pos.street() != null) {
+            size += CodedOutputStream.computeStringSize(STREET, pos.street());
+        }
+        if (pos.houseNumber() != null) {
+            size += CodedOutputStream.computeStringSize(HOUSE_NUMBER, pos.houseNumber());
+        }
+        if (pos.postalCode() != null) {
+            size += CodedOutputStream.computeInt32Size(POSTAL_CODE, pos.postalCode());
+        }
+        if (pos.city() != null) {
+            size += CodedOutputStream.computeStringSize(CITY, pos.city());
+        }
+        if (pos.latitude() != null) {
+            size += CodedOutputStream.computeDoubleSize(LATITUDE, pos.latitude());
+        }
+        if (pos.longitude() != null) {
+            size += CodedOutputStream.computeDoubleSize(LONGITUDE, pos.longitude());
+        }
+        if (pos.osmNodeId() != null) {
+            size += CodedOutputStream.computeInt64Size(OSM_NODE_ID, pos.osmNodeId());
+        }
+        if (pos.osmVersion() != null) {
+            size += CodedOutputStream.computeInt64Size(OSM_VERSION, pos.osmVersion());
+        }
+        return size;
+    }
+
+    /**
+     * Reads the fields of a {@code Pos} message until the end of the input or of the current limit.
+     */
+    private static PosDto readFields(CodedInputStream input) throws IOException {
+        PosDto.PosDtoBuilder pos = PosDto.builder();
+        int tag;
+        while ((tag = input.readTag()) != 0) {
+            switch (tag) {
+                case (ID << 3) | WireFormat.WIRETYPE_VARINT -> pos.id(input.readInt64());
+                case (CREATED_AT << 3) | WireFormat.WIRETYPE_VARINT -> pos.createdAt(fromMicros(input.readInt64()));
+                case (UPDATED_AT << 3) | WireFormat.WIRETYPE_VARINT -> pos.updatedAt(fromMicros(input.readInt64()));
+                case (VERSION << 3) | WireFormat.WIRETYPE_VARINT -> pos.version(input.readInt64());
+                case (NAME << 3) | WireFormat.WIRETYPE_LENGTH_DELIMITED -> pos.name(input.readString());
+                case (DESCRIPTION << 3) | WireFormat.WIRETYPE_LENGTH_DELIMITED -> pos.description(input.readString());
+                case (TYPE << 3) | WireFormat.WIRETYPE_VARINT -> pos.type(toPosType(input.readEnum()));
+                case (CAMPUS << 3) | WireFormat.WIRETYPE_VARINT -> pos.campus(toCampusType(input.readEnum()));
+                case (STREET << 3) | WireFormat.WIRETYPE_LENGTH_DELIMITED -> pos.street(input.readString());
+                case (HOUSE_NUMBER << 3) | WireFormat.WIRETYPE_LENGTH_DELIMITED -> pos.houseNumber(input.readString());
+                case (POSTAL_CODE << 3) | WireFormat.WIRETYPE_VARINT -> pos.postalCode(input.readInt32());
+                case (CITY << 3) | WireFormat.WIRETYPE_LENGTH_DELIMITED -> pos.city(input.readString());
+                case (LATITUDE << 3) | WireFormat.WIRETYPE_FIXED64 -> pos.latitude(input.readDouble());
+                case (LONGITUDE << 3) | WireFormat.WIRETYPE_FIXED64 -> pos.longitude(input.readDouble());
+                case (OSM_NODE_ID << 3) | WireFormat.WIRETYPE_VARINT -> pos.osmNodeId(input.readInt64());
+                case (OSM_VERSION << 3) | WireFormat.WIRETYPE_VARINT -> pos.osmVersion(input.readInt64());
+                default -> {
+                    if (!input.skipField(tag)) {
+                        return pos.build();
+                    }
+                }
+            }
+        }
+        return pos.build();
+    }
+
+    private static long toMicros(LocalDateTime timestamp) {
+        return timestamp.toEpochSecond(ZoneOffset.UTC) * MICROS_PER_SECOND + timestamp.getNano() / 1000;
+    }
+
+    private static LocalDateTime fromMicros(long micros) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, MICROS_PER_SECOND),
+                (int) Math.floorMod(micros, MICROS_PER_SECOND) * 1000, ZoneOffset.UTC);
+    }
+
+    // enum numbers are part of the schema, so they are mapped explicitly instead of using the ordinal
+
+    private static int toNumber(PosType type) {
+        return switch (type) {
+            case CAFE -> 1;
+            case VENDING_MACHINE -> 2;
+            case BAKERY -> 3;
+            case CAFETERIA -> 4;
+        };
+    }
+
+    private static @Nullable PosType toPosType(int number) throws InvalidProtocolBufferException {
+        return switch (number) {
+            case 0 -> null;
+            case 1 -> PosType.CAFE;
+            case 2 -> PosType.VENDING_MACHINE;
+            case 3 -> PosType.BAKERY;
+            case 4 -> PosType.CAFETERIA;
+            default -> throw new InvalidProtocolBufferException("Unknown POS type " + number);
+        };
+    }
+
+    private static int toNumber(CampusType campus) {
+        return switch (campus) {
+            case ALTSTADT -> 1;
+            case BERGHEIM -> 2;
+            case INF -> 3;
+        };
+    }
+
+    private static @Nullable CampusType toCampusType(int number) throws InvalidProtocolBufferException {
+        return switch (number) {
+            case 0 -> null;
+            case 1 -> CampusType.ALTSTADT;
+            case 2 -> CampusType.BERGHEIM;
+            case 3 -> CampusType.INF;
+            default -> throw new InvalidProtocolBufferException("Unknown campus " + number);
+        };
+    }
+}
@@ -0,0 +1,92 @@
+package de.seuhd.campuscoffee.api.converter;
+
+import de.seuhd.campuscoffee.api.dtos.PosDto;
+import org.jspecify.annotations.Nullable;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+import java.io.IOException;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.List;
+
+/**
+ * Reads and writes POS DTOs and lists of POS DTOs in the Protobuf representation of the REST API
+ * (media type {@code application/x-protobuf}, see {@link PosProtobufCodec}); other types are not supported.
+ * Like Spring's {@code ProtobufHttpMessageConverter}, responses name the schema and the message type
+ * in the {@code X-Protobuf-Schema} and {@code X-Protobuf-Message} headers.
+ */
+public class PosProtobufHttpMessageConverter extends AbstractGenericHttpMessageConverter<Object> {
+    public static final MediaType PROTOBUF = new MediaType("application", "x-protobuf");
+    public static final String X_PROTOBUF_SCHEMA_HEADER = "X-Protobuf-Schema";
+    public static final String X_PROTOBUF_MESSAGE_HEADER = "X-Protobuf-Message";
+
+    public PosProtobufHttpMessageConverter() {
+        super(PROTOBUF);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return PosDto.class == clazz;
+    }
+
+    @Override
+    public boolean canRead(Type type, @Nullable Class<?> contextClass, @Nullable MediaType mediaType) {
+        return isPosType(type) && canRead(mediaType);
+    }
+
+    @Override
+    public boolean canWrite(@Nullable Type type, Class<?> clazz, @Nullable MediaType mediaType) {
+        return (type == null ? supports(clazz) : isPosType(type)) && canWrite(mediaType);
+    }
+
+    @Override
+    public Object read(Type type, @Nullable Class<?> contextClass, HttpInputMessage inputMessage) throws IOException {
+        return isPosList(type) ? readPosList(inputMessage) : readInternal(PosDto.class, inputMessage);
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) throws IOException {
+        try {
+            return PosProtobufCodec.readPos(inputMessage.getBody());
+        } catch (IOException e) {
+            throw new HttpMessageNotReadableException("Invalid Protobuf message: " + e.getMessage(), e, inputMessage);
+        }
+    }
+
+    @Override
+    protected void writeInternal(Object object, @Nullable Type type, HttpOutputMessage outputMessage) throws IOException {
+        // the headers must be set before the body is opened
+        outputMessage.getHeaders().set(X_PROTOBUF_SCHEMA_HEADER, PosProtobufCodec.SCHEMA);
+        if (object instanceof PosDto pos) {
+            outputMessage.getHeaders().set(X_PROTOBUF_MESSAGE_HEADER, PosProtobufCodec.POS_MESSAGE);
+            PosProtobufCodec.writePos(pos, outputMessage.getBody());
+        } else {
+            outputMessage.getHeaders().set(X_PROTOBUF_MESSAGE_HEADER, PosProtobufCodec.POS_LIST_MESSAGE);
+            @SuppressWarnings("unchecked")
+            List<PosDto> posList = (List<PosDto>) object;
+            PosProtobufCodec.writePosList(posList, outputMessage.getBody());
+        }
+    }
+
+    private List<PosDto> readPosList(HttpInputMessage inputMessage) throws IOException {
+        try {
+            return PosProtobufCodec.readPosList(inputMessage.getBody());
+        } catch (IOException e) {
+            throw new HttpMessageNotReadableException("Invalid Protobuf message: " + e.getMessage(), e, inputMessage);
+        }
+    }
+
+    private static boolean isPosType(Type type) {
+        return type == PosDto.class || isPosList(type);
+    }
+
+    private static boolean isPosList(Type type) {
+        return type instanceof ParameterizedType parameterizedType
+                && parameterizedType.getRawType() == List.class
+                && parameterizedType.getActualTypeArguments()[0] == PosDto.class;
+    }
+}
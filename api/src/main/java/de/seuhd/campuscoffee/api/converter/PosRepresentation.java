@@ -0,0 +1,94 @@
+package de.seuhd.campuscoffee.api.converter;
+
+import org.jspecify.annotations.Nullable;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.util.MimeTypeUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The representations of POS resources, in the order in which Spring MVC prefers them if the client accepts several
+ * (see {@link BinaryRepresentationConfig}). Each representation has its own ETag suffix, because strong ETags must
+ * differ between representations of the same resource version; JSON keeps the plain ETag.
+ */
+public enum PosRepresentation {
+    JSON(MediaType.APPLICATION_JSON, ""),
+    CBOR(MediaType.APPLICATION_CBOR, "cbor"),
+    SMILE(new MediaType("application", "x-jackson-smile"), "smile"),
+    PROTOBUF(PosProtobufHttpMessageConverter.PROTOBUF, "protobuf-v1");
+
+    private final MediaType mediaType;
+    private final String eTagSuffix;
+
+    PosRepresentation(MediaType mediaType, String eTagSuffix) {
+        this.mediaType = mediaType;
+        this.eTagSuffix = eTagSuffix;
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    /**
+     * Determines the representation Spring MVC writes for the given {@code Accept} header, using the same rules:
+     * each accepted media type is matched against the representations in their order,
+     * and the most specific match with the highest quality wins.
+     *
+     * @param accept the value of the {@code Accept} header, may be null
+     * @return the negotiated representation; JSON if no representation is acceptable or the header is invalid
+     */
+    public static PosRepresentation negotiate(@Nullable String accept) {
+        List<MediaType> acceptedTypes;
+        try {
+            acceptedTypes = accept == null || accept.isBlank() ? List.of(MediaType.ALL) : MediaType.parseMediaTypes(accept);
+        } catch (InvalidMediaTypeException e) {
+            return JSON;
+        }
+        List<MediaType> compatibleTypes = new ArrayList<>();
+        for (MediaType acceptedType : acceptedTypes) {
+            for (PosRepresentation representation : values()) {
+                if (acceptedType.isCompatibleWith(representation.mediaType)) {
+                    compatibleTypes.add(representation.mediaType.copyQualityValue(acceptedType));
+                }
+            }
+        }
+        MimeTypeUtils.sortBySpecificity(compatibleTypes);
+        for (MediaType compatibleType : compatibleTypes) {
+            for (PosRepresentation representation : values()) {
+                if (representation.mediaType.equalsTypeAndSubtype(compatibleType)) {
+                    return representation;
+                }
+            }
+        }
+        return JSON;
+    }
+
+    /**
+     * Derives the ETag of this representation from the (JSON) ETag of the resource version.
+     *
+     * @param eTag the quoted ETag of the resource version
+     * @return the quoted ETag of this representation, e.g., {@code "42-3+cbor"}
+     */
+    public String eTag(String eTag) {
+        if (eTagSuffix.isEmpty()) {
+            return eTag;
+        }
+        return eTag.substring(0, eTag.length() - 1) + "+" + eTagSuffix + "\"";
+    }
+
+    /**
+     * Removes the representation suffix from an ETag of any representation.
+     *
+     * @param eTag the quoted ETag
+     * @return the quoted ETag of the resource version
+     */
+    public static String stripSuffix(String eTag) {
+        int separator = eTag.lastIndexOf('+');
+        if (separator < 0 || !eTag.endsWith("\"")) {
+            return eTag;
+        }
+        return eTag.substring(0, separator) + "\"";
+    }
+}
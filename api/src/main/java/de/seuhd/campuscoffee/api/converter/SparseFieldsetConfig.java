@@ -0,0 +1,28 @@
+package de.seuhd.campuscoffee.api.converter;
+
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import de.seuhd.campuscoffee.api.dtos.PosDto;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Registers the property filter of {@link PosFieldsResponseBodyAdvice} for POS DTOs in the object mapper
+ * of the application (and thus in the JSON, CBOR, and Smile converters).
+ * The filter is added as a mix-in, so that other mappers (e.g., of clients) serialize the DTOs as usual;
+ * without selected fields, all properties are written.
+ */
+@Configuration
+public class SparseFieldsetConfig {
+    @Bean
+    Jackson2ObjectMapperBuilderCustomizer posFieldsFilterCustomizer() {
+        return builder -> builder
+                .mixIn(PosDto.class, PosFieldsFilter.class)
+                .filters(new SimpleFilterProvider().setDefaultFilter(SimpleBeanPropertyFilter.serializeAll()));
+    }
+
+    @JsonFilter(PosFieldsResponseBodyAdvice.FILTER_ID)
+    private interface PosFieldsFilter {}
+}
@@ -0,0 +1,14 @@
+package de.seuhd.campuscoffee.api.dtos;
+
+import lombok.Builder;
+import org.jspecify.annotations.NonNull;
+
+import java.util.List;
+
+/**
+ * DTO record for a group of POS that share the same normalized address.
+ */
+@Builder(toBuilder = true)
+public record DuplicatePosGroupDto(
+        @NonNull List<PosDto> pos
+) {}
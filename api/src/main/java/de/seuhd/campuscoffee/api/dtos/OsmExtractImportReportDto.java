@@ -0,0 +1,16 @@
+package de.seuhd.campuscoffee.api.dtos;
+
+import lombok.Builder;
+
+/**
+ * DTO record for the report of an import of POS from an OpenStreetMap XML extract.
+ */
+@Builder(toBuilder = true)
+public record OsmExtractImportReportDto(
+        long nodesRead,
+        long posNodes,
+        long imported,
+        long skipped,
+        double seconds, // elapsed time of the import
+        double rowsPerSecond // imported POS per second
+) {}
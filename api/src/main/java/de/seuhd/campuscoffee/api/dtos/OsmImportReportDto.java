@@ -0,0 +1,16 @@
+package de.seuhd.campuscoffee.api.dtos;
+
+import lombok.Builder;
+import org.jspecify.annotations.NonNull;
+
+import java.util.List;
+
+/**
+ * DTO record for the report of a bulk import of OpenStreetMap nodes.
+ */
+@Builder(toBuilder = true)
+public record OsmImportReportDto(
+        int imported,
+        int failed,
+        @NonNull List<OsmImportResultDto> results
+) {}
@@ -0,0 +1,18 @@
+package de.seuhd.campuscoffee.api.dtos;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Builder;
+import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * DTO record for the result of importing a single OpenStreetMap node in a bulk import.
+ */
+@Builder(toBuilder = true)
+@JsonInclude(JsonInclude.Include.NON_NULL) // omit pos for failed and error for successful imports
+public record OsmImportResultDto(
+        @NonNull Long nodeId,
+        boolean success,
+        @Nullable PosDto pos, // is set if the node was imported successfully
+        @Nullable String error // is set if the import of the node failed
+) {}
@@ -0,0 +1,15 @@
+package de.seuhd.campuscoffee.api.dtos;
+
+import lombok.Builder;
+
+/**
+ * DTO record for the report of a synchronization of the imported POS with OpenStreetMap.
+ */
+@Builder(toBuilder = true)
+public record OsmSyncReportDto(
+        int checked,
+        int updated,
+        int unchanged,
+        int missing,
+        int failed
+) {}
@@ -16,6 +16,7 @@ public record PosDto(
         @Nullable Long id, // id is null when creating a new task
         @Nullable LocalDateTime createdAt, // is null when using DTO to create a new POS
         @Nullable LocalDateTime updatedAt, // is set when creating or updating a POS
+        @Nullable Long version, // if set on update, the update fails if the POS was modified in the meantime
         @NonNull String name,
         @NonNull String description,
         @NonNull PosType type,
@@ -23,5 +24,9 @@ public record PosDto(
         @NonNull String street,
         @NonNull String houseNumber,
         @NonNull Integer postalCode,
-        @NonNull String city
+        @NonNull String city,
+        @Nullable Double latitude, // is null if the location of the POS is unknown
+        @Nullable Double longitude, // is null if the location of the POS is unknown
+        @Nullable Long osmNodeId, // is set if the POS was imported from OpenStreetMap; ignored on create and update
+        @Nullable Long osmVersion // the OpenStreetMap node version at the last import or sync; ignored on create and update
 ) {}
@@ -3,18 +3,22 @@ package de.seuhd.campuscoffee.api.exceptions;
 import de.seuhd.campuscoffee.domain.exceptions.*;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.MissingServletRequestParameterException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.context.request.ServletWebRequest;
 import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 
 import java.time.LocalDateTime;
 
 /**
  * Global exception handler for all controllers.
- * Provides centralized exception handling and standardized error responses.
+ * Provides centralized exception handling and standardized error responses in JSON.
  */
 @Slf4j
 @ControllerAdvice
@@ -59,6 +63,27 @@ public class GlobalExceptionHandler {
         return buildErrorResponse(exception, HttpStatus.CONFLICT, request);
     }
 
+    /**
+     * Handles updates based on an outdated version of a POS (lost update prevention).
+     * Returns HTTP 412 (Precondition Failed) if the version was given in an {@code If-Match} header,
+     * and HTTP 409 (Conflict) if it was given in the request body.
+     *
+     * @param exception the version conflict exception that was thrown
+     * @param request the web request
+     * @return ResponseEntity with ErrorResponse and HTTP 412 or 409
+     */
+    @ExceptionHandler(PosVersionConflictException.class)
+    public ResponseEntity<ErrorResponse> handleVersionConflictException(
+            PosVersionConflictException exception,
+            WebRequest request
+    ) {
+        log.warn("Version conflict: {}", exception.getMessage());
+        HttpStatus status = request.getHeader(HttpHeaders.IF_MATCH) != null
+                ? HttpStatus.PRECONDITION_FAILED
+                : HttpStatus.CONFLICT;
+        return buildErrorResponse(exception, status, request);
+    }
+
     /**
      * Handles validation and bad request exceptions.
      * Returns HTTP 400 (Bad Request).
@@ -69,16 +94,44 @@ public class GlobalExceptionHandler {
      */
     @ExceptionHandler({
             IllegalArgumentException.class,
-            OsmNodeMissingFieldsException.class
+            OsmNodeMissingFieldsException.class,
+            MissingServletRequestParameterException.class,
+            MethodArgumentTypeMismatchException.class
     })
     public ResponseEntity<ErrorResponse> handleBadRequestException(
-            RuntimeException exception,
+            Exception exception,
             WebRequest request
     ) {
         log.warn("Bad request: {}", exception.getMessage());
         return buildErrorResponse(exception, HttpStatus.BAD_REQUEST, request);
     }
 
+    /**
+     * Handles temporary unavailability of the OpenStreetMap API.
+     * Returns HTTP 503 (Service Unavailable) with a {@code Retry-After} header if the wait is known.
+     *
+     * @param exception the exception that was thrown
+     * @param request the web request
+     * @return ResponseEntity with ErrorResponse and HTTP 503
+     */
+    @ExceptionHandler(OsmServiceUnavailableException.class)
+    public ResponseEntity<ErrorResponse> handleServiceUnavailableException(
+            OsmServiceUnavailableException exception,
+            WebRequest request
+    ) {
+        log.warn("Upstream service unavailable: {}", exception.getMessage());
+        ResponseEntity<ErrorResponse> response = buildErrorResponse(exception, HttpStatus.SERVICE_UNAVAILABLE, request);
+        if (exception.getRetryAfter() == null) {
+            return response;
+        }
+        // Retry-After is given in whole seconds; round up so that clients do not retry too early
+        long retryAfterSeconds = (exception.getRetryAfter().toMillis() + 999) / 1000;
+        return ResponseEntity.status(response.getStatusCode())
+                .headers(response.getHeaders())
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+                .body(response.getBody());
+    }
+
     /**
      * Fallback handler for unexpected exceptions.
      * Returns HTTP 500 (Internal Server Error).
@@ -137,7 +190,10 @@ public class GlobalExceptionHandler {
                 .path(extractPath(request))
                 .build();
 
-        return ResponseEntity.status(status).body(error);
+        // errors are always JSON, also for clients that requested a binary representation (which may not cover errors)
+        return ResponseEntity.status(status)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(error);
     }
 
     /**
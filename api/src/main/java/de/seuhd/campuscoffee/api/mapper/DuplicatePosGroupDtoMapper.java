@@ -0,0 +1,16 @@
+package de.seuhd.campuscoffee.api.mapper;
+
+import de.seuhd.campuscoffee.api.dtos.DuplicatePosGroupDto;
+import de.seuhd.campuscoffee.domain.model.DuplicatePosGroup;
+import org.mapstruct.Mapper;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+
+/**
+ * MapStruct mapper for converting groups of likely duplicate POS from the domain model to DTOs.
+ * The contained POS are mapped using the {@link PosDtoMapper}.
+ */
+@Mapper(componentModel = "spring", uses = PosDtoMapper.class)
+@ConditionalOnMissingBean // prevent IntelliJ warning about duplicate beans
+public interface DuplicatePosGroupDtoMapper {
+    DuplicatePosGroupDto fromDomain(DuplicatePosGroup source);
+}
@@ -0,0 +1,18 @@
+package de.seuhd.campuscoffee.api.mapper;
+
+import de.seuhd.campuscoffee.api.dtos.OsmExtractImportReportDto;
+import de.seuhd.campuscoffee.domain.model.OsmExtractImportReport;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+
+/**
+ * MapStruct mapper for converting OSM extract import reports from the domain model to DTOs.
+ */
+@Mapper(componentModel = "spring")
+@ConditionalOnMissingBean // prevent IntelliJ warning about duplicate beans
+public interface OsmExtractImportReportDtoMapper {
+    @Mapping(target = "seconds", expression = "java(source.elapsed().toMillis() / 1000.0)")
+    @Mapping(target = "rowsPerSecond", expression = "java(source.rowsPerSecond())")
+    OsmExtractImportReportDto fromDomain(OsmExtractImportReport source);
+}
@@ -0,0 +1,24 @@
+package de.seuhd.campuscoffee.api.mapper;
+
+import de.seuhd.campuscoffee.api.dtos.OsmImportReportDto;
+import de.seuhd.campuscoffee.api.dtos.OsmImportResultDto;
+import de.seuhd.campuscoffee.domain.model.OsmImportReport;
+import de.seuhd.campuscoffee.domain.model.OsmImportResult;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+
+/**
+ * MapStruct mapper for converting OSM bulk import reports from the domain model to DTOs.
+ * The POS contained in the results are mapped using the {@link PosDtoMapper}.
+ */
+@Mapper(componentModel = "spring", uses = PosDtoMapper.class)
+@ConditionalOnMissingBean // prevent IntelliJ warning about duplicate beans
+public interface OsmImportReportDtoMapper {
+    @Mapping(target = "imported", expression = "java(source.importedCount())")
+    @Mapping(target = "failed", expression = "java(source.failedCount())")
+    OsmImportReportDto fromDomain(OsmImportReport source);
+
+    @Mapping(target = "success", expression = "java(source.isSuccess())")
+    OsmImportResultDto fromDomain(OsmImportResult source);
+}
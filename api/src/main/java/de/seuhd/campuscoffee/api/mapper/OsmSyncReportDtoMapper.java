@@ -0,0 +1,15 @@
+package de.seuhd.campuscoffee.api.mapper;
+
+import de.seuhd.campuscoffee.api.dtos.OsmSyncReportDto;
+import de.seuhd.campuscoffee.domain.model.OsmSyncReport;
+import org.mapstruct.Mapper;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+
+/**
+ * MapStruct mapper for converting OSM sync reports from the domain model to DTOs.
+ */
+@Mapper(componentModel = "spring")
+@ConditionalOnMissingBean // prevent IntelliJ warning about duplicate beans
+public interface OsmSyncReportDtoMapper {
+    OsmSyncReportDto fromDomain(OsmSyncReport source);
+}
@@ -3,6 +3,7 @@ package de.seuhd.campuscoffee.api.mapper;
 import de.seuhd.campuscoffee.api.dtos.PosDto;
 import de.seuhd.campuscoffee.domain.model.Pos;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 
 /**
@@ -16,5 +17,9 @@ import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean
 @ConditionalOnMissingBean // prevent IntelliJ warning about duplicate beans
 public interface PosDtoMapper {
     PosDto fromDomain(Pos source);
+
+    // the OSM source is only set by imports and syncs
+    @Mapping(target = "osmNodeId", ignore = true)
+    @Mapping(target = "osmVersion", ignore = true)
     Pos toDomain(PosDto source);
 }
@@ -3,6 +3,7 @@ package de.seuhd.campuscoffee;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
+import org.springframework.context.ConfigurableApplicationContext;
 
 /**
  * Main class to start the Spring Boot application .
@@ -11,6 +12,10 @@ import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
 @ConfigurationPropertiesScan
 public class Application {
     public static void main(String[] args) {
-        SpringApplication.run(Application.class, args);
+        ConfigurableApplicationContext context = SpringApplication.run(Application.class, args);
+        // application runners have completed when run returns, so a one-off extract import is done
+        if (context.getEnvironment().containsProperty(OsmExtractImportRunner.FILE_PROPERTY)) {
+            System.exit(SpringApplication.exit(context));
+        }
     }
 }
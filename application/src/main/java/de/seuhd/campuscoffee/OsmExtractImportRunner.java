@@ -0,0 +1,65 @@
+package de.seuhd.campuscoffee;
+
+import de.seuhd.campuscoffee.domain.model.OsmExtractImportReport;
+import de.seuhd.campuscoffee.domain.ports.PosService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.function.Consumer;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Component that imports the POS of a local OpenStreetMap extract on startup
+ * (see {@link PosService#importFromOsmExtract} and {@link PosService#importFromOsmPbfExtract}).
+ * Only active if {@code campus-coffee.osm.extract-import.file} is set; {@link Application#main} then shuts the
+ * application down once the import has completed.
+ * Files ending with {@code .pbf} are read in the binary PBF format, all other files as XML;
+ * XML files ending with {@code .gz} are decompressed while reading.
+ */
+@Component
+@ConditionalOnProperty(prefix = "campus-coffee.osm.extract-import", name = "file")
+@RequiredArgsConstructor
+@Slf4j
+class OsmExtractImportRunner implements ApplicationRunner {
+    static final String FILE_PROPERTY = "campus-coffee.osm.extract-import.file";
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final PosService posService;
+
+    @Value("${" + FILE_PROPERTY + "}")
+    private Path file;
+
+    @Override
+    public void run(ApplicationArguments args) throws IOException {
+        log.info("Importing POS from OpenStreetMap extract {} ({} bytes)...", file, Files.size(file));
+        Consumer<OsmExtractImportReport> progressListener = progress -> log.info(
+                "{} nodes read, {} POS imported, {} skipped ({} rows/s)",
+                progress.nodesRead(), progress.imported(), progress.skipped(), Math.round(progress.rowsPerSecond()));
+        OsmExtractImportReport report;
+        if (file.getFileName().toString().endsWith(".pbf")) {
+            report = posService.importFromOsmPbfExtract(file, progressListener);
+        } else {
+            try (InputStream extract = open(file)) {
+                report = posService.importFromOsmExtract(extract, progressListener);
+            }
+        }
+        log.info("Imported {} POS from {} ({} of {} POS nodes skipped) in {} s: {} rows/s",
+                report.imported(), file, report.skipped(), report.posNodes(),
+                report.elapsed().toMillis() / 1000.0, Math.round(report.rowsPerSecond()));
+    }
+
+    private static InputStream open(Path file) throws IOException {
+        InputStream in = new BufferedInputStream(Files.newInputStream(file), BUFFER_SIZE);
+        return file.getFileName().toString().endsWith(".gz") ? new GZIPInputStream(in, BUFFER_SIZE) : in;
+    }
+}
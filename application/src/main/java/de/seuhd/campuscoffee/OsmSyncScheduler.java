@@ -0,0 +1,37 @@
+package de.seuhd.campuscoffee;
+
+import de.seuhd.campuscoffee.domain.exceptions.OsmServiceUnavailableException;
+import de.seuhd.campuscoffee.domain.ports.PosService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Component that periodically synchronizes the POS imported from OpenStreetMap with the current OpenStreetMap data
+ * (see {@link PosService#syncWithOsm()}). Only active if {@code campus-coffee.osm.sync.enabled} is true.
+ * Runs are separated by a fixed delay, so that a slow sync never overlaps with the next one.
+ */
+@Component
+@EnableScheduling
+@ConditionalOnProperty(prefix = "campus-coffee.osm.sync", name = "enabled", havingValue = "true")
+@RequiredArgsConstructor
+@Slf4j
+class OsmSyncScheduler {
+    private final PosService posService;
+
+    @Scheduled(
+            initialDelayString = "${campus-coffee.osm.sync.initial-delay}",
+            fixedDelayString = "${campus-coffee.osm.sync.interval}"
+    )
+    void syncWithOsm() {
+        try {
+            posService.syncWithOsm();
+        } catch (OsmServiceUnavailableException e) {
+            // the next run catches up, since the versions of the remaining POS were not updated
+            log.warn("OSM sync aborted, OpenStreetMap API unavailable: {}", e.getMessage());
+        }
+    }
+}
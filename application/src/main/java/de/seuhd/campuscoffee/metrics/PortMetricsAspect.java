@@ -0,0 +1,113 @@
+package de.seuhd.campuscoffee.metrics;
+
+import de.seuhd.campuscoffee.domain.exceptions.DuplicatePosNameException;
+import de.seuhd.campuscoffee.domain.exceptions.OsmNodeMissingFieldsException;
+import de.seuhd.campuscoffee.domain.exceptions.OsmNodeNotFoundException;
+import de.seuhd.campuscoffee.domain.exceptions.PosVersionConflictException;
+import de.seuhd.campuscoffee.domain.ports.PosService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Records the time of every call of a port method (e.g., {@link PosService}, {@code PosDataService},
+ * {@code OsmDataService}) as timer {@code port.calls}, tagged with the port, the implementing class,
+ * the method, and the exception thrown (or {@code none}).
+ * Decorators (e.g., the snapshot or the cache) and the implementations they delegate to are recorded separately.
+ * <p>
+ * Exceptions thrown by the {@link PosService}, i.e., at the boundary of the domain layer,
+ * are additionally counted as {@code domain.exceptions}, tagged with the exception.
+ * <p>
+ * To keep the overhead low on hot read paths, the timer for successful calls is resolved once per method and cached.
+ */
+@Aspect
+@Component
+public class PortMetricsAspect {
+    private static final String PORTS_PACKAGE = PosService.class.getPackageName();
+
+    private final MeterRegistry meterRegistry;
+    private final Map<PortMethodKey, PortMethod> portMethods = new ConcurrentHashMap<>();
+
+    public PortMetricsAspect(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        // register the counters of expected domain exceptions up front, so that they are reported as zero
+        Stream.of(DuplicatePosNameException.class, OsmNodeNotFoundException.class, OsmNodeMissingFieldsException.class,
+                        PosVersionConflictException.class)
+                .forEach(exception -> exceptionCounter(exception.getSimpleName()));
+    }
+
+    /**
+     * Times all methods of the synchronous ports; the publishers of reactive ports are returned before any work is done.
+     */
+    @Around("execution(* de.seuhd.campuscoffee.domain.ports.*.*(..))"
+            + " && !execution(reactor.core.publisher.Mono+ *(..))"
+            + " && !execution(reactor.core.publisher.Flux+ *(..))")
+    public Object timePortCall(ProceedingJoinPoint joinPoint) throws Throwable {
+        PortMethodKey key = new PortMethodKey(joinPoint.getTarget().getClass(),
+                ((MethodSignature) joinPoint.getSignature()).getMethod());
+        PortMethod portMethod = portMethods.computeIfAbsent(key, this::resolve);
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            Object result = joinPoint.proceed();
+            sample.stop(portMethod.successTimer());
+            return result;
+        } catch (Throwable e) {
+            String exception = e.getClass().getSimpleName();
+            sample.stop(timer(portMethod.port(), portMethod.implementation(), portMethod.method(), exception));
+            if (portMethod.port().equals(PosService.class.getSimpleName())) {
+                exceptionCounter(exception).increment();
+            }
+            throw e;
+        }
+    }
+
+    private PortMethod resolve(PortMethodKey key) {
+        Class<?> targetClass = ClassUtils.getUserClass(key.targetClass());
+        Method method = key.method();
+        String port = Arrays.stream(ClassUtils.getAllInterfacesForClass(targetClass))
+                .filter(type -> type.getPackageName().equals(PORTS_PACKAGE))
+                .filter(type -> ClassUtils.hasMethod(type, method.getName(), method.getParameterTypes()))
+                .map(Class::getSimpleName)
+                .findFirst()
+                .orElse(method.getDeclaringClass().getSimpleName());
+        String implementation = targetClass.getSimpleName();
+        return new PortMethod(port, implementation, method.getName(),
+                timer(port, implementation, method.getName(), "none"));
+    }
+
+    private Timer timer(String port, String implementation, String method, String exception) {
+        return Timer.builder("port.calls")
+                .description("Time of calls of port methods")
+                .tag("port", port)
+                .tag("implementation", implementation)
+                .tag("method", method)
+                .tag("exception", exception)
+                .register(meterRegistry);
+    }
+
+    private Counter exceptionCounter(String exception) {
+        return Counter.builder("domain.exceptions")
+                .description("Exceptions thrown by the domain service")
+                .tag("exception", exception)
+                .register(meterRegistry);
+    }
+
+    private record PortMethodKey(Class<?> targetClass, Method method) {}
+
+    /**
+     * The tags of a port method and its cached timer for successful calls.
+     */
+    private record PortMethod(String port, String implementation, String method, Timer successTimer) {}
+}
@@ -1,12 +1,27 @@
 package de.seuhd.campuscoffee;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import de.seuhd.campuscoffee.api.converter.PosProtobufCodec;
+import de.seuhd.campuscoffee.api.dtos.DuplicatePosGroupDto;
+import de.seuhd.campuscoffee.api.dtos.NearbyPosDto;
+import de.seuhd.campuscoffee.api.dtos.OsmExtractImportReportDto;
+import de.seuhd.campuscoffee.api.dtos.OsmSyncReportDto;
 import de.seuhd.campuscoffee.api.dtos.PosDto;
 import io.restassured.http.ContentType;
+import io.restassured.response.ExtractableResponse;
+import io.restassured.response.Response;
 import org.springframework.test.context.DynamicPropertyRegistry;
 import org.testcontainers.containers.PostgreSQLContainer;
 import org.testcontainers.utility.DockerImageName;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 import static io.restassured.RestAssured.given;
@@ -16,6 +31,10 @@ import static io.restassured.RestAssured.given;
  * Provides methods to manage PostgreSQL testcontainers and perform common API operations.
  */
 public class TestUtils {
+    public static final String PROTOBUF = "application/x-protobuf";
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper().findAndRegisterModules();
+    private static final ObjectMapper CBOR_MAPPER = new ObjectMapper(new CBORFactory()).findAndRegisterModules();
+
     @SuppressWarnings("resource")
     public static PostgreSQLContainer<?> getPostgresContainer() {
         return new PostgreSQLContainer<>(
@@ -44,6 +63,152 @@ public class TestUtils {
                 .toList();
     }
 
+    public static ExtractableResponse<Response> retrievePosPage(int limit, Long after) {
+        var request = given()
+                .contentType(ContentType.JSON)
+                .queryParam("limit", limit);
+        if (after != null) {
+            request = request.queryParam("after", after);
+        }
+        return request
+                .when()
+                .get("/api/pos")
+                .then()
+                .statusCode(200)
+                .extract();
+    }
+
+    public static ExtractableResponse<Response> retrievePosPage(Map<String, ?> queryParams) {
+        return given()
+                .queryParams(queryParams)
+                .when()
+                .get("/api/pos")
+                .then()
+                .statusCode(200)
+                .extract();
+    }
+
+    public static ExtractableResponse<Response> retrieveConditionally(String path, String eTag) {
+        var request = given();
+        if (eTag != null) {
+            request = request.header("If-None-Match", eTag);
+        }
+        return request
+                .when()
+                .get(path)
+                .then()
+                .extract();
+    }
+
+    public static ExtractableResponse<Response> retrieveConditionally(String path, String accept, String eTag) {
+        var request = given().accept(accept);
+        if (eTag != null) {
+            request = request.header("If-None-Match", eTag);
+        }
+        return request
+                .when()
+                .get(path)
+                .then()
+                .extract();
+    }
+
+    public static List<PosDto> decodeCbor(byte[] body) {
+        try {
+            return CBOR_MAPPER.readValue(body, new TypeReference<>() {});
+        } catch (IOException e) {
+            throw new IllegalStateException("Invalid CBOR body", e);
+        }
+    }
+
+    public static List<PosDto> decodeProtobuf(byte[] body) {
+        try {
+            return PosProtobufCodec.readPosList(new ByteArrayInputStream(body));
+        } catch (IOException e) {
+            throw new IllegalStateException("Invalid Protobuf body", e);
+        }
+    }
+
+    public static List<PosDto> retrievePos(Map<String, ?> queryParams) {
+        return given()
+                .queryParams(queryParams)
+                .when()
+                .get("/api/pos")
+                .then()
+                .statusCode(200)
+                .extract().jsonPath().getList("$", PosDto.class);
+    }
+
+    public static List<Map<String, Object>> retrievePosFields(Map<String, ?> queryParams) {
+        return given()
+                .queryParams(queryParams)
+                .when()
+                .get("/api/pos")
+                .then()
+                .statusCode(200)
+                .extract().jsonPath().getList("$");
+    }
+
+    public static Map<String, Object> retrievePosFieldsById(Long id, String fields) {
+        return given()
+                .queryParam("fields", fields)
+                .when()
+                .get("/api/pos/{id}", id)
+                .then()
+                .statusCode(200)
+                .extract().jsonPath().getMap("$");
+    }
+
+    public static List<PosDto> searchPos(String query) {
+        return given()
+                .queryParam("q", query)
+                .when()
+                .get("/api/pos/search")
+                .then()
+                .statusCode(200)
+                .extract().jsonPath().getList("$", PosDto.class);
+    }
+
+    public static List<NearbyPosDto> retrieveNearestPos(double lat, double lon, int k) {
+        return given()
+                .queryParam("lat", lat)
+                .queryParam("lon", lon)
+                .queryParam("k", k)
+                .when()
+                .get("/api/pos/nearest")
+                .then()
+                .statusCode(200)
+                .extract().jsonPath().getList("$", NearbyPosDto.class);
+    }
+
+    public static List<DuplicatePosGroupDto> retrieveDuplicatePos() {
+        return given()
+                .when()
+                .get("/api/pos/duplicates")
+                .then()
+                .statusCode(200)
+                .extract().jsonPath().getList("$", DuplicatePosGroupDto.class);
+    }
+
+    public static List<PosDto> exportPos() {
+        String body = given()
+                .when()
+                .get("/api/pos/export")
+                .then()
+                .statusCode(200)
+                .contentType("application/x-ndjson")
+                .extract().asString();
+        return body.lines()
+                .filter(line -> !line.isBlank())
+                .map(line -> {
+                    try {
+                        return OBJECT_MAPPER.readValue(line, PosDto.class);
+                    } catch (JsonProcessingException e) {
+                        throw new IllegalStateException("Invalid NDJSON line: " + line, e);
+                    }
+                })
+                .toList();
+    }
+
     public static PosDto retrievePosById(Long id) {
         return given()
                 .contentType(ContentType.JSON)
@@ -68,6 +233,36 @@ public class TestUtils {
                 .toList();
     }
 
+    public static List<PosDto> upsertPosBatchAsProtobuf(List<PosDto> posList) {
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        try {
+            PosProtobufCodec.writePosList(posList, body);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return decodeProtobuf(given()
+                .contentType(PROTOBUF)
+                .accept(PROTOBUF)
+                .body(body.toByteArray())
+                .when()
+                .post("/api/pos/batch")
+                .then()
+                .statusCode(200)
+                .contentType(PROTOBUF)
+                .extract().asByteArray());
+    }
+
+    public static List<PosDto> upsertPosBatch(List<PosDto> posList) {
+        return given()
+                .contentType(ContentType.JSON)
+                .body(posList)
+                .when()
+                .post("/api/pos/batch")
+                .then()
+                .statusCode(200)
+                .extract().jsonPath().getList("$", PosDto.class);
+    }
+
     public static List<PosDto> updatePos(List<PosDto> posList) {
         return posList.stream()
                 .map(posDto -> given()
@@ -82,6 +277,20 @@ public class TestUtils {
                 .collect(Collectors.toList());
     }
 
+    public static ExtractableResponse<Response> updatePosConditionally(PosDto posDto, String eTag) {
+        var request = given()
+                .contentType(ContentType.JSON)
+                .body(posDto);
+        if (eTag != null) {
+            request = request.header("If-Match", eTag);
+        }
+        return request
+                .when()
+                .put("/api/pos/{id}", posDto.id())
+                .then()
+                .extract();
+    }
+
     public static PosDto importPosFromOsm(Long nodeId) {
         return given()
                 .contentType(ContentType.JSON)
@@ -91,5 +300,24 @@ public class TestUtils {
                 .statusCode(201)
                 .extract().as(PosDto.class);
     }
-}
 
+    public static OsmSyncReportDto syncPosWithOsm() {
+        return given()
+                .when()
+                .post("/api/pos/sync/osm")
+                .then()
+                .statusCode(200)
+                .extract().as(OsmSyncReportDto.class);
+    }
+
+    public static OsmExtractImportReportDto importPosFromOsmExtract(String extract) {
+        return given()
+                .contentType(ContentType.XML)
+                .body(extract)
+                .when()
+                .post("/api/pos/import/osm/extract")
+                .then()
+                .statusCode(200)
+                .extract().as(OsmExtractImportReportDto.class);
+    }
+}
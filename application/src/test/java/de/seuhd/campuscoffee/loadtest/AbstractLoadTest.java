@@ -0,0 +1,60 @@
+package de.seuhd.campuscoffee.loadtest;
+
+import de.seuhd.campuscoffee.domain.tests.OsmApiStub;
+import de.seuhd.campuscoffee.systest.AbstractSysTest;
+import org.junit.jupiter.api.Tag;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Abstract base class for load tests.
+ * Extends the system test setup (PostgreSQL testcontainer) with a local OSM stub that answers after a fixed delay.
+ * Load tests are excluded from regular test runs (see README).
+ */
+@Tag("load")
+abstract class AbstractLoadTest extends AbstractSysTest {
+    static final Duration OSM_DELAY = Duration.ofMillis(500);
+    // upper bound of concurrent requests to the OSM stub; the stub itself has no limit
+    static final int MAX_CONCURRENT_OSM_REQUESTS = 256;
+
+    // shared by all load tests (like the PostgreSQL container) and stopped with the JVM
+    static final OsmApiStub osmStub = startOsmStub();
+
+    @DynamicPropertySource
+    static void configureOsmStub(DynamicPropertyRegistry registry) {
+        registry.add("campus-coffee.osm.client.base-url", osmStub::baseUrl);
+        registry.add("campus-coffee.osm.client.max-concurrent-requests", () -> MAX_CONCURRENT_OSM_REQUESTS);
+        // the stub has no usage policy; the rate limiter would otherwise dominate the measurement
+        registry.add("campus-coffee.osm.resilience.requests-per-second", () -> 10_000);
+        registry.add("campus-coffee.osm.resilience.burst", () -> MAX_CONCURRENT_OSM_REQUESTS);
+    }
+
+    @LocalServerPort
+    private Integer port;
+
+    String baseUrl() {
+        return "http://localhost:" + port;
+    }
+
+    /**
+     * Starts the OSM stub, in which every node is a café with a unique name and a unique address, so that each import
+     * creates a new POS and is not logged as a possible duplicate. The street does not occur in the
+     * {@link SyntheticCatalog}, and the house number is the node ID.
+     */
+    private static OsmApiStub startOsmStub() {
+        OsmApiStub stub = OsmApiStub.start();
+        stub.setDelay(OSM_DELAY);
+        stub.generateNodes(nodeId -> OsmApiStub.nodeXml(nodeId, 1, Map.of(
+                "amenity", "cafe",
+                "name", "Stub Café " + nodeId,
+                "addr:street", "Stubweg",
+                "addr:housenumber", String.valueOf(nodeId),
+                "addr:postcode", "69117",
+                "addr:city", "Heidelberg")));
+        return stub;
+    }
+}
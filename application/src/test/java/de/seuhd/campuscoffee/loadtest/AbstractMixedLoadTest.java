@@ -0,0 +1,109 @@
+package de.seuhd.campuscoffee.loadtest;
+
+import de.seuhd.campuscoffee.domain.model.Pos;
+import de.seuhd.campuscoffee.domain.tests.TestFixtures;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Load test with a mix of fast reads and slow OSM imports, which block on the local OSM stub.
+ * Subclasses configure the thread model; compare the logged throughput of both runs.
+ */
+@Slf4j
+abstract class AbstractMixedLoadTest extends AbstractLoadTest {
+    private static final Duration TEST_DURATION = Duration.ofSeconds(20);
+    // more concurrent imports than the default Tomcat pool (200 threads) has workers
+    private static final int IMPORT_CLIENTS = MAX_CONCURRENT_OSM_REQUESTS;
+    private static final int READ_CLIENTS = 16;
+
+    @Test
+    void mixedReadsAndSlowImports() throws InterruptedException {
+        Pos seeded = posService.upsert(TestFixtures.getPosFixturesForInsertion().getFirst());
+        URI readUri = URI.create(baseUrl() + "/api/pos/" + seeded.id());
+
+        AtomicLong nextNodeId = new AtomicLong(1);
+        AtomicLong completedImports = new AtomicLong();
+        AtomicLong failedRequests = new AtomicLong();
+        List<Long> readLatenciesNanos = Collections.synchronizedList(new ArrayList<>());
+        long deadline = System.nanoTime() + TEST_DURATION.toNanos();
+
+        try (HttpClient client = HttpClient.newBuilder().executor(Executors.newVirtualThreadPerTaskExecutor()).build();
+             ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < IMPORT_CLIENTS; i++) {
+                clients.submit(() -> {
+                    while (System.nanoTime() < deadline) {
+                        URI importUri = URI.create(baseUrl() + "/api/pos/import/osm/" + nextNodeId.getAndIncrement());
+                        if (send(client, HttpRequest.newBuilder(importUri)
+                                .POST(HttpRequest.BodyPublishers.noBody()).build()) == 201) {
+                            completedImports.incrementAndGet();
+                        } else {
+                            failedRequests.incrementAndGet();
+                        }
+                    }
+                });
+            }
+            for (int i = 0; i < READ_CLIENTS; i++) {
+                clients.submit(() -> {
+                    while (System.nanoTime() < deadline) {
+                        long start = System.nanoTime();
+                        if (send(client, HttpRequest.newBuilder(readUri).GET().build()) == 200) {
+                            readLatenciesNanos.add(System.nanoTime() - start);
+                        } else {
+                            failedRequests.incrementAndGet();
+                        }
+                    }
+                });
+            }
+            clients.shutdown();
+            assertThat(clients.awaitTermination(TEST_DURATION.toSeconds() + 60, TimeUnit.SECONDS)).isTrue();
+        }
+
+        List<Long> latencies = readLatenciesNanos.stream().sorted().toList();
+        double seconds = TEST_DURATION.toMillis() / 1000.0;
+        log.info("[{}] reads: {}/s (p50 {} ms, p99 {} ms), imports: {}/s, failed requests: {}",
+                getClass().getSimpleName(),
+                String.format("%.1f", latencies.size() / seconds),
+                percentileMillis(latencies, 0.50),
+                percentileMillis(latencies, 0.99),
+                String.format("%.1f", completedImports.get() / seconds),
+                failedRequests.get());
+
+        assertThat(latencies).isNotEmpty();
+        assertThat(completedImports.get()).isPositive();
+    }
+
+    private static int send(HttpClient client, HttpRequest request) {
+        try {
+            return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+        } catch (IOException e) {
+            return -1;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return -1;
+        }
+    }
+
+    private static long percentileMillis(List<Long> sortedNanos, double percentile) {
+        if (sortedNanos.isEmpty()) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile * sortedNanos.size()) - 1;
+        return TimeUnit.NANOSECONDS.toMillis(sortedNanos.get(Math.max(0, index)));
+    }
+}
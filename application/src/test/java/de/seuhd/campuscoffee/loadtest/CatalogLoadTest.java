@@ -0,0 +1,170 @@
+package de.seuhd.campuscoffee.loadtest;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.seuhd.campuscoffee.api.dtos.PosDto;
+import de.seuhd.campuscoffee.domain.model.CampusType;
+import de.seuhd.campuscoffee.domain.model.Pos;
+import de.seuhd.campuscoffee.domain.model.PosType;
+import de.seuhd.campuscoffee.domain.ports.PosService;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.env.Environment;
+
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * End-to-end load test: seeds a synthetic catalog and drives a mix of reads, writes, and OSM imports at fixed
+ * arrival rates against the REST API. Latency percentiles and throughput per endpoint are written to
+ * {@code target/load-tests/CatalogLoadTest.json}.
+ * <p>
+ * The run is configured via system properties:
+ * {@code loadtest.catalog-size} (default 10000), {@code loadtest.warmup-seconds} (default 10),
+ * {@code loadtest.duration-seconds} (default 60), {@code loadtest.rate-factor} (scales all arrival rates, default 1),
+ * and {@code loadtest.report-dir} (default {@code target/load-tests}).
+ */
+@Slf4j
+class CatalogLoadTest extends AbstractLoadTest {
+    private static final int CATALOG_SIZE = Integer.getInteger("loadtest.catalog-size", 10_000);
+    private static final Duration WARMUP = Duration.ofSeconds(Long.getLong("loadtest.warmup-seconds", 10));
+    private static final Duration DURATION = Duration.ofSeconds(Long.getLong("loadtest.duration-seconds", 60));
+    private static final double RATE_FACTOR = Double.parseDouble(System.getProperty("loadtest.rate-factor", "1"));
+    private static final Path REPORT_DIR = Path.of(System.getProperty("loadtest.report-dir", "target/load-tests"));
+    private static final int MAX_IN_FLIGHT = 1_024;
+    private static final int PAGE_SIZE = 100;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private Environment environment;
+
+    @Test
+    void mixedWorkloadAtFixedArrivalRates() throws Exception {
+        Instant startedAt = Instant.now();
+        long[] ids = seedCatalog();
+        AtomicLong nextCreateIndex = new AtomicLong(CATALOG_SIZE);
+        AtomicLong nextNodeId = new AtomicLong(1);
+
+        List<OpenLoadGenerator.Endpoint> endpoints = List.of(
+                endpoint("GET /api/pos/{id}", 200, 200,
+                        () -> get("/api/pos/" + randomId(ids))),
+                endpoint("GET /api/pos?limit&after", 50, 200,
+                        () -> get("/api/pos?limit=" + PAGE_SIZE + "&after=" + randomId(ids))),
+                endpoint("GET /api/pos?campus&type&sort", 20, 200,
+                        () -> get("/api/pos?campus=" + random(CampusType.values()) + "&type=" + random(PosType.values())
+                                + "&sort=NAME&limit=" + PAGE_SIZE)),
+                endpoint("GET /api/pos/search", 20, 200,
+                        () -> get("/api/pos/search?q=" + SyntheticCatalog.WORDS.get(
+                                ThreadLocalRandom.current().nextInt(SyntheticCatalog.WORDS.size())) + "&limit=20")),
+                endpoint("GET /api/pos/nearest", 20, 200,
+                        () -> get("/api/pos/nearest?lat=" + ThreadLocalRandom.current().nextDouble(
+                                SyntheticCatalog.MIN_LATITUDE, SyntheticCatalog.MAX_LATITUDE)
+                                + "&lon=" + ThreadLocalRandom.current().nextDouble(
+                                SyntheticCatalog.MIN_LONGITUDE, SyntheticCatalog.MAX_LONGITUDE) + "&k=10")),
+                endpoint("POST /api/pos", 10, 201,
+                        () -> send("POST", "/api/pos",
+                                posDtoMapper.fromDomain(SyntheticCatalog.pos(nextCreateIndex.getAndIncrement())))),
+                endpoint("PUT /api/pos/{id}", 10, 200, () -> {
+                    int index = ThreadLocalRandom.current().nextInt(ids.length);
+                    Pos updated = SyntheticCatalog.pos(index).toBuilder()
+                            .id(ids[index])
+                            .description("updated at " + Instant.now())
+                            .build();
+                    return send("PUT", "/api/pos/" + ids[index], posDtoMapper.fromDomain(updated));
+                }),
+                endpoint("POST /api/pos/import/osm/{nodeId}", 5, 201,
+                        () -> HttpRequest.newBuilder(uri("/api/pos/import/osm/" + nextNodeId.getAndIncrement()))
+                                .POST(HttpRequest.BodyPublishers.noBody())
+                                .build())
+        );
+
+        List<LoadTestReport.EndpointReport> results =
+                new OpenLoadGenerator(MAX_IN_FLIGHT).run(endpoints, WARMUP, DURATION);
+
+        Map<String, Object> configuration = new LinkedHashMap<>();
+        configuration.put("catalogSize", CATALOG_SIZE);
+        configuration.put("warmupSeconds", WARMUP.toSeconds());
+        configuration.put("durationSeconds", DURATION.toSeconds());
+        configuration.put("rateFactor", RATE_FACTOR);
+        configuration.put("maxInFlight", MAX_IN_FLIGHT);
+        configuration.put("osmStubDelayMillis", OSM_DELAY.toMillis());
+        configuration.put("virtualThreads", environment.getProperty("spring.threads.virtual.enabled", "false"));
+        configuration.put("availableProcessors", Runtime.getRuntime().availableProcessors());
+        configuration.put("maxHeapBytes", Runtime.getRuntime().maxMemory());
+        Path report = new LoadTestReport(getClass().getSimpleName(), startedAt, configuration, results)
+                .write(REPORT_DIR);
+
+        results.forEach(result -> log.info(
+                "{}: {}/s (target {}/s), p50 {} ms, p95 {} ms, p99 {} ms, errors: {}, dropped: {}",
+                result.endpoint(), String.format("%.1f", result.throughputPerSecond()),
+                result.targetRequestsPerSecond(), result.p50Millis(), result.p95Millis(), result.p99Millis(),
+                result.errors(), result.dropped()));
+        log.info("Load test report written to {}", report.toAbsolutePath());
+
+        assertThat(results).allSatisfy(result -> assertThat(result.requests()).isPositive());
+    }
+
+    /**
+     * Inserts the synthetic catalog in batches and returns the IDs in the order of the catalog indexes.
+     */
+    private long[] seedCatalog() {
+        long[] ids = new long[CATALOG_SIZE];
+        for (int from = 0; from < CATALOG_SIZE; from += PosService.MAX_BATCH_SIZE) {
+            int to = Math.min(from + PosService.MAX_BATCH_SIZE, CATALOG_SIZE);
+            List<Pos> created = posService.upsertAll(SyntheticCatalog.range(from, to));
+            for (int i = 0; i < created.size(); i++) {
+                ids[from + i] = created.get(i).id();
+            }
+            log.info("Seeded {} of {} POS", to, CATALOG_SIZE);
+        }
+        return ids;
+    }
+
+    private static OpenLoadGenerator.Endpoint endpoint(
+            String name, double requestsPerSecond, int expectedStatus,
+            Supplier<HttpRequest> requests) {
+        return new OpenLoadGenerator.Endpoint(name, requestsPerSecond * RATE_FACTOR, requests, expectedStatus);
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(uri(path)).GET().build();
+    }
+
+    private HttpRequest send(String method, String path, PosDto body) {
+        try {
+            return HttpRequest.newBuilder(uri(path))
+                    .header("Content-Type", "application/json")
+                    .method(method, HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(body)))
+                    .build();
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private URI uri(String path) {
+        return URI.create(baseUrl() + path);
+    }
+
+    private static long randomId(long[] ids) {
+        return ids[ThreadLocalRandom.current().nextInt(ids.length)];
+    }
+
+    private static <T> T random(T[] values) {
+        return values[ThreadLocalRandom.current().nextInt(values.length)];
+    }
+}
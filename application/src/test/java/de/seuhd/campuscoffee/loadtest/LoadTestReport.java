@@ -0,0 +1,65 @@
+package de.seuhd.campuscoffee.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Machine-readable result of a load test, written as JSON.
+ *
+ * @param test          the name of the load test
+ * @param startedAt     when the load test started
+ * @param configuration the parameters of the run (catalog size, durations, thread model, hardware)
+ * @param endpoints     the results per endpoint
+ */
+record LoadTestReport(
+        String test,
+        Instant startedAt,
+        Map<String, Object> configuration,
+        List<EndpointReport> endpoints
+) {
+    /**
+     * Result of one endpoint during the measurement phase; latencies are given in milliseconds.
+     *
+     * @param endpoint                 the endpoint, e.g., {@code GET /api/pos/{id}}
+     * @param targetRequestsPerSecond  the arrival rate
+     * @param requests                 the number of completed requests
+     * @param errors                   the number of requests with unexpected status or I/O error
+     * @param dropped                  the number of requests not sent because too many requests were outstanding
+     * @param throughputPerSecond      the number of successful requests per second
+     */
+    record EndpointReport(
+            String endpoint,
+            double targetRequestsPerSecond,
+            long requests,
+            long errors,
+            long dropped,
+            double throughputPerSecond,
+            double p50Millis,
+            double p95Millis,
+            double p99Millis,
+            double maxMillis
+    ) {}
+
+    /**
+     * Writes the report to {@code <directory>/<test>.json}.
+     *
+     * @return the path of the written file
+     */
+    Path write(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        Path file = directory.resolve(test + ".json");
+        new ObjectMapper()
+                .findAndRegisterModules()
+                .enable(SerializationFeature.INDENT_OUTPUT)
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .writeValue(file.toFile(), this);
+        return file;
+    }
+}
@@ -0,0 +1,165 @@
+package de.seuhd.campuscoffee.loadtest;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+/**
+ * Open-model load generator: sends the requests of each endpoint at a fixed arrival rate, independent of how fast
+ * the application responds. Latencies are measured from the scheduled send time, so that a stalled application
+ * cannot hide its queueing delay by slowing down the generator ("coordinated omission").
+ */
+final class OpenLoadGenerator {
+    private final HttpClient client;
+    private final int maxInFlight;
+
+    /**
+     * @param maxInFlight the maximum number of outstanding requests; requests beyond that are counted as dropped
+     */
+    OpenLoadGenerator(int maxInFlight) {
+        this.client = HttpClient.newBuilder().executor(Executors.newVirtualThreadPerTaskExecutor()).build();
+        this.maxInFlight = maxInFlight;
+    }
+
+    /**
+     * An endpoint under load.
+     *
+     * @param name              the name used in the report, e.g., {@code GET /api/pos/{id}}
+     * @param requestsPerSecond the arrival rate
+     * @param requests          creates the next request; called on the scheduling thread, so it must be cheap
+     * @param expectedStatus    the status code of a successful response
+     */
+    record Endpoint(String name, double requestsPerSecond, Supplier<HttpRequest> requests, int expectedStatus) {}
+
+    /**
+     * Runs the load and returns the statistics of the measurement phase.
+     *
+     * @param endpoints the endpoints to load concurrently
+     * @param warmup    the duration of the warmup phase, which is not measured
+     * @param duration  the duration of the measurement phase
+     * @return the statistics per endpoint, in the order of the given endpoints
+     */
+    List<LoadTestReport.EndpointReport> run(List<Endpoint> endpoints, Duration warmup, Duration duration)
+            throws InterruptedException {
+        Semaphore inFlight = new Semaphore(maxInFlight);
+        List<Stats> stats = endpoints.stream().map(endpoint -> new Stats()).toList();
+        long start = System.nanoTime();
+        long measureFrom = start + warmup.toNanos();
+        long end = measureFrom + duration.toNanos();
+
+        try (ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+             ExecutorService schedulers = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < endpoints.size(); i++) {
+                Endpoint endpoint = endpoints.get(i);
+                Stats endpointStats = stats.get(i);
+                schedulers.submit(() -> schedule(endpoint, endpointStats, senders, inFlight, start, measureFrom, end));
+            }
+            schedulers.shutdown();
+            schedulers.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        }
+
+        List<LoadTestReport.EndpointReport> reports = new ArrayList<>(endpoints.size());
+        for (int i = 0; i < endpoints.size(); i++) {
+            reports.add(stats.get(i).report(endpoints.get(i), duration));
+        }
+        return reports;
+    }
+
+    private void schedule(Endpoint endpoint, Stats stats, ExecutorService senders, Semaphore inFlight,
+                          long start, long measureFrom, long end) {
+        long intervalNanos = (long) (1_000_000_000d / endpoint.requestsPerSecond());
+        for (long i = 0; ; i++) {
+            long scheduled = start + i * intervalNanos;
+            if (scheduled >= end) {
+                return;
+            }
+            for (long wait = scheduled - System.nanoTime(); wait > 0; wait = scheduled - System.nanoTime()) {
+                LockSupport.parkNanos(wait);
+            }
+            boolean measured = scheduled >= measureFrom;
+            if (!inFlight.tryAcquire()) {
+                if (measured) {
+                    stats.dropped();
+                }
+                continue;
+            }
+            HttpRequest request = endpoint.requests().get();
+            senders.submit(() -> {
+                try {
+                    int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                    if (measured) {
+                        stats.record(System.nanoTime() - scheduled, status == endpoint.expectedStatus());
+                    }
+                } catch (IOException e) {
+                    if (measured) {
+                        stats.record(System.nanoTime() - scheduled, false);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    inFlight.release();
+                }
+            });
+        }
+    }
+
+    /**
+     * Latencies and error counts of one endpoint.
+     */
+    private static final class Stats {
+        private long[] latencies = new long[1024];
+        private int count;
+        private long errors;
+        private long dropped;
+
+        synchronized void record(long latencyNanos, boolean success) {
+            if (!success) {
+                errors++;
+            }
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = latencyNanos;
+        }
+
+        synchronized void dropped() {
+            dropped++;
+        }
+
+        synchronized LoadTestReport.EndpointReport report(Endpoint endpoint, Duration duration) {
+            long[] sorted = Arrays.copyOf(latencies, count);
+            Arrays.sort(sorted);
+            double seconds = duration.toNanos() / 1e9;
+            return new LoadTestReport.EndpointReport(
+                    endpoint.name(),
+                    endpoint.requestsPerSecond(),
+                    count,
+                    errors,
+                    dropped,
+                    (count - errors) / seconds,
+                    percentileMillis(sorted, 0.50),
+                    percentileMillis(sorted, 0.95),
+                    percentileMillis(sorted, 0.99),
+                    sorted.length == 0 ? 0 : sorted[sorted.length - 1] / 1e6);
+        }
+
+        private static double percentileMillis(long[] sorted, double percentile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(percentile * sorted.length) - 1;
+            return sorted[Math.max(0, index)] / 1e6;
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package de.seuhd.campuscoffee.loadtest;
+
+import org.springframework.test.context.TestPropertySource;
+
+/**
+ * Mixed load test with request handling on the Tomcat worker pool of platform threads.
+ */
+@TestPropertySource(properties = "spring.threads.virtual.enabled=false")
+class PlatformThreadLoadTest extends AbstractMixedLoadTest {
+}
@@ -0,0 +1,61 @@
+package de.seuhd.campuscoffee.loadtest;
+
+import de.seuhd.campuscoffee.domain.model.CampusType;
+import de.seuhd.campuscoffee.domain.model.Pos;
+import de.seuhd.campuscoffee.domain.model.PosType;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.stream.LongStream;
+
+/**
+ * Deterministic generator of synthetic POS for load tests.
+ * The POS with the same index is identical across runs; names are unique per index.
+ */
+final class SyntheticCatalog {
+    // words used in descriptions, so that full-text searches have matches of varying selectivity
+    static final List<String> WORDS = List.of(
+            "espresso", "cappuccino", "waffles", "croissants", "bagels", "tea", "cake", "sandwiches",
+            "vegan", "breakfast", "lunch", "terrace", "quiet", "wifi", "students", "library");
+    private static final List<String> STREETS = List.of(
+            "Hauptstraße", "Im Neuenheimer Feld", "Bergheimer Straße", "Plöck", "Sofienstraße", "Berliner Straße");
+    private static final List<Integer> POSTAL_CODES = List.of(69115, 69117, 69120, 69121);
+    // bounding box around Heidelberg
+    static final double MIN_LATITUDE = 49.38;
+    static final double MAX_LATITUDE = 49.43;
+    static final double MIN_LONGITUDE = 8.64;
+    static final double MAX_LONGITUDE = 8.73;
+    private static final long SEED = 0x5EED_CAFEL;
+
+    private SyntheticCatalog() {}
+
+    /**
+     * Creates the POS with the given index (without ID).
+     */
+    static Pos pos(long index) {
+        SplittableRandom random = new SplittableRandom(SEED + index);
+        return Pos.builder()
+                .name("Synthetic POS " + index)
+                .description(word(random) + ", " + word(random) + " and " + word(random))
+                .type(PosType.values()[random.nextInt(PosType.values().length)])
+                .campus(CampusType.values()[random.nextInt(CampusType.values().length)])
+                .street(STREETS.get(random.nextInt(STREETS.size())))
+                .houseNumber(Integer.toString(1 + random.nextInt(200)))
+                .postalCode(POSTAL_CODES.get(random.nextInt(POSTAL_CODES.size())))
+                .city("Heidelberg")
+                .latitude(random.nextDouble(MIN_LATITUDE, MAX_LATITUDE))
+                .longitude(random.nextDouble(MIN_LONGITUDE, MAX_LONGITUDE))
+                .build();
+    }
+
+    /**
+     * Creates the POS with the indexes {@code from} (inclusive) to {@code to} (exclusive).
+     */
+    static List<Pos> range(long from, long to) {
+        return LongStream.range(from, to).mapToObj(SyntheticCatalog::pos).toList();
+    }
+
+    private static String word(SplittableRandom random) {
+        return WORDS.get(random.nextInt(WORDS.size()));
+    }
+}
@@ -0,0 +1,10 @@
+package de.seuhd.campuscoffee.loadtest;
+
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * Mixed load test with request handling, {@code @Async} tasks, and the OSM client on virtual threads.
+ */
+@ActiveProfiles("virtual-threads")
+class VirtualThreadLoadTest extends AbstractMixedLoadTest {
+}
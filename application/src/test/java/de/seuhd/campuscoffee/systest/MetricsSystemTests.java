@@ -0,0 +1,34 @@
+package de.seuhd.campuscoffee.systest;
+
+import de.seuhd.campuscoffee.TestUtils;
+import de.seuhd.campuscoffee.domain.tests.TestFixtures;
+import org.junit.jupiter.api.Test;
+
+import static io.restassured.RestAssured.given;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * System tests for the metrics exposed at the Prometheus scrape endpoint.
+ */
+public class MetricsSystemTests extends AbstractSysTest {
+
+    @Test
+    void prometheusEndpointExposesApplicationMetrics() {
+        TestFixtures.createPosFixtures(posService);
+        TestUtils.retrievePos();
+
+        String metrics = given()
+                .when()
+                .get("/actuator/prometheus")
+                .then()
+                .statusCode(200)
+                .extract().asString();
+
+        assertThat(metrics)
+                .contains("http_server_requests_seconds_bucket{")
+                .containsPattern("port_calls_seconds_count\\{[^}]*implementation=\"PosServiceImpl\"[^}]*method=\"getAll\"")
+                .containsPattern("port_calls_seconds_count\\{[^}]*implementation=\"PosDataServiceImpl\"[^}]*method=\"upsert\"")
+                .contains("domain_exceptions_total{exception=\"DuplicatePosNameException\"")
+                .contains("hikaricp_connections_active");
+    }
+}
@@ -0,0 +1,117 @@
+package de.seuhd.campuscoffee.systest;
+
+import de.seuhd.campuscoffee.TestUtils;
+import de.seuhd.campuscoffee.api.dtos.OsmSyncReportDto;
+import de.seuhd.campuscoffee.domain.model.Pos;
+import de.seuhd.campuscoffee.domain.tests.OsmApiStub;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * System tests for the synchronization of imported POS with OpenStreetMap, against a local OSM stub
+ * whose nodes can be edited (new version) and deleted by the tests.
+ */
+public class OsmSyncSystemTests extends AbstractSysTest {
+    private static final long CAFE_NODE_ID = 101L;
+    private static final long BAKERY_NODE_ID = 102L;
+
+    // shared by all tests (like the PostgreSQL container) and stopped with the JVM
+    private static final OsmApiStub osmStub = OsmApiStub.start();
+
+    @DynamicPropertySource
+    static void configureOsmStub(DynamicPropertyRegistry registry) {
+        registry.add("campus-coffee.osm.client.base-url", osmStub::baseUrl);
+        // the tests edit nodes between requests, so imports must not be answered from the cache
+        registry.add("campus-coffee.osm.cache.enabled", () -> false);
+        registry.add("campus-coffee.osm.resilience.requests-per-second", () -> 1000);
+        registry.add("campus-coffee.osm.resilience.burst", () -> 1000);
+    }
+
+    @BeforeEach
+    void resetOsmStub() {
+        osmStub.reset();
+        putNode(CAFE_NODE_ID, 1, "Stub Café", "cafe", "1");
+        putNode(BAKERY_NODE_ID, 1, "Stub Bakery", "bakery", "2");
+    }
+
+    @Test
+    void importStoresOsmNodeAndVersion() {
+        Pos importedPos = posService.importFromOsmNode(CAFE_NODE_ID);
+
+        assertThat(importedPos.osmNodeId()).isEqualTo(CAFE_NODE_ID);
+        assertThat(importedPos.osmVersion()).isEqualTo(1L);
+        assertThat(TestUtils.retrievePosById(importedPos.id()).osmNodeId()).isEqualTo(CAFE_NODE_ID);
+    }
+
+    @Test
+    void syncUpdatesOnlyPosWithNewNodeVersion() {
+        Pos cafe = posService.importFromOsmNode(CAFE_NODE_ID);
+        Pos bakery = posService.importFromOsmNode(BAKERY_NODE_ID);
+
+        // the café is renamed in OpenStreetMap
+        putNode(CAFE_NODE_ID, 2, "Stub Café und Rösterei", "cafe", "1");
+        OsmSyncReportDto report = TestUtils.syncPosWithOsm();
+
+        assertThat(report).isEqualTo(OsmSyncReportDto.builder()
+                .checked(2).updated(1).unchanged(1).missing(0).failed(0).build());
+        Pos syncedCafe = posService.getById(cafe.id());
+        assertThat(syncedCafe.name()).isEqualTo("Stub Café und Rösterei");
+        assertThat(syncedCafe.osmVersion()).isEqualTo(2L);
+        assertThat(syncedCafe.version()).isEqualTo(cafe.version() + 1);
+        assertThat(posService.getById(bakery.id()))
+                .usingRecursiveComparison()
+                .isEqualTo(bakery);
+
+        // a second sync finds nothing to update
+        assertThat(TestUtils.syncPosWithOsm().unchanged()).isEqualTo(2);
+    }
+
+    @Test
+    void syncKeepsPosOfDeletedNode() {
+        Pos cafe = posService.importFromOsmNode(CAFE_NODE_ID);
+        posService.importFromOsmNode(BAKERY_NODE_ID);
+
+        osmStub.deleteNode(CAFE_NODE_ID);
+        OsmSyncReportDto report = TestUtils.syncPosWithOsm();
+
+        assertThat(report.missing()).isEqualTo(1);
+        assertThat(report.unchanged()).isEqualTo(1);
+        assertThat(posService.getById(cafe.id()))
+                .usingRecursiveComparison()
+                .isEqualTo(cafe);
+    }
+
+    @Test
+    void updateViaApiKeepsOsmNode() {
+        Pos cafe = posService.importFromOsmNode(CAFE_NODE_ID);
+
+        // clients cannot set or clear the OSM source
+        TestUtils.updatePos(List.of(posDtoMapper.fromDomain(cafe).toBuilder()
+                .description("Edited description")
+                .osmNodeId(null)
+                .osmVersion(null)
+                .build()));
+
+        Pos updatedCafe = posService.getById(cafe.id());
+        assertThat(updatedCafe.description()).isEqualTo("Edited description");
+        assertThat(updatedCafe.osmNodeId()).isEqualTo(CAFE_NODE_ID);
+        assertThat(updatedCafe.osmVersion()).isEqualTo(1L);
+    }
+
+    private static void putNode(long nodeId, long version, String name, String amenity, String houseNumber) {
+        osmStub.putNode(nodeId, OsmApiStub.nodeXml(nodeId, version, Map.of(
+                "amenity", amenity,
+                "name", name,
+                "addr:street", "Hauptstraße",
+                "addr:housenumber", houseNumber,
+                "addr:postcode", "69117",
+                "addr:city", "Heidelberg")));
+    }
+}
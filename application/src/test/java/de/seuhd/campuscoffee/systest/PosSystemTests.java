@@ -3,12 +3,23 @@ package de.seuhd.campuscoffee.systest;
 import de.seuhd.campuscoffee.domain.model.Pos;
 import de.seuhd.campuscoffee.domain.model.PosType;
 import de.seuhd.campuscoffee.domain.model.CampusType;
+import de.seuhd.campuscoffee.api.dtos.DuplicatePosGroupDto;
+import de.seuhd.campuscoffee.api.dtos.NearbyPosDto;
+import de.seuhd.campuscoffee.api.dtos.OsmExtractImportReportDto;
+import de.seuhd.campuscoffee.api.dtos.PosDto;
 import de.seuhd.campuscoffee.domain.tests.TestFixtures;
+import io.restassured.response.ExtractableResponse;
+import io.restassured.response.Response;
+import org.assertj.core.groups.Tuple;
 import org.junit.jupiter.api.Test;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
 
 import de.seuhd.campuscoffee.TestUtils;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
 
 /**
  * System tests for the operations related to POS (Point of Sale).
@@ -22,10 +33,43 @@ public class PosSystemTests extends AbstractSysTest {
 
         assertThat(createdPos)
                 .usingRecursiveComparison()
-                .ignoringFields("id", "createdAt", "updatedAt") // prevent issues due to differing timestamps after conversions
+                .ignoringFields("id", "createdAt", "updatedAt", "version") // prevent issues due to differing timestamps after conversions
                 .isEqualTo(posToCreate);
     }
 
+    @Test
+    void upsertPosBatch() {
+        List<Pos> posToCreate = TestFixtures.getPosFixturesForInsertion();
+        List<Pos> createdPos = TestUtils.upsertPosBatch(posToCreate.stream().map(posDtoMapper::fromDomain).toList())
+                .stream()
+                .map(posDtoMapper::toDomain)
+                .toList();
+
+        assertThat(createdPos)
+                .usingRecursiveFieldByFieldElementComparatorIgnoringFields("id", "createdAt", "updatedAt", "version")
+                .containsExactlyElementsOf(posToCreate);
+        assertThat(createdPos).allSatisfy(pos -> assertThat(pos.id()).isNotNull());
+
+        // update the first POS and create a new one in the same batch
+        Pos posToUpdate = createdPos.getFirst().toBuilder()
+                .description("Updated description")
+                .build();
+        Pos posToInsert = posToCreate.getFirst().toBuilder()
+                .name(posToCreate.getFirst().name() + " (Copy)")
+                .build();
+        List<Pos> upsertedPos = TestUtils.upsertPosBatch(List.of(posDtoMapper.fromDomain(posToUpdate), posDtoMapper.fromDomain(posToInsert)))
+                .stream()
+                .map(posDtoMapper::toDomain)
+                .toList();
+
+        assertThat(upsertedPos.getFirst())
+                .usingRecursiveComparison()
+                .ignoringFields("createdAt", "updatedAt", "version")
+                .isEqualTo(posToUpdate);
+        assertThat(upsertedPos.getFirst().version()).isEqualTo(posToUpdate.version() + 1);
+        assertThat(TestUtils.retrievePos()).hasSize(posToCreate.size() + 1);
+    }
+
     @Test
     void getAllCreatedPos() {
         List<Pos> createdPosList = TestFixtures.createPosFixtures(posService);
@@ -40,6 +84,161 @@ public class PosSystemTests extends AbstractSysTest {
                 .containsExactlyInAnyOrderElementsOf(createdPosList);
     }
 
+    @Test
+    void getPosPages() {
+        List<Pos> createdPosList = TestFixtures.createPosFixtures(posService);
+
+        ExtractableResponse<Response> firstPage = TestUtils.retrievePosPage(3, null);
+        List<PosDto> firstItems = firstPage.jsonPath().getList("$", PosDto.class);
+        assertThat(firstItems).hasSize(3);
+        assertThat(firstPage.header("Link")).contains("rel=\"next\"");
+
+        ExtractableResponse<Response> secondPage = TestUtils.retrievePosPage(3, firstItems.getLast().id());
+        List<PosDto> secondItems = secondPage.jsonPath().getList("$", PosDto.class);
+        assertThat(secondItems).hasSize(1);
+        assertThat(secondPage.header("Link")).isNull();
+
+        List<Pos> retrievedPos = Stream.concat(firstItems.stream(), secondItems.stream())
+                .map(posDtoMapper::toDomain)
+                .toList();
+        assertThat(retrievedPos)
+                .usingRecursiveFieldByFieldElementComparatorIgnoringFields("createdAt", "updatedAt")
+                .containsExactlyElementsOf(createdPosList);
+    }
+
+    @Test
+    void getFilteredAndSortedPos() {
+        List<Pos> createdPosList = TestFixtures.createPosFixtures(posService);
+
+        assertThat(TestUtils.retrievePos(Map.of("campus", "INF", "sort", "NAME")))
+                .extracting(PosDto::name)
+                .containsExactly(createdPosList.get(1).name(), createdPosList.get(2).name());
+        assertThat(TestUtils.retrievePos(Map.of("city", "Heidelberg", "postalCodeFrom", 69118, "postalCodeTo", 69120, "type", "BAKERY")))
+                .extracting(PosDto::name)
+                .containsExactly(createdPosList.get(1).name());
+        assertThat(TestUtils.retrievePos(Map.of("sort", "POSTAL_CODE", "desc", true, "limit", 2)))
+                .extracting(PosDto::postalCode)
+                .containsExactly(69120, 69120);
+    }
+
+    @Test
+    void getFilteredAndSortedPosPages() {
+        TestFixtures.createPosFixtures(posService);
+        List<PosDto> allPos = TestUtils.retrievePos(Map.of("sort", "POSTAL_CODE", "desc", true));
+
+        // the first page links to the next one, which continues in the same order, also across equal postal codes
+        ExtractableResponse<Response> firstPage = TestUtils.retrievePosPage(
+                Map.of("sort", "POSTAL_CODE", "desc", true, "limit", 3));
+        List<PosDto> firstItems = firstPage.jsonPath().getList("$", PosDto.class);
+        assertThat(firstPage.header("Link")).contains("rel=\"next\"").contains("sort=POSTAL_CODE");
+
+        ExtractableResponse<Response> secondPage = TestUtils.retrievePosPage(
+                Map.of("sort", "POSTAL_CODE", "desc", true, "limit", 3, "after", firstItems.getLast().id()));
+        List<PosDto> secondItems = secondPage.jsonPath().getList("$", PosDto.class);
+        assertThat(secondPage.header("Link")).isNull();
+
+        assertThat(Stream.concat(firstItems.stream(), secondItems.stream()))
+                .extracting(PosDto::id)
+                .containsExactlyElementsOf(allPos.stream().map(PosDto::id).toList());
+    }
+
+    @Test
+    void getPosWithSparseFieldsets() {
+        List<Pos> createdPosList = TestFixtures.createPosFixtures(posService);
+        Pos firstPos = createdPosList.getFirst();
+
+        // only the requested fields and the ID are returned
+        List<Map<String, Object>> allPos = TestUtils.retrievePosFields(Map.of("fields", "name,type,campus"));
+        assertThat(allPos).hasSize(createdPosList.size())
+                .allSatisfy(pos -> assertThat(pos).containsOnlyKeys("id", "name", "type", "campus"));
+        assertThat(allPos).extracting(pos -> pos.get("name"))
+                .containsExactlyInAnyOrderElementsOf(createdPosList.stream().map(Pos::name).toList());
+
+        List<Map<String, Object>> page = TestUtils.retrievePosFields(Map.of("limit", 2, "fields", "houseNumber"));
+        assertThat(page).extracting(pos -> pos.get("id"), pos -> pos.get("houseNumber"))
+                .containsExactly(createdPosList.stream()
+                        .sorted(Comparator.comparing(Pos::id))
+                        .limit(2)
+                        .map(pos -> tuple(pos.id().intValue(), pos.houseNumber()))
+                        .toArray(Tuple[]::new));
+
+        List<Map<String, Object>> filteredPos = TestUtils.retrievePosFields(
+                Map.of("campus", firstPos.campus(), "sort", "NAME", "fields", "name"));
+        assertThat(filteredPos).isNotEmpty()
+                .allSatisfy(pos -> assertThat(pos).containsOnlyKeys("id", "name"));
+
+        Map<String, Object> singlePos = TestUtils.retrievePosFieldsById(firstPos.id(), "name,description");
+        assertThat(singlePos).containsOnlyKeys("id", "name", "description")
+                .containsEntry("description", firstPos.description());
+
+        // the fields do not change the ETag, and unknown fields are rejected
+        String posPath = "/api/pos/" + firstPos.id();
+        assertThat(TestUtils.retrieveConditionally(posPath + "?fields=name", null).header("ETag"))
+                .isEqualTo(TestUtils.retrieveConditionally(posPath, null).header("ETag"));
+        assertThat(TestUtils.retrieveConditionally("/api/pos?fields=name,rating", null).statusCode()).isEqualTo(400);
+    }
+
+    @Test
+    void exportAllPos() {
+        List<Pos> createdPosList = TestFixtures.createPosFixtures(posService);
+
+        List<Pos> exportedPos = TestUtils.exportPos()
+                .stream()
+                .map(posDtoMapper::toDomain)
+                .toList();
+
+        assertThat(exportedPos)
+                .usingRecursiveFieldByFieldElementComparatorIgnoringFields("createdAt", "updatedAt")
+                .containsExactlyElementsOf(createdPosList);
+    }
+
+    @Test
+    void searchPos() {
+        List<Pos> createdPosList = TestFixtures.createPosFixtures(posService);
+
+        // "Café Botanik" matches by name, "Bäcker Görtz" by description
+        assertThat(TestUtils.searchPos("café"))
+                .extracting(PosDto::name)
+                .containsExactly(createdPosList.get(2).name());
+        assertThat(TestUtils.searchPos("lecture hall"))
+                .extracting(PosDto::name)
+                .containsExactly(createdPosList.get(1).name());
+        assertThat(TestUtils.searchPos("espresso")).isEmpty();
+    }
+
+    @Test
+    void getNearestPos() {
+        List<Pos> createdPosList = TestFixtures.createPosFixtures(posService);
+
+        // near Café Botanik in Neuenheimer Feld
+        List<NearbyPosDto> nearestPos = TestUtils.retrieveNearestPos(49.4160, 8.6700, 10);
+
+        // the fixture without location is not returned
+        assertThat(nearestPos)
+                .extracting(nearbyPos -> nearbyPos.pos().name())
+                .containsExactly(createdPosList.get(2).name(), createdPosList.get(1).name(), createdPosList.get(0).name());
+        assertThat(nearestPos.getFirst().distanceMeters()).isLessThan(100);
+    }
+
+    @Test
+    void getDuplicatePos() {
+        List<Pos> createdPosList = TestFixtures.createPosFixtures(posService);
+        assertThat(TestUtils.retrieveDuplicatePos()).isEmpty();
+
+        // same address as the second fixture ("Berliner Str. 43"), spelled differently
+        Pos duplicate = posService.upsert(createdPosList.get(1).toBuilder()
+                .id(null)
+                .name(createdPosList.get(1).name() + " (Duplicate)")
+                .street("Berliner Straße")
+                .build());
+
+        List<DuplicatePosGroupDto> duplicates = TestUtils.retrieveDuplicatePos();
+        assertThat(duplicates).hasSize(1);
+        assertThat(duplicates.getFirst().pos())
+                .extracting(PosDto::id)
+                .containsExactly(createdPosList.get(1).id(), duplicate.id());
+    }
+
     @Test
     void getPosById() {
         List<Pos> createdPosList = TestFixtures.createPosFixtures(posService);
@@ -55,6 +254,87 @@ public class PosSystemTests extends AbstractSysTest {
                 .isEqualTo(createdPos);
     }
 
+    @Test
+    void conditionalGetReturnsNotModifiedUntilPosChanges() {
+        List<Pos> createdPosList = TestFixtures.createPosFixtures(posService);
+        String posPath = "/api/pos/" + createdPosList.getFirst().id();
+
+        ExtractableResponse<Response> collection = TestUtils.retrieveConditionally("/api/pos", null);
+        ExtractableResponse<Response> single = TestUtils.retrieveConditionally(posPath, null);
+        assertThat(collection.statusCode()).isEqualTo(200);
+        assertThat(collection.header("Cache-Control")).isEqualTo("no-cache");
+        String collectionETag = collection.header("ETag");
+        String singleETag = single.header("ETag");
+        assertThat(collectionETag).isNotNull();
+        assertThat(singleETag).isNotNull();
+
+        ExtractableResponse<Response> notModified = TestUtils.retrieveConditionally("/api/pos", collectionETag);
+        assertThat(notModified.statusCode()).isEqualTo(304);
+        assertThat(notModified.header("ETag")).isEqualTo(collectionETag);
+        assertThat(TestUtils.retrieveConditionally(posPath, singleETag).statusCode()).isEqualTo(304);
+
+        Pos posToUpdate = createdPosList.getFirst().toBuilder()
+                .description("Updated description")
+                .build();
+        TestUtils.updatePos(List.of(posDtoMapper.fromDomain(posToUpdate)));
+
+        assertThat(TestUtils.retrieveConditionally("/api/pos", collectionETag).statusCode()).isEqualTo(200);
+        assertThat(TestUtils.retrieveConditionally(posPath, singleETag).statusCode()).isEqualTo(200);
+    }
+
+    @Test
+    void getPosInBinaryRepresentations() {
+        List<Pos> createdPosList = TestFixtures.createPosFixtures(posService);
+        String posPath = "/api/pos/" + createdPosList.getFirst().id();
+
+        ExtractableResponse<Response> json = TestUtils.retrieveConditionally("/api/pos", "application/json", null);
+        ExtractableResponse<Response> cbor = TestUtils.retrieveConditionally("/api/pos", "application/cbor", null);
+        ExtractableResponse<Response> protobuf = TestUtils.retrieveConditionally("/api/pos", TestUtils.PROTOBUF, null);
+        assertThat(cbor.contentType()).startsWith("application/cbor");
+        assertThat(protobuf.contentType()).startsWith(TestUtils.PROTOBUF);
+        assertThat(protobuf.header("X-Protobuf-Schema")).isEqualTo("/proto/campuscoffee/pos/v1/pos.proto");
+        assertThat(protobuf.header("X-Protobuf-Message")).isEqualTo("campuscoffee.pos.v1.PosList");
+
+        // all representations encode the same DTOs, the binary ones in fewer bytes
+        List<PosDto> cborPos = TestUtils.decodeCbor(cbor.asByteArray());
+        assertThat(cborPos)
+                .usingRecursiveFieldByFieldElementComparatorIgnoringFields("createdAt", "updatedAt")
+                .containsExactlyElementsOf(TestUtils.retrievePos());
+        assertThat(TestUtils.decodeProtobuf(protobuf.asByteArray())).isEqualTo(cborPos);
+        assertThat(cbor.asByteArray().length).isLessThan(json.asByteArray().length);
+        assertThat(protobuf.asByteArray().length).isLessThan(cbor.asByteArray().length);
+
+        // each representation has its own ETag, which is only valid for requests of the same representation
+        String cborETag = cbor.header("ETag");
+        assertThat(Stream.of(json, cbor, protobuf).map(response -> response.header("ETag"))).doesNotHaveDuplicates();
+        assertThat(cbor.header("Vary")).contains("Accept");
+        assertThat(TestUtils.retrieveConditionally("/api/pos", "application/cbor", cborETag).statusCode()).isEqualTo(304);
+        assertThat(TestUtils.retrieveConditionally("/api/pos", "application/json", cborETag).statusCode()).isEqualTo(200);
+
+        // ETags of all representations can be used for conditional updates
+        String singleETag = TestUtils.retrieveConditionally(posPath, TestUtils.PROTOBUF, null).header("ETag");
+        assertThat(singleETag).endsWith("+protobuf-v1\"");
+        PosDto edit = posDtoMapper.fromDomain(createdPosList.getFirst().toBuilder().description("Edit").build());
+        assertThat(TestUtils.updatePosConditionally(edit, singleETag).statusCode()).isEqualTo(200);
+        assertThat(TestUtils.updatePosConditionally(edit, singleETag).statusCode()).isEqualTo(412);
+    }
+
+    @Test
+    void upsertPosBatchAsProtobuf() {
+        List<PosDto> posToCreate = TestFixtures.getPosFixturesForInsertion().stream()
+                .map(posDtoMapper::fromDomain)
+                .toList();
+
+        List<PosDto> createdPos = TestUtils.upsertPosBatchAsProtobuf(posToCreate);
+
+        assertThat(createdPos)
+                .usingRecursiveFieldByFieldElementComparatorIgnoringFields("id", "createdAt", "updatedAt", "version")
+                .containsExactlyElementsOf(posToCreate);
+        assertThat(TestUtils.retrievePos())
+                .usingRecursiveFieldByFieldElementComparatorIgnoringFields("createdAt", "updatedAt")
+                .containsExactlyInAnyOrderElementsOf(createdPos);
+    }
+
     @Test
     void updatePos() {
         List<Pos> createdPosList = TestFixtures.createPosFixtures(posService);
@@ -70,8 +350,9 @@ public class PosSystemTests extends AbstractSysTest {
 
         assertThat(updatedPos)
                 .usingRecursiveComparison()
-                .ignoringFields("createdAt", "updatedAt")
+                .ignoringFields("createdAt", "updatedAt", "version")
                 .isEqualTo(posToUpdate);
+        assertThat(updatedPos.version()).isEqualTo(posToUpdate.version() + 1);
 
         // Verify changes persist
         Pos retrievedPos = posDtoMapper.toDomain(TestUtils.retrievePosById(posToUpdate.id()));
@@ -79,7 +360,29 @@ public class PosSystemTests extends AbstractSysTest {
         assertThat(retrievedPos)
                 .usingRecursiveComparison()
                 .ignoringFields("createdAt", "updatedAt")
-                .isEqualTo(posToUpdate);
+                .isEqualTo(updatedPos);
+    }
+
+    @Test
+    void concurrentUpdatesDoNotOverwriteEachOther() {
+        Pos createdPos = TestFixtures.createPosFixtures(posService).getFirst();
+        String eTag = TestUtils.retrieveConditionally("/api/pos/" + createdPos.id(), null).header("ETag");
+        PosDto firstEdit = posDtoMapper.fromDomain(createdPos.toBuilder().description("First edit").build());
+        PosDto secondEdit = posDtoMapper.fromDomain(createdPos.toBuilder().description("Second edit").build());
+
+        // both clients read the same version; only the first update succeeds
+        ExtractableResponse<Response> firstResponse = TestUtils.updatePosConditionally(firstEdit, eTag);
+        assertThat(firstResponse.statusCode()).isEqualTo(200);
+        assertThat(firstResponse.header("ETag")).isNotEqualTo(eTag);
+        assertThat(TestUtils.updatePosConditionally(secondEdit, eTag).statusCode()).isEqualTo(412);
+
+        // the same applies to the version in the request body
+        assertThat(TestUtils.updatePosConditionally(secondEdit, null).statusCode()).isEqualTo(409);
+
+        // the second client retries based on the current version
+        ExtractableResponse<Response> retry = TestUtils.updatePosConditionally(secondEdit, firstResponse.header("ETag"));
+        assertThat(retry.statusCode()).isEqualTo(200);
+        assertThat(TestUtils.retrievePosById(createdPos.id()).description()).isEqualTo("Second edit");
     }
 
     @Test
@@ -108,5 +411,62 @@ public class PosSystemTests extends AbstractSysTest {
         assertThat(retrievedPos)
                 .usingRecursiveComparison()
                 .isEqualTo(importedPos);
+
+        // Re-importing updates the POS with the same name instead of failing on the unique name
+        Pos reimportedPos = posService.importFromOsmNode(5589879349L);
+        assertThat(reimportedPos.id()).isEqualTo(importedPos.id());
+        assertThat(reimportedPos.createdAt()).isEqualTo(importedPos.createdAt());
+        assertThat(reimportedPos.version()).isEqualTo(importedPos.version() + 1);
+        assertThat(TestUtils.retrievePos()).hasSize(1);
+    }
+
+    @Test
+    void importPosFromOsmExtract() {
+        // a complete café, a bakery shop, a node without POS tags, and a café without address
+        String extract = """
+                <?xml version="1.0" encoding="UTF-8"?>
+                <osm version="0.6">
+                  <node id="201" version="3" lat="49.4106" lon="8.7053">
+                    <tag k="amenity" v="cafe"/>
+                    <tag k="name" v="Extract Café"/>
+                    <tag k="addr:street" v="Hauptstraße"/>
+                    <tag k="addr:housenumber" v="100"/>
+                    <tag k="addr:postcode" v="69117"/>
+                    <tag k="addr:city" v="Heidelberg"/>
+                  </node>
+                  <node id="202" version="1" lat="49.4120" lon="8.7100">
+                    <tag k="shop" v="bakery"/>
+                    <tag k="name" v="Extract Bakery"/>
+                    <tag k="addr:street" v="Untere Straße"/>
+                    <tag k="addr:housenumber" v="21a"/>
+                    <tag k="addr:postcode" v="69117"/>
+                    <tag k="addr:city" v="Heidelberg"/>
+                  </node>
+                  <node id="203" version="1" lat="49.4000" lon="8.6800">
+                    <tag k="highway" v="bus_stop"/>
+                  </node>
+                  <node id="204" version="1" lat="49.4000" lon="8.6800">
+                    <tag k="amenity" v="cafe"/>
+                    <tag k="name" v="Incomplete Café"/>
+                  </node>
+                </osm>
+                """;
+
+        OsmExtractImportReportDto report = TestUtils.importPosFromOsmExtract(extract);
+
+        assertThat(report.nodesRead()).isEqualTo(4);
+        assertThat(report.posNodes()).isEqualTo(3);
+        assertThat(report.imported()).isEqualTo(2);
+        assertThat(report.skipped()).isEqualTo(1);
+        List<Pos> importedPos = TestUtils.retrievePos().stream().map(posDtoMapper::toDomain).toList();
+        assertThat(importedPos)
+                .extracting(Pos::name, Pos::type, Pos::houseNumber)
+                .containsExactlyInAnyOrder(
+                        tuple("Extract Café", PosType.CAFE, "100"),
+                        tuple("Extract Bakery", PosType.BAKERY, "21a"));
+
+        // a second import of the same extract updates the POS instead of creating duplicates
+        assertThat(TestUtils.importPosFromOsmExtract(extract).imported()).isEqualTo(2);
+        assertThat(TestUtils.retrievePos()).hasSize(2);
     }
-}
\ No newline at end of file
+}
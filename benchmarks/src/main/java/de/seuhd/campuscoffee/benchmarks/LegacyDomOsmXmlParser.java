@@ -0,0 +1,53 @@
+package de.seuhd.campuscoffee.benchmarks;
+
+import de.seuhd.campuscoffee.domain.model.OsmNode;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.DocumentBuilderFactory;
+import java.io.ByteArrayInputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Baseline for the parser benchmarks: the DOM-based parsing that {@code OsmDataServiceImpl} used before the
+ * streaming {@link de.seuhd.campuscoffee.data.osm.OsmXmlParser} was introduced.
+ * A new factory is created per call and the response string is copied into a byte array, as before.
+ */
+final class LegacyDomOsmXmlParser {
+    private LegacyDomOsmXmlParser() {}
+
+    static List<OsmNode> parse(String xmlResponse) throws Exception {
+        DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+        factory.setFeature("http://apache.org/xml/features/disallow-doctype-decl", true);
+        factory.setFeature("http://xml.org/sax/features/external-general-entities", false);
+        factory.setFeature("http://xml.org/sax/features/external-parameter-entities", false);
+        factory.setFeature("http://apache.org/xml/features/nonvalidating/load-external-dtd", false);
+        factory.setXIncludeAware(false);
+        factory.setExpandEntityReferences(false);
+
+        DocumentBuilder builder = factory.newDocumentBuilder();
+        Document doc = builder.parse(new ByteArrayInputStream(xmlResponse.getBytes()));
+
+        NodeList nodeElements = doc.getElementsByTagName("node");
+        List<OsmNode> nodes = new ArrayList<>(nodeElements.getLength());
+        for (int n = 0; n < nodeElements.getLength(); n++) {
+            Element nodeElement = (Element) nodeElements.item(n);
+            Map<String, String> tags = new HashMap<>();
+            NodeList tagElements = nodeElement.getElementsByTagName("tag");
+            for (int i = 0; i < tagElements.getLength(); i++) {
+                Element tagElement = (Element) tagElements.item(i);
+                tags.put(tagElement.getAttribute("k"), tagElement.getAttribute("v"));
+            }
+            nodes.add(OsmNode.builder()
+                    .nodeId(Long.parseLong(nodeElement.getAttribute("id")))
+                    .tags(tags)
+                    .build());
+        }
+        return nodes;
+    }
+}
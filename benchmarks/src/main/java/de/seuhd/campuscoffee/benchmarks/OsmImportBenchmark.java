@@ -0,0 +1,52 @@
+package de.seuhd.campuscoffee.benchmarks;
+
+import de.seuhd.campuscoffee.data.osm.OsmXmlParser;
+import de.seuhd.campuscoffee.domain.impl.OsmNodeConverter;
+import de.seuhd.campuscoffee.domain.model.OsmNode;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.ByteArrayInputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the CPU-bound steps of an OSM import on a sample API response (see {@link OsmXmlFixtures#sampleResponse()}):
+ * parsing the XML, converting the nodes to POS, and both together.
+ * Run with {@code -prof gc} to report allocations.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OsmImportBenchmark {
+    private byte[] response;
+    private List<OsmNode> nodes;
+
+    @Setup
+    public void setUp() throws Exception {
+        response = OsmXmlFixtures.sampleResponse();
+        nodes = OsmXmlParser.parse(new ByteArrayInputStream(response));
+    }
+
+    @Benchmark
+    public List<OsmNode> parse() throws Exception {
+        return OsmXmlParser.parse(new ByteArrayInputStream(response));
+    }
+
+    @Benchmark
+    public void convert(Blackhole blackhole) {
+        for (OsmNode node : nodes) {
+            blackhole.consume(OsmNodeConverter.toPos(node));
+        }
+    }
+
+    @Benchmark
+    public void parseAndConvert(Blackhole blackhole) throws Exception {
+        for (OsmNode node : OsmXmlParser.parse(new ByteArrayInputStream(response))) {
+            blackhole.consume(OsmNodeConverter.toPos(node));
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package de.seuhd.campuscoffee.benchmarks;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+
+/**
+ * Generates OSM XML documents that resemble responses of the OpenStreetMap API for benchmarks.
+ */
+public final class OsmXmlFixtures {
+    private static final String SAMPLE_RESPONSE = "/osm/sample-response.xml";
+
+    private OsmXmlFixtures() {}
+
+    /**
+     * Loads a sample multi-fetch response of the OSM API with a mix of cafés, a bakery, a vending machine,
+     * and a cafeteria in Heidelberg, including tags that are not used by the import.
+     *
+     * @return the XML document as UTF-8 bytes
+     */
+    public static byte[] sampleResponse() {
+        try (InputStream in = OsmXmlFixtures.class.getResourceAsStream(SAMPLE_RESPONSE)) {
+            if (in == null) {
+                throw new IllegalStateException("Missing benchmark resource " + SAMPLE_RESPONSE);
+            }
+            return in.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Generates an OSM XML document with the given number of tagged café nodes.
+     *
+     * @param nodeCount the number of nodes
+     * @return the XML document
+     */
+    public static String generate(int nodeCount) {
+        StringBuilder xml = new StringBuilder(nodeCount * 700 + 200);
+        xml.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n")
+                .append("<osm version=\"0.6\" generator=\"openstreetmap-cgimap\" copyright=\"OpenStreetMap and contributors\">\n");
+        for (int i = 0; i < nodeCount; i++) {
+            long nodeId = 5589879349L + i;
+            xml.append(" <node id=\"").append(nodeId).append("\" visible=\"true\" version=\"7\" changeset=\"148370183\"")
+                    .append(" timestamp=\"2024-03-11T09:21:44Z\" user=\"someone\" uid=\"123456\"")
+                    .append(" lat=\"49.4122").append(i % 1000).append("\" lon=\"8.7100").append(i % 1000).append("\">\n")
+                    .append("  <tag k=\"addr:city\" v=\"Heidelberg\"/>\n")
+                    .append("  <tag k=\"addr:country\" v=\"DE\"/>\n")
+                    .append("  <tag k=\"addr:housenumber\" v=\"").append(1 + i % 120).append("\"/>\n")
+                    .append("  <tag k=\"addr:postcode\" v=\"69117\"/>\n")
+                    .append("  <tag k=\"addr:street\" v=\"Untere Straße\"/>\n")
+                    .append("  <tag k=\"amenity\" v=\"cafe\"/>\n")
+                    .append("  <tag k=\"cuisine\" v=\"coffee_shop\"/>\n")
+                    .append("  <tag k=\"description\" v=\"Caffé und Rösterei\"/>\n")
+                    .append("  <tag k=\"name\" v=\"Rada Coffee &amp; Rösterei ").append(i).append("\"/>\n")
+                    .append("  <tag k=\"opening_hours\" v=\"Mo-Fr 08:00-18:00; Sa 09:00-18:00\"/>\n")
+                    .append("  <tag k=\"website\" v=\"https://www.rada-coffee.de/\"/>\n")
+                    .append(" </node>\n");
+        }
+        return xml.append("</osm>\n").toString();
+    }
+}
@@ -0,0 +1,44 @@
+package de.seuhd.campuscoffee.benchmarks;
+
+import de.seuhd.campuscoffee.data.osm.OsmXmlParser;
+import de.seuhd.campuscoffee.domain.model.OsmNode;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the streaming StAX parser with the previous DOM-based parser
+ * for a single-node response and a large (10k nodes) multi-node response.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OsmXmlParserBenchmark {
+    @Param({"1", "10000"})
+    private int nodeCount;
+
+    private String xml;
+    private byte[] xmlBytes;
+
+    @Setup
+    public void setUp() {
+        xml = OsmXmlFixtures.generate(nodeCount);
+        xmlBytes = xml.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public List<OsmNode> stax() throws Exception {
+        return OsmXmlParser.parse(new ByteArrayInputStream(xmlBytes));
+    }
+
+    @Benchmark
+    public List<OsmNode> domBaseline() throws Exception {
+        return LegacyDomOsmXmlParser.parse(xml);
+    }
+}
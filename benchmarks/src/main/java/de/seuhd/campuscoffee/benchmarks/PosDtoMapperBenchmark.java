@@ -0,0 +1,49 @@
+package de.seuhd.campuscoffee.benchmarks;
+
+import de.seuhd.campuscoffee.api.dtos.PosDto;
+import de.seuhd.campuscoffee.api.mapper.PosDtoMapper;
+import de.seuhd.campuscoffee.api.mapper.PosDtoMapperImpl;
+import de.seuhd.campuscoffee.domain.model.Pos;
+import de.seuhd.campuscoffee.domain.tests.TestFixtures;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the mapping between POS domain objects and DTOs of the REST API.
+ * One operation maps all POS of the {@link TestFixtures}; run with {@code -prof gc} to report allocations.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PosDtoMapperBenchmark {
+    private final PosDtoMapper mapper = new PosDtoMapperImpl();
+
+    private List<Pos> posList;
+    private List<PosDto> dtos;
+
+    @Setup
+    public void setUp() {
+        posList = TestFixtures.getPosList();
+        dtos = posList.stream().map(mapper::fromDomain).toList();
+    }
+
+    @Benchmark
+    public void fromDomain(Blackhole blackhole) {
+        for (Pos pos : posList) {
+            blackhole.consume(mapper.fromDomain(pos));
+        }
+    }
+
+    @Benchmark
+    public void toDomain(Blackhole blackhole) {
+        for (PosDto dto : dtos) {
+            blackhole.consume(mapper.toDomain(dto));
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package de.seuhd.campuscoffee.benchmarks;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import de.seuhd.campuscoffee.api.converter.PosProtobufCodec;
+import de.seuhd.campuscoffee.api.converter.PosRepresentation;
+import de.seuhd.campuscoffee.api.dtos.PosDto;
+import de.seuhd.campuscoffee.domain.model.CampusType;
+import de.seuhd.campuscoffee.domain.model.PosType;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures writing and reading a list of 10,000 POS DTOs in each representation of the REST API
+ * (see {@link PosRepresentation}), configured like the message converters of the application.
+ * The size of the serialized list is printed once per trial, relative to JSON.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PosDtoSerializationBenchmark {
+    private static final int POS_COUNT = 10_000;
+    private static final TypeReference<List<PosDto>> POS_LIST_TYPE = new TypeReference<>() {};
+    private static final List<String> CITIES = List.of("Heidelberg", "Mannheim", "Schwetzingen", "Walldorf");
+
+    @Param({"JSON", "CBOR", "SMILE", "PROTOBUF"})
+    private PosRepresentation representation;
+
+    private List<PosDto> dtos;
+    private ObjectMapper objectMapper;
+    private byte[] serialized;
+
+    @Setup
+    public void setUp() throws IOException {
+        Random random = new Random(42);
+        LocalDateTime now = LocalDateTime.of(2025, 10, 1, 12, 0);
+        dtos = new ArrayList<>(POS_COUNT);
+        for (long id = 1; id <= POS_COUNT; id++) {
+            dtos.add(PosDto.builder()
+                    .id(id)
+                    .createdAt(now.minusSeconds(random.nextInt(10_000_000)))
+                    .updatedAt(now)
+                    .version(random.nextLong(1, 10))
+                    .name("POS " + id)
+                    .description("Coffee, cake, and sandwiches")
+                    .type(PosType.values()[random.nextInt(PosType.values().length)])
+                    .campus(CampusType.values()[random.nextInt(CampusType.values().length)])
+                    .street("Hauptstraße")
+                    .houseNumber(String.valueOf(random.nextInt(1, 200)))
+                    .postalCode(69117 + random.nextInt(100))
+                    .city(CITIES.get(random.nextInt(CITIES.size())))
+                    .latitude(49.3 + random.nextDouble() * 0.2)
+                    .longitude(8.6 + random.nextDouble() * 0.2)
+                    .osmNodeId(random.nextBoolean() ? random.nextLong(1, 12_000_000_000L) : null)
+                    .osmVersion(random.nextBoolean() ? random.nextLong(1, 20) : null)
+                    .build());
+        }
+        objectMapper = switch (representation) {
+            case JSON -> objectMapperBuilder().build();
+            case CBOR -> objectMapperBuilder().factory(new CBORFactory()).build();
+            case SMILE -> objectMapperBuilder().factory(SmileFactory.builder()
+                    .enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES)
+                    .build()).build();
+            case PROTOBUF -> null;
+        };
+        serialized = serialize();
+        byte[] json = objectMapperBuilder().build().writeValueAsBytes(dtos);
+        System.out.printf("%n%s: %,d bytes for %,d POS (%.0f %% of JSON)%n",
+                representation, serialized.length, POS_COUNT, 100.0 * serialized.length / json.length);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws IOException {
+        if (objectMapper != null) {
+            return objectMapper.writeValueAsBytes(dtos);
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        PosProtobufCodec.writePosList(dtos, out);
+        return out.toByteArray();
+    }
+
+    @Benchmark
+    public List<PosDto> deserialize() throws IOException {
+        if (objectMapper != null) {
+            return objectMapper.readValue(serialized, POS_LIST_TYPE);
+        }
+        return PosProtobufCodec.readPosList(new ByteArrayInputStream(serialized));
+    }
+
+    /**
+     * Jackson as configured by Spring Boot, which writes timestamps as ISO-8601 strings.
+     */
+    private static Jackson2ObjectMapperBuilder objectMapperBuilder() {
+        return Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    }
+}
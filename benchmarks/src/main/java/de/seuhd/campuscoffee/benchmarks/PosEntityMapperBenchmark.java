@@ -0,0 +1,65 @@
+package de.seuhd.campuscoffee.benchmarks;
+
+import de.seuhd.campuscoffee.data.mapper.PosEntityMapper;
+import de.seuhd.campuscoffee.data.mapper.PosEntityMapperImpl;
+import de.seuhd.campuscoffee.data.persistence.AddressEntity;
+import de.seuhd.campuscoffee.data.persistence.PosEntity;
+import de.seuhd.campuscoffee.domain.model.Pos;
+import de.seuhd.campuscoffee.domain.tests.TestFixtures;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the mapping between POS domain objects and JPA entities, including the house number
+ * handling ("21a" is split into 21 and 'a' on writes and merged again on reads).
+ * One operation maps all POS of the {@link TestFixtures}; run with {@code -prof gc} to report allocations.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PosEntityMapperBenchmark {
+    private final PosEntityMapper mapper = new PosEntityMapperImpl();
+
+    private List<Pos> posList;
+    private List<PosEntity> entities;
+
+    @Setup
+    public void setUp() {
+        posList = TestFixtures.getPosList();
+        entities = posList.stream().map(mapper::toEntity).toList();
+    }
+
+    @Benchmark
+    public void toEntity(Blackhole blackhole) {
+        for (Pos pos : posList) {
+            blackhole.consume(mapper.toEntity(pos));
+        }
+    }
+
+    @Benchmark
+    public void fromEntity(Blackhole blackhole) {
+        for (PosEntity entity : entities) {
+            blackhole.consume(mapper.fromEntity(entity));
+        }
+    }
+
+    @Benchmark
+    public void splitHouseNumber(Blackhole blackhole) {
+        for (Pos pos : posList) {
+            blackhole.consume(mapper.splitHouseNumber(pos, new AddressEntity()));
+        }
+    }
+
+    @Benchmark
+    public void mergeHouseNumber(Blackhole blackhole) {
+        for (PosEntity entity : entities) {
+            blackhole.consume(mapper.mergeHouseNumber(entity));
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package de.seuhd.campuscoffee.benchmarks;
+
+import de.seuhd.campuscoffee.data.index.PosSpatialIndex;
+import de.seuhd.campuscoffee.domain.model.CampusType;
+import de.seuhd.campuscoffee.domain.model.NearbyPos;
+import de.seuhd.campuscoffee.domain.model.Pos;
+import de.seuhd.campuscoffee.domain.model.PosType;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures k-nearest-neighbor queries (k = 10) of the spatial index against a linear scan over all POS,
+ * with POS spread uniformly over Germany.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PosSpatialIndexBenchmark {
+    private static final int K = 10;
+    private static final int QUERY_COUNT = 1024;
+
+    @Param({"1000", "100000"})
+    private int posCount;
+
+    private List<Pos> posList;
+    private PosSpatialIndex index;
+    private double[] queryLatitudes;
+    private double[] queryLongitudes;
+    private int nextQuery;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        posList = new ArrayList<>(posCount);
+        for (long id = 1; id <= posCount; id++) {
+            posList.add(Pos.builder()
+                    .id(id)
+                    .name("POS " + id)
+                    .description("Description")
+                    .type(PosType.CAFE)
+                    .campus(CampusType.ALTSTADT)
+                    .street("Hauptstraße")
+                    .houseNumber("1")
+                    .postalCode(69117)
+                    .city("Heidelberg")
+                    .latitude(randomLatitude(random))
+                    .longitude(randomLongitude(random))
+                    .build());
+        }
+        index = new PosSpatialIndex();
+        index.rebuild(posList);
+
+        queryLatitudes = new double[QUERY_COUNT];
+        queryLongitudes = new double[QUERY_COUNT];
+        for (int i = 0; i < QUERY_COUNT; i++) {
+            queryLatitudes[i] = randomLatitude(random);
+            queryLongitudes[i] = randomLongitude(random);
+        }
+    }
+
+    @Benchmark
+    public List<NearbyPos> kdTree() {
+        int query = nextQuery();
+        return index.nearest(queryLatitudes[query], queryLongitudes[query], K);
+    }
+
+    @Benchmark
+    public List<Pos> linearScanBaseline() {
+        int query = nextQuery();
+        double latitude = queryLatitudes[query];
+        double longitude = queryLongitudes[query];
+        return posList.stream()
+                .sorted(Comparator.comparingDouble(pos -> haversine(latitude, longitude, pos.latitude(), pos.longitude())))
+                .limit(K)
+                .toList();
+    }
+
+    private int nextQuery() {
+        nextQuery = (nextQuery + 1) & (QUERY_COUNT - 1);
+        return nextQuery;
+    }
+
+    private static double randomLatitude(Random random) {
+        return 47.3 + random.nextDouble() * 7.7;
+    }
+
+    private static double randomLongitude(Random random) {
+        return 5.9 + random.nextDouble() * 9.1;
+    }
+
+    private static double haversine(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.pow(Math.sin(dLat / 2), 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) * Math.pow(Math.sin(dLon / 2), 2);
+        return 2 * 6_371_008.8 * Math.asin(Math.sqrt(a));
+    }
+}
@@ -0,0 +1,133 @@
+package db.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+import org.jspecify.annotations.Nullable;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+/**
+ * Adds the normalized address key used for duplicate detection
+ * (see {@link de.seuhd.campuscoffee.data.index.AddressKey}).
+ * This is a Java migration because the key of existing rows is computed in Java; the key is not unique,
+ * since several POS may legitimately share an address.
+ * <p>
+ * The migration contains a frozen copy of the key algorithm as of this version, so that later changes to
+ * {@code AddressKey} do not change what this migration writes. If the algorithm changes, a new migration must
+ * recompute the keys of existing rows.
+ */
+@SuppressWarnings("unused") // discovered by Flyway in classpath:db/migration
+public class V6__AddPosAddressKey extends BaseJavaMigration {
+    private static final int BATCH_SIZE = 500;
+
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+    private static final int FIELD_SEPARATOR = 0x1F;
+    private static final int ABSENT = 0x1E;
+    private static final String STREET_ABBREVIATION = "str";
+    private static final String STREET = "strasse";
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        try (Statement statement = context.getConnection().createStatement()) {
+            statement.execute("ALTER TABLE pos ADD COLUMN address_key bigint");
+        }
+
+        try (Statement select = context.getConnection().createStatement();
+             PreparedStatement update = context.getConnection().prepareStatement(
+                     "UPDATE pos SET address_key = ? WHERE id = ?")) {
+            select.setFetchSize(BATCH_SIZE);
+            try (ResultSet rows = select.executeQuery(
+                    "SELECT id, street, house_number, house_number_suffix, postal_code, city FROM pos")) {
+                int pending = 0;
+                while (rows.next()) {
+                    String suffix = rows.getString("house_number_suffix");
+                    update.setLong(1, addressKey(
+                            rows.getString("street"),
+                            rows.getObject("house_number", Integer.class),
+                            suffix == null || suffix.isEmpty() ? null : suffix.charAt(0),
+                            rows.getObject("postal_code", Integer.class),
+                            rows.getString("city")));
+                    update.setLong(2, rows.getLong("id"));
+                    update.addBatch();
+                    if (++pending == BATCH_SIZE) {
+                        update.executeBatch();
+                        pending = 0;
+                    }
+                }
+                if (pending > 0) {
+                    update.executeBatch();
+                }
+            }
+        }
+
+        try (Statement statement = context.getConnection().createStatement()) {
+            statement.execute("ALTER TABLE pos ALTER COLUMN address_key SET NOT NULL");
+            statement.execute("CREATE INDEX pos_address_key_idx ON pos (address_key)");
+        }
+    }
+
+    private static long addressKey(@Nullable String street, @Nullable Integer houseNumber, @Nullable Character suffix,
+                                   @Nullable Integer postalCode, @Nullable String city) {
+        long hash = FNV_OFFSET_BASIS;
+        hash = street(hash, street);
+        hash = mix(hash, FIELD_SEPARATOR);
+        hash = houseNumber == null ? mix(hash, ABSENT) : mixInt(hash, houseNumber);
+        hash = mix(hash, FIELD_SEPARATOR);
+        hash = suffix == null ? hash : letter(hash, suffix);
+        hash = mix(hash, FIELD_SEPARATOR);
+        hash = postalCode == null ? mix(hash, ABSENT) : mixInt(hash, postalCode);
+        hash = mix(hash, FIELD_SEPARATOR);
+        return text(hash, city, 0, city == null ? 0 : city.length());
+    }
+
+    private static long street(long hash, @Nullable String street) {
+        if (street == null) {
+            return hash;
+        }
+        int end = street.length();
+        while (end > 0 && !Character.isLetterOrDigit(street.charAt(end - 1))) {
+            end--;
+        }
+        int abbreviationStart = end - STREET_ABBREVIATION.length();
+        if (abbreviationStart >= 0
+                && street.regionMatches(true, abbreviationStart, STREET_ABBREVIATION, 0, STREET_ABBREVIATION.length())) {
+            hash = text(hash, street, 0, abbreviationStart);
+            return text(hash, STREET, 0, STREET.length());
+        }
+        return text(hash, street, 0, end);
+    }
+
+    private static long text(long hash, @Nullable String value, int from, int to) {
+        if (value == null) {
+            return hash;
+        }
+        for (int i = from; i < to; i++) {
+            hash = letter(hash, value.charAt(i));
+        }
+        return hash;
+    }
+
+    private static long letter(long hash, char c) {
+        char lower = Character.toLowerCase(c);
+        return switch (lower) {
+            case 'ä' -> mix(mix(hash, 'a'), 'e');
+            case 'ö' -> mix(mix(hash, 'o'), 'e');
+            case 'ü' -> mix(mix(hash, 'u'), 'e');
+            case 'ß' -> mix(mix(hash, 's'), 's');
+            default -> Character.isLetterOrDigit(lower) ? mix(hash, lower) : hash;
+        };
+    }
+
+    private static long mixInt(long hash, int value) {
+        hash = mix(hash, value >>> 16);
+        return mix(hash, value & 0xFFFF);
+    }
+
+    private static long mix(long hash, int value) {
+        hash = (hash ^ (value & 0xFF)) * FNV_PRIME;
+        return (hash ^ ((value >>> 8) & 0xFF)) * FNV_PRIME;
+    }
+}
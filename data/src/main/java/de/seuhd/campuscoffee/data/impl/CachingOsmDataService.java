@@ -0,0 +1,327 @@
+package de.seuhd.campuscoffee.data.impl;
+
+import de.seuhd.campuscoffee.domain.exceptions.OsmNodeNotFoundException;
+import de.seuhd.campuscoffee.domain.exceptions.OsmServiceUnavailableException;
+import de.seuhd.campuscoffee.domain.model.OsmNode;
+import de.seuhd.campuscoffee.domain.ports.OsmDataService;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestClientException;
+
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiPredicate;
+import java.util.function.Consumer;
+
+/**
+ * Caching decorator for the {@link OsmDataService} port.
+ * Keeps parsed OSM nodes in a size-bounded LRU cache:
+ * <ul>
+ *   <li>Within the TTL, cached nodes are served without contacting the OSM API.</li>
+ *   <li>Within the stale-while-revalidate window after the TTL, the stale node is served immediately
+ *   and revalidated in the background.</li>
+ *   <li>Afterward, the node is revalidated with a conditional request ({@code If-None-Match}/{@code If-Modified-Since}).
+ *   If the OSM API cannot be reached, the stale node is served within the stale-if-error window.</li>
+ * </ul>
+ * Cache statistics are exposed as Micrometer meters with the tag {@code cache=osm-nodes}.
+ */
+@Slf4j
+@Service
+@Primary
+class CachingOsmDataService implements OsmDataService {
+    private static final String CACHE_NAME = "osm-nodes";
+
+    private final OsmDataServiceImpl delegate;
+    private final OsmCacheProperties properties;
+    private final AsyncTaskExecutor revalidationExecutor;
+    private final Clock clock;
+
+    // access-ordered map for LRU eviction; all access is guarded by the map's monitor
+    private final Map<Long, CacheEntry> cache;
+    private final Set<Long> revalidating = ConcurrentHashMap.newKeySet();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder staleHits = new LongAdder();
+    private final LongAdder notModified = new LongAdder();
+
+    @Autowired
+    CachingOsmDataService(OsmDataServiceImpl delegate,
+                          OsmCacheProperties properties,
+                          @Qualifier("applicationTaskExecutor") AsyncTaskExecutor revalidationExecutor,
+                          MeterRegistry meterRegistry) {
+        this(delegate, properties, revalidationExecutor, meterRegistry, Clock.systemUTC());
+    }
+
+    CachingOsmDataService(OsmDataServiceImpl delegate,
+                          OsmCacheProperties properties,
+                          AsyncTaskExecutor revalidationExecutor,
+                          MeterRegistry meterRegistry,
+                          Clock clock) {
+        this.delegate = delegate;
+        this.properties = properties;
+        this.revalidationExecutor = revalidationExecutor;
+        this.clock = clock;
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, CacheEntry> eldest) {
+                if (size() > properties.maxSize()) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+        registerMeters(meterRegistry);
+    }
+
+    @Override
+    public @NonNull OsmNode fetchNode(@NonNull Long nodeId) throws OsmNodeNotFoundException {
+        if (!properties.enabled()) {
+            return delegate.fetchNode(nodeId);
+        }
+
+        CacheEntry entry = get(nodeId);
+        if (entry == null) {
+            misses.increment();
+            return load(nodeId);
+        }
+
+        Duration age = Duration.between(entry.validatedAt(), clock.instant());
+        if (age.compareTo(properties.ttl()) <= 0) {
+            hits.increment();
+            return entry.node();
+        }
+        if (age.compareTo(properties.ttl().plus(properties.staleWhileRevalidate())) <= 0) {
+            staleHits.increment();
+            revalidateInBackground(nodeId, entry);
+            return entry.node();
+        }
+        misses.increment();
+        return revalidate(nodeId, entry);
+    }
+
+    @Override
+    public @NonNull List<OsmNode> fetchNodes(@NonNull Collection<Long> nodeIds) {
+        if (!properties.enabled()) {
+            return delegate.fetchNodes(nodeIds);
+        }
+
+        Instant now = clock.instant();
+        List<OsmNode> nodes = new ArrayList<>(nodeIds.size());
+        List<Long> missingNodeIds = new ArrayList<>();
+        for (Long nodeId : nodeIds.stream().distinct().toList()) {
+            CacheEntry entry = get(nodeId);
+            Duration age = entry == null ? null : Duration.between(entry.validatedAt(), now);
+            if (age != null && age.compareTo(properties.ttl()) <= 0) {
+                hits.increment();
+                nodes.add(entry.node());
+            } else if (age != null && age.compareTo(properties.ttl().plus(properties.staleWhileRevalidate())) <= 0) {
+                staleHits.increment();
+                revalidateInBackground(nodeId, entry);
+                nodes.add(entry.node());
+            } else {
+                misses.increment();
+                missingNodeIds.add(nodeId);
+            }
+        }
+
+        if (!missingNodeIds.isEmpty()) {
+            // multi-fetch responses carry no per-node validators, so these entries are revalidated unconditionally
+            for (OsmNode node : delegate.fetchNodes(missingNodeIds)) {
+                put(node.nodeId(), new CacheEntry(node, null, null, now));
+                nodes.add(node);
+            }
+        }
+        return nodes;
+    }
+
+    @Override
+    public @NonNull List<OsmNode> fetchCurrentNodes(@NonNull Collection<Long> nodeIds) {
+        List<OsmNode> nodes = delegate.fetchNodes(nodeIds);
+        if (properties.enabled()) {
+            // refresh the cache, so that later imports do not serve older versions of the nodes
+            Instant now = clock.instant();
+            for (OsmNode node : nodes) {
+                put(node.nodeId(), new CacheEntry(node, null, null, now));
+            }
+        }
+        return nodes;
+    }
+
+    @Override
+    public long readNodes(@NonNull InputStream document, @NonNull Consumer<OsmNode> consumer) {
+        // local documents are not cached; caching their nodes would only evict nodes fetched from the API
+        return delegate.readNodes(document, consumer);
+    }
+
+    @Override
+    public long readPbfNodes(@NonNull Path extract, @NonNull BiPredicate<String, String> tagFilter,
+                             @NonNull NodeConsumer consumer) {
+        return delegate.readPbfNodes(extract, tagFilter, consumer);
+    }
+
+    /**
+     * Fetches a node that is not cached and adds it to the cache.
+     */
+    private OsmNode load(Long nodeId) throws OsmNodeNotFoundException {
+        try {
+            OsmFetchResult result = delegate.fetchNodeConditionally(nodeId, null, null);
+            if (result.node() == null) {
+                throw new OsmNodeNotFoundException(nodeId);
+            }
+            put(nodeId, new CacheEntry(result.node(), result.eTag(), result.lastModified(), clock.instant()));
+            return result.node();
+        } catch (RestClientException e) {
+            log.error("Failed to fetch OSM node {}: {}", nodeId, e.getMessage());
+            throw new OsmNodeNotFoundException(nodeId);
+        }
+    }
+
+    /**
+     * Revalidates a stale cache entry with a conditional request.
+     * Serves the stale node if the OSM API cannot be reached and the entry is within the stale-if-error window.
+     */
+    private OsmNode revalidate(Long nodeId, CacheEntry entry) throws OsmNodeNotFoundException {
+        try {
+            OsmFetchResult result = delegate.fetchNodeConditionally(nodeId, entry.eTag(), entry.lastModified());
+            Instant now = clock.instant();
+            if (result.isNotModified()) {
+                notModified.increment();
+                put(nodeId, entry.revalidated(now));
+                return entry.node();
+            }
+            put(nodeId, new CacheEntry(result.node(), result.eTag(), result.lastModified(), now));
+            return result.node();
+        } catch (OsmNodeNotFoundException e) {
+            remove(nodeId);
+            throw e;
+        } catch (RestClientException | OsmServiceUnavailableException e) {
+            Duration age = Duration.between(entry.validatedAt(), clock.instant());
+            if (age.compareTo(properties.ttl().plus(properties.staleIfError())) <= 0) {
+                log.warn("Failed to revalidate OSM node {}, serving stale data: {}", nodeId, e.getMessage());
+                staleHits.increment();
+                return entry.node();
+            }
+            log.error("Failed to fetch OSM node {}: {}", nodeId, e.getMessage());
+            if (e instanceof OsmServiceUnavailableException unavailable) {
+                throw unavailable;
+            }
+            throw new OsmNodeNotFoundException(nodeId);
+        }
+    }
+
+    /**
+     * Revalidates a stale cache entry asynchronously; at most one revalidation per node runs at a time.
+     */
+    private void revalidateInBackground(Long nodeId, CacheEntry entry) {
+        if (!revalidating.add(nodeId)) {
+            return;
+        }
+        try {
+            revalidationExecutor.execute(() -> {
+                try {
+                    revalidate(nodeId, entry);
+                } catch (RuntimeException e) {
+                    log.debug("Background revalidation of OSM node {} failed: {}", nodeId, e.getMessage());
+                } finally {
+                    revalidating.remove(nodeId);
+                }
+            });
+        } catch (RuntimeException e) {
+            // executor rejected the task; the entry will be revalidated by a later request
+            revalidating.remove(nodeId);
+        }
+    }
+
+    private @Nullable CacheEntry get(Long nodeId) {
+        synchronized (cache) {
+            return cache.get(nodeId);
+        }
+    }
+
+    private void put(Long nodeId, CacheEntry entry) {
+        synchronized (cache) {
+            cache.put(nodeId, entry);
+        }
+    }
+
+    private void remove(Long nodeId) {
+        synchronized (cache) {
+            cache.remove(nodeId);
+        }
+    }
+
+    private int size() {
+        synchronized (cache) {
+            return cache.size();
+        }
+    }
+
+    private void registerMeters(MeterRegistry meterRegistry) {
+        FunctionCounter.builder("cache.gets", hits, LongAdder::sum)
+                .tags("cache", CACHE_NAME, "result", "hit")
+                .description("Number of OSM node fetches served from the cache within the TTL")
+                .register(meterRegistry);
+        FunctionCounter.builder("cache.gets", staleHits, LongAdder::sum)
+                .tags("cache", CACHE_NAME, "result", "stale")
+                .description("Number of OSM node fetches served from stale cache entries")
+                .register(meterRegistry);
+        FunctionCounter.builder("cache.gets", misses, LongAdder::sum)
+                .tags("cache", CACHE_NAME, "result", "miss")
+                .description("Number of OSM node fetches that required a request to the OSM API")
+                .register(meterRegistry);
+        FunctionCounter.builder("cache.evictions", evictions, LongAdder::sum)
+                .tags("cache", CACHE_NAME)
+                .description("Number of OSM nodes evicted from the cache")
+                .register(meterRegistry);
+        FunctionCounter.builder("cache.revalidations", notModified, LongAdder::sum)
+                .tags("cache", CACHE_NAME, "result", "not_modified")
+                .description("Number of revalidations answered with 304 Not Modified")
+                .register(meterRegistry);
+        Gauge.builder("cache.size", this, CachingOsmDataService::size)
+                .tags("cache", CACHE_NAME)
+                .description("Number of OSM nodes in the cache")
+                .register(meterRegistry);
+    }
+
+    /**
+     * A cached node together with the validators of the response it was taken from.
+     *
+     * @param node         the cached node
+     * @param eTag         the entity tag of the response, if any
+     * @param lastModified the {@code Last-Modified} value of the response, if any
+     * @param validatedAt  when the node was last fetched or revalidated
+     */
+    private record CacheEntry(
+            @NonNull OsmNode node,
+            @Nullable String eTag,
+            @Nullable String lastModified,
+            @NonNull Instant validatedAt
+    ) {
+        CacheEntry revalidated(Instant now) {
+            return new CacheEntry(node, eTag, lastModified, now);
+        }
+    }
+}
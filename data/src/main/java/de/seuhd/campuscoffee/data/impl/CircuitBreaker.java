@@ -0,0 +1,104 @@
+package de.seuhd.campuscoffee.data.impl;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.function.Consumer;
+
+/**
+ * Circuit breaker based on consecutive failures.
+ * <ul>
+ *   <li>{@code CLOSED}: all calls are permitted; after {@code failureThreshold} consecutive failures the circuit opens.
+ *   <li>{@code OPEN}: calls are rejected until {@code openDuration} has passed.
+ *   <li>{@code HALF_OPEN}: a single trial call is permitted; its outcome closes or re-opens the circuit.
+ * </ul>
+ * Callers that were permitted must report the outcome with {@link #onSuccess()}, {@link #onFailure()}, or,
+ * if the call was abandoned, {@link #onCancel()}.
+ */
+final class CircuitBreaker {
+    enum State { CLOSED, HALF_OPEN, OPEN }
+
+    private final int failureThreshold;
+    private final Duration openDuration;
+    private final Clock clock;
+    private final Consumer<State> transitionListener;
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private Instant openedAt = Instant.MIN;
+    private boolean trialInFlight;
+
+    /**
+     * @param failureThreshold   the number of consecutive failures after which the circuit opens
+     * @param openDuration       how long the circuit stays open
+     * @param clock              the clock used to measure the open duration
+     * @param transitionListener called with the new state on every state change (while holding the breaker's lock)
+     */
+    CircuitBreaker(int failureThreshold, Duration openDuration, Clock clock, Consumer<State> transitionListener) {
+        this.failureThreshold = failureThreshold;
+        this.openDuration = openDuration;
+        this.clock = clock;
+        this.transitionListener = transitionListener;
+    }
+
+    /**
+     * @return true if the call may proceed, false if it must fail fast
+     */
+    synchronized boolean tryAcquirePermission() {
+        if (state == State.OPEN && !clock.instant().isBefore(openedAt.plus(openDuration))) {
+            transitionTo(State.HALF_OPEN);
+        }
+        return switch (state) {
+            case CLOSED -> true;
+            case OPEN -> false;
+            case HALF_OPEN -> {
+                if (trialInFlight) {
+                    yield false;
+                }
+                trialInFlight = true;
+                yield true;
+            }
+        };
+    }
+
+    synchronized void onSuccess() {
+        consecutiveFailures = 0;
+        trialInFlight = false;
+        if (state != State.CLOSED) {
+            transitionTo(State.CLOSED);
+        }
+    }
+
+    synchronized void onFailure() {
+        trialInFlight = false;
+        consecutiveFailures++;
+        if (state == State.HALF_OPEN || (state == State.CLOSED && consecutiveFailures >= failureThreshold)) {
+            openedAt = clock.instant();
+            transitionTo(State.OPEN);
+        }
+    }
+
+    synchronized void onCancel() {
+        trialInFlight = false;
+    }
+
+    synchronized State getState() {
+        return state;
+    }
+
+    /**
+     * @return how long the circuit stays open; zero if it is not open
+     */
+    synchronized Duration getRemainingOpenDuration() {
+        if (state != State.OPEN) {
+            return Duration.ZERO;
+        }
+        Duration remaining = Duration.between(clock.instant(), openedAt.plus(openDuration));
+        return remaining.isNegative() ? Duration.ZERO : remaining;
+    }
+
+    private void transitionTo(State newState) {
+        state = newState;
+        transitionListener.accept(newState);
+    }
+}
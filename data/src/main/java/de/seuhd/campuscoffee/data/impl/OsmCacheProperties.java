@@ -0,0 +1,24 @@
+package de.seuhd.campuscoffee.data.impl;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Configuration of the in-memory cache for OSM nodes (see {@link CachingOsmDataService}).
+ *
+ * @param enabled              whether fetched nodes are cached at all
+ * @param maxSize              the maximum number of cached nodes; the least recently used node is evicted first
+ * @param ttl                  how long a cached node is served without contacting the OSM API
+ * @param staleWhileRevalidate how long after the TTL a stale node is still served while it is revalidated in the background
+ * @param staleIfError         how long after the TTL a stale node is served if the OSM API cannot be reached
+ */
+@ConfigurationProperties(prefix = "campus-coffee.osm.cache")
+record OsmCacheProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("10000") int maxSize,
+        @DefaultValue("1h") Duration ttl,
+        @DefaultValue("1h") Duration staleWhileRevalidate,
+        @DefaultValue("24h") Duration staleIfError
+) {}
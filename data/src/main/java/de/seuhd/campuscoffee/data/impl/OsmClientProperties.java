@@ -0,0 +1,23 @@
+package de.seuhd.campuscoffee.data.impl;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Configuration of the HTTP client for the OpenStreetMap API (see {@link OsmDataServiceImpl}).
+ *
+ * @param baseUrl               the base URL of the OSM API, without trailing slash
+ * @param connectTimeout        the maximum time to establish a connection
+ * @param readTimeout           the maximum time to wait for a response
+ * @param maxConcurrentRequests the maximum number of concurrent requests to the OSM API; further requests wait,
+ *                              so that a burst of imports on virtual threads cannot flood the API
+ */
+@ConfigurationProperties(prefix = "campus-coffee.osm.client")
+record OsmClientProperties(
+        @DefaultValue("https://www.openstreetmap.org/api/0.6") String baseUrl,
+        @DefaultValue("5s") Duration connectTimeout,
+        @DefaultValue("30s") Duration readTimeout,
+        @DefaultValue("16") int maxConcurrentRequests
+) {}
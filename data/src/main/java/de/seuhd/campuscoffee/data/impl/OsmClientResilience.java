@@ -0,0 +1,287 @@
+package de.seuhd.campuscoffee.data.impl;
+
+import de.seuhd.campuscoffee.domain.exceptions.OsmServiceUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.jspecify.annotations.Nullable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Resilience layer for requests to the OSM API, shared by the blocking and the reactive client:
+ * <ol>
+ *   <li>A circuit breaker rejects requests while the API keeps failing.
+ *   <li>A token bucket limits the request rate (see the OSM API usage policy); requests wait for a token.
+ *   <li>Attempts that fail with 429, a 5xx status, or an I/O error (including timeouts) are retried with jittered
+ *       exponential backoff, waiting at least as long as a {@code Retry-After} header demands.
+ * </ol>
+ * If a request cannot be completed this way, an {@link OsmServiceUnavailableException} is thrown.
+ * Other client errors (e.g., 404) are passed through unchanged and count as successful calls for the circuit breaker.
+ * Meters are registered with the prefix {@code osm.client}.
+ */
+@Slf4j
+@Component
+class OsmClientResilience {
+    private final OsmResilienceProperties properties;
+    private final Clock clock;
+    private final TokenBucket tokenBucket;
+    private final CircuitBreaker circuitBreaker;
+
+    private final Timer rateLimitWait;
+    private final Counter rateLimitRejections;
+    private final Counter circuitRejections;
+    private final MeterRegistry meterRegistry;
+
+    @Autowired
+    OsmClientResilience(OsmResilienceProperties properties, MeterRegistry meterRegistry) {
+        this(properties, meterRegistry, Clock.systemUTC());
+    }
+
+    OsmClientResilience(OsmResilienceProperties properties, MeterRegistry meterRegistry, Clock clock) {
+        this.properties = properties;
+        this.clock = clock;
+        this.meterRegistry = meterRegistry;
+        this.tokenBucket = new TokenBucket(properties.requestsPerSecond(), properties.burst(), clock);
+        this.circuitBreaker = new CircuitBreaker(properties.failureThreshold(), properties.openDuration(), clock,
+                state -> {
+                    log.warn("Circuit breaker for OSM API is now {}", state);
+                    meterRegistry.counter("osm.client.circuit.transitions", "state", state.name().toLowerCase())
+                            .increment();
+                });
+
+        this.rateLimitWait = Timer.builder("osm.client.rate.limit.wait")
+                .description("Time requests to the OSM API waited for the rate limiter")
+                .register(meterRegistry);
+        this.rateLimitRejections = Counter.builder("osm.client.rate.limit.rejections")
+                .description("Requests to the OSM API rejected because the rate limiter wait was too long")
+                .register(meterRegistry);
+        this.circuitRejections = Counter.builder("osm.client.circuit.rejections")
+                .description("Requests to the OSM API rejected by the open circuit breaker")
+                .register(meterRegistry);
+        Gauge.builder("osm.client.circuit.state", circuitBreaker, breaker -> breaker.getState().ordinal())
+                .description("State of the circuit breaker for the OSM API (0 = closed, 1 = half-open, 2 = open)")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Executes a blocking request with rate limiting, retries, and circuit breaking.
+     *
+     * @param request sends the request and returns its result
+     * @return the result of the first successful attempt
+     * @throws OsmServiceUnavailableException if the circuit is open, the rate limit wait is too long,
+     *                                        or all attempts failed
+     */
+    <T> T execute(Supplier<T> request) throws OsmServiceUnavailableException {
+        for (int attempt = 1; ; attempt++) {
+            Duration wait = acquirePermission();
+            try {
+                sleep(wait);
+            } catch (OsmServiceUnavailableException e) {
+                // interrupted before the request was sent, so the permission is returned without affecting the circuit
+                circuitBreaker.onCancel();
+                throw e;
+            }
+            T result;
+            try {
+                result = request.get();
+            } catch (RuntimeException e) {
+                Failure failure = onError(e);
+                if (failure == null) {
+                    throw e;
+                }
+                sleep(backoffOrThrow(failure, attempt));
+                continue;
+            }
+            circuitBreaker.onSuccess();
+            return result;
+        }
+    }
+
+    /**
+     * Decorates a reactive request with rate limiting, retries, and circuit breaking.
+     * The request is subscribed again for each attempt, so it must be lazy (e.g., a {@code WebClient} exchange).
+     *
+     * @param request the request
+     * @return the decorated request, failing with an {@link OsmServiceUnavailableException}
+     *         if the circuit is open, the rate limit wait is too long, or all attempts failed
+     */
+    <T> Mono<T> transform(Mono<T> request) {
+        return Mono.defer(() -> {
+                    Duration wait;
+                    try {
+                        wait = acquirePermission();
+                    } catch (OsmServiceUnavailableException e) {
+                        return Mono.error(e);
+                    }
+                    Mono<T> attempt = request
+                            .doOnSuccess(result -> circuitBreaker.onSuccess())
+                            .doOnError(this::onError);
+                    // returns the permission if cancelled while waiting for the rate limiter or for the response
+                    return (wait.isZero() ? attempt : Mono.delay(wait).then(attempt))
+                            .doOnCancel(circuitBreaker::onCancel);
+                })
+                .retryWhen(Retry.from(signals -> signals.concatMap(signal -> {
+                    Failure failure = classify(signal.failure());
+                    if (failure == null) {
+                        return Mono.error(signal.failure());
+                    }
+                    try {
+                        return Mono.delay(backoffOrThrow(failure, (int) signal.totalRetries() + 1));
+                    } catch (OsmServiceUnavailableException e) {
+                        return Mono.error(e);
+                    }
+                })));
+    }
+
+    /**
+     * Checks the circuit breaker and reserves a token.
+     *
+     * @return how long to wait for the token
+     * @throws OsmServiceUnavailableException if the circuit is open or the wait would be too long
+     */
+    private Duration acquirePermission() throws OsmServiceUnavailableException {
+        if (!circuitBreaker.tryAcquirePermission()) {
+            circuitRejections.increment();
+            Duration retryAfter = circuitBreaker.getRemainingOpenDuration();
+            throw new OsmServiceUnavailableException("circuit breaker is open",
+                    retryAfter.isZero() ? null : retryAfter, null);
+        }
+        Duration wait = tokenBucket.reserve(properties.maxRateLimitWait());
+        if (wait == null) {
+            // the request is not sent, so the permission is returned without affecting the circuit
+            circuitBreaker.onCancel();
+            rateLimitRejections.increment();
+            throw new OsmServiceUnavailableException("request rate limit exceeded", properties.maxRateLimitWait(), null);
+        }
+        rateLimitWait.record(wait);
+        return wait;
+    }
+
+    /**
+     * Records the outcome of a failed attempt at the circuit breaker.
+     *
+     * @return the classified failure, or null if the error is not caused by an unavailable API
+     */
+    private @Nullable Failure onError(Throwable error) {
+        Failure failure = classify(error);
+        if (failure == null) {
+            circuitBreaker.onSuccess();
+        } else {
+            circuitBreaker.onFailure();
+        }
+        return failure;
+    }
+
+    /**
+     * Computes the wait before the next attempt.
+     *
+     * @param failure the failure of the previous attempt
+     * @param attempt the number of the previous attempt, starting at 1
+     * @return the wait before the next attempt
+     * @throws OsmServiceUnavailableException if no attempts are left or {@code Retry-After} exceeds the maximum backoff
+     */
+    private Duration backoffOrThrow(Failure failure, int attempt) throws OsmServiceUnavailableException {
+        Duration retryAfter = failure.retryAfter();
+        if (attempt >= properties.maxAttempts()
+                || (retryAfter != null && retryAfter.compareTo(properties.maxBackoff()) > 0)) {
+            throw new OsmServiceUnavailableException(failure.reason() + " after " + attempt + " attempt(s)",
+                    retryAfter, failure.cause());
+        }
+
+        // "full jitter": a uniformly random wait up to the exponentially growing bound
+        long boundMillis = Math.min(properties.maxBackoff().toMillis(),
+                properties.initialBackoff().toMillis() << Math.min(attempt - 1, 30));
+        Duration backoff = Duration.ofMillis(ThreadLocalRandom.current().nextLong(boundMillis + 1));
+        if (retryAfter != null && retryAfter.compareTo(backoff) > 0) {
+            backoff = retryAfter;
+        }
+        meterRegistry.counter("osm.client.retries", "reason", failure.reason()).increment();
+        log.info("OSM API request failed ({}), retrying in {} ms", failure.reason(), backoff.toMillis());
+        return backoff;
+    }
+
+    /**
+     * Classifies an error of a request as transient failure of the OSM API.
+     *
+     * @return the failure, or null if the error is not transient (e.g., 404) and must not be retried
+     */
+    private @Nullable Failure classify(Throwable error) {
+        return switch (error) {
+            case HttpStatusCodeException e when isTransient(e.getStatusCode()) ->
+                    new Failure(String.valueOf(e.getStatusCode().value()), parseRetryAfter(e.getResponseHeaders()), e);
+            case WebClientResponseException e when isTransient(e.getStatusCode()) ->
+                    new Failure(String.valueOf(e.getStatusCode().value()), parseRetryAfter(e.getHeaders()), e);
+            case ResourceAccessException e -> new Failure("io", null, e);
+            case WebClientRequestException e -> new Failure("io", null, e);
+            default -> null;
+        };
+    }
+
+    private static boolean isTransient(HttpStatusCode status) {
+        return status.isSameCodeAs(HttpStatus.TOO_MANY_REQUESTS) || status.is5xxServerError();
+    }
+
+    /**
+     * Parses a {@code Retry-After} header given either in seconds or as HTTP date.
+     *
+     * @return the requested wait, or null if the header is missing or invalid
+     */
+    private @Nullable Duration parseRetryAfter(@Nullable HttpHeaders headers) {
+        String value = headers == null ? null : headers.getFirst(HttpHeaders.RETRY_AFTER);
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return Duration.ofSeconds(Math.max(0, Long.parseLong(value.trim())));
+        } catch (NumberFormatException e) {
+            try {
+                Duration wait = Duration.between(clock.instant(),
+                        Instant.ofEpochMilli(headers.getFirstDate(HttpHeaders.RETRY_AFTER)));
+                return wait.isNegative() ? Duration.ZERO : wait;
+            } catch (IllegalArgumentException | DateTimeParseException invalid) {
+                log.debug("Ignoring invalid Retry-After header: {}", value);
+                return null;
+            }
+        }
+    }
+
+    private static void sleep(Duration duration) throws OsmServiceUnavailableException {
+        if (duration.isZero()) {
+            return;
+        }
+        try {
+            Thread.sleep(duration);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new OsmServiceUnavailableException("interrupted while waiting to send request", null, e);
+        }
+    }
+
+    /**
+     * A transient failure of the OSM API.
+     *
+     * @param reason     the status code or {@code io}; used as meter tag
+     * @param retryAfter the wait requested by the API, if any
+     * @param cause      the original error
+     */
+    private record Failure(String reason, @Nullable Duration retryAfter, Throwable cause) {}
+}
@@ -1,39 +1,89 @@
 package de.seuhd.campuscoffee.data.impl;
 
+import de.seuhd.campuscoffee.data.osm.OsmPbfReader;
+import de.seuhd.campuscoffee.data.osm.OsmXmlParser;
 import de.seuhd.campuscoffee.domain.exceptions.OsmNodeNotFoundException;
+import de.seuhd.campuscoffee.domain.exceptions.OsmServiceUnavailableException;
 import de.seuhd.campuscoffee.domain.model.OsmNode;
 import de.seuhd.campuscoffee.domain.ports.OsmDataService;
+import de.seuhd.campuscoffee.domain.ports.ReactiveOsmDataService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
 import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RequestCallback;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.ResponseExtractor;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.client.RestClientException;
-import org.w3c.dom.Document;
-import org.w3c.dom.Element;
-import org.w3c.dom.NodeList;
-import org.xml.sax.SAXException;
-
-import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
-import javax.xml.parsers.ParserConfigurationException;
-import java.io.ByteArrayInputStream;
+
+import javax.xml.stream.XMLStreamException;
 import java.io.IOException;
-import java.util.HashMap;
-import java.util.Map;
+import java.io.InputStream;
+import java.net.http.HttpClient;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.function.BiPredicate;
+import java.util.function.Consumer;
 
 /**
  * OSM import service that fetches data from the OpenStreetMap API.
+ * Requests are sent with the JDK HTTP client, which blocks without pinning the carrier thread
+ * when called from virtual threads (see {@code spring.threads.virtual.enabled}).
  */
 @Service
 @Slf4j
 class OsmDataServiceImpl implements OsmDataService {
-    private static final String OSM_API_BASE_URL = "https://www.openstreetmap.org/api/0.6";
     private static final String USER_AGENT = "CampusCoffee/1.0 (+https://github.com/se-ubt/ise25-26_campus-coffee)";
 
+    private final ReactiveOsmDataService reactiveOsmDataService;
+    private final OsmClientResilience resilience;
     private final RestTemplate restTemplate;
+    private final String baseUrl;
+    // bounds the number of concurrent requests to the OSM API, independent of the number of request threads
+    private final Semaphore requestPermits;
+    // time of a single request attempt (including parsing) and of parsing alone
+    private final Timer fetchTimer;
+    private final Timer parseTimer;
+
+    OsmDataServiceImpl(ReactiveOsmDataService reactiveOsmDataService, OsmClientResilience resilience,
+                       OsmClientProperties properties, Environment environment, MeterRegistry meterRegistry) {
+        this.reactiveOsmDataService = reactiveOsmDataService;
+        this.resilience = resilience;
+        HttpClient.Builder httpClient = HttpClient.newBuilder()
+                .connectTimeout(properties.connectTimeout());
+        if (Threading.VIRTUAL.isActive(environment)) {
+            httpClient.executor(new VirtualThreadTaskExecutor("osm-http-"));
+        }
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(httpClient.build());
+        requestFactory.setReadTimeout(properties.readTimeout());
 
-    public OsmDataServiceImpl() {
-        this.restTemplate = new RestTemplate();
+        this.restTemplate = new RestTemplate(requestFactory);
+        this.baseUrl = properties.baseUrl();
+        this.requestPermits = new Semaphore(properties.maxConcurrentRequests(), true);
+        this.fetchTimer = Timer.builder("osm.client.fetch")
+                .description("Time of a single request attempt to the OSM API, including parsing the response")
+                .tag("client", "blocking")
+                .register(meterRegistry);
+        this.parseTimer = Timer.builder("osm.client.parse")
+                .description("Time to parse an OSM API response")
+                .tag("client", "blocking")
+                .register(meterRegistry);
     }
 
     @Override
@@ -41,15 +91,11 @@ class OsmDataServiceImpl implements OsmDataService {
         log.info("Fetching OSM node {} from API...", nodeId);
 
         try {
-            String url = OSM_API_BASE_URL + "/node/" + nodeId;
-            String xmlResponse = restTemplate.getForObject(url, String.class);
-
-            if (xmlResponse == null || xmlResponse.isEmpty()) {
-                log.warn("Empty response from OSM API for node {}", nodeId);
+            OsmFetchResult result = fetchNodeConditionally(nodeId, null, null);
+            if (result.node() == null) {
                 throw new OsmNodeNotFoundException(nodeId);
             }
-
-            return parseOsmXml(xmlResponse, nodeId);
+            return result.node();
         } catch (RestClientException e) {
             log.error("Failed to fetch OSM node {}: {}", nodeId, e.getMessage());
             throw new OsmNodeNotFoundException(nodeId);
@@ -57,66 +103,177 @@ class OsmDataServiceImpl implements OsmDataService {
     }
 
     /**
-     * Parses XML response from OpenStreetMap API.
-     * Expected format:
-     * <osm>
-     *   <node id="..." lat="..." lon="...">
-     *     <tag k="name" v="..."/>
-     *     <tag k="address:street" v="..."/>
-     *     ...
-     *   </node>
-     * </osm>
+     * Fetches multiple nodes with the {@link ReactiveOsmDataService}, which sends the multi-fetch requests concurrently.
+     * Only the calling thread blocks until all requests have completed.
+     */
+    @Override
+    public @NonNull List<OsmNode> fetchNodes(@NonNull Collection<Long> nodeIds) {
+        List<OsmNode> nodes = reactiveOsmDataService.fetchNodes(nodeIds).collectList().block();
+        return nodes == null ? List.of() : nodes;
+    }
+
+    /**
+     * Fetches multiple nodes like {@link #fetchNodes(Collection)}; this service does not cache nodes.
+     */
+    @Override
+    public @NonNull List<OsmNode> fetchCurrentNodes(@NonNull Collection<Long> nodeIds) {
+        return fetchNodes(nodeIds);
+    }
+
+    /**
+     * Reads the nodes of a local OSM XML document with the streaming {@link OsmXmlParser}.
+     */
+    @Override
+    public long readNodes(@NonNull InputStream document, @NonNull Consumer<OsmNode> consumer) {
+        try {
+            return OsmXmlParser.parse(document, consumer);
+        } catch (XMLStreamException e) {
+            throw new IllegalArgumentException("Invalid OSM XML document: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Reads the nodes of a local OSM PBF file with the {@link OsmPbfReader}, decoding on one thread per processor.
+     */
+    @Override
+    public long readPbfNodes(@NonNull Path extract, @NonNull BiPredicate<String, String> tagFilter,
+                             @NonNull NodeConsumer consumer) {
+        try {
+            return OsmPbfReader.read(extract, tagFilter, consumer, Runtime.getRuntime().availableProcessors());
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Cannot read OSM PBF file " + extract + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Fetches a single node, optionally as a conditional request.
+     * If validators from a previous response are given, they are sent as {@code If-None-Match} and
+     * {@code If-Modified-Since} headers, and an unchanged node is answered by the API without a body.
+     * This method is used by the {@link CachingOsmDataService} to revalidate cached nodes.
      *
-     * @param xmlResponse the XML response from OSM API
-     * @param nodeId the expected node ID
-     * @return parsed OsmNode with tags
-     * @throws OsmNodeNotFoundException if parsing fails or node not found
+     * @param nodeId the OpenStreetMap node ID to fetch
+     * @param eTag the entity tag of the cached response; null for an unconditional request
+     * @param lastModified the {@code Last-Modified} value of the cached response; null for an unconditional request
+     * @return the fetched node with its validators, or a "not modified" result without a node
+     * @throws OsmNodeNotFoundException if the node does not exist (anymore)
+     * @throws RestClientException if the API answers with a non-transient error
+     * @throws OsmServiceUnavailableException if the API is unavailable (see {@link OsmClientResilience})
      */
-    private OsmNode parseOsmXml(String xmlResponse, Long nodeId) throws OsmNodeNotFoundException {
+    OsmFetchResult fetchNodeConditionally(@NonNull Long nodeId, @Nullable String eTag, @Nullable String lastModified)
+            throws OsmNodeNotFoundException, RestClientException, OsmServiceUnavailableException {
         try {
-            DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
-            factory.setFeature("http://apache.org/xml/features/disallow-doctype-decl", true);
-            factory.setFeature("http://xml.org/sax/features/external-general-entities", false);
-            factory.setFeature("http://xml.org/sax/features/external-parameter-entities", false);
-            factory.setFeature("http://apache.org/xml/features/nonvalidating/load-external-dtd", false);
-            factory.setXIncludeAware(false);
-            factory.setExpandEntityReferences(false);
-
-            DocumentBuilder builder = factory.newDocumentBuilder();
-            Document doc = builder.parse(new ByteArrayInputStream(xmlResponse.getBytes()));
-
-            NodeList nodeElements = doc.getElementsByTagName("node");
-            if (nodeElements.getLength() == 0) {
-                log.warn("No node element found in OSM API response for node {}", nodeId);
+            OsmFetchResult result = execute(baseUrl + "/node/" + nodeId,
+                    request -> {
+                        prepareRequest(request);
+                        if (eTag != null) {
+                            request.getHeaders().setIfNoneMatch(eTag);
+                        }
+                        if (lastModified != null) {
+                            request.getHeaders().set(HttpHeaders.IF_MODIFIED_SINCE, lastModified);
+                        }
+                    },
+                    response -> {
+                        String responseETag = response.getHeaders().getETag();
+                        String responseLastModified = response.getHeaders().getFirst(HttpHeaders.LAST_MODIFIED);
+                        if (response.getStatusCode().isSameCodeAs(HttpStatus.NOT_MODIFIED)) {
+                            return OsmFetchResult.notModified(responseETag, responseLastModified);
+                        }
+                        return new OsmFetchResult(findNode(parseBody(response, nodeId), nodeId), responseETag, responseLastModified);
+                    });
+            if (result == null) {
                 throw new OsmNodeNotFoundException(nodeId);
             }
+            return result;
+        } catch (HttpClientErrorException.NotFound | HttpClientErrorException.Gone e) {
+            log.warn("OSM node {} does not exist: {}", nodeId, e.getMessage());
+            throw new OsmNodeNotFoundException(nodeId);
+        }
+    }
 
-            Element nodeElement = (Element) nodeElements.item(0);
-            String foundId = nodeElement.getAttribute("id");
-            if (!foundId.equals(nodeId.toString())) {
-                log.warn("Mismatched node ID: expected {}, got {}", nodeId, foundId);
-                throw new OsmNodeNotFoundException(nodeId);
+    /**
+     * Executes a GET request to the OSM API with rate limiting, retries, and circuit breaking
+     * (see {@link OsmClientResilience}) once a request permit is available.
+     *
+     * @param url the request URL
+     * @param requestCallback prepares the request
+     * @param responseExtractor extracts the result from the response
+     * @return the extracted result
+     * @throws RestClientException if the request fails with a non-transient error (e.g., 404)
+     * @throws OsmServiceUnavailableException if the OSM API is unavailable
+     */
+    private <T> T execute(String url, RequestCallback requestCallback, ResponseExtractor<T> responseExtractor)
+            throws RestClientException, OsmServiceUnavailableException {
+        return resilience.execute(() -> {
+            try {
+                requestPermits.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ResourceAccessException("Interrupted while waiting to send request to OSM API");
             }
-
-            // Parse tags
-            Map<String, String> tags = new HashMap<>();
-            NodeList tagElements = nodeElement.getElementsByTagName("tag");
-            for (int i = 0; i < tagElements.getLength(); i++) {
-                Element tagElement = (Element) tagElements.item(i);
-                String key = tagElement.getAttribute("k");
-                String value = tagElement.getAttribute("v");
-                tags.put(key, value);
+            Timer.Sample sample = Timer.start();
+            try {
+                return restTemplate.execute(url, HttpMethod.GET, requestCallback, responseExtractor);
+            } finally {
+                sample.stop(fetchTimer);
+                requestPermits.release();
             }
+        });
+    }
 
-            log.debug("Successfully parsed OSM node {} with {} tags", nodeId, tags.size());
-            return OsmNode.builder()
-                    .nodeId(nodeId)
-                    .tags(tags)
-                    .build();
+    /**
+     * Sets the headers that are sent with every request to the OSM API.
+     *
+     * @param request the request to prepare
+     */
+    private void prepareRequest(ClientHttpRequest request) {
+        request.getHeaders().set(HttpHeaders.USER_AGENT, USER_AGENT);
+        request.getHeaders().setAccept(List.of(MediaType.APPLICATION_XML, MediaType.TEXT_XML));
+    }
 
-        } catch (ParserConfigurationException | SAXException | IOException e) {
-            log.error("Error parsing OSM XML response: {}", e.getMessage(), e);
+    /**
+     * Parses the XML response body while it is being received.
+     * The body is passed to the streaming {@link OsmXmlParser} without copying it into a string first.
+     * An invalid body is not retried: unlike an {@link IOException}, which {@link RestTemplate} reports as
+     * {@link ResourceAccessException}, it is not a transient failure (see {@link OsmClientResilience}).
+     *
+     * @param response the response from the OSM API
+     * @param nodeId the requested node ID
+     * @return the nodes contained in the response in document order
+     * @throws IOException if the body cannot be read
+     * @throws OsmNodeNotFoundException if the body is not valid OSM XML
+     */
+    private List<OsmNode> parseBody(ClientHttpResponse response, Long nodeId) throws IOException, OsmNodeNotFoundException {
+        Timer.Sample sample = Timer.start();
+        try (InputStream body = response.getBody()) {
+            List<OsmNode> nodes = OsmXmlParser.parse(body);
+            log.debug("Successfully parsed {} OSM nodes", nodes.size());
+            return nodes;
+        } catch (XMLStreamException e) {
+            log.warn("Invalid OSM XML response for node {}: {}", nodeId, e.getMessage());
+            throw new OsmNodeNotFoundException(nodeId);
+        } finally {
+            sample.stop(parseTimer);
+        }
+    }
+
+    /**
+     * Returns the node with the requested ID from a single-node response.
+     *
+     * @param nodes the parsed nodes
+     * @param nodeId the requested node ID
+     * @return the requested node
+     * @throws OsmNodeNotFoundException if the response does not contain the requested node
+     */
+    private static OsmNode findNode(List<OsmNode> nodes, Long nodeId) throws OsmNodeNotFoundException {
+        if (nodes.isEmpty()) {
+            log.warn("No node element found in OSM API response for node {}", nodeId);
+            throw new OsmNodeNotFoundException(nodeId);
+        }
+        OsmNode node = nodes.getFirst();
+        if (!node.nodeId().equals(nodeId)) {
+            log.warn("Mismatched node ID: expected {}, got {}", nodeId, node.nodeId());
             throw new OsmNodeNotFoundException(nodeId);
         }
+        return node;
     }
 }
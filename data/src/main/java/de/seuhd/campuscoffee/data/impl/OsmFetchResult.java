@@ -0,0 +1,25 @@
+package de.seuhd.campuscoffee.data.impl;
+
+import de.seuhd.campuscoffee.domain.model.OsmNode;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Result of a (conditional) request for a single OSM node.
+ *
+ * @param node         the fetched node; null if the API answered "304 Not Modified"
+ * @param eTag         the {@code ETag} response header, if any
+ * @param lastModified the {@code Last-Modified} response header, if any
+ */
+record OsmFetchResult(
+        @Nullable OsmNode node,
+        @Nullable String eTag,
+        @Nullable String lastModified
+) {
+    static OsmFetchResult notModified(@Nullable String eTag, @Nullable String lastModified) {
+        return new OsmFetchResult(null, eTag, lastModified);
+    }
+
+    boolean isNotModified() {
+        return node == null;
+    }
+}
@@ -0,0 +1,31 @@
+package de.seuhd.campuscoffee.data.impl;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Configuration of rate limiting, retries, and circuit breaking for requests to the OSM API
+ * (see {@link OsmClientResilience}).
+ *
+ * @param requestsPerSecond the sustained rate of requests to the OSM API
+ * @param burst             the number of requests that may be sent at once after a quiet period
+ * @param maxRateLimitWait  the maximum time a request waits for the rate limiter before it is rejected
+ * @param maxAttempts       the maximum number of attempts per request, including the first one
+ * @param initialBackoff    the upper bound of the (jittered) wait before the first retry; doubled for every retry
+ * @param maxBackoff        the maximum wait before a retry; a longer {@code Retry-After} is not waited for
+ * @param failureThreshold  the number of consecutive failed attempts after which the circuit opens
+ * @param openDuration      how long the circuit stays open before a single trial request is let through
+ */
+@ConfigurationProperties(prefix = "campus-coffee.osm.resilience")
+record OsmResilienceProperties(
+        @DefaultValue("1") double requestsPerSecond,
+        @DefaultValue("5") int burst,
+        @DefaultValue("10s") Duration maxRateLimitWait,
+        @DefaultValue("4") int maxAttempts,
+        @DefaultValue("500ms") Duration initialBackoff,
+        @DefaultValue("10s") Duration maxBackoff,
+        @DefaultValue("5") int failureThreshold,
+        @DefaultValue("30s") Duration openDuration
+) {}
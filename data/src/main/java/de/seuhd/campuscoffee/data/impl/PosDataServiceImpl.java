@@ -1,18 +1,52 @@
 package de.seuhd.campuscoffee.data.impl;
 
+import de.seuhd.campuscoffee.data.index.PosAddressIndex;
+import de.seuhd.campuscoffee.data.index.PosSpatialIndex;
 import de.seuhd.campuscoffee.data.mapper.PosEntityMapper;
+import de.seuhd.campuscoffee.data.persistence.PosBatchRepository;
 import de.seuhd.campuscoffee.data.persistence.PosEntity;
 import de.seuhd.campuscoffee.data.persistence.PosRepository;
+import de.seuhd.campuscoffee.data.persistence.PosSpecifications;
+import de.seuhd.campuscoffee.domain.model.DuplicatePosGroup;
+import de.seuhd.campuscoffee.domain.model.NearbyPos;
+import de.seuhd.campuscoffee.domain.model.OsmNodeVersion;
 import de.seuhd.campuscoffee.domain.model.Pos;
 import de.seuhd.campuscoffee.domain.exceptions.DuplicatePosNameException;
+import de.seuhd.campuscoffee.domain.model.PosCollectionVersion;
+import de.seuhd.campuscoffee.domain.model.PosField;
+import de.seuhd.campuscoffee.domain.model.PosPage;
+import de.seuhd.campuscoffee.domain.model.PosQuery;
 import de.seuhd.campuscoffee.domain.exceptions.PosNotFoundException;
+import de.seuhd.campuscoffee.domain.exceptions.PosVersionConflictException;
 import de.seuhd.campuscoffee.domain.ports.PosDataService;
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityManager;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Implementation of the POS data service that the domain layer provides as a port.
@@ -20,16 +54,54 @@ import java.util.List;
  * Business logic should be in the service layer.
  */
 @Service
-@RequiredArgsConstructor
 class PosDataServiceImpl implements PosDataService {
+    /**
+     * Number of POS written and flushed together in {@link #upsertAll(List)}.
+     * Matches {@code spring.jpa.properties.hibernate.jdbc.batch_size} so that each flush sends one JDBC batch.
+     */
+    static final int WRITE_CHUNK_SIZE = 50;
+
+    /**
+     * Extracts the conflicting value from PostgreSQL's unique violation detail, e.g., {@code Key (name)=(Café) already exists.}
+     */
+    private static final Pattern DUPLICATE_NAME_DETAIL = Pattern.compile("Key \\(name\\)=\\((.*)\\) already exists");
+
     private final PosRepository posRepository;
+    private final PosBatchRepository posBatchRepository;
     private final PosEntityMapper posEntityMapper;
+    private final EntityManager entityManager;
+    // time to send the statements of one chunk in upsertAll or upsertAllByName; query times are measured per port method
+    private final Timer flushTimer;
+
+    // loaded from the database on the first query and kept up to date by all writes of this instance
+    private final PosSpatialIndex spatialIndex = new PosSpatialIndex();
+    private final PosAddressIndex addressIndex = new PosAddressIndex();
+    // guards loading and updating the indexes
+    private final Object indexLock = new Object();
+    // written only while holding the index lock
+    private volatile boolean indexesLoaded;
+
+    PosDataServiceImpl(PosRepository posRepository, PosBatchRepository posBatchRepository,
+                       PosEntityMapper posEntityMapper, EntityManager entityManager, MeterRegistry meterRegistry) {
+        this.posRepository = posRepository;
+        this.posBatchRepository = posBatchRepository;
+        this.posEntityMapper = posEntityMapper;
+        this.entityManager = entityManager;
+        this.flushTimer = Timer.builder("pos.data.flush")
+                .description("Time to flush one chunk of a bulk upsert to the database")
+                .register(meterRegistry);
+    }
 
     @Override
     public void clear() {
+        // the sequence is not reset: Hibernate's pooled optimizer caches blocks of IDs in memory,
+        // so restarting the sequence would hand out IDs that are still in use by the cached block
         posRepository.deleteAllInBatch();
         posRepository.flush();
-        posRepository.resetSequence();
+        synchronized (indexLock) {
+            spatialIndex.clear();
+            addressIndex.clear();
+        }
     }
 
     @Override
@@ -39,6 +111,116 @@ class PosDataServiceImpl implements PosDataService {
                 .toList();
     }
 
+    @Override
+    public @NonNull List<Pos> getAll(@NonNull Set<PosField> fields) {
+        return posRepository.findProjected(fields, null, Sort.unsorted(), null).stream()
+                .map(posEntityMapper::fromEntity)
+                .toList();
+    }
+
+    @Override
+    public @NonNull PosCollectionVersion getVersion() {
+        return posRepository.findCollectionVersion();
+    }
+
+    @Override
+    public @NonNull PosPage getPage(@Nullable Long after, int limit) {
+        // fetch one additional row to find out whether there is a next page without a count query
+        List<PosEntity> entities = posRepository.findByIdGreaterThanOrderByIdAsc(
+                after == null ? 0L : after, Limit.of(limit + 1)
+        );
+        return toPage(entities, limit);
+    }
+
+    @Override
+    public @NonNull PosPage getPage(@Nullable Long after, int limit, @NonNull Set<PosField> fields) {
+        List<PosEntity> entities = posRepository.findProjected(
+                fields, PosSpecifications.idGreaterThan(after == null ? 0L : after), Sort.by("id"), limit + 1
+        );
+        return toPage(entities, limit);
+    }
+
+    @Override
+    public @NonNull PosPage find(@NonNull PosQuery query) {
+        // fetch one additional row to find out whether there is a next page without a count query
+        List<PosEntity> entities = posRepository.findBy(matchingAfterCursor(query), fluentQuery -> fluentQuery
+                .sortBy(PosSpecifications.sortedBy(query))
+                .limit(query.limit() + 1)
+                .all());
+        return toPage(entities, query.limit());
+    }
+
+    @Override
+    public @NonNull PosPage find(@NonNull PosQuery query, @NonNull Set<PosField> fields) {
+        List<PosEntity> entities = posRepository.findProjected(
+                fields, matchingAfterCursor(query), PosSpecifications.sortedBy(query), query.limit() + 1
+        );
+        return toPage(entities, query.limit());
+    }
+
+    @Override
+    public @NonNull List<Pos> search(@NonNull String query, int limit) {
+        return posRepository.search(query, limit).stream()
+                .map(posEntityMapper::fromEntity)
+                .toList();
+    }
+
+    @Override
+    public @NonNull List<NearbyPos> findNearest(double latitude, double longitude, int k) {
+        loadIndexes();
+        return spatialIndex.nearest(latitude, longitude, k);
+    }
+
+    @Override
+    public @NonNull List<Pos> findDuplicateCandidates(@NonNull Pos pos) {
+        loadIndexes();
+        long[] candidateIds = addressIndex.candidates(pos);
+        if (candidateIds.length == 0) {
+            return List.of();
+        }
+        return posRepository.findAllById(Arrays.stream(candidateIds).boxed().toList()).stream()
+                .map(posEntityMapper::fromEntity)
+                .sorted(Comparator.comparing(Pos::id))
+                .toList();
+    }
+
+    @Override
+    public @NonNull List<DuplicatePosGroup> findDuplicates() {
+        List<DuplicatePosGroup> groups = new ArrayList<>();
+        List<Pos> group = new ArrayList<>();
+        Long groupKey = null;
+        for (PosEntity entity : posRepository.findWithSharedAddressKey()) {
+            if (!entity.getAddressKey().equals(groupKey) && !group.isEmpty()) {
+                groups.add(DuplicatePosGroup.builder().pos(List.copyOf(group)).build());
+                group.clear();
+            }
+            groupKey = entity.getAddressKey();
+            group.add(posEntityMapper.fromEntity(entity));
+        }
+        if (!group.isEmpty()) {
+            groups.add(DuplicatePosGroup.builder().pos(List.copyOf(group)).build());
+        }
+        groups.sort(Comparator.comparing(duplicates -> duplicates.pos().getFirst().id()));
+        return groups;
+    }
+
+    @Override
+    public @NonNull List<OsmNodeVersion> getOsmNodeVersions() {
+        return posRepository.findOsmNodeVersions();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void forEach(@NonNull Consumer<Pos> consumer) {
+        try (Stream<PosEntity> entities = posRepository.streamAllOrderedById()) {
+            entities.forEach(entity -> {
+                consumer.accept(posEntityMapper.fromEntity(entity));
+                // detach processed entities so that the persistence context does not grow with the result set
+                entityManager.detach(entity);
+            });
+        }
+    }
+
     @Override
     public @NonNull Pos getById(@NonNull Long id) throws PosNotFoundException {
         return posRepository.findById(id)
@@ -46,26 +228,37 @@ class PosDataServiceImpl implements PosDataService {
                 .orElseThrow(() -> new PosNotFoundException(id));
     }
 
+    @Override
+    public @NonNull Pos getById(@NonNull Long id, @NonNull Set<PosField> fields) throws PosNotFoundException {
+        return posRepository.findProjected(fields, PosSpecifications.hasId(id), Sort.unsorted(), 1).stream()
+                .findFirst()
+                .map(posEntityMapper::fromEntity)
+                .orElseThrow(() -> new PosNotFoundException(id));
+    }
+
     @Override
     public @NonNull Pos upsert(@NonNull Pos pos) {
         // Map POS domain object to entity and save
         try {
             if (pos.id() == null) {
                 // Create new POS
-                return posEntityMapper.fromEntity(
+                Pos createdPos = posEntityMapper.fromEntity(
                         posRepository.saveAndFlush(posEntityMapper.toEntity(pos))
                 );
+                updateIndexes(List.of(createdPos));
+                return createdPos;
             }
 
-            // Update existing POS
-            PosEntity posEntity = posRepository.findById(pos.id())
-                    .orElseThrow(() -> new PosNotFoundException(pos.id()));
-
-            // Use mapper to update entity fields automatically
-            // Note: timestamps are managed by JPA lifecycle callbacks (@PreUpdate)
-            posEntityMapper.updateEntity(pos, posEntity);
-
-            return posEntityMapper.fromEntity(posRepository.saveAndFlush(posEntity));
+            // Update existing POS with a single conditional statement (no read before the write)
+            PosEntity posEntity = posEntityMapper.toEntity(pos);
+            posEntity.prepareUpdate();
+            long expectedVersion = pos.version() == null ? PosRepository.ANY_VERSION : pos.version();
+            Pos updatedPos = posRepository.updateIfVersionMatches(posEntity, expectedVersion).stream()
+                    .findFirst()
+                    .map(posEntityMapper::fromEntity)
+                    .orElseThrow(() -> updateFailure(pos.id(), expectedVersion));
+            updateIndexes(List.of(updatedPos));
+            return updatedPos;
         } catch (DataIntegrityViolationException e) {
             // Translate database constraint violations to domain exceptions
             // This is the adapter's responsibility in hexagonal architecture
@@ -77,6 +270,200 @@ class PosDataServiceImpl implements PosDataService {
         }
     }
 
+    @Override
+    public @NonNull Pos upsertByName(@NonNull Pos pos) {
+        PosEntity posEntity = posEntityMapper.toEntity(pos);
+        posEntity.setId(null);
+        posEntity.prepareInsert();
+        Pos upsertedPos = posEntityMapper.fromEntity(posBatchRepository.upsertByName(posEntity));
+        updateIndexes(List.of(upsertedPos));
+        return upsertedPos;
+    }
+
+    @Override
+    @Transactional
+    public @NonNull List<Pos> upsertAllByName(@NonNull List<Pos> posList) {
+        List<PosEntity> entities = posList.stream()
+                .map(pos -> {
+                    PosEntity posEntity = posEntityMapper.toEntity(pos);
+                    posEntity.setId(null);
+                    posEntity.prepareInsert();
+                    return posEntity;
+                })
+                .toList();
+        flushTimer.record(() -> posBatchRepository.upsertAllByName(entities));
+        // batched statements cannot return rows, so the written POS are read back with a single query
+        List<String> names = entities.stream().map(PosEntity::getName).toList();
+        List<Pos> upsertedPos = posRepository.findByNameIn(names).stream()
+                .map(posEntityMapper::fromEntity)
+                .toList();
+        updateIndexes(upsertedPos);
+        return upsertedPos;
+    }
+
+    @Override
+    @Transactional
+    public @NonNull List<Pos> upsertAll(@NonNull List<Pos> posList) {
+        List<Pos> upsertedPos = new ArrayList<>(posList.size());
+        try {
+            for (int from = 0; from < posList.size(); from += WRITE_CHUNK_SIZE) {
+                List<PosEntity> entities = toEntities(posList.subList(from, Math.min(from + WRITE_CHUNK_SIZE, posList.size())));
+                // IDs of new entities come from the pooled sequence, so Hibernate can batch the inserts
+                posRepository.saveAll(entities);
+                flushTimer.record(posRepository::flush);
+                for (PosEntity entity : entities) {
+                    upsertedPos.add(posEntityMapper.fromEntity(entity));
+                    // detach written entities so that the persistence context does not grow with the batch
+                    entityManager.detach(entity);
+                }
+            }
+        } catch (DataIntegrityViolationException e) {
+            if (isDuplicateNameConstraintViolation(e)) {
+                throw new DuplicatePosNameException(extractDuplicateName(e));
+            }
+            throw e;
+        } catch (ObjectOptimisticLockingFailureException e) {
+            // a POS was modified concurrently between loading and flushing its chunk
+            throw new PosVersionConflictException((Long) e.getIdentifier());
+        }
+        updateIndexes(upsertedPos);
+        return upsertedPos;
+    }
+
+    /**
+     * Loads the spatial and the address index from the database on first use.
+     */
+    private void loadIndexes() {
+        if (!indexesLoaded) {
+            synchronized (indexLock) {
+                if (!indexesLoaded) {
+                    List<Pos> all = getAll();
+                    spatialIndex.rebuild(all);
+                    addressIndex.rebuild(all);
+                    indexesLoaded = true;
+                }
+            }
+        }
+    }
+
+    /**
+     * Applies written POS to the indexes once they are committed.
+     * Updates are skipped while the indexes are not loaded yet: loading reads the committed state from the database,
+     * and holding the index lock during loading ensures that no committed write is lost.
+     */
+    private void updateIndexes(List<Pos> changedPos) {
+        Runnable update = () -> {
+            synchronized (indexLock) {
+                if (indexesLoaded) {
+                    spatialIndex.upsert(changedPos);
+                    addressIndex.upsert(changedPos);
+                }
+            }
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    update.run();
+                }
+            });
+        } else {
+            update.run();
+        }
+    }
+
+    /**
+     * Builds a page from the entities of a page query, which fetched one additional row.
+     */
+    /**
+     * Builds the specification for the filter criteria of a query and, if it has a cursor, for the POS after the
+     * POS of the cursor. The sort values of that POS are read with a primary key lookup.
+     */
+    private Specification<PosEntity> matchingAfterCursor(PosQuery query) {
+        Specification<PosEntity> specification = PosSpecifications.matching(query);
+        if (query.after() == null) {
+            return specification;
+        }
+        PosEntity last = posRepository.findById(query.after()).orElseThrow(() -> new IllegalArgumentException(
+                "The POS " + query.after() + " of the cursor no longer exists; start again with the first page."));
+        return specification.and(PosSpecifications.after(query, last));
+    }
+
+    private PosPage toPage(List<PosEntity> entities, int limit) {
+        boolean hasNext = entities.size() > limit;
+        List<Pos> items = entities.stream()
+                .limit(limit)
+                .map(posEntityMapper::fromEntity)
+                .toList();
+        return PosPage.builder()
+                .items(items)
+                .nextCursor(hasNext ? items.getLast().id() : null)
+                .build();
+    }
+
+    /**
+     * Maps one chunk of POS to entities. POS without ID become new entities; the entities of POS with ID
+     * are loaded with a single query and updated in place.
+     *
+     * @param posChunk the POS to map
+     * @return the entities in the same order as the POS
+     * @throws PosNotFoundException if a POS with ID does not exist
+     * @throws PosVersionConflictException if a POS with version has a different version in the database
+     */
+    private List<PosEntity> toEntities(List<Pos> posChunk) {
+        List<Long> ids = posChunk.stream()
+                .map(Pos::id)
+                .filter(Objects::nonNull)
+                .toList();
+        Map<Long, PosEntity> existingEntities = ids.isEmpty() ? Map.of() : posRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(PosEntity::getId, Function.identity()));
+
+        List<PosEntity> entities = new ArrayList<>(posChunk.size());
+        for (Pos pos : posChunk) {
+            if (pos.id() == null) {
+                entities.add(posEntityMapper.toEntity(pos));
+            } else {
+                PosEntity posEntity = existingEntities.get(pos.id());
+                if (posEntity == null) {
+                    throw new PosNotFoundException(pos.id());
+                }
+                if (pos.version() != null && !pos.version().equals(posEntity.getVersion())) {
+                    throw new PosVersionConflictException(pos.id(), pos.version(), posEntity.getVersion());
+                }
+                posEntityMapper.updateEntity(pos, posEntity);
+                entities.add(posEntity);
+            }
+        }
+        return entities;
+    }
+
+    /**
+     * Determines why a conditional update did not take effect.
+     *
+     * @return the exception to throw: the POS does not exist or has a different version
+     */
+    private RuntimeException updateFailure(Long id, long expectedVersion) {
+        return posRepository.findVersionById(id)
+                .<RuntimeException>map(currentVersion -> new PosVersionConflictException(id, expectedVersion, currentVersion))
+                .orElseGet(() -> new PosNotFoundException(id));
+    }
+
+    /**
+     * Extracts the duplicate POS name from a unique constraint violation.
+     * In a batch, the failing POS is not known, so the name is taken from the database error detail.
+     */
+    private static String extractDuplicateName(DataIntegrityViolationException e) {
+        Throwable cause = e.getMostSpecificCause();
+        String message = cause.getMessage() != null ? cause.getMessage() : e.getMessage();
+        if (message != null) {
+            Matcher matcher = DUPLICATE_NAME_DETAIL.matcher(message);
+            if (matcher.find()) {
+                return matcher.group(1);
+            }
+        }
+        return "<unknown>";
+    }
+
     /**
      * Checks if the exception is due to duplicate POS name constraint violation.
      */
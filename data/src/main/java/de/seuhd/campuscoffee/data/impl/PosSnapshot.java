@@ -0,0 +1,83 @@
+package de.seuhd.campuscoffee.data.impl;
+
+import de.seuhd.campuscoffee.domain.model.Pos;
+import de.seuhd.campuscoffee.domain.model.PosCollectionVersion;
+import org.jspecify.annotations.NonNull;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+
+/**
+ * Immutable view of all POS at one point in time.
+ * Changes never modify a snapshot; instead, they produce a new snapshot (copy-on-write),
+ * so a snapshot can be read concurrently without any locking.
+ *
+ * @param byId        all POS by ID
+ * @param sortedById  all POS ordered by ID
+ * @param version     the version of the POS collection in this snapshot
+ * @param publishedAt when the snapshot was created
+ */
+record PosSnapshot(
+        @NonNull Map<Long, Pos> byId,
+        @NonNull List<Pos> sortedById,
+        @NonNull PosCollectionVersion version,
+        @NonNull Instant publishedAt
+) {
+    /**
+     * Creates a snapshot that contains exactly the given POS.
+     *
+     * @param posList the POS to include; all of them must have an ID
+     * @param now     the creation time
+     * @return the new snapshot
+     */
+    static PosSnapshot of(Collection<Pos> posList, Instant now) {
+        TreeMap<Long, Pos> sorted = new TreeMap<>();
+        for (Pos pos : posList) {
+            sorted.put(pos.id(), pos);
+        }
+        return of(sorted, now);
+    }
+
+    /**
+     * Creates a copy of this snapshot with the given POS added or replaced.
+     * A POS is not replaced by an older version (by update timestamp), so applying
+     * changes of concurrent writers in a different order than their commits is harmless.
+     *
+     * @param changedPos the created or updated POS; all of them must have an ID
+     * @param now        the creation time of the new snapshot
+     * @return the new snapshot
+     */
+    PosSnapshot with(Collection<Pos> changedPos, Instant now) {
+        TreeMap<Long, Pos> sorted = new TreeMap<>(byId);
+        for (Pos pos : changedPos) {
+            Pos current = sorted.get(pos.id());
+            if (current == null || !isOlder(pos, current)) {
+                sorted.put(pos.id(), pos);
+            }
+        }
+        return of(sorted, now);
+    }
+
+    private static PosSnapshot of(TreeMap<Long, Pos> sorted, Instant now) {
+        LocalDateTime lastUpdatedAt = sorted.values().stream()
+                .map(Pos::updatedAt)
+                .filter(Objects::nonNull)
+                .max(LocalDateTime::compareTo)
+                .orElse(null);
+        return new PosSnapshot(
+                Map.copyOf(sorted),
+                List.copyOf(sorted.values()),
+                new PosCollectionVersion((long) sorted.size(), lastUpdatedAt),
+                now
+        );
+    }
+
+    private static boolean isOlder(Pos pos, Pos current) {
+        return pos.updatedAt() != null && current.updatedAt() != null && pos.updatedAt().isBefore(current.updatedAt());
+    }
+}
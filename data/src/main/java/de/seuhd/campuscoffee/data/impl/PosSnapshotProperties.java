@@ -0,0 +1,16 @@
+package de.seuhd.campuscoffee.data.impl;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Configuration of the in-memory POS snapshot (see {@link SnapshotPosDataService}).
+ *
+ * @param enabled whether reads of all POS and of single POS are served from the snapshot;
+ *                only enable this if a single application instance writes to the database,
+ *                because writes of other instances are not visible in the snapshot
+ */
+@ConfigurationProperties(prefix = "campus-coffee.snapshot")
+record PosSnapshotProperties(
+        @DefaultValue("false") boolean enabled
+) {}
@@ -0,0 +1,325 @@
+package de.seuhd.campuscoffee.data.impl;
+
+import de.seuhd.campuscoffee.domain.exceptions.DuplicatePosNameException;
+import de.seuhd.campuscoffee.domain.exceptions.PosNotFoundException;
+import de.seuhd.campuscoffee.domain.exceptions.PosVersionConflictException;
+import de.seuhd.campuscoffee.domain.model.DuplicatePosGroup;
+import de.seuhd.campuscoffee.domain.model.NearbyPos;
+import de.seuhd.campuscoffee.domain.model.OsmNodeVersion;
+import de.seuhd.campuscoffee.domain.model.Pos;
+import de.seuhd.campuscoffee.domain.model.PosCollectionVersion;
+import de.seuhd.campuscoffee.domain.model.PosField;
+import de.seuhd.campuscoffee.domain.model.PosPage;
+import de.seuhd.campuscoffee.domain.model.PosQuery;
+import de.seuhd.campuscoffee.domain.ports.PosDataService;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Decorator for the {@link PosDataService} port that serves {@link #getAll()}, {@link #getById(Long)}, and {@link #getVersion()}
+ * (including the variants with sparse fieldsets) from an immutable in-memory {@link PosSnapshot}.
+ * <ul>
+ *   <li>The snapshot is loaded from the database on the first read.</li>
+ *   <li>After each successful write, a new snapshot with the changes is built and published atomically
+ *   (after the commit if the write runs in a transaction).</li>
+ *   <li>Readers only dereference a volatile field and never block; writers are serialized.
+ *   Writes committed while the snapshot is loaded are recorded and applied to it after loading.</li>
+ * </ul>
+ * Pages and the export are read from the database to keep their cursor semantics.
+ * Snapshot age and rebuild time are exposed as Micrometer meters {@code pos.snapshot.*}.
+ */
+@Slf4j
+@Service
+@Primary
+class SnapshotPosDataService implements PosDataService {
+    private final PosDataServiceImpl delegate;
+    private final PosSnapshotProperties properties;
+    private final Clock clock;
+
+    // serializes loading the snapshot; acquired before the write lock
+    private final Object loadLock = new Object();
+    // guards publishing; readers never acquire it
+    private final Object writeLock = new Object();
+    private volatile @Nullable PosSnapshot snapshot;
+    // POS written while the snapshot is loaded, non-null only during loading (guarded by the write lock)
+    private @Nullable List<Pos> changesDuringLoad;
+
+    private final Timer fullRebuildTimer;
+    private final Timer incrementalRebuildTimer;
+
+    @Autowired
+    SnapshotPosDataService(PosDataServiceImpl delegate,
+                           PosSnapshotProperties properties,
+                           MeterRegistry meterRegistry) {
+        this(delegate, properties, meterRegistry, Clock.systemUTC());
+    }
+
+    SnapshotPosDataService(PosDataServiceImpl delegate,
+                           PosSnapshotProperties properties,
+                           MeterRegistry meterRegistry,
+                           Clock clock) {
+        this.delegate = delegate;
+        this.properties = properties;
+        this.clock = clock;
+        this.fullRebuildTimer = rebuildTimer(meterRegistry, "full");
+        this.incrementalRebuildTimer = rebuildTimer(meterRegistry, "incremental");
+        registerGauges(meterRegistry);
+    }
+
+    @Override
+    public void clear() {
+        delegate.clear();
+        if (properties.enabled()) {
+            // waits for a running load, which may have read the POS before they were deleted
+            synchronized (loadLock) {
+                publish(() -> PosSnapshot.of(List.of(), clock.instant()), fullRebuildTimer);
+            }
+        }
+    }
+
+    @Override
+    public @NonNull List<Pos> getAll() {
+        if (!properties.enabled()) {
+            return delegate.getAll();
+        }
+        return currentSnapshot().sortedById();
+    }
+
+    @Override
+    public @NonNull List<Pos> getAll(@NonNull Set<PosField> fields) {
+        if (!properties.enabled()) {
+            return delegate.getAll(fields);
+        }
+        // the POS are already in memory, so projecting them is cheaper than a projection query
+        return currentSnapshot().sortedById().stream()
+                .map(pos -> PosField.project(pos, fields))
+                .toList();
+    }
+
+    @Override
+    public @NonNull PosCollectionVersion getVersion() {
+        if (!properties.enabled()) {
+            return delegate.getVersion();
+        }
+        return currentSnapshot().version();
+    }
+
+    @Override
+    public @NonNull PosPage getPage(@Nullable Long after, int limit) {
+        return delegate.getPage(after, limit);
+    }
+
+    @Override
+    public @NonNull PosPage getPage(@Nullable Long after, int limit, @NonNull Set<PosField> fields) {
+        return delegate.getPage(after, limit, fields);
+    }
+
+    @Override
+    public @NonNull PosPage find(@NonNull PosQuery query) {
+        return delegate.find(query);
+    }
+
+    @Override
+    public @NonNull PosPage find(@NonNull PosQuery query, @NonNull Set<PosField> fields) {
+        return delegate.find(query, fields);
+    }
+
+    @Override
+    public @NonNull List<Pos> search(@NonNull String query, int limit) {
+        return delegate.search(query, limit);
+    }
+
+    @Override
+    public @NonNull List<NearbyPos> findNearest(double latitude, double longitude, int k) {
+        return delegate.findNearest(latitude, longitude, k);
+    }
+
+    @Override
+    public @NonNull List<Pos> findDuplicateCandidates(@NonNull Pos pos) {
+        return delegate.findDuplicateCandidates(pos);
+    }
+
+    @Override
+    public @NonNull List<DuplicatePosGroup> findDuplicates() {
+        return delegate.findDuplicates();
+    }
+
+    @Override
+    public @NonNull List<OsmNodeVersion> getOsmNodeVersions() {
+        return delegate.getOsmNodeVersions();
+    }
+
+    @Override
+    public void forEach(@NonNull Consumer<Pos> consumer) {
+        delegate.forEach(consumer);
+    }
+
+    @Override
+    public @NonNull Pos getById(@NonNull Long id) throws PosNotFoundException {
+        if (!properties.enabled()) {
+            return delegate.getById(id);
+        }
+        Pos pos = currentSnapshot().byId().get(id);
+        if (pos == null) {
+            throw new PosNotFoundException(id);
+        }
+        return pos;
+    }
+
+    @Override
+    public @NonNull Pos getById(@NonNull Long id, @NonNull Set<PosField> fields) throws PosNotFoundException {
+        if (!properties.enabled()) {
+            return delegate.getById(id, fields);
+        }
+        return PosField.project(getById(id), fields);
+    }
+
+    @Override
+    public @NonNull Pos upsert(@NonNull Pos pos) throws PosNotFoundException {
+        Pos upsertedPos = delegate.upsert(pos);
+        if (properties.enabled()) {
+            afterCommit(List.of(upsertedPos));
+        }
+        return upsertedPos;
+    }
+
+    @Override
+    public @NonNull Pos upsertByName(@NonNull Pos pos) {
+        Pos upsertedPos = delegate.upsertByName(pos);
+        if (properties.enabled()) {
+            afterCommit(List.of(upsertedPos));
+        }
+        return upsertedPos;
+    }
+
+    @Override
+    public @NonNull List<Pos> upsertAllByName(@NonNull List<Pos> posList) {
+        List<Pos> upsertedPos = delegate.upsertAllByName(posList);
+        if (properties.enabled()) {
+            afterCommit(upsertedPos);
+        }
+        return upsertedPos;
+    }
+
+    @Override
+    public @NonNull List<Pos> upsertAll(@NonNull List<Pos> posList) throws PosNotFoundException, DuplicatePosNameException, PosVersionConflictException {
+        List<Pos> upsertedPos = delegate.upsertAll(posList);
+        if (properties.enabled()) {
+            afterCommit(upsertedPos);
+        }
+        return upsertedPos;
+    }
+
+    /**
+     * Returns the current snapshot, loading it from the database if necessary.
+     * Writes committed during loading may be missing from the loaded POS, so they are recorded and applied afterwards
+     * ({@link PosSnapshot#with} ignores POS that are older than the loaded ones).
+     */
+    private PosSnapshot currentSnapshot() {
+        PosSnapshot current = snapshot;
+        if (current != null) {
+            return current;
+        }
+        synchronized (loadLock) {
+            current = snapshot;
+            if (current != null) {
+                return current;
+            }
+            List<Pos> changes = new ArrayList<>();
+            synchronized (writeLock) {
+                changesDuringLoad = changes;
+            }
+            try {
+                PosSnapshot loaded = fullRebuildTimer.record(() -> PosSnapshot.of(delegate.getAll(), clock.instant()));
+                synchronized (writeLock) {
+                    current = changes.isEmpty() ? loaded : loaded.with(changes, clock.instant());
+                    snapshot = current;
+                }
+                log.info("Loaded POS snapshot with {} POS ({} written during loading)", current.sortedById().size(), changes.size());
+                return current;
+            } finally {
+                synchronized (writeLock) {
+                    changesDuringLoad = null;
+                }
+            }
+        }
+    }
+
+    /**
+     * Applies written POS to the snapshot once they are visible to other transactions.
+     */
+    private void afterCommit(List<Pos> changedPos) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(changedPos);
+                }
+            });
+        } else {
+            apply(changedPos);
+        }
+    }
+
+    private void apply(List<Pos> changedPos) {
+        synchronized (writeLock) {
+            PosSnapshot current = snapshot;
+            if (current != null) {
+                snapshot = incrementalRebuildTimer.record(() -> current.with(changedPos, clock.instant()));
+            } else if (changesDuringLoad != null) {
+                changesDuringLoad.addAll(changedPos);
+            }
+            // otherwise, the snapshot is not loaded yet and will contain the changes when it is loaded
+        }
+    }
+
+    private void publish(Supplier<PosSnapshot> rebuild, Timer timer) {
+        synchronized (writeLock) {
+            snapshot = timer.record(rebuild);
+        }
+    }
+
+    private double ageSeconds() {
+        PosSnapshot current = snapshot;
+        return current == null ? 0 : Duration.between(current.publishedAt(), clock.instant()).toMillis() / 1000.0;
+    }
+
+    private int size() {
+        PosSnapshot current = snapshot;
+        return current == null ? 0 : current.byId().size();
+    }
+
+    private static Timer rebuildTimer(MeterRegistry meterRegistry, String type) {
+        return Timer.builder("pos.snapshot.rebuild")
+                .tag("type", type)
+                .description("Time to build a new POS snapshot")
+                .register(meterRegistry);
+    }
+
+    private void registerGauges(MeterRegistry meterRegistry) {
+        Gauge.builder("pos.snapshot.age", this, SnapshotPosDataService::ageSeconds)
+                .baseUnit("seconds")
+                .description("Time since the current POS snapshot was published")
+                .register(meterRegistry);
+        Gauge.builder("pos.snapshot.size", this, SnapshotPosDataService::size)
+                .description("Number of POS in the current snapshot")
+                .register(meterRegistry);
+    }
+}
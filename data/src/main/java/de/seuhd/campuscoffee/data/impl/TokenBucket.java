@@ -0,0 +1,58 @@
+package de.seuhd.campuscoffee.data.impl;
+
+import org.jspecify.annotations.Nullable;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Token bucket rate limiter. Callers reserve a token and wait for the returned duration before they proceed;
+ * the bucket itself never blocks, so it can be used from both blocking and reactive code.
+ */
+final class TokenBucket {
+    private final double capacity;
+    private final double tokensPerNano;
+    private final Clock clock;
+
+    private double tokens;
+    private Instant lastRefill;
+
+    /**
+     * @param tokensPerSecond the refill rate
+     * @param capacity        the maximum number of tokens, i.e., the maximum burst
+     * @param clock           the clock used to refill the bucket
+     */
+    TokenBucket(double tokensPerSecond, int capacity, Clock clock) {
+        if (tokensPerSecond <= 0 || capacity < 1) {
+            throw new IllegalArgumentException("Rate and capacity of a token bucket must be positive.");
+        }
+        this.capacity = capacity;
+        this.tokensPerNano = tokensPerSecond / 1_000_000_000d;
+        this.clock = clock;
+        this.tokens = capacity;
+        this.lastRefill = clock.instant();
+    }
+
+    /**
+     * Reserves a token if it becomes available within the given time.
+     *
+     * @param maxWait the maximum time the caller is willing to wait
+     * @return how long the caller has to wait before it may proceed (zero if a token is available right away),
+     *         or null if no token was reserved because the wait would exceed {@code maxWait}
+     */
+    synchronized @Nullable Duration reserve(Duration maxWait) {
+        Instant now = clock.instant();
+        long elapsedNanos = Math.max(0, Duration.between(lastRefill, now).toNanos());
+        tokens = Math.min(capacity, tokens + elapsedNanos * tokensPerNano);
+        lastRefill = now;
+
+        // tokens may become negative; each reservation beyond the available tokens waits for its own refill
+        Duration wait = tokens >= 1 ? Duration.ZERO : Duration.ofNanos((long) Math.ceil((1 - tokens) / tokensPerNano));
+        if (wait.compareTo(maxWait) > 0) {
+            return null;
+        }
+        tokens -= 1;
+        return wait;
+    }
+}
@@ -0,0 +1,185 @@
+package de.seuhd.campuscoffee.data.impl;
+
+import de.seuhd.campuscoffee.data.osm.OsmXmlParser;
+import de.seuhd.campuscoffee.domain.exceptions.OsmNodeNotFoundException;
+import de.seuhd.campuscoffee.domain.exceptions.OsmServiceUnavailableException;
+import de.seuhd.campuscoffee.domain.model.OsmNode;
+import de.seuhd.campuscoffee.domain.ports.ReactiveOsmDataService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.netty.channel.ChannelOption;
+import lombok.extern.slf4j.Slf4j;
+import org.jspecify.annotations.NonNull;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import org.springframework.web.util.UriBuilder;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import javax.xml.stream.XMLStreamException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Non-blocking OSM import service that fetches data from the OpenStreetMap API with a shared {@link WebClient}.
+ * Multi-fetch requests are sent concurrently, bounded by {@code campus-coffee.osm.client.max-concurrent-requests},
+ * which is also the size of the connection pool.
+ * If the OSM API is unavailable, the returned publishers fail with an {@link OsmServiceUnavailableException}.
+ */
+@Service
+@Slf4j
+class WebClientOsmDataService implements ReactiveOsmDataService, DisposableBean {
+    private static final String USER_AGENT = "CampusCoffee/1.0 (+https://github.com/se-ubt/ise25-26_campus-coffee)";
+    // number of node IDs per multi-fetch request; keeps the request URI well below common length limits
+    static final int MULTI_FETCH_CHUNK_SIZE = 100;
+    private static final Duration MAX_IDLE_TIME = Duration.ofSeconds(30);
+
+    private final OsmClientResilience resilience;
+    private final ConnectionProvider connectionProvider;
+    private final WebClient webClient;
+    private final int maxConcurrentRequests;
+    private final Timer parseTimer;
+
+    /**
+     * Creates the service with a {@link WebClient} from the given builder; the builder configured by Spring Boot
+     * records request times as {@code http.client.requests}.
+     */
+    WebClientOsmDataService(OsmClientProperties properties, OsmClientResilience resilience,
+                            WebClient.Builder webClientBuilder, MeterRegistry meterRegistry) {
+        this.resilience = resilience;
+        this.parseTimer = Timer.builder("osm.client.parse")
+                .description("Time to parse an OSM API response")
+                .tag("client", "reactive")
+                .register(meterRegistry);
+        this.connectionProvider = ConnectionProvider.builder("osm")
+                .maxConnections(properties.maxConcurrentRequests())
+                // fetches beyond the pool size wait for a connection instead of failing
+                .pendingAcquireMaxCount(-1)
+                .pendingAcquireTimeout(properties.readTimeout())
+                .maxIdleTime(MAX_IDLE_TIME)
+                .evictInBackground(MAX_IDLE_TIME)
+                .build();
+        HttpClient httpClient = HttpClient.create(connectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, Math.toIntExact(properties.connectTimeout().toMillis()))
+                .responseTimeout(properties.readTimeout());
+
+        this.webClient = webClientBuilder
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .baseUrl(properties.baseUrl())
+                .defaultHeader(HttpHeaders.USER_AGENT, USER_AGENT)
+                .defaultHeaders(headers -> headers.setAccept(List.of(MediaType.APPLICATION_XML, MediaType.TEXT_XML)))
+                .build();
+        this.maxConcurrentRequests = properties.maxConcurrentRequests();
+    }
+
+    @Override
+    public @NonNull Mono<OsmNode> fetchNode(@NonNull Long nodeId) {
+        return get(uri -> uri.path("/node/{id}").build(nodeId))
+                .flatMap(nodes -> nodes.isEmpty() || !nodes.getFirst().nodeId().equals(nodeId)
+                        ? Mono.error(new OsmNodeNotFoundException(nodeId))
+                        : Mono.just(nodes.getFirst()))
+                .onErrorMap(WebClientOsmDataService::isNodeError, e -> {
+                    log.warn("Failed to fetch OSM node {}: {}", nodeId, e.getMessage());
+                    return new OsmNodeNotFoundException(nodeId);
+                });
+    }
+
+    @Override
+    public @NonNull Flux<OsmNode> fetchNodes(@NonNull Collection<Long> nodeIds) {
+        List<Long> distinctNodeIds = nodeIds.stream().distinct().toList();
+        log.info("Fetching {} OSM nodes from API in chunks of {}...", distinctNodeIds.size(), MULTI_FETCH_CHUNK_SIZE);
+
+        return Flux.range(0, (distinctNodeIds.size() + MULTI_FETCH_CHUNK_SIZE - 1) / MULTI_FETCH_CHUNK_SIZE)
+                .map(index -> distinctNodeIds.subList(index * MULTI_FETCH_CHUNK_SIZE,
+                        Math.min((index + 1) * MULTI_FETCH_CHUNK_SIZE, distinctNodeIds.size())))
+                .flatMap(this::fetchChunk, maxConcurrentRequests);
+    }
+
+    @Override
+    public void destroy() {
+        connectionProvider.dispose();
+    }
+
+    /**
+     * Fetches a chunk of nodes with a single multi-fetch request ({@code /nodes?nodes=...}).
+     * The OSM API answers a multi-fetch with 404 if any of the nodes does not exist;
+     * in that case, the nodes of the chunk are fetched one by one to isolate the missing ones.
+     * Only a 404 means that a node is missing; other errors (e.g., an invalid response) fail the returned flux.
+     *
+     * @param chunk the node IDs to fetch
+     * @return the nodes that were found
+     */
+    private Flux<OsmNode> fetchChunk(List<Long> chunk) {
+        String ids = chunk.stream().map(String::valueOf).collect(Collectors.joining(","));
+        return get(uri -> uri.path("/nodes").queryParam("nodes", ids).build())
+                .flatMapIterable(nodes -> nodes)
+                .onErrorResume(WebClientResponseException.NotFound.class, e -> {
+                    log.info("Multi-fetch of {} OSM nodes returned 404, falling back to single fetches", chunk.size());
+                    return Flux.fromIterable(chunk)
+                            .flatMap(nodeId -> get(uri -> uri.path("/node/{id}").build(nodeId))
+                                    .flatMapIterable(nodes -> nodes)
+                                    .filter(node -> node.nodeId().equals(nodeId))
+                                    .onErrorResume(WebClientResponseException.NotFound.class, notFound -> {
+                                        log.warn("Skipping OSM node {}: not found", nodeId);
+                                        return Mono.empty();
+                                    }), maxConcurrentRequests);
+                })
+                .doOnError(e -> !(e instanceof OsmServiceUnavailableException),
+                        e -> log.error("Failed to fetch OSM nodes {}: {}", ids, e.getMessage()));
+    }
+
+    /**
+     * Sends a GET request to the OSM API and parses the XML response body.
+     * The body buffers are joined and passed to the streaming {@link OsmXmlParser} without copying them into a string.
+     * Rate limiting, retries, and circuit breaking are applied by the {@link OsmClientResilience}.
+     *
+     * @param uriFunction builds the request URI relative to the base URL
+     * @return a mono emitting the nodes contained in the response in document order
+     */
+    private Mono<List<OsmNode>> get(Function<UriBuilder, URI> uriFunction) {
+        return webClient.get()
+                .uri(uriFunction)
+                .retrieve()
+                .bodyToFlux(DataBuffer.class)
+                .as(DataBufferUtils::join)
+                .map(this::parseBody)
+                .defaultIfEmpty(List.of())
+                .transform(resilience::transform);
+    }
+
+    /**
+     * @return true if the error is to be reported as missing node (e.g., 404 or an invalid response),
+     *         false if it already is an {@link OsmNodeNotFoundException} or the OSM API is unavailable
+     */
+    private static boolean isNodeError(Throwable error) {
+        return !(error instanceof OsmNodeNotFoundException || error instanceof OsmServiceUnavailableException);
+    }
+
+    private List<OsmNode> parseBody(DataBuffer body) {
+        Timer.Sample sample = Timer.start();
+        try (InputStream in = body.asInputStream(true)) {
+            List<OsmNode> nodes = OsmXmlParser.parse(in);
+            log.debug("Successfully parsed {} OSM nodes", nodes.size());
+            return nodes;
+        } catch (XMLStreamException | IOException e) {
+            throw new IllegalStateException("Invalid OSM XML response: " + e.getMessage(), e);
+        } finally {
+            sample.stop(parseTimer);
+        }
+    }
+}
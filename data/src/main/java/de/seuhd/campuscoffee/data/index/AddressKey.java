@@ -0,0 +1,132 @@
+package de.seuhd.campuscoffee.data.index;
+
+import de.seuhd.campuscoffee.domain.model.Pos;
+import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Computes normalized address keys, i.e., 64-bit FNV-1a hashes of street, house number and suffix, postal code,
+ * and city. Two POS with the same key are most likely located at the same address.
+ * <p>
+ * Normalization ignores case, whitespace, and punctuation, folds German umlauts and ß
+ * ({@code "Untere Straße"} equals {@code "untere strasse"}), and expands the abbreviation {@code "Str."}
+ * ({@code "Berliner Str."} equals {@code "Berliner Straße"}).
+ * House numbers are split into numeric part and suffix exactly like
+ * {@link de.seuhd.campuscoffee.data.mapper.PosEntityMapper#splitHouseNumber}, so keys computed from a domain
+ * object and from the persisted entity match.
+ * <p>
+ * Keys are computed in a single pass over the characters without allocating.
+ */
+public final class AddressKey {
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+    // separates the fields so that, e.g., "Hauptstraße 1" and "Hauptstraße1" plus another field cannot collide
+    private static final int FIELD_SEPARATOR = 0x1F;
+    // marks absent values so that null and empty fields hash differently from zero
+    private static final int ABSENT = 0x1E;
+
+    private static final String STREET_ABBREVIATION = "str";
+    private static final String STREET = "strasse";
+
+    private AddressKey() {}
+
+    /**
+     * Computes the address key of a POS.
+     *
+     * @param pos the POS
+     * @return the address key
+     */
+    public static long of(@NonNull Pos pos) {
+        // split the house number like PosEntityMapper: all digits form the number, the first other character the suffix
+        String houseNumber = pos.houseNumber();
+        Integer number = null;
+        Character suffix = null;
+        int numericValue = 0;
+        for (int i = 0; i < houseNumber.length(); i++) {
+            char c = houseNumber.charAt(i);
+            if (c >= '0' && c <= '9') {
+                numericValue = numericValue * 10 + (c - '0');
+                number = numericValue;
+            } else if (suffix == null) {
+                suffix = c;
+            }
+        }
+        return of(pos.street(), number, suffix, pos.postalCode(), pos.city());
+    }
+
+    /**
+     * Computes the address key from the individual address fields, as stored in the database.
+     *
+     * @param street      the street name
+     * @param houseNumber the numeric part of the house number
+     * @param suffix      the house number suffix, e.g., {@code 'a'} for {@code "21a"}
+     * @param postalCode  the postal code
+     * @param city        the city name
+     * @return the address key
+     */
+    public static long of(@Nullable String street, @Nullable Integer houseNumber, @Nullable Character suffix,
+                          @Nullable Integer postalCode, @Nullable String city) {
+        long hash = FNV_OFFSET_BASIS;
+        hash = street(hash, street);
+        hash = mix(hash, FIELD_SEPARATOR);
+        hash = houseNumber == null ? mix(hash, ABSENT) : mixInt(hash, houseNumber);
+        hash = mix(hash, FIELD_SEPARATOR);
+        hash = suffix == null ? hash : letter(hash, suffix);
+        hash = mix(hash, FIELD_SEPARATOR);
+        hash = postalCode == null ? mix(hash, ABSENT) : mixInt(hash, postalCode);
+        hash = mix(hash, FIELD_SEPARATOR);
+        return text(hash, city, 0, city == null ? 0 : city.length());
+    }
+
+    private static long street(long hash, @Nullable String street) {
+        if (street == null) {
+            return hash;
+        }
+        // ignore trailing punctuation, e.g., the period of "Str."
+        int end = street.length();
+        while (end > 0 && !Character.isLetterOrDigit(street.charAt(end - 1))) {
+            end--;
+        }
+        int abbreviationStart = end - STREET_ABBREVIATION.length();
+        if (abbreviationStart >= 0
+                && street.regionMatches(true, abbreviationStart, STREET_ABBREVIATION, 0, STREET_ABBREVIATION.length())) {
+            hash = text(hash, street, 0, abbreviationStart);
+            return text(hash, STREET, 0, STREET.length());
+        }
+        return text(hash, street, 0, end);
+    }
+
+    private static long text(long hash, @Nullable String value, int from, int to) {
+        if (value == null) {
+            return hash;
+        }
+        for (int i = from; i < to; i++) {
+            hash = letter(hash, value.charAt(i));
+        }
+        return hash;
+    }
+
+    private static long letter(long hash, char c) {
+        char lower = Character.toLowerCase(c);
+        return switch (lower) {
+            case 'ä' -> mix(mix(hash, 'a'), 'e');
+            case 'ö' -> mix(mix(hash, 'o'), 'e');
+            case 'ü' -> mix(mix(hash, 'u'), 'e');
+            case 'ß' -> mix(mix(hash, 's'), 's');
+            default -> Character.isLetterOrDigit(lower) ? mix(hash, lower) : hash;
+        };
+    }
+
+    private static long mixInt(long hash, int value) {
+        hash = mix(hash, value >>> 16);
+        return mix(hash, value & 0xFFFF);
+    }
+
+    /**
+     * Mixes a 16-bit value (e.g., a char) into the hash, one octet at a time.
+     */
+    private static long mix(long hash, int value) {
+        hash = (hash ^ (value & 0xFF)) * FNV_PRIME;
+        return (hash ^ ((value >>> 8) & 0xFF)) * FNV_PRIME;
+    }
+}
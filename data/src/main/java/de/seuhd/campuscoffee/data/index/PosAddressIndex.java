@@ -0,0 +1,115 @@
+package de.seuhd.campuscoffee.data.index;
+
+import de.seuhd.campuscoffee.domain.model.Pos;
+import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory hash index from normalized address keys (see {@link AddressKey}) to the IDs of the POS at that address.
+ * Lookups and updates take constant time, independent of the number of indexed POS.
+ * <p>
+ * The index is thread-safe. Lookups never block; writes are serialized.
+ * The ID arrays in the index are never modified after they are published.
+ */
+public final class PosAddressIndex {
+    private static final long[] NO_IDS = new long[0];
+
+    // guards writes; lookups only read the volatile map
+    private final Object writeLock = new Object();
+    private volatile Map<Long, long[]> idsByKey = new ConcurrentHashMap<>();
+    // address key of each indexed POS, to remove the old entry when the address changes; guarded by the write lock
+    private Map<Long, Long> keysById = new HashMap<>();
+
+    /**
+     * Replaces the contents of the index with the given POS.
+     *
+     * @param posList all POS to index; all of them must have an ID
+     */
+    public void rebuild(@NonNull Collection<Pos> posList) {
+        Map<Long, long[]> newIdsByKey = new ConcurrentHashMap<>(Math.max(16, posList.size() * 4 / 3));
+        Map<Long, Long> newKeysById = HashMap.newHashMap(posList.size());
+        for (Pos pos : posList) {
+            long key = AddressKey.of(pos);
+            newIdsByKey.merge(key, new long[]{pos.id()}, PosAddressIndex::concat);
+            newKeysById.put(pos.id(), key);
+        }
+        synchronized (writeLock) {
+            idsByKey = newIdsByKey;
+            keysById = newKeysById;
+        }
+    }
+
+    /**
+     * Adds or replaces the given POS.
+     *
+     * @param posList the created or updated POS; all of them must have an ID
+     */
+    public void upsert(@NonNull Collection<Pos> posList) {
+        synchronized (writeLock) {
+            for (Pos pos : posList) {
+                long key = AddressKey.of(pos);
+                Long previousKey = keysById.put(pos.id(), key);
+                if (previousKey != null && previousKey == key) {
+                    continue;
+                }
+                if (previousKey != null) {
+                    idsByKey.computeIfPresent(previousKey, (k, ids) -> remove(ids, pos.id()));
+                }
+                idsByKey.merge(key, new long[]{pos.id()}, PosAddressIndex::concat);
+            }
+        }
+    }
+
+    /**
+     * Removes all POS from the index.
+     */
+    public void clear() {
+        rebuild(List.of());
+    }
+
+    /**
+     * Returns the IDs of the POS at the same normalized address as the given POS, except for the POS itself.
+     *
+     * @param pos the POS to look up; it does not need to be indexed or have an ID
+     * @return the IDs of the other POS at the address, in no particular order; never null
+     */
+    public long @NonNull [] candidates(@NonNull Pos pos) {
+        long[] ids = idsByKey.get(AddressKey.of(pos));
+        if (ids == null) {
+            return NO_IDS;
+        }
+        if (pos.id() == null) {
+            return ids.clone();
+        }
+        long[] otherIds = remove(ids, pos.id());
+        return otherIds == null ? NO_IDS : otherIds;
+    }
+
+    private static long[] concat(long[] ids, long[] additionalIds) {
+        long[] result = Arrays.copyOf(ids, ids.length + additionalIds.length);
+        System.arraycopy(additionalIds, 0, result, ids.length, additionalIds.length);
+        return result;
+    }
+
+    /**
+     * Returns a copy of the array without the given ID, or null if the copy would be empty
+     * (which removes the entry when used as remapping function).
+     */
+    private static long @Nullable [] remove(long[] ids, long id) {
+        long[] result = new long[ids.length];
+        int size = 0;
+        for (long candidate : ids) {
+            if (candidate != id) {
+                result[size++] = candidate;
+            }
+        }
+        return size == 0 ? null : Arrays.copyOf(result, size);
+    }
+}
@@ -0,0 +1,387 @@
+package de.seuhd.campuscoffee.data.index;
+
+import de.seuhd.campuscoffee.domain.model.NearbyPos;
+import de.seuhd.campuscoffee.domain.model.Pos;
+import org.jspecify.annotations.NonNull;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * In-memory k-nearest-neighbor index for POS locations.
+ * <p>
+ * Locations are converted to points on the unit sphere. The straight-line (chord) distance between two such
+ * points grows monotonically with their great-circle distance, so a nearest-neighbor search with plain
+ * Euclidean distances in three dimensions is exact everywhere on earth, including the poles and the antimeridian.
+ * <p>
+ * The points are kept in a balanced KD-tree stored in flat arrays. Writes do not modify the tree:
+ * created or updated POS are kept in a small list of pending entries, and tree entries that were replaced or
+ * removed are masked. Once the pending changes exceed a fraction of the tree size, the tree is rebuilt.
+ * <p>
+ * The index is thread-safe. Each write publishes a new immutable state, so queries never block;
+ * writes are serialized.
+ */
+public final class PosSpatialIndex {
+    /**
+     * Mean earth radius in meters (IUGG).
+     */
+    static final double EARTH_RADIUS_METERS = 6_371_008.8;
+
+    /**
+     * Minimum number of pending changes before the tree is rebuilt; rebuilding a small tree is not worth it.
+     */
+    private static final int MIN_REBUILD_THRESHOLD = 256;
+
+    // guards writes; queries only read the volatile state
+    private final Object writeLock = new Object();
+    private volatile State state = State.build(List.of());
+
+    /**
+     * Replaces the contents of the index with the given POS. POS without a location are ignored.
+     *
+     * @param posList all POS to index
+     */
+    public void rebuild(@NonNull Collection<Pos> posList) {
+        State newState = State.build(posList.stream().filter(Pos::hasLocation).toList());
+        synchronized (writeLock) {
+            state = newState;
+        }
+    }
+
+    /**
+     * Adds or replaces the given POS. A POS without a location is removed from the index.
+     *
+     * @param posList the created or updated POS; all of them must have an ID
+     */
+    public void upsert(@NonNull Collection<Pos> posList) {
+        synchronized (writeLock) {
+            State current = state;
+            Map<Long, Pos> pending = new HashMap<>(current.pending);
+            Set<Long> masked = new HashSet<>(current.masked);
+            for (Pos pos : posList) {
+                if (current.tree.contains(pos.id())) {
+                    masked.add(pos.id());
+                }
+                if (pos.hasLocation()) {
+                    pending.put(pos.id(), pos);
+                } else {
+                    pending.remove(pos.id());
+                }
+            }
+
+            if (pending.size() + masked.size() > Math.max(MIN_REBUILD_THRESHOLD, current.tree.size() / 64)) {
+                List<Pos> all = new ArrayList<>(current.tree.size() + pending.size());
+                current.tree.forEachUnmasked(masked, all::add);
+                all.addAll(pending.values());
+                state = State.build(all);
+            } else {
+                state = new State(current.tree, Map.copyOf(pending), Set.copyOf(masked), toCoordinates(pending.values()));
+            }
+        }
+    }
+
+    /**
+     * Removes all POS from the index.
+     */
+    public void clear() {
+        rebuild(List.of());
+    }
+
+    /**
+     * Returns the number of indexed POS.
+     *
+     * @return the number of POS with a location
+     */
+    public int size() {
+        State current = state;
+        return current.tree.size() - current.masked.size() + current.pending.size();
+    }
+
+    /**
+     * Finds the POS closest to the given location.
+     *
+     * @param latitude  the WGS 84 latitude of the search location in degrees
+     * @param longitude the WGS 84 longitude of the search location in degrees
+     * @param k         the maximum number of POS to return; must be positive
+     * @return up to {@code k} POS ordered by ascending distance
+     */
+    public @NonNull List<NearbyPos> nearest(double latitude, double longitude, int k) {
+        State current = state;
+        double[] query = new double[3];
+        toUnitVector(latitude, longitude, query, 0);
+
+        Candidates candidates = new Candidates(k);
+        current.tree.search(query, current.masked, candidates);
+        // pending entries are few, so a linear scan is cheaper than maintaining a second tree
+        Pos[] pendingItems = current.pendingPoints.items();
+        double[] pendingCoordinates = current.pendingPoints.coordinates();
+        for (int i = 0; i < pendingItems.length; i++) {
+            double dx = query[0] - pendingCoordinates[3 * i];
+            double dy = query[1] - pendingCoordinates[3 * i + 1];
+            double dz = query[2] - pendingCoordinates[3 * i + 2];
+            candidates.offer(dx * dx + dy * dy + dz * dz, pendingItems[i]);
+        }
+        return candidates.toNearbyPos();
+    }
+
+    private static Points toCoordinates(Collection<Pos> posList) {
+        Pos[] items = posList.toArray(new Pos[0]);
+        double[] coordinates = new double[3 * items.length];
+        for (int i = 0; i < items.length; i++) {
+            toUnitVector(items[i].latitude(), items[i].longitude(), coordinates, 3 * i);
+        }
+        return new Points(items, coordinates);
+    }
+
+    /**
+     * Converts a location to a point on the unit sphere.
+     *
+     * @param latitude  latitude in degrees
+     * @param longitude longitude in degrees
+     * @param target    the array to write x, y, and z to
+     * @param offset    the index of x in the target array
+     */
+    static void toUnitVector(double latitude, double longitude, double[] target, int offset) {
+        double phi = Math.toRadians(latitude);
+        double lambda = Math.toRadians(longitude);
+        double cosPhi = Math.cos(phi);
+        target[offset] = cosPhi * Math.cos(lambda);
+        target[offset + 1] = cosPhi * Math.sin(lambda);
+        target[offset + 2] = Math.sin(phi);
+    }
+
+    /**
+     * Converts a squared chord distance on the unit sphere to a great-circle distance in meters.
+     */
+    static double toMeters(double squaredChordDistance) {
+        double chord = Math.sqrt(squaredChordDistance);
+        return 2 * EARTH_RADIUS_METERS * Math.asin(Math.min(1, chord / 2));
+    }
+
+    /**
+     * Immutable state of the index.
+     *
+     * @param tree          the KD-tree built at the last rebuild
+     * @param pending       POS created or updated since the last rebuild, by ID
+     * @param masked        IDs of tree entries that were updated or removed since the last rebuild
+     * @param pendingPoints the pending POS with their precomputed points
+     */
+    private record State(KdTree tree, Map<Long, Pos> pending, Set<Long> masked, Points pendingPoints) {
+        static State build(List<Pos> posList) {
+            return new State(KdTree.build(posList), Map.of(), Set.of(), toCoordinates(List.of()));
+        }
+    }
+
+    /**
+     * POS together with their points on the unit sphere.
+     *
+     * @param items       the POS
+     * @param coordinates x, y, and z of {@code items[i]} at index {@code 3 * i}
+     */
+    private record Points(Pos[] items, double[] coordinates) {}
+
+    /**
+     * Balanced KD-tree over points on the unit sphere, stored in flat arrays.
+     * The subtree of the range {@code [lo, hi)} has its root at the middle index {@code (lo + hi) >>> 1};
+     * entries left of the root are not greater on the split axis of the root, entries right of it not smaller.
+     */
+    private static final class KdTree {
+        private final Pos[] items;
+        private final double[] coordinates; // x, y, z of items[i] at 3 * i
+        private final byte[] axes; // split axis of the subtree rooted at index i
+        private final Map<Long, Integer> indexById;
+
+        private KdTree(Pos[] items, double[] coordinates, byte[] axes) {
+            this.items = items;
+            this.coordinates = coordinates;
+            this.axes = axes;
+            this.indexById = HashMap.newHashMap(items.length);
+            for (int i = 0; i < items.length; i++) {
+                indexById.put(items[i].id(), i);
+            }
+        }
+
+        static KdTree build(List<Pos> posList) {
+            Points points = toCoordinates(posList);
+            byte[] axes = new byte[points.items().length];
+            build(points.items(), points.coordinates(), axes, 0, axes.length);
+            return new KdTree(points.items(), points.coordinates(), axes);
+        }
+
+        private static void build(Pos[] items, double[] coordinates, byte[] axes, int lo, int hi) {
+            if (hi - lo < 2) {
+                return;
+            }
+            int axis = widestAxis(coordinates, lo, hi);
+            int mid = (lo + hi) >>> 1;
+            select(items, coordinates, lo, hi - 1, mid, axis);
+            axes[mid] = (byte) axis;
+            build(items, coordinates, axes, lo, mid);
+            build(items, coordinates, axes, mid + 1, hi);
+        }
+
+        /**
+         * Returns the axis along which the points in {@code [lo, hi)} are spread the most.
+         */
+        private static int widestAxis(double[] coordinates, int lo, int hi) {
+            double[] min = {Double.MAX_VALUE, Double.MAX_VALUE, Double.MAX_VALUE};
+            double[] max = {-Double.MAX_VALUE, -Double.MAX_VALUE, -Double.MAX_VALUE};
+            for (int i = lo; i < hi; i++) {
+                for (int axis = 0; axis < 3; axis++) {
+                    double value = coordinates[3 * i + axis];
+                    min[axis] = Math.min(min[axis], value);
+                    max[axis] = Math.max(max[axis], value);
+                }
+            }
+            int widest = 0;
+            for (int axis = 1; axis < 3; axis++) {
+                if (max[axis] - min[axis] > max[widest] - min[widest]) {
+                    widest = axis;
+                }
+            }
+            return widest;
+        }
+
+        /**
+         * Quickselect: partially sorts {@code [left, right]} by the given axis so that index {@code k} holds the
+         * entry that would be there if the range were fully sorted.
+         */
+        private static void select(Pos[] items, double[] coordinates, int left, int right, int k, int axis) {
+            while (right > left) {
+                double pivot = coordinates[3 * ((left + right) >>> 1) + axis];
+                int i = left;
+                int j = right;
+                while (i <= j) {
+                    while (coordinates[3 * i + axis] < pivot) {
+                        i++;
+                    }
+                    while (coordinates[3 * j + axis] > pivot) {
+                        j--;
+                    }
+                    if (i <= j) {
+                        swap(items, coordinates, i++, j--);
+                    }
+                }
+                if (k <= j) {
+                    right = j;
+                } else if (k >= i) {
+                    left = i;
+                } else {
+                    return;
+                }
+            }
+        }
+
+        private static void swap(Pos[] items, double[] coordinates, int i, int j) {
+            Pos item = items[i];
+            items[i] = items[j];
+            items[j] = item;
+            for (int axis = 0; axis < 3; axis++) {
+                double value = coordinates[3 * i + axis];
+                coordinates[3 * i + axis] = coordinates[3 * j + axis];
+                coordinates[3 * j + axis] = value;
+            }
+        }
+
+        int size() {
+            return items.length;
+        }
+
+        boolean contains(Long id) {
+            return indexById.containsKey(id);
+        }
+
+        void forEachUnmasked(Set<Long> masked, Consumer<Pos> consumer) {
+            for (Pos item : items) {
+                if (!masked.contains(item.id())) {
+                    consumer.accept(item);
+                }
+            }
+        }
+
+        void search(double[] query, Set<Long> masked, Candidates candidates) {
+            search(query, masked.isEmpty() ? null : masked, candidates, 0, items.length);
+        }
+
+        private void search(double[] query, Set<Long> masked, Candidates candidates, int lo, int hi) {
+            if (lo >= hi) {
+                return;
+            }
+            int mid = (lo + hi) >>> 1;
+            if (masked == null || !masked.contains(items[mid].id())) {
+                double dx = query[0] - coordinates[3 * mid];
+                double dy = query[1] - coordinates[3 * mid + 1];
+                double dz = query[2] - coordinates[3 * mid + 2];
+                candidates.offer(dx * dx + dy * dy + dz * dz, items[mid]);
+            }
+            if (hi - lo == 1) {
+                return;
+            }
+
+            int axis = axes[mid];
+            double diff = query[axis] - coordinates[3 * mid + axis];
+            // descend into the half that contains the query first; visit the other half only if it can be closer
+            if (diff < 0) {
+                search(query, masked, candidates, lo, mid);
+                if (diff * diff < candidates.worstDistance()) {
+                    search(query, masked, candidates, mid + 1, hi);
+                }
+            } else {
+                search(query, masked, candidates, mid + 1, hi);
+                if (diff * diff < candidates.worstDistance()) {
+                    search(query, masked, candidates, lo, mid);
+                }
+            }
+        }
+    }
+
+    /**
+     * Bounded list of the closest candidates found so far, sorted by ascending squared distance.
+     */
+    private static final class Candidates {
+        private final double[] distances;
+        private final Pos[] items;
+        private int size;
+
+        Candidates(int k) {
+            this.distances = new double[k];
+            this.items = new Pos[k];
+        }
+
+        double worstDistance() {
+            return size < distances.length ? Double.POSITIVE_INFINITY : distances[size - 1];
+        }
+
+        void offer(double distance, Pos pos) {
+            if (distance >= worstDistance()) {
+                return;
+            }
+            // insertion sort; k is small, so shifting is cheaper than maintaining a heap
+            int i = size < distances.length ? size++ : size - 1;
+            while (i > 0 && distances[i - 1] > distance) {
+                distances[i] = distances[i - 1];
+                items[i] = items[i - 1];
+                i--;
+            }
+            distances[i] = distance;
+            items[i] = pos;
+        }
+
+        List<NearbyPos> toNearbyPos() {
+            List<NearbyPos> result = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                result.add(NearbyPos.builder()
+                        .pos(items[i])
+                        .distanceMeters(toMeters(distances[i]))
+                        .build());
+            }
+            return result;
+        }
+    }
+}
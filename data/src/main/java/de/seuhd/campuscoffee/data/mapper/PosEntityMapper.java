@@ -15,7 +15,7 @@ import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean
  * <ul>
  *   <li>Maps flat address fields from domain to embedded AddressEntity in JPA entity</li>
  *   <li>Handles house number parsing: splits "21a" into numeric (21) and suffix ('a') parts</li>
- *   <li>Provides update functionality that preserves JPA-managed fields (id, timestamps)</li>
+ *   <li>Provides update functionality that preserves JPA-managed fields (id, timestamps) and the OSM source</li>
  * </ul>
  * <p>
  * This is part of the data layer adapter in the hexagonal architecture, enabling the
@@ -49,12 +49,15 @@ public interface PosEntityMapper {
      * @return the JPA entity, or null if source is null
      */
     @Mapping(target = "address", expression = "java(splitHouseNumber(source, new AddressEntity()))")
+    @Mapping(target = "addressKey", ignore = true) // derived from the address by the entity
+    @Mapping(target = "version", ignore = true) // a null version marks the entity as new
     PosEntity toEntity(Pos source);
 
     /**
      * Updates an existing JPA entity with data from the domain model.
      * This method is intended for update operations where the entity already exists.
-     * JPA-managed fields (id, createdAt, updatedAt) are preserved and not overwritten.
+     * JPA-managed fields (id, createdAt, updatedAt, version) are preserved and not overwritten.
+     * The OSM source (osmNodeId, osmVersion) is only overwritten if set in the domain model.
      * The address is updated in place rather than being replaced, preserving the entity relationship.
      *
      * @param source the domain model containing the new data; must not be null
@@ -64,6 +67,10 @@ public interface PosEntityMapper {
     @Mapping(target = "createdAt", ignore = true)
     @Mapping(target = "updatedAt", ignore = true)
     @Mapping(target = "address", expression = "java(splitHouseNumber(source, target.getAddress()))")
+    @Mapping(target = "addressKey", ignore = true) // derived from the address by the entity
+    @Mapping(target = "version", ignore = true) // managed by Hibernate
+    @Mapping(target = "osmNodeId", conditionExpression = "java(source.osmNodeId() != null)")
+    @Mapping(target = "osmVersion", conditionExpression = "java(source.osmVersion() != null)")
     void updateEntity(Pos source, @MappingTarget PosEntity target);
 
     /**
@@ -0,0 +1,520 @@
+package de.seuhd.campuscoffee.data.osm;
+
+import de.seuhd.campuscoffee.domain.model.OsmNode;
+import de.seuhd.campuscoffee.domain.ports.OsmDataService.NodeConsumer;
+import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.BiPredicate;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * Parallel reader for OpenStreetMap PBF files (see https://wiki.openstreetmap.org/wiki/PBF_Format),
+ * the binary format of regional and country extracts. A PBF file is a sequence of blobs, each preceded by a header;
+ * the first blob contains the file header, the others contain up to 8,000 entities each, usually zlib-compressed.
+ * <p>
+ * The file is memory-mapped and scanned on the calling thread, which only reads the blob headers.
+ * The data blobs are decompressed and decoded in parallel on a fork-join pool. At most twice as many blobs as
+ * the pool has threads are in flight, so memory usage is bounded independent of the size of the file.
+ * The decoded nodes are passed to the consumer on the calling thread, in file order.
+ * <p>
+ * Only nodes with at least one tag accepted by the tag filter are materialized as {@link OsmNode};
+ * all other nodes are only counted. Strings are decoded at most once per blob. Ways and relations are skipped.
+ * Raw and zlib-compressed blobs are supported, as are the required features {@code OsmSchema-V0.6} and
+ * {@code DenseNodes}, which covers the extracts of all common OSM dump providers.
+ */
+public final class OsmPbfReader {
+    private static final int MAX_BLOB_HEADER_SIZE = 64 * 1024;
+    private static final int MAX_BLOB_SIZE = 32 * 1024 * 1024;
+    private static final Set<String> SUPPORTED_FEATURES = Set.of("OsmSchema-V0.6", "DenseNodes");
+    // coordinates are stored in nanodegrees
+    private static final double NANODEGREES = 1e9;
+
+    private OsmPbfReader() {}
+
+    /**
+     * Reads the nodes of the given PBF file and passes the nodes matching the tag filter to the consumer.
+     *
+     * @param file        the PBF file
+     * @param tagFilter   accepts the tags (key and value) that qualify a node for materialization;
+     *                    called concurrently by the decoding threads
+     * @param consumer    receives the materialized nodes in file order, and the number of the other nodes;
+     *                    called from the calling thread only
+     * @param parallelism the number of decoding threads
+     * @return the number of nodes read, including the filtered-out nodes
+     * @throws IOException if the file cannot be read or is not a valid OSM PBF file
+     */
+    public static long read(@NonNull Path file, @NonNull BiPredicate<String, String> tagFilter,
+                            @NonNull NodeConsumer consumer, int parallelism) throws IOException {
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        Deque<ForkJoinTask<DecodedBlock>> inFlight = new ArrayDeque<>();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            BlobScanner scanner = new BlobScanner(channel);
+            long nodeCount = 0;
+            boolean headerRead = false;
+            Blob blob;
+            while ((blob = scanner.next()) != null) {
+                switch (blob.type()) {
+                    case "OSMHeader" -> {
+                        checkHeader(decompress(blob.data()));
+                        headerRead = true;
+                    }
+                    case "OSMData" -> {
+                        if (!headerRead) {
+                            throw new IOException("Invalid OSM PBF file: data blob before the file header");
+                        }
+                        ByteBuffer data = blob.data();
+                        inFlight.add(pool.submit(() -> decodeBlock(decompress(data), tagFilter)));
+                        if (inFlight.size() >= 2 * parallelism) {
+                            nodeCount += deliver(inFlight.removeFirst(), consumer);
+                        }
+                    }
+                    default -> {
+                        // the format requires readers to skip unknown blob types
+                    }
+                }
+            }
+            while (!inFlight.isEmpty()) {
+                nodeCount += deliver(inFlight.removeFirst(), consumer);
+            }
+            return nodeCount;
+        } finally {
+            // only non-empty if reading failed
+            inFlight.forEach(task -> task.cancel(true));
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * Waits for a decoded blob and passes its nodes to the consumer.
+     *
+     * @return the number of nodes in the blob, including the filtered-out nodes
+     */
+    private static long deliver(ForkJoinTask<DecodedBlock> task, NodeConsumer consumer) throws IOException {
+        DecodedBlock block;
+        try {
+            block = task.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while decoding OSM PBF file");
+        } catch (ExecutionException e) {
+            // the pool wraps checked exceptions, so search the causes for the original exception
+            for (Throwable cause = e.getCause(); cause != null; cause = cause.getCause()) {
+                if (cause instanceof IOException ioException) {
+                    throw ioException;
+                }
+            }
+            throw new IOException("Failed to decode OSM PBF blob: " + e.getCause(), e.getCause());
+        }
+        block.nodes().forEach(consumer);
+        long filteredOut = block.nodeCount() - block.nodes().size();
+        if (filteredOut > 0) {
+            consumer.filteredOut(filteredOut);
+        }
+        return block.nodeCount();
+    }
+
+    /**
+     * Returns the uncompressed content of a blob.
+     *
+     * @param blobData the encoded {@code Blob} message
+     * @return the uncompressed {@code HeaderBlock} or {@code PrimitiveBlock} message
+     * @throws IOException if the blob is invalid or uses an unsupported compression
+     */
+    private static ByteBuffer decompress(ByteBuffer blobData) throws IOException {
+        ProtobufReader blob = new ProtobufReader(blobData);
+        ByteBuffer raw = null;
+        ByteBuffer zlibData = null;
+        long rawSize = -1;
+        while (blob.next()) {
+            switch (blob.field()) {
+                case 1 -> raw = blob.bytes();
+                case 2 -> rawSize = blob.varint();
+                case 3 -> zlibData = blob.bytes();
+                case 4, 5, 6, 7 -> throw new IOException(
+                        "Unsupported OSM PBF blob compression (field " + blob.field() + "), only zlib is supported");
+                default -> blob.skip();
+            }
+        }
+        if (raw != null) {
+            return raw;
+        }
+        if (zlibData == null || rawSize < 0 || rawSize > MAX_BLOB_SIZE) {
+            throw new IOException("Invalid OSM PBF blob: no data or invalid size " + rawSize);
+        }
+        byte[] inflated = new byte[(int) rawSize];
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(zlibData);
+            int length = 0;
+            while (length < inflated.length && !inflater.finished()) {
+                int count = inflater.inflate(inflated, length, inflated.length - length);
+                if (count == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                length += count;
+            }
+            if (length != inflated.length) {
+                throw new IOException("Invalid OSM PBF blob: expected " + inflated.length + " bytes, inflated " + length);
+            }
+        } catch (DataFormatException e) {
+            throw new IOException("Invalid zlib data in OSM PBF blob: " + e.getMessage(), e);
+        } finally {
+            inflater.end();
+        }
+        return ByteBuffer.wrap(inflated);
+    }
+
+    /**
+     * Checks that the file does not require features that this reader does not support, e.g., history files.
+     *
+     * @param data the {@code HeaderBlock} message
+     * @throws IOException if an unsupported feature is required
+     */
+    private static void checkHeader(ByteBuffer data) throws IOException {
+        ProtobufReader header = new ProtobufReader(data);
+        while (header.next()) {
+            if (header.field() == 4) {
+                String feature = header.string();
+                if (!SUPPORTED_FEATURES.contains(feature)) {
+                    throw new IOException("Unsupported OSM PBF feature: " + feature);
+                }
+            } else {
+                header.skip();
+            }
+        }
+    }
+
+    /**
+     * Decodes the nodes of a data blob; runs on the decoding threads.
+     *
+     * @param data the {@code PrimitiveBlock} message
+     * @param tagFilter the tag filter
+     * @return the materialized nodes and the number of all nodes in the blob
+     * @throws IOException if the block is invalid
+     */
+    private static DecodedBlock decodeBlock(ByteBuffer data, BiPredicate<String, String> tagFilter) throws IOException {
+        ProtobufReader block = new ProtobufReader(data);
+        List<ByteBuffer> strings = List.of();
+        List<ProtobufReader> groups = new ArrayList<>();
+        long granularity = 100;
+        long latOffset = 0;
+        long lonOffset = 0;
+        // the groups are decoded after reading the whole block, since the encoding parameters may follow them
+        while (block.next()) {
+            switch (block.field()) {
+                case 1 -> strings = readStringTable(block.message());
+                case 2 -> groups.add(block.message());
+                case 17 -> granularity = block.varint();
+                case 19 -> latOffset = block.varint();
+                case 20 -> lonOffset = block.varint();
+                default -> block.skip();
+            }
+        }
+        BlockDecoder decoder = new BlockDecoder(strings, granularity, latOffset, lonOffset, tagFilter);
+        for (ProtobufReader group : groups) {
+            decoder.decodeGroup(group);
+        }
+        return new DecodedBlock(decoder.nodes, decoder.nodeCount);
+    }
+
+    private static List<ByteBuffer> readStringTable(ProtobufReader stringTable) throws IOException {
+        List<ByteBuffer> strings = new ArrayList<>();
+        while (stringTable.next()) {
+            if (stringTable.field() == 1) {
+                strings.add(stringTable.bytes());
+            } else {
+                stringTable.skip();
+            }
+        }
+        return strings;
+    }
+
+    /**
+     * A blob of the file: its type from the blob header and the encoded {@code Blob} message.
+     */
+    private record Blob(String type, ByteBuffer data) {}
+
+    /**
+     * The result of decoding a data blob.
+     *
+     * @param nodes     the nodes that matched the tag filter, in file order
+     * @param nodeCount the number of all nodes in the blob
+     */
+    private record DecodedBlock(List<OsmNode> nodes, long nodeCount) {}
+
+    /**
+     * Reads the blobs of a file one after the other from memory-mapped segments of at most 1 GiB.
+     * A new segment is mapped whenever the next blob does not fit into the current one.
+     */
+    private static final class BlobScanner {
+        private static final long SEGMENT_SIZE = 1L << 30;
+
+        private final FileChannel channel;
+        private final long size;
+        private MappedByteBuffer segment;
+        private long segmentStart;
+        private long position;
+
+        BlobScanner(FileChannel channel) throws IOException {
+            this.channel = channel;
+            this.size = channel.size();
+        }
+
+        /**
+         * @return the next blob, or null at the end of the file
+         * @throws IOException if the file is truncated or a blob header is invalid
+         */
+        @Nullable Blob next() throws IOException {
+            if (position == size) {
+                return null;
+            }
+            long headerOffset = position;
+            int headerSize = read(4).getInt();
+            if (headerSize <= 0 || headerSize > MAX_BLOB_HEADER_SIZE) {
+                throw new IOException("Invalid OSM PBF blob header size " + headerSize + " at offset " + headerOffset);
+            }
+            ProtobufReader header = new ProtobufReader(read(headerSize));
+            String type = null;
+            long dataSize = -1;
+            while (header.next()) {
+                switch (header.field()) {
+                    case 1 -> type = header.string();
+                    case 3 -> dataSize = header.varint();
+                    default -> header.skip();
+                }
+            }
+            if (type == null || dataSize < 0 || dataSize > MAX_BLOB_SIZE) {
+                throw new IOException("Invalid OSM PBF blob header at offset " + headerOffset);
+            }
+            return new Blob(type, read(dataSize));
+        }
+
+        /**
+         * Returns the next bytes of the file as a slice of the mapped segment and advances the position.
+         */
+        private ByteBuffer read(long length) throws IOException {
+            if (position + length > size) {
+                throw new IOException("Truncated OSM PBF file: " + length + " bytes expected at offset " + position);
+            }
+            if (segment == null || position + length > segmentStart + segment.capacity()) {
+                segmentStart = position;
+                segment = channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(SEGMENT_SIZE, size - position));
+            }
+            ByteBuffer slice = segment.slice((int) (position - segmentStart), (int) length);
+            position += length;
+            return slice;
+        }
+    }
+
+    /**
+     * Decodes the primitive groups of one data blob. Not thread-safe; used by a single decoding task.
+     */
+    private static final class BlockDecoder {
+        private final List<ByteBuffer> rawStrings;
+        // strings decoded so far, by index in the string table
+        private final String[] strings;
+        private final long granularity;
+        private final long latOffset;
+        private final long lonOffset;
+        private final BiPredicate<String, String> tagFilter;
+        private final List<OsmNode> nodes = new ArrayList<>();
+        private long nodeCount;
+
+        BlockDecoder(List<ByteBuffer> rawStrings, long granularity, long latOffset, long lonOffset,
+                     BiPredicate<String, String> tagFilter) {
+            this.rawStrings = rawStrings;
+            this.strings = new String[rawStrings.size()];
+            this.granularity = granularity;
+            this.latOffset = latOffset;
+            this.lonOffset = lonOffset;
+            this.tagFilter = tagFilter;
+        }
+
+        void decodeGroup(ProtobufReader group) throws IOException {
+            while (group.next()) {
+                switch (group.field()) {
+                    case 1 -> decodeNode(group.message());
+                    case 2 -> decodeDenseNodes(group.message());
+                    // ways, relations, and changesets
+                    default -> group.skip();
+                }
+            }
+        }
+
+        /**
+         * Decodes a node in the plain encoding, which is rarely used since it is larger than the dense encoding.
+         */
+        private void decodeNode(ProtobufReader node) throws IOException {
+            long id = 0;
+            long lat = 0;
+            long lon = 0;
+            Long version = null;
+            ProtobufReader keys = null;
+            ProtobufReader values = null;
+            while (node.next()) {
+                switch (node.field()) {
+                    case 1 -> id = node.signedVarint();
+                    case 2 -> keys = node.message();
+                    case 3 -> values = node.message();
+                    case 4 -> version = readVersion(node.message());
+                    case 8 -> lat = node.signedVarint();
+                    case 9 -> lon = node.signedVarint();
+                    default -> node.skip();
+                }
+            }
+            nodeCount++;
+            if (keys == null || values == null) {
+                return;
+            }
+            int keysStart = keys.position();
+            int valuesStart = values.position();
+            boolean matches = false;
+            while (!matches && keys.hasRemaining()) {
+                matches = tagFilter.test(string(keys.readVarint()), string(values.readVarint()));
+            }
+            if (matches) {
+                keys.position(keysStart);
+                values.position(valuesStart);
+                Map<String, String> tags = new HashMap<>();
+                while (keys.hasRemaining()) {
+                    tags.put(string(keys.readVarint()), string(values.readVarint()));
+                }
+                add(id, lat, lon, version, tags);
+            }
+        }
+
+        /**
+         * Decodes a group of nodes in the dense encoding: parallel packed arrays of delta-encoded IDs and coordinates,
+         * and the tags of all nodes as one array of key and value indexes, with a 0 after the tags of each node.
+         */
+        private void decodeDenseNodes(ProtobufReader dense) throws IOException {
+            ProtobufReader ids = null;
+            ProtobufReader versions = null;
+            ProtobufReader lats = null;
+            ProtobufReader lons = null;
+            ProtobufReader keysValues = null;
+            while (dense.next()) {
+                switch (dense.field()) {
+                    case 1 -> ids = dense.message();
+                    case 5 -> versions = readDenseVersions(dense.message());
+                    case 8 -> lats = dense.message();
+                    case 9 -> lons = dense.message();
+                    case 10 -> keysValues = dense.message();
+                    default -> dense.skip();
+                }
+            }
+            if (ids == null) {
+                return;
+            }
+            if (lats == null || lons == null) {
+                throw new IOException("Invalid OSM PBF dense nodes without coordinates");
+            }
+            long id = 0;
+            long lat = 0;
+            long lon = 0;
+            while (ids.hasRemaining()) {
+                id += ids.readSignedVarint();
+                lat += lats.readSignedVarint();
+                lon += lons.readSignedVarint();
+                Long version = versions != null && versions.hasRemaining() ? versions.readVarint() : null;
+                nodeCount++;
+                if (keysValues == null || !keysValues.hasRemaining()) {
+                    continue;
+                }
+                // first check the tags without materializing them, then re-read them if the node matches
+                int tagsStart = keysValues.position();
+                boolean matches = false;
+                long key;
+                while ((key = keysValues.readVarint()) != 0) {
+                    long value = keysValues.readVarint();
+                    matches = matches || tagFilter.test(string(key), string(value));
+                }
+                if (matches) {
+                    int tagsEnd = keysValues.position();
+                    keysValues.position(tagsStart);
+                    Map<String, String> tags = new HashMap<>();
+                    while ((key = keysValues.readVarint()) != 0) {
+                        tags.put(string(key), string(keysValues.readVarint()));
+                    }
+                    keysValues.position(tagsEnd);
+                    add(id, lat, lon, version, tags);
+                }
+            }
+        }
+
+        private void add(long id, long lat, long lon, @Nullable Long version, Map<String, String> tags) {
+            nodes.add(OsmNode.builder()
+                    .nodeId(id)
+                    .tags(tags)
+                    .latitude((latOffset + granularity * lat) / NANODEGREES)
+                    .longitude((lonOffset + granularity * lon) / NANODEGREES)
+                    .version(version)
+                    .build());
+        }
+
+        private String string(long index) throws IOException {
+            if (index < 0 || index >= strings.length) {
+                throw new IOException("Invalid OSM PBF string table index " + index);
+            }
+            String string = strings[(int) index];
+            if (string == null) {
+                string = ProtobufReader.decodeUtf8(rawStrings.get((int) index));
+                strings[(int) index] = string;
+            }
+            return string;
+        }
+
+        /**
+         * @param info the {@code Info} message of a node
+         * @return the version of the node, or null if unknown
+         */
+        private static @Nullable Long readVersion(ProtobufReader info) throws IOException {
+            Long version = null;
+            while (info.next()) {
+                if (info.field() == 1) {
+                    long value = info.varint();
+                    // -1 is the default for unknown versions
+                    version = value < 0 ? null : value;
+                } else {
+                    info.skip();
+                }
+            }
+            return version;
+        }
+
+        /**
+         * @param denseInfo the {@code DenseInfo} message of a dense node group
+         * @return the packed versions of the nodes, or null if not included
+         */
+        private static @Nullable ProtobufReader readDenseVersions(ProtobufReader denseInfo) throws IOException {
+            ProtobufReader versions = null;
+            while (denseInfo.next()) {
+                if (denseInfo.field() == 1) {
+                    versions = denseInfo.message();
+                } else {
+                    denseInfo.skip();
+                }
+            }
+            return versions;
+        }
+    }
+}
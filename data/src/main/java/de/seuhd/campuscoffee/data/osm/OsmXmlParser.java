@@ -0,0 +1,166 @@
+package de.seuhd.campuscoffee.data.osm;
+
+import de.seuhd.campuscoffee.domain.model.OsmNode;
+import org.jspecify.annotations.NonNull;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Streaming (StAX) parser for OpenStreetMap XML documents.
+ * Expected format:
+ * <pre>{@code
+ * <osm>
+ *   <node id="..." lat="..." lon="..." version="...">
+ *     <tag k="name" v="..."/>
+ *     <tag k="addr:street" v="..."/>
+ *     ...
+ *   </node>
+ *   ...
+ * </osm>
+ * }</pre>
+ * <p>
+ * The document is read directly from the input stream and each node is emitted as soon as its closing tag
+ * has been read, so memory usage does not depend on the size of the document.
+ * Tags of other elements (ways, relations) are ignored.
+ * DTDs and external entities are disabled to prevent XXE attacks.
+ */
+public final class OsmXmlParser {
+    // the configured factory is thread-safe and expensive to create, so it is shared
+    private static final XMLInputFactory XML_INPUT_FACTORY = createXmlInputFactory();
+
+    private OsmXmlParser() {}
+
+    /**
+     * Parses all nodes in the given OSM XML document and collects them in a list.
+     *
+     * @param inputStream the OSM XML document; not closed by this method
+     * @return the parsed nodes in document order
+     * @throws XMLStreamException if the document is not well-formed or a node has no valid ID
+     */
+    public static @NonNull List<OsmNode> parse(@NonNull InputStream inputStream) throws XMLStreamException {
+        List<OsmNode> nodes = new ArrayList<>();
+        parse(inputStream, nodes::add);
+        return nodes;
+    }
+
+    /**
+     * Parses the given OSM XML document and passes each node to the consumer as soon as it has been read.
+     *
+     * @param inputStream the OSM XML document; not closed by this method
+     * @param consumer the consumer that receives the parsed nodes in document order
+     * @return the number of parsed nodes
+     * @throws XMLStreamException if the document is not well-formed or a node has no valid ID
+     */
+    public static long parse(@NonNull InputStream inputStream, @NonNull Consumer<OsmNode> consumer) throws XMLStreamException {
+        XMLStreamReader reader = XML_INPUT_FACTORY.createXMLStreamReader(inputStream);
+        try {
+            long count = 0;
+            Long nodeId = null;
+            Double latitude = null;
+            Double longitude = null;
+            Long version = null;
+            Map<String, String> tags = null;
+            while (reader.hasNext()) {
+                int event = reader.next();
+                if (event == XMLStreamConstants.START_ELEMENT) {
+                    String element = reader.getLocalName();
+                    if ("node".equals(element)) {
+                        nodeId = parseId(reader);
+                        latitude = parseCoordinate(reader, "lat");
+                        longitude = parseCoordinate(reader, "lon");
+                        version = parseVersion(reader);
+                        tags = new HashMap<>();
+                    } else if ("tag".equals(element) && nodeId != null) {
+                        tags.put(reader.getAttributeValue(null, "k"), reader.getAttributeValue(null, "v"));
+                    }
+                } else if (event == XMLStreamConstants.END_ELEMENT && nodeId != null && "node".equals(reader.getLocalName())) {
+                    consumer.accept(OsmNode.builder()
+                            .nodeId(nodeId)
+                            .tags(tags)
+                            .latitude(latitude)
+                            .longitude(longitude)
+                            .version(version)
+                            .build());
+                    count++;
+                    nodeId = null;
+                    tags = null;
+                }
+            }
+            return count;
+        } finally {
+            reader.close();
+        }
+    }
+
+    /**
+     * Reads the ID attribute of the current node element.
+     *
+     * @param reader the reader positioned at a node start element
+     * @return the node ID
+     * @throws XMLStreamException if the ID is missing or not a number
+     */
+    private static Long parseId(XMLStreamReader reader) throws XMLStreamException {
+        String id = reader.getAttributeValue(null, "id");
+        try {
+            return Long.parseLong(id);
+        } catch (NumberFormatException e) {
+            throw new XMLStreamException("Invalid node ID: " + id, reader.getLocation(), e);
+        }
+    }
+
+    /**
+     * Reads an optional coordinate attribute of the current node element.
+     * Nodes in change files or of deleted objects may come without coordinates.
+     *
+     * @param reader the reader positioned at a node start element
+     * @param attribute the name of the coordinate attribute ({@code lat} or {@code lon})
+     * @return the coordinate in degrees, or null if the attribute is missing
+     * @throws XMLStreamException if the attribute is not a number
+     */
+    private static Double parseCoordinate(XMLStreamReader reader, String attribute) throws XMLStreamException {
+        String value = reader.getAttributeValue(null, attribute);
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Double.parseDouble(value);
+        } catch (NumberFormatException e) {
+            throw new XMLStreamException("Invalid node coordinate " + attribute + ": " + value, reader.getLocation(), e);
+        }
+    }
+
+    /**
+     * Reads the optional version attribute of the current node element.
+     *
+     * @param reader the reader positioned at a node start element
+     * @return the node version, or null if the attribute is missing
+     * @throws XMLStreamException if the attribute is not a number
+     */
+    private static Long parseVersion(XMLStreamReader reader) throws XMLStreamException {
+        String value = reader.getAttributeValue(null, "version");
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            throw new XMLStreamException("Invalid node version: " + value, reader.getLocation(), e);
+        }
+    }
+
+    private static XMLInputFactory createXmlInputFactory() {
+        XMLInputFactory factory = XMLInputFactory.newInstance();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        return factory;
+    }
+}
@@ -0,0 +1,193 @@
+package de.seuhd.campuscoffee.data.osm;
+
+import org.jspecify.annotations.NonNull;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Minimal reader for the protocol buffers wire format (see https://protobuf.dev/programming-guides/encoding/),
+ * as needed by the {@link OsmPbfReader}. Reads the fields of a single message from a byte buffer without copying;
+ * nested messages and packed repeated fields are read with a new reader over a slice of the same buffer.
+ * <p>
+ * Fields are visited with {@link #next()} and read with the accessor matching their type, which checks the wire type.
+ * The values of packed fields are read with {@link #readVarint()} and {@link #readSignedVarint()}
+ * until {@link #hasRemaining()} returns false.
+ */
+final class ProtobufReader {
+    private static final int VARINT = 0;
+    private static final int FIXED64 = 1;
+    private static final int LENGTH_DELIMITED = 2;
+    private static final int FIXED32 = 5;
+
+    private final ByteBuffer buffer;
+    // field number and wire type of the current field
+    private int key;
+
+    /**
+     * Creates a reader for the remaining bytes of the given buffer; the buffer itself is not modified.
+     *
+     * @param buffer the encoded message
+     */
+    ProtobufReader(@NonNull ByteBuffer buffer) {
+        this.buffer = buffer.slice();
+    }
+
+    /**
+     * Advances to the next field of the message.
+     *
+     * @return true if there is another field, false at the end of the message
+     * @throws IOException if the field key is malformed
+     */
+    boolean next() throws IOException {
+        if (!buffer.hasRemaining()) {
+            return false;
+        }
+        long nextKey = readVarint();
+        if (nextKey >>> 3 == 0 || nextKey >>> 3 > Integer.MAX_VALUE >>> 3) {
+            throw new IOException("Invalid protobuf field key " + nextKey);
+        }
+        key = (int) nextKey;
+        return true;
+    }
+
+    /**
+     * @return the field number of the current field
+     */
+    int field() {
+        return key >>> 3;
+    }
+
+    /**
+     * Reads the current field as unsigned or two's complement integer ({@code int32}, {@code int64}, {@code uint32}).
+     */
+    long varint() throws IOException {
+        expectWireType(VARINT);
+        return readVarint();
+    }
+
+    /**
+     * Reads the current field as zigzag-encoded integer ({@code sint32}, {@code sint64}).
+     */
+    long signedVarint() throws IOException {
+        expectWireType(VARINT);
+        return readSignedVarint();
+    }
+
+    /**
+     * Reads the current field as byte string; the returned buffer is a slice of the message.
+     */
+    @NonNull ByteBuffer bytes() throws IOException {
+        expectWireType(LENGTH_DELIMITED);
+        long length = readVarint();
+        if (length < 0 || length > buffer.remaining()) {
+            throw new IOException("Truncated protobuf message: field " + field() + " has " + length + " bytes, "
+                    + buffer.remaining() + " remaining");
+        }
+        ByteBuffer slice = buffer.slice(buffer.position(), (int) length);
+        buffer.position(buffer.position() + (int) length);
+        return slice;
+    }
+
+    /**
+     * Reads the current field as UTF-8 string.
+     */
+    @NonNull String string() throws IOException {
+        return decodeUtf8(bytes());
+    }
+
+    /**
+     * Reads the current field as nested message, or as packed repeated field.
+     */
+    @NonNull ProtobufReader message() throws IOException {
+        return new ProtobufReader(bytes());
+    }
+
+    /**
+     * Skips the current field.
+     */
+    void skip() throws IOException {
+        switch (key & 7) {
+            case VARINT -> readVarint();
+            case FIXED64 -> advance(8);
+            case LENGTH_DELIMITED -> bytes();
+            case FIXED32 -> advance(4);
+            default -> throw new IOException("Unsupported protobuf wire type " + (key & 7) + " of field " + field());
+        }
+    }
+
+    /**
+     * @return true if there are unread bytes, e.g., more values of a packed field
+     */
+    boolean hasRemaining() {
+        return buffer.hasRemaining();
+    }
+
+    /**
+     * @return the current read position, to re-read values with {@link #position(int)}
+     */
+    int position() {
+        return buffer.position();
+    }
+
+    void position(int position) {
+        buffer.position(position);
+    }
+
+    /**
+     * Reads a base-128 varint, e.g., the next value of a packed field.
+     */
+    long readVarint() throws IOException {
+        long result = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            if (!buffer.hasRemaining()) {
+                throw new IOException("Truncated protobuf varint");
+            }
+            byte b = buffer.get();
+            result |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return result;
+            }
+        }
+        throw new IOException("Malformed protobuf varint");
+    }
+
+    /**
+     * Reads a zigzag-encoded varint, e.g., the next value of a packed {@code sint64} field.
+     */
+    long readSignedVarint() throws IOException {
+        long value = readVarint();
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    /**
+     * Decodes a UTF-8 string without modifying the position of the buffer.
+     *
+     * @param bytes the encoded string
+     * @return the decoded string
+     */
+    static @NonNull String decodeUtf8(@NonNull ByteBuffer bytes) {
+        if (bytes.hasArray()) {
+            return new String(bytes.array(), bytes.arrayOffset() + bytes.position(), bytes.remaining(),
+                    StandardCharsets.UTF_8);
+        }
+        byte[] copy = new byte[bytes.remaining()];
+        bytes.get(bytes.position(), copy);
+        return new String(copy, StandardCharsets.UTF_8);
+    }
+
+    private void expectWireType(int wireType) throws IOException {
+        if ((key & 7) != wireType) {
+            throw new IOException("Unexpected protobuf wire type " + (key & 7) + " of field " + field()
+                    + ", expected " + wireType);
+        }
+    }
+
+    private void advance(int length) throws IOException {
+        if (buffer.remaining() < length) {
+            throw new IOException("Truncated protobuf message");
+        }
+        buffer.position(buffer.position() + length);
+    }
+}
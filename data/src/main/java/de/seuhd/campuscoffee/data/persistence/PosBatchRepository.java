@@ -0,0 +1,112 @@
+package de.seuhd.campuscoffee.data.persistence;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Types;
+import java.util.List;
+
+/**
+ * Repository for native upserts of point-of-sale (POS) entities, which Spring Data JPA cannot batch.
+ * Single upserts and batches run the same statement; batches are sent as a single JDBC batch.
+ * All statements join the current transaction.
+ */
+@Repository
+public class PosBatchRepository {
+    /**
+     * Inserts a POS or, if a POS with the same name exists, updates it; named parameters are bound by
+     * {@link #parameters(PosEntity)}.
+     */
+    private static final String UPSERT_BY_NAME = """
+            INSERT INTO pos (id, created_at, updated_at, version, name, description, type, campus, street,
+                             house_number, house_number_suffix, postal_code, city, latitude, longitude, address_key,
+                             osm_node_id, osm_version)
+            VALUES (nextval('pos_seq'), :createdAt, :updatedAt, 0, :name, :description, :type, :campus, :street,
+                    :houseNumber, :houseNumberSuffix, :postalCode, :city, :latitude, :longitude, :addressKey,
+                    :osmNodeId, :osmVersion)
+            ON CONFLICT (name) DO UPDATE SET
+                description = EXCLUDED.description,
+                type = EXCLUDED.type,
+                campus = EXCLUDED.campus,
+                street = EXCLUDED.street,
+                house_number = EXCLUDED.house_number,
+                house_number_suffix = EXCLUDED.house_number_suffix,
+                postal_code = EXCLUDED.postal_code,
+                city = EXCLUDED.city,
+                latitude = EXCLUDED.latitude,
+                longitude = EXCLUDED.longitude,
+                address_key = EXCLUDED.address_key,
+                osm_node_id = COALESCE(EXCLUDED.osm_node_id, pos.osm_node_id),
+                osm_version = COALESCE(EXCLUDED.osm_version, pos.osm_version),
+                updated_at = EXCLUDED.updated_at,
+                version = pos.version + 1
+            """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final EntityManager entityManager;
+
+    public PosBatchRepository(NamedParameterJdbcTemplate jdbcTemplate, EntityManager entityManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.entityManager = entityManager;
+    }
+
+    /**
+     * Inserts a POS or, if a POS with the same name exists, updates it, with a single statement that cannot fail
+     * on the unique name constraint. On update, ID and creation timestamp are kept and the version is incremented.
+     * <p>
+     * New IDs are taken directly from {@code pos_seq}: Hibernate's pooled optimizer only hands out IDs of blocks
+     * whose upper bound it fetched itself, so a value fetched here is never handed out by Hibernate.
+     * The derived fields of the given entity must be set beforehand (see {@link PosEntity#prepareInsert()}).
+     *
+     * @param pos a new entity without ID
+     * @return the inserted or updated entity
+     */
+    @Transactional
+    public PosEntity upsertByName(PosEntity pos) {
+        Query query = entityManager.createNativeQuery(UPSERT_BY_NAME + "RETURNING *", PosEntity.class);
+        parameters(pos).getValues().forEach(query::setParameter);
+        return (PosEntity) query.getSingleResult();
+    }
+
+    /**
+     * Inserts the given POS or, if a POS with the same name exists, updates it (see {@link #upsertByName(PosEntity)}),
+     * sending all statements in one batch. Since each statement sees the effects of the previous ones,
+     * POS with the same name do not fail the batch; the last one wins.
+     * The derived fields of the given entities must be set beforehand (see {@link PosEntity#prepareInsert()}).
+     *
+     * @param entities new entities without ID
+     */
+    public void upsertAllByName(List<PosEntity> entities) {
+        jdbcTemplate.batchUpdate(UPSERT_BY_NAME, entities.stream()
+                .map(PosBatchRepository::parameters)
+                .toArray(SqlParameterSource[]::new));
+    }
+
+    private static MapSqlParameterSource parameters(PosEntity pos) {
+        AddressEntity address = pos.getAddress();
+        Character suffix = address.getHouseNumberSuffix();
+        // explicit SQL types for nullable values, which the driver cannot infer from null
+        return new MapSqlParameterSource()
+                .addValue("createdAt", pos.getCreatedAt())
+                .addValue("updatedAt", pos.getUpdatedAt())
+                .addValue("name", pos.getName())
+                .addValue("description", pos.getDescription())
+                .addValue("type", pos.getType().name())
+                .addValue("campus", pos.getCampus().name())
+                .addValue("street", address.getStreet())
+                .addValue("houseNumber", address.getHouseNumber(), Types.INTEGER)
+                .addValue("houseNumberSuffix", suffix == null ? null : suffix.toString(), Types.VARCHAR)
+                .addValue("postalCode", address.getPostalCode(), Types.INTEGER)
+                .addValue("city", address.getCity())
+                .addValue("latitude", pos.getLatitude(), Types.DOUBLE)
+                .addValue("longitude", pos.getLongitude(), Types.DOUBLE)
+                .addValue("addressKey", pos.getAddressKey(), Types.BIGINT)
+                .addValue("osmNodeId", pos.getOsmNodeId(), Types.BIGINT)
+                .addValue("osmVersion", pos.getOsmVersion(), Types.BIGINT);
+    }
+}
@@ -1,5 +1,6 @@
 package de.seuhd.campuscoffee.data.persistence;
 
+import de.seuhd.campuscoffee.data.index.AddressKey;
 import de.seuhd.campuscoffee.domain.model.CampusType;
 import de.seuhd.campuscoffee.domain.model.PosType;
 import jakarta.persistence.*;
@@ -20,7 +21,8 @@ import java.time.ZoneId;
 public class PosEntity {
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "pos_sequence_generator")
-    @SequenceGenerator(name = "pos_sequence_generator", sequenceName = "pos_seq", allocationSize = 1)
+    // must match the increment of pos_seq (see V2__pos_seq_increment.sql)
+    @SequenceGenerator(name = "pos_sequence_generator", sequenceName = "pos_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "created_at")
@@ -29,6 +31,10 @@ public class PosEntity {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    // incremented by Hibernate on each update of a managed entity and by PosRepository#updateIfVersionMatches
+    @Version
+    private Long version;
+
     @Column(unique = true)
     private String name;
 
@@ -43,6 +49,21 @@ public class PosEntity {
     @Embedded
     private AddressEntity address;
 
+    private Double latitude;
+
+    private Double longitude;
+
+    // source of imported POS; kept by updates that do not set them (see PosRepository#updateIfVersionMatches)
+    @Column(name = "osm_node_id")
+    private Long osmNodeId;
+
+    @Column(name = "osm_version")
+    private Long osmVersion;
+
+    // normalized address for duplicate detection; derived from the address on every write
+    @Column(name = "address_key")
+    private Long addressKey;
+
     /**
      * JPA lifecycle callback: set timestamps before persisting a new entity.
      * This ensures timestamps reflect actual database operation time.
@@ -52,6 +73,7 @@ public class PosEntity {
         LocalDateTime now = LocalDateTime.now(ZoneId.of("UTC"));
         createdAt = now;
         updatedAt = now;
+        updateAddressKey();
     }
 
     /**
@@ -61,5 +83,29 @@ public class PosEntity {
     @PreUpdate
     protected void onUpdate() {
         updatedAt = LocalDateTime.now(ZoneId.of("UTC"));
+        updateAddressKey();
+    }
+
+    /**
+     * Sets the fields derived on update (update timestamp and address key) for an update that bypasses
+     * the JPA lifecycle callbacks, see {@link PosRepository#updateIfVersionMatches(PosEntity, long)}.
+     */
+    public void prepareUpdate() {
+        onUpdate();
+    }
+
+    /**
+     * Sets the fields derived on creation (timestamps and address key) for an insert that bypasses
+     * the JPA lifecycle callbacks, see {@link PosBatchRepository#upsertByName(PosEntity)}.
+     */
+    public void prepareInsert() {
+        onCreate();
+    }
+
+    private void updateAddressKey() {
+        addressKey = address == null
+                ? AddressKey.of(null, null, null, null, null)
+                : AddressKey.of(address.getStreet(), address.getHouseNumber(), address.getHouseNumberSuffix(),
+                        address.getPostalCode(), address.getCity());
     }
 }
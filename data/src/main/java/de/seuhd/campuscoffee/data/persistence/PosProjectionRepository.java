@@ -0,0 +1,29 @@
+package de.seuhd.campuscoffee.data.persistence;
+
+import de.seuhd.campuscoffee.domain.model.PosField;
+import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Repository fragment of {@link PosRepository} for reading only some fields of POS (sparse fieldsets).
+ * The fields are selected as a tuple query, so only their columns are read from the database.
+ */
+public interface PosProjectionRepository {
+    /**
+     * Reads the given fields of the POS matching the specification.
+     * The results are not managed by the persistence context; all attributes of unselected fields are null.
+     *
+     * @param fields        the fields to read; the ID is always read
+     * @param specification the filter criteria; null to read all POS
+     * @param sort          the sort order
+     * @param limit         the maximum number of POS to read; null for no limit
+     * @return detached entities with only the attributes of the selected fields
+     */
+    @NonNull List<PosEntity> findProjected(@NonNull Set<PosField> fields, @Nullable Specification<PosEntity> specification,
+                                           @NonNull Sort sort, @Nullable Integer limit);
+}
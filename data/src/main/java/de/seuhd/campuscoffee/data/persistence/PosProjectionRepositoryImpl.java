@@ -0,0 +1,125 @@
+package de.seuhd.campuscoffee.data.persistence;
+
+import de.seuhd.campuscoffee.domain.model.CampusType;
+import de.seuhd.campuscoffee.domain.model.PosField;
+import de.seuhd.campuscoffee.domain.model.PosType;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+/**
+ * Implementation of the {@link PosProjectionRepository} fragment with a JPA criteria tuple query.
+ * Each field is mapped to the columns it is read from (the house number to number and suffix),
+ * and each tuple is copied into a new, unmanaged entity, so that the entity mapper can be reused.
+ */
+class PosProjectionRepositoryImpl implements PosProjectionRepository {
+    private final EntityManager entityManager;
+
+    PosProjectionRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public @NonNull List<PosEntity> findProjected(@NonNull Set<PosField> fields, @Nullable Specification<PosEntity> specification,
+                                                  @NonNull Sort sort, @Nullable Integer limit) {
+        List<Column> columns = Arrays.stream(Column.values())
+                .filter(column -> column.field == PosField.ID || fields.contains(column.field))
+                .toList();
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = builder.createTupleQuery();
+        Root<PosEntity> root = query.from(PosEntity.class);
+        query.multiselect(columns.stream()
+                .<Selection<?>>map(column -> column.path(root))
+                .toList());
+        if (specification != null) {
+            Predicate predicate = specification.toPredicate(root, query, builder);
+            if (predicate != null) {
+                query.where(predicate);
+            }
+        }
+        query.orderBy(QueryUtils.toOrders(sort, root, builder));
+        TypedQuery<Tuple> typedQuery = entityManager.createQuery(query);
+        if (limit != null) {
+            typedQuery.setMaxResults(limit);
+        }
+        return typedQuery.getResultList().stream()
+                .map(tuple -> toEntity(columns, tuple))
+                .toList();
+    }
+
+    private static PosEntity toEntity(List<Column> columns, Tuple tuple) {
+        PosEntity entity = new PosEntity();
+        for (int i = 0; i < columns.size(); i++) {
+            columns.get(i).setter.accept(entity, tuple.get(i));
+        }
+        return entity;
+    }
+
+    private static AddressEntity address(PosEntity entity) {
+        if (entity.getAddress() == null) {
+            entity.setAddress(new AddressEntity());
+        }
+        return entity.getAddress();
+    }
+
+    /**
+     * The columns that can be selected, with the field they belong to, their attribute path, and the entity setter.
+     */
+    private enum Column {
+        ID(PosField.ID, "id", (pos, value) -> pos.setId((Long) value)),
+        CREATED_AT(PosField.CREATED_AT, "createdAt", (pos, value) -> pos.setCreatedAt((LocalDateTime) value)),
+        UPDATED_AT(PosField.UPDATED_AT, "updatedAt", (pos, value) -> pos.setUpdatedAt((LocalDateTime) value)),
+        VERSION(PosField.VERSION, "version", (pos, value) -> pos.setVersion((Long) value)),
+        NAME(PosField.NAME, "name", (pos, value) -> pos.setName((String) value)),
+        DESCRIPTION(PosField.DESCRIPTION, "description", (pos, value) -> pos.setDescription((String) value)),
+        TYPE(PosField.TYPE, "type", (pos, value) -> pos.setType((PosType) value)),
+        CAMPUS(PosField.CAMPUS, "campus", (pos, value) -> pos.setCampus((CampusType) value)),
+        STREET(PosField.STREET, "address.street", (pos, value) -> address(pos).setStreet((String) value)),
+        HOUSE_NUMBER(PosField.HOUSE_NUMBER, "address.houseNumber",
+                (pos, value) -> address(pos).setHouseNumber((Integer) value)),
+        HOUSE_NUMBER_SUFFIX(PosField.HOUSE_NUMBER, "address.houseNumberSuffix",
+                (pos, value) -> address(pos).setHouseNumberSuffix((Character) value)),
+        POSTAL_CODE(PosField.POSTAL_CODE, "address.postalCode",
+                (pos, value) -> address(pos).setPostalCode((Integer) value)),
+        CITY(PosField.CITY, "address.city", (pos, value) -> address(pos).setCity((String) value)),
+        LATITUDE(PosField.LATITUDE, "latitude", (pos, value) -> pos.setLatitude((Double) value)),
+        LONGITUDE(PosField.LONGITUDE, "longitude", (pos, value) -> pos.setLongitude((Double) value)),
+        OSM_NODE_ID(PosField.OSM_NODE_ID, "osmNodeId", (pos, value) -> pos.setOsmNodeId((Long) value)),
+        OSM_VERSION(PosField.OSM_VERSION, "osmVersion", (pos, value) -> pos.setOsmVersion((Long) value));
+
+        private final PosField field;
+        private final String[] attributePath;
+        private final BiConsumer<PosEntity, Object> setter;
+
+        Column(PosField field, String attributePath, BiConsumer<PosEntity, Object> setter) {
+            this.field = field;
+            this.attributePath = attributePath.split("\\.");
+            this.setter = setter;
+        }
+
+        private Path<?> path(Root<PosEntity> root) {
+            Path<?> path = root;
+            for (String attribute : attributePath) {
+                path = path.get(attribute);
+            }
+            return path;
+        }
+    }
+}
@@ -1,16 +1,155 @@
 package de.seuhd.campuscoffee.data.persistence;
 
-import jakarta.transaction.Transactional;
+import de.seuhd.campuscoffee.domain.model.OsmNodeVersion;
+import de.seuhd.campuscoffee.domain.model.PosCollectionVersion;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repository for persisting point-of-sale (POS) entities.
+ * Reads of only some fields are provided by the {@link PosProjectionRepository} fragment.
  */
-public interface PosRepository extends JpaRepository<PosEntity, Long> {
-    @Modifying
+public interface PosRepository extends JpaRepository<PosEntity, Long>, JpaSpecificationExecutor<PosEntity>,
+        PosProjectionRepository {
+    /**
+     * Determines the version of the POS collection with a single aggregate query instead of loading all rows.
+     *
+     * @return the number of POS and their latest update timestamp
+     */
+    @Query("SELECT new de.seuhd.campuscoffee.domain.model.PosCollectionVersion(COUNT(p), MAX(p.updatedAt)) FROM PosEntity p")
+    PosCollectionVersion findCollectionVersion();
+
+    /**
+     * Full-text search over name and description using the GIN-indexed {@code search_vector} column.
+     * The query supports web search syntax (quoted phrases, {@code or}, and {@code -} for exclusion).
+     *
+     * @param query the search query
+     * @param limit the maximum number of entities to return
+     * @return the matching entities, best matches first
+     */
+    @Query(value = """
+            SELECT p.* FROM pos p, websearch_to_tsquery('simple', :query) q
+            WHERE p.search_vector @@ q
+            ORDER BY ts_rank(p.search_vector, q) DESC, p.id
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<PosEntity> search(@Param("query") String query, @Param("limit") int limit);
+
+    /**
+     * Expected version that matches any version in {@link #updateIfVersionMatches(PosEntity, long)}.
+     */
+    long ANY_VERSION = -1;
+
+    /**
+     * Updates a POS with a single conditional statement instead of loading, modifying, and flushing the entity.
+     * The update only takes effect if the POS exists and its version matches; the version is incremented.
+     * The OSM source is kept unless the given entity sets it, so that editing an imported POS does not unlink it.
+     * The derived fields of the given entity must be set beforehand (see {@link PosEntity#prepareUpdate()}).
+     *
+     * @param pos             a detached entity with the ID of the POS to update and the new values
+     * @param expectedVersion the version the POS must have, or {@link #ANY_VERSION}
+     * @return the updated entity, or an empty list if the POS does not exist or has a different version
+     */
     @Transactional
-    @Query(value = "ALTER SEQUENCE pos_seq RESTART WITH 1", nativeQuery = true)
-    void resetSequence();
+    @Query(value = """
+            UPDATE pos SET
+                name = :#{#pos.name},
+                description = :#{#pos.description},
+                type = :#{#pos.type.name()},
+                campus = :#{#pos.campus.name()},
+                street = :#{#pos.address.street},
+                house_number = :#{#pos.address.houseNumber},
+                house_number_suffix = :#{#pos.address.houseNumberSuffix},
+                postal_code = :#{#pos.address.postalCode},
+                city = :#{#pos.address.city},
+                latitude = :#{#pos.latitude},
+                longitude = :#{#pos.longitude},
+                address_key = :#{#pos.addressKey},
+                osm_node_id = COALESCE(:#{#pos.osmNodeId}, osm_node_id),
+                osm_version = COALESCE(:#{#pos.osmVersion}, osm_version),
+                updated_at = :#{#pos.updatedAt},
+                version = version + 1
+            WHERE id = :#{#pos.id} AND (:expectedVersion < 0 OR version = :expectedVersion)
+            RETURNING *
+            """, nativeQuery = true)
+    List<PosEntity> updateIfVersionMatches(@Param("pos") PosEntity pos, @Param("expectedVersion") long expectedVersion);
+
+    /**
+     * Returns the POS with the given names, e.g., to read back POS written with {@link PosBatchRepository}.
+     * The lookup is served by the unique index on {@code name}.
+     *
+     * @param names the names of the POS
+     * @return the entities with one of the names, in no particular order
+     */
+    List<PosEntity> findByNameIn(Collection<String> names);
+
+    /**
+     * Returns the current version of a POS, e.g., to find out why a conditional update did not take effect.
+     *
+     * @param id the ID of the POS
+     * @return the version, or empty if the POS does not exist
+     */
+    @Query("SELECT p.version FROM PosEntity p WHERE p.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    /**
+     * Returns the OpenStreetMap node and node version of all POS imported from OpenStreetMap,
+     * without loading the entities. The query is served by the partial index on {@code (osm_node_id, osm_version)}.
+     *
+     * @return the node versions, ordered by node ID
+     */
+    @Query("""
+            SELECT new de.seuhd.campuscoffee.domain.model.OsmNodeVersion(p.id, p.osmNodeId, p.osmVersion)
+            FROM PosEntity p WHERE p.osmNodeId IS NOT NULL ORDER BY p.osmNodeId
+            """)
+    List<OsmNodeVersion> findOsmNodeVersions();
+
+    /**
+     * Returns all POS whose normalized address key is shared with at least one other POS.
+     * The grouping is served by the index on {@code address_key}.
+     *
+     * @return the entities, ordered by address key and ID, so that likely duplicates are adjacent
+     */
+    @Query(value = """
+            SELECT p.* FROM pos p
+            WHERE p.address_key IN (SELECT address_key FROM pos GROUP BY address_key HAVING COUNT(*) > 1)
+            ORDER BY p.address_key, p.id
+            """, nativeQuery = true)
+    List<PosEntity> findWithSharedAddressKey();
+
+    /**
+     * Keyset pagination query: returns the POS following the given ID in ID order.
+     * The range condition and the ordering are both served by the primary key index.
+     *
+     * @param id    the ID after which to start (exclusive)
+     * @param limit the maximum number of entities to return
+     * @return the entities with an ID greater than {@code id}, ordered by ID
+     */
+    List<PosEntity> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    /**
+     * Streams all POS ordered by ID using a database cursor.
+     * The JDBC fetch size makes the driver retrieve rows in chunks instead of loading the whole result set;
+     * this only takes effect within a (read-only) transaction, and the stream must be closed by the caller.
+     *
+     * @return a stream of all entities, ordered by ID
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT p FROM PosEntity p ORDER BY p.id")
+    Stream<PosEntity> streamAllOrderedById();
 }
@@ -0,0 +1,131 @@
+package de.seuhd.campuscoffee.data.persistence;
+
+import de.seuhd.campuscoffee.domain.model.PosQuery;
+import de.seuhd.campuscoffee.domain.model.PosSortKey;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import org.jspecify.annotations.NonNull;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Translates POS queries from the domain layer into JPA specifications and sort orders,
+ * so that filtering, sorting, and limiting happen in a single SQL query.
+ * Equality criteria on campus and type as well as on city with a postal code range
+ * are served by the composite indexes created in {@code V5__add_pos_filter_indexes.sql}.
+ */
+public final class PosSpecifications {
+    private PosSpecifications() {}
+
+    /**
+     * Builds the specification for the filter criteria of the query.
+     *
+     * @param query the POS query
+     * @return the specification that matches all POS satisfying every non-null criterion
+     */
+    public static @NonNull Specification<PosEntity> matching(@NonNull PosQuery query) {
+        return (root, criteriaQuery, builder) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            if (query.campus() != null) {
+                predicates.add(builder.equal(root.get("campus"), query.campus()));
+            }
+            if (query.type() != null) {
+                predicates.add(builder.equal(root.get("type"), query.type()));
+            }
+            if (query.city() != null) {
+                predicates.add(builder.equal(root.get("address").get("city"), query.city()));
+            }
+            if (query.postalCodeFrom() != null) {
+                predicates.add(builder.greaterThanOrEqualTo(root.get("address").get("postalCode"), query.postalCodeFrom()));
+            }
+            if (query.postalCodeTo() != null) {
+                predicates.add(builder.lessThanOrEqualTo(root.get("address").get("postalCode"), query.postalCodeTo()));
+            }
+            return builder.and(predicates.toArray(Predicate[]::new));
+        };
+    }
+
+    /**
+     * Builds the specification for the POS with the given ID.
+     *
+     * @param id the ID
+     * @return the specification that matches at most one POS
+     */
+    public static @NonNull Specification<PosEntity> hasId(@NonNull Long id) {
+        return (root, criteriaQuery, builder) -> builder.equal(root.get("id"), id);
+    }
+
+    /**
+     * Builds the specification for keyset pagination, served by the primary key index.
+     *
+     * @param id the ID after which to start (exclusive)
+     * @return the specification that matches all POS with a greater ID
+     */
+    public static @NonNull Specification<PosEntity> idGreaterThan(@NonNull Long id) {
+        return (root, criteriaQuery, builder) -> builder.greaterThan(root.get("id"), id);
+    }
+
+    /**
+     * Builds the specification for keyset pagination of a query, served by the same indexes as the sort order:
+     * matches the POS that follow the given POS in the sort order of the query, i.e., with a greater sort value,
+     * or an equal sort value and a greater ID (both smaller in descending order).
+     *
+     * @param query the POS query
+     * @param last  the last POS of the previous page
+     * @return the specification that matches all POS after the given one
+     */
+    public static @NonNull Specification<PosEntity> after(@NonNull PosQuery query, @NonNull PosEntity last) {
+        return (root, criteriaQuery, builder) -> {
+            Path<Long> id = root.get("id");
+            boolean descending = query.descending();
+            return switch (query.sortKey()) {
+                case ID -> follows(builder, id, last.getId(), descending);
+                case NAME -> follows(builder, root.<String>get("name"), last.getName(), id, last.getId(), descending);
+                case CITY -> follows(builder, root.get("address").<String>get("city"), last.getAddress().getCity(),
+                        id, last.getId(), descending);
+                case POSTAL_CODE -> follows(builder, root.get("address").<Integer>get("postalCode"),
+                        last.getAddress().getPostalCode(), id, last.getId(), descending);
+                case UPDATED_AT -> follows(builder, root.<LocalDateTime>get("updatedAt"), last.getUpdatedAt(),
+                        id, last.getId(), descending);
+            };
+        };
+    }
+
+    /**
+     * Builds the sort order of the query; POS with equal sort values are ordered by ID.
+     *
+     * @param query the POS query
+     * @return the sort order
+     */
+    public static @NonNull Sort sortedBy(@NonNull PosQuery query) {
+        Sort.Direction direction = query.descending() ? Sort.Direction.DESC : Sort.Direction.ASC;
+        String property = switch (query.sortKey()) {
+            case ID -> "id";
+            case NAME -> "name";
+            case CITY -> "address.city";
+            case POSTAL_CODE -> "address.postalCode";
+            case UPDATED_AT -> "updatedAt";
+        };
+        Sort sort = Sort.by(direction, property);
+        return query.sortKey() == PosSortKey.ID ? sort : sort.and(Sort.by(direction, "id"));
+    }
+
+    private static <T extends Comparable<? super T>> Predicate follows(CriteriaBuilder builder, Expression<T> value,
+                                                                      T lastValue, boolean descending) {
+        return descending ? builder.lessThan(value, lastValue) : builder.greaterThan(value, lastValue);
+    }
+
+    private static <T extends Comparable<? super T>> Predicate follows(CriteriaBuilder builder, Expression<T> value,
+                                                                      T lastValue, Expression<Long> id, Long lastId,
+                                                                      boolean descending) {
+        return builder.or(
+                follows(builder, value, lastValue, descending),
+                builder.and(builder.equal(value, lastValue), follows(builder, id, lastId, descending)));
+    }
+}
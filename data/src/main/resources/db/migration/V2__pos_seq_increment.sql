@@ -0,0 +1,3 @@
+-- Allocate POS IDs in blocks of 50 so that Hibernate's pooled optimizer needs one sequence call per 50 inserts.
+-- The increment must match the allocationSize of the sequence generator in PosEntity.
+ALTER SEQUENCE pos_seq INCREMENT BY 50;
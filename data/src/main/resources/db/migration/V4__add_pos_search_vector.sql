@@ -0,0 +1,9 @@
+-- Full-text search over name (weight A) and description (weight B).
+-- The 'simple' configuration does not stem, so German and English names match alike.
+ALTER TABLE pos
+    ADD COLUMN search_vector tsvector GENERATED ALWAYS AS (
+        setweight(to_tsvector('simple', coalesce(name, '')), 'A') ||
+        setweight(to_tsvector('simple', coalesce(description, '')), 'B')
+    ) STORED;
+
+CREATE INDEX pos_search_vector_idx ON pos USING GIN (search_vector);
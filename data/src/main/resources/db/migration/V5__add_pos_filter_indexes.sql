@@ -0,0 +1,3 @@
+-- Composite indexes for the filtered POS queries (campus/type and city/postal code range).
+CREATE INDEX pos_campus_type_idx ON pos (campus, type);
+CREATE INDEX pos_city_postal_code_idx ON pos (city, postal_code);
@@ -0,0 +1,2 @@
+-- Version for optimistic concurrency control; incremented by every update.
+ALTER TABLE pos ADD COLUMN version bigint NOT NULL DEFAULT 0;
@@ -0,0 +1,5 @@
+-- Source of imported POS: the OpenStreetMap node and its version at the time of the last import or sync.
+ALTER TABLE pos ADD COLUMN osm_node_id bigint;
+ALTER TABLE pos ADD COLUMN osm_version bigint;
+-- The sync reads the versions of all imported POS; POS created via the API have no node and are not indexed.
+CREATE INDEX pos_osm_node_id_idx ON pos (osm_node_id, osm_version) WHERE osm_node_id IS NOT NULL;
@@ -0,0 +1,173 @@
+package de.seuhd.campuscoffee.data.impl;
+
+import de.seuhd.campuscoffee.domain.exceptions.OsmNodeNotFoundException;
+import de.seuhd.campuscoffee.domain.model.OsmNode;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the caching decorator of the OSM data service.
+ */
+@ExtendWith(MockitoExtension.class)
+public class CachingOsmDataServiceTests {
+    private static final OsmNode NODE = OsmNode.builder()
+            .nodeId(5589879349L)
+            .tags(Map.of("name", "Rada Coffee & Rösterei"))
+            .build();
+
+    @Mock
+    private OsmDataServiceImpl delegate;
+
+    private MutableClock clock;
+    private SimpleMeterRegistry meterRegistry;
+    private CachingOsmDataService cachingService;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock();
+        meterRegistry = new SimpleMeterRegistry();
+        OsmCacheProperties properties = new OsmCacheProperties(
+                true, 2, Duration.ofMinutes(10), Duration.ofMinutes(10), Duration.ofHours(1));
+        // run background revalidations synchronously to keep the tests deterministic
+        cachingService = new CachingOsmDataService(
+                delegate, properties, new TaskExecutorAdapter(Runnable::run), meterRegistry, clock);
+    }
+
+    @Test
+    void testServesCachedNodeWithinTtl() {
+        when(delegate.fetchNodeConditionally(NODE.nodeId(), null, null))
+                .thenReturn(new OsmFetchResult(NODE, "\"v1\"", null));
+
+        assertThat(cachingService.fetchNode(NODE.nodeId())).isEqualTo(NODE);
+        clock.advance(Duration.ofMinutes(5));
+        assertThat(cachingService.fetchNode(NODE.nodeId())).isEqualTo(NODE);
+
+        verify(delegate, times(1)).fetchNodeConditionally(NODE.nodeId(), null, null);
+        assertThat(count("hit")).isEqualTo(1);
+        assertThat(count("miss")).isEqualTo(1);
+    }
+
+    @Test
+    void testRevalidatesExpiredNodeWithConditionalRequest() {
+        when(delegate.fetchNodeConditionally(NODE.nodeId(), null, null))
+                .thenReturn(new OsmFetchResult(NODE, "\"v1\"", null));
+        when(delegate.fetchNodeConditionally(NODE.nodeId(), "\"v1\"", null))
+                .thenReturn(OsmFetchResult.notModified("\"v1\"", null));
+
+        cachingService.fetchNode(NODE.nodeId());
+        clock.advance(Duration.ofMinutes(30)); // beyond TTL and stale-while-revalidate window
+        assertThat(cachingService.fetchNode(NODE.nodeId())).isEqualTo(NODE);
+
+        verify(delegate, times(1)).fetchNodeConditionally(NODE.nodeId(), "\"v1\"", null);
+        assertThat(meterRegistry.get("cache.revalidations").functionCounter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void testServesStaleNodeWhileRevalidating() {
+        when(delegate.fetchNodeConditionally(NODE.nodeId(), null, null))
+                .thenReturn(new OsmFetchResult(NODE, "\"v1\"", null));
+        when(delegate.fetchNodeConditionally(NODE.nodeId(), "\"v1\"", null))
+                .thenReturn(OsmFetchResult.notModified("\"v1\"", null));
+
+        cachingService.fetchNode(NODE.nodeId());
+        clock.advance(Duration.ofMinutes(15)); // within stale-while-revalidate window
+        assertThat(cachingService.fetchNode(NODE.nodeId())).isEqualTo(NODE);
+
+        verify(delegate, times(1)).fetchNodeConditionally(NODE.nodeId(), "\"v1\"", null);
+        assertThat(count("stale")).isEqualTo(1);
+    }
+
+    @Test
+    void testServesStaleNodeIfUpstreamIsDown() {
+        when(delegate.fetchNodeConditionally(NODE.nodeId(), null, null))
+                .thenReturn(new OsmFetchResult(NODE, "\"v1\"", null));
+        when(delegate.fetchNodeConditionally(NODE.nodeId(), "\"v1\"", null))
+                .thenThrow(new ResourceAccessException("Connection refused"));
+
+        cachingService.fetchNode(NODE.nodeId());
+        clock.advance(Duration.ofMinutes(30));
+        assertThat(cachingService.fetchNode(NODE.nodeId())).isEqualTo(NODE);
+
+        clock.advance(Duration.ofHours(2)); // beyond stale-if-error window
+        assertThatThrownBy(() -> cachingService.fetchNode(NODE.nodeId()))
+                .isInstanceOf(OsmNodeNotFoundException.class);
+    }
+
+    @Test
+    void testEvictsLeastRecentlyUsedNode() {
+        for (long nodeId = 1; nodeId <= 3; nodeId++) {
+            OsmNode node = NODE.toBuilder().nodeId(nodeId).build();
+            when(delegate.fetchNodeConditionally(nodeId, null, null))
+                    .thenReturn(new OsmFetchResult(node, null, null));
+            cachingService.fetchNode(nodeId);
+        }
+
+        assertThat(meterRegistry.get("cache.evictions").functionCounter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("cache.size").gauge().value()).isEqualTo(2);
+    }
+
+    @Test
+    void testFetchCurrentNodesBypassesAndRefreshesCache() {
+        OsmNode updatedNode = NODE.toBuilder().version(2L).build();
+        when(delegate.fetchNodeConditionally(NODE.nodeId(), null, null))
+                .thenReturn(new OsmFetchResult(NODE, "\"v1\"", null));
+        when(delegate.fetchNodes(List.of(NODE.nodeId()))).thenReturn(List.of(updatedNode));
+
+        cachingService.fetchNode(NODE.nodeId());
+        // within the TTL, but the current version is fetched anyway
+        assertThat(cachingService.fetchCurrentNodes(List.of(NODE.nodeId()))).containsExactly(updatedNode);
+        // the cache serves the refreshed node
+        assertThat(cachingService.fetchNode(NODE.nodeId())).isEqualTo(updatedNode);
+
+        verify(delegate, times(1)).fetchNodeConditionally(NODE.nodeId(), null, null);
+        verify(delegate, times(1)).fetchNodes(List.of(NODE.nodeId()));
+    }
+
+    private double count(String result) {
+        return meterRegistry.get("cache.gets").tag("result", result).functionCounter().count();
+    }
+
+    /**
+     * Clock that only moves when the test advances it.
+     */
+    private static class MutableClock extends Clock {
+        private Instant now = Instant.parse("2025-11-01T12:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
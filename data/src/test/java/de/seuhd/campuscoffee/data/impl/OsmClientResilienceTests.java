@@ -0,0 +1,266 @@
+package de.seuhd.campuscoffee.data.impl;
+
+import de.seuhd.campuscoffee.domain.exceptions.OsmNodeNotFoundException;
+import de.seuhd.campuscoffee.domain.exceptions.OsmServiceUnavailableException;
+import de.seuhd.campuscoffee.domain.tests.OsmApiStub;
+import de.seuhd.campuscoffee.domain.tests.OsmApiStub.ScriptedResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Tests for rate limiting, retries, and circuit breaking of the OSM clients
+ * against a local stub of the OSM API that injects latency and errors.
+ */
+public class OsmClientResilienceTests {
+    private static final long NODE_ID = 5589879349L;
+    private static final Duration READ_TIMEOUT = Duration.ofMillis(500);
+
+    private OsmApiStub osmStub;
+    private MutableClock clock;
+    private SimpleMeterRegistry meterRegistry;
+    private WebClientOsmDataService reactiveService;
+    private OsmDataServiceImpl blockingService;
+
+    @BeforeEach
+    void setUp() {
+        osmStub = OsmApiStub.start();
+        osmStub.putNode(NODE_ID, OsmApiStub.nodeXml(NODE_ID, 1, Map.of("name", "Rada")));
+
+        clock = new MutableClock();
+        meterRegistry = new SimpleMeterRegistry();
+        OsmClientProperties clientProperties = new OsmClientProperties(
+                osmStub.baseUrl(),
+                Duration.ofSeconds(1), READ_TIMEOUT, 4);
+        OsmResilienceProperties resilienceProperties = new OsmResilienceProperties(
+                1, 10, Duration.ofSeconds(1), 3, Duration.ofMillis(20), Duration.ofSeconds(2), 3, Duration.ofSeconds(30));
+        OsmClientResilience resilience = new OsmClientResilience(resilienceProperties, meterRegistry, clock);
+        reactiveService = new WebClientOsmDataService(clientProperties, resilience, WebClient.builder(), meterRegistry);
+        blockingService = new OsmDataServiceImpl(
+                reactiveService, resilience, clientProperties, new MockEnvironment(), meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        reactiveService.destroy();
+        osmStub.close();
+    }
+
+    @Test
+    void testRetriesServerErrors() {
+        osmStub.enqueue(ScriptedResponse.status(503));
+        osmStub.enqueue(ScriptedResponse.status(500));
+
+        assertThat(blockingService.fetchNode(NODE_ID).nodeId()).isEqualTo(NODE_ID);
+        assertThat(osmStub.requests()).isEqualTo(3);
+        assertThat(retries("503")).isEqualTo(1);
+        assertThat(retries("500")).isEqualTo(1);
+    }
+
+    @Test
+    void testRetriesServerErrorsOfReactiveClient() {
+        osmStub.enqueue(ScriptedResponse.status(502));
+
+        assertThat(reactiveService.fetchNode(NODE_ID).block()).isNotNull();
+        assertThat(osmStub.requests()).isEqualTo(2);
+        assertThat(retries("502")).isEqualTo(1);
+    }
+
+    @Test
+    void testWaitsForRetryAfter() {
+        osmStub.enqueue(new ScriptedResponse(429, Map.of("Retry-After", "1"), Duration.ZERO, null));
+
+        long start = System.nanoTime();
+        blockingService.fetchNode(NODE_ID);
+
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isGreaterThanOrEqualTo(Duration.ofSeconds(1));
+        assertThat(osmStub.requests()).isEqualTo(2);
+    }
+
+    @Test
+    void testFailsFastIfRetryAfterExceedsMaxBackoff() {
+        osmStub.enqueue(new ScriptedResponse(429, Map.of("Retry-After", "120"), Duration.ZERO, null));
+
+        assertThatThrownBy(() -> blockingService.fetchNode(NODE_ID))
+                .isInstanceOfSatisfying(OsmServiceUnavailableException.class,
+                        e -> assertThat(e.getRetryAfter()).isEqualTo(Duration.ofSeconds(120)));
+        assertThat(osmStub.requests()).isEqualTo(1);
+    }
+
+    @Test
+    void testRetriesTimeouts() {
+        osmStub.enqueue(new ScriptedResponse(200, Map.of(), READ_TIMEOUT.multipliedBy(3), null));
+
+        assertThat(blockingService.fetchNode(NODE_ID).nodeId()).isEqualTo(NODE_ID);
+        assertThat(osmStub.requests()).isEqualTo(2);
+        assertThat(retries("io")).isEqualTo(1);
+    }
+
+    @Test
+    void testDoesNotRetryMissingNode() {
+        osmStub.enqueue(ScriptedResponse.status(404));
+        osmStub.enqueue(ScriptedResponse.status(404));
+        osmStub.enqueue(ScriptedResponse.status(404));
+
+        for (int i = 0; i < 3; i++) {
+            assertThatThrownBy(() -> blockingService.fetchNode(NODE_ID)).isInstanceOf(OsmNodeNotFoundException.class);
+        }
+        assertThat(osmStub.requests()).isEqualTo(3);
+        assertThat(circuitState()).isEqualTo(CircuitBreaker.State.CLOSED.ordinal());
+    }
+
+    @Test
+    void testDoesNotRetryInvalidResponse() {
+        for (int i = 0; i < 3; i++) {
+            osmStub.enqueue(new ScriptedResponse(200, Map.of(), Duration.ZERO, "<osm><node id=\"" + NODE_ID + "\">"));
+        }
+
+        for (int i = 0; i < 3; i++) {
+            assertThatThrownBy(() -> blockingService.fetchNode(NODE_ID)).isInstanceOf(OsmNodeNotFoundException.class);
+        }
+        assertThat(osmStub.requests()).isEqualTo(3);
+        assertThat(retries("io")).isZero();
+        assertThat(circuitState()).isEqualTo(CircuitBreaker.State.CLOSED.ordinal());
+    }
+
+    @Test
+    void testCircuitOpensAndRecovers() {
+        for (int i = 0; i < 3; i++) {
+            osmStub.enqueue(ScriptedResponse.status(500));
+        }
+
+        // three failed attempts open the circuit
+        assertThatThrownBy(() -> blockingService.fetchNode(NODE_ID)).isInstanceOf(OsmServiceUnavailableException.class);
+        assertThat(osmStub.requests()).isEqualTo(3);
+        assertThat(circuitState()).isEqualTo(CircuitBreaker.State.OPEN.ordinal());
+
+        // while open, requests fail without reaching the API
+        assertThatThrownBy(() -> blockingService.fetchNode(NODE_ID))
+                .isInstanceOfSatisfying(OsmServiceUnavailableException.class,
+                        e -> assertThat(e.getRetryAfter()).isEqualTo(Duration.ofSeconds(30)));
+        assertThatThrownBy(() -> reactiveService.fetchNode(NODE_ID).block())
+                .isInstanceOf(OsmServiceUnavailableException.class);
+        assertThat(osmStub.requests()).isEqualTo(3);
+        assertThat(meterRegistry.get("osm.client.circuit.rejections").counter().count()).isEqualTo(2);
+
+        // after the open duration, a successful trial request closes the circuit
+        clock.advance(Duration.ofSeconds(30));
+        assertThat(blockingService.fetchNode(NODE_ID).nodeId()).isEqualTo(NODE_ID);
+        assertThat(circuitState()).isEqualTo(CircuitBreaker.State.CLOSED.ordinal());
+    }
+
+    @Test
+    void testCancelDuringRateLimitWaitReleasesHalfOpenTrial() {
+        OsmClientResilience resilience = halfOpenResilienceWithRateLimitWait();
+
+        // the trial request is cancelled while it waits for a token
+        resilience.transform(Mono.just("trial")).subscribe().dispose();
+
+        // another trial request is permitted and closes the circuit
+        clock.advance(Duration.ofSeconds(2));
+        assertThat(resilience.transform(Mono.just("trial")).block()).isEqualTo("trial");
+    }
+
+    @Test
+    void testInterruptDuringRateLimitWaitReleasesHalfOpenTrial() throws InterruptedException {
+        OsmClientResilience resilience = halfOpenResilienceWithRateLimitWait();
+
+        // the trial request is interrupted while it waits for a token
+        AtomicReference<Throwable> error = new AtomicReference<>();
+        Thread trial = new Thread(() -> {
+            try {
+                resilience.execute(() -> "trial");
+            } catch (OsmServiceUnavailableException e) {
+                error.set(e);
+            }
+        });
+        trial.start();
+        while (trial.getState() != Thread.State.TIMED_WAITING) {
+            Thread.onSpinWait();
+        }
+        trial.interrupt();
+        trial.join();
+        assertThat(error.get()).isInstanceOf(OsmServiceUnavailableException.class);
+
+        // another trial request is permitted and closes the circuit
+        clock.advance(Duration.ofSeconds(2));
+        assertThat(resilience.execute(() -> "trial")).isEqualTo("trial");
+    }
+
+    @Test
+    void testRateLimiterRejectsRequestsBeyondMaxWait() {
+        TokenBucket bucket = new TokenBucket(1, 2, clock);
+
+        assertThat(bucket.reserve(Duration.ZERO)).isEqualTo(Duration.ZERO);
+        assertThat(bucket.reserve(Duration.ZERO)).isEqualTo(Duration.ZERO);
+        assertThat(bucket.reserve(Duration.ofMillis(500))).isNull();
+        assertThat(bucket.reserve(Duration.ofSeconds(1))).isEqualTo(Duration.ofSeconds(1));
+
+        clock.advance(Duration.ofSeconds(3));
+        assertThat(bucket.reserve(Duration.ZERO)).isEqualTo(Duration.ZERO);
+    }
+
+    /**
+     * Creates a resilience layer with a single token per second whose circuit was opened by a failed request.
+     * The open duration has passed, so the next request is the half-open trial and waits 900 ms for a token.
+     */
+    private OsmClientResilience halfOpenResilienceWithRateLimitWait() {
+        OsmClientResilience resilience = new OsmClientResilience(new OsmResilienceProperties(
+                1, 1, Duration.ofSeconds(10), 1, Duration.ofMillis(20), Duration.ofSeconds(2), 1, Duration.ofMillis(100)),
+                new SimpleMeterRegistry(), clock);
+        assertThatThrownBy(() -> resilience.execute(() -> {
+            throw new HttpServerErrorException(HttpStatus.INTERNAL_SERVER_ERROR);
+        })).isInstanceOf(OsmServiceUnavailableException.class);
+        clock.advance(Duration.ofMillis(100));
+        return resilience;
+    }
+
+    private double retries(String reason) {
+        var counter = meterRegistry.find("osm.client.retries").tag("reason", reason).counter();
+        return counter == null ? 0 : counter.count();
+    }
+
+    private double circuitState() {
+        return meterRegistry.get("osm.client.circuit.state").gauge().value();
+    }
+
+    private static class MutableClock extends Clock {
+        private Instant now = Instant.parse("2025-11-01T12:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package de.seuhd.campuscoffee.data.impl;
+
+import de.seuhd.campuscoffee.domain.exceptions.PosNotFoundException;
+import de.seuhd.campuscoffee.domain.model.CampusType;
+import de.seuhd.campuscoffee.domain.model.Pos;
+import de.seuhd.campuscoffee.domain.model.PosField;
+import de.seuhd.campuscoffee.domain.model.PosType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the snapshot decorator of the POS data service.
+ */
+@ExtendWith(MockitoExtension.class)
+public class SnapshotPosDataServiceTests {
+    @Mock
+    private PosDataServiceImpl delegate;
+
+    private SimpleMeterRegistry meterRegistry;
+    private SnapshotPosDataService snapshotService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        snapshotService = new SnapshotPosDataService(delegate, new PosSnapshotProperties(true), meterRegistry);
+    }
+
+    @Test
+    void testLoadsSnapshotOnceAndServesReadsFromIt() {
+        when(delegate.getAll()).thenReturn(List.of(pos(2L, "Bakery"), pos(1L, "Café")));
+
+        assertThat(snapshotService.getAll()).extracting(Pos::id).containsExactly(1L, 2L);
+        assertThat(snapshotService.getById(2L).name()).isEqualTo("Bakery");
+        assertThatThrownBy(() -> snapshotService.getById(3L)).isInstanceOf(PosNotFoundException.class);
+
+        verify(delegate, times(1)).getAll();
+        verify(delegate, never()).getById(any());
+        assertThat(meterRegistry.get("pos.snapshot.rebuild").tag("type", "full").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void testPublishesNewSnapshotAfterWrites() {
+        Pos cafe = pos(1L, "Café");
+        when(delegate.getAll()).thenReturn(List.of(cafe));
+        List<Pos> readersView = snapshotService.getAll();
+
+        Pos renamedCafe = cafe.toBuilder().name("Café (Updated)").updatedAt(cafe.updatedAt().plusMinutes(1)).build();
+        when(delegate.upsert(renamedCafe)).thenReturn(renamedCafe);
+        when(delegate.upsertAll(anyList())).thenReturn(List.of(pos(5L, "Vending Machine")));
+        snapshotService.upsert(renamedCafe);
+        snapshotService.upsertAll(List.of(pos(null, "Vending Machine")));
+
+        assertThat(snapshotService.getAll()).extracting(Pos::name).containsExactly("Café (Updated)", "Vending Machine");
+        // earlier snapshots are never modified
+        assertThat(readersView).containsExactly(cafe);
+
+        snapshotService.clear();
+        assertThat(snapshotService.getAll()).isEmpty();
+        verify(delegate, times(1)).getAll();
+    }
+
+    @Test
+    void testAppliesWritesCommittedWhileSnapshotIsLoaded() {
+        Pos cafe = pos(1L, "Café");
+        Pos renamedCafe = cafe.toBuilder().name("Café (Updated)").updatedAt(cafe.updatedAt().plusMinutes(1)).build();
+        when(delegate.upsert(renamedCafe)).thenReturn(renamedCafe);
+        // the write commits after the database was read, but before the loaded snapshot is published
+        when(delegate.getAll()).thenAnswer(invocation -> {
+            snapshotService.upsert(renamedCafe);
+            return List.of(cafe, pos(2L, "Bakery"));
+        });
+
+        assertThat(snapshotService.getAll()).extracting(Pos::name).containsExactly("Café (Updated)", "Bakery");
+        assertThat(snapshotService.getById(1L)).isEqualTo(renamedCafe);
+        verify(delegate, times(1)).getAll();
+    }
+
+    @Test
+    void testProjectsSparseFieldsetsFromSnapshot() {
+        when(delegate.getAll()).thenReturn(List.of(pos(2L, "Bakery"), pos(1L, "Café")));
+        Set<PosField> fields = EnumSet.of(PosField.NAME, PosField.TYPE);
+
+        assertThat(snapshotService.getAll(fields))
+                .extracting(Pos::id, Pos::name, Pos::type, Pos::description, Pos::createdAt)
+                .containsExactly(tuple(1L, "Café", PosType.CAFE, null, null), tuple(2L, "Bakery", PosType.CAFE, null, null));
+        assertThat(snapshotService.getById(2L, fields))
+                .isEqualTo(Pos.builder().id(2L).name("Bakery").type(PosType.CAFE).build());
+
+        verify(delegate, never()).getAll(any());
+        verify(delegate, never()).getById(any(), any());
+    }
+
+    private static Pos pos(Long id, String name) {
+        LocalDateTime now = LocalDateTime.of(2025, 10, 1, 12, 0);
+        return Pos.builder()
+                .id(id)
+                .createdAt(now)
+                .updatedAt(now)
+                .name(name)
+                .description("Description")
+                .type(PosType.CAFE)
+                .campus(CampusType.ALTSTADT)
+                .street("Hauptstraße")
+                .houseNumber("1")
+                .postalCode(69117)
+                .city("Heidelberg")
+                .build();
+    }
+}
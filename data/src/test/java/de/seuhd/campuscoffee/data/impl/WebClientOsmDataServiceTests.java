@@ -0,0 +1,100 @@
+package de.seuhd.campuscoffee.data.impl;
+
+import de.seuhd.campuscoffee.domain.exceptions.OsmNodeNotFoundException;
+import de.seuhd.campuscoffee.domain.model.OsmNode;
+import de.seuhd.campuscoffee.domain.tests.OsmApiStub;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for the reactive OSM data service against a local stub of the OSM API.
+ */
+public class WebClientOsmDataServiceTests {
+    private static final long MISSING_NODE_ID = 42L;
+
+    private OsmApiStub osmStub;
+    private WebClientOsmDataService service;
+
+    @AfterEach
+    void tearDown() {
+        service.destroy();
+        osmStub.close();
+    }
+
+    @Test
+    void testFetchesNodesInConcurrentChunks() {
+        start(2, Duration.ofMillis(100));
+        List<Long> nodeIds = LongStream.rangeClosed(1000, 1599).boxed().toList();
+
+        List<OsmNode> nodes = service.fetchNodes(nodeIds).collectList().block();
+
+        assertThat(nodes).extracting(OsmNode::nodeId).containsExactlyInAnyOrderElementsOf(nodeIds);
+        assertThat(osmStub.multiFetches()).isEqualTo(6);
+        assertThat(osmStub.maxInFlight()).isEqualTo(2);
+    }
+
+    @Test
+    void testFallsBackToSingleFetchesIfNodeIsMissing() {
+        start(4, Duration.ZERO);
+
+        List<OsmNode> nodes = service.fetchNodes(List.of(41L, 42L, 43L, 41L)).collectList().block();
+
+        assertThat(nodes).extracting(OsmNode::nodeId).containsExactlyInAnyOrder(41L, 43L);
+        assertThat(osmStub.multiFetches()).isEqualTo(1);
+        assertThat(osmStub.singleFetches()).isEqualTo(3);
+    }
+
+    @Test
+    void testPropagatesErrorsOtherThanNotFound() {
+        start(4, Duration.ZERO);
+
+        osmStub.enqueue(OsmApiStub.ScriptedResponse.status(400));
+        assertThatThrownBy(() -> service.fetchNodes(List.of(41L, 43L)).collectList().block())
+                .isInstanceOf(WebClientResponseException.BadRequest.class);
+
+        osmStub.enqueue(new OsmApiStub.ScriptedResponse(200, Map.of(), Duration.ZERO, "<osm><node"));
+        assertThatThrownBy(() -> service.fetchNodes(List.of(41L, 43L)).collectList().block())
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("Invalid OSM XML response");
+        assertThat(osmStub.singleFetches()).isZero();
+    }
+
+    @Test
+    void testFetchNode() {
+        start(4, Duration.ZERO);
+
+        assertThat(service.fetchNode(41L).block())
+                .satisfies(node -> {
+                    assertThat(node.nodeId()).isEqualTo(41L);
+                    assertThat(node.getTag("name")).isEqualTo("Node 41");
+                });
+        assertThatThrownBy(() -> service.fetchNode(42L).block())
+                .isInstanceOf(OsmNodeNotFoundException.class);
+    }
+
+    private void start(int maxConcurrentRequests, Duration delay) {
+        osmStub = OsmApiStub.start();
+        osmStub.setDelay(delay);
+        osmStub.generateNodes(nodeId -> nodeId == MISSING_NODE_ID
+                ? null
+                : OsmApiStub.nodeXml(nodeId, 1, Map.of("name", "Node " + nodeId)));
+
+        OsmClientProperties properties = new OsmClientProperties(
+                osmStub.baseUrl(), Duration.ofSeconds(5), Duration.ofSeconds(5), maxConcurrentRequests);
+        OsmClientResilience resilience = new OsmClientResilience(new OsmResilienceProperties(
+                1000, 1000, Duration.ofSeconds(1), 1, Duration.ZERO, Duration.ZERO, 1000, Duration.ofSeconds(1)),
+                new SimpleMeterRegistry());
+        service = new WebClientOsmDataService(properties, resilience, WebClient.builder(), new SimpleMeterRegistry());
+    }
+}
@@ -0,0 +1,83 @@
+package de.seuhd.campuscoffee.data.index;
+
+import de.seuhd.campuscoffee.data.mapper.PosEntityMapper;
+import de.seuhd.campuscoffee.data.mapper.PosEntityMapperImpl;
+import de.seuhd.campuscoffee.data.persistence.AddressEntity;
+import de.seuhd.campuscoffee.domain.model.CampusType;
+import de.seuhd.campuscoffee.domain.model.Pos;
+import de.seuhd.campuscoffee.domain.model.PosType;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for the address normalization and the in-memory address index used for duplicate detection.
+ */
+public class PosAddressIndexTests {
+
+    @Test
+    void testSpellingVariantsHaveSameKey() {
+        long key = AddressKey.of(pos(1L, "Untere Straße", "21a", 69117, "Heidelberg"));
+
+        assertThat(AddressKey.of(pos(2L, "untere strasse", "21A", 69117, "HEIDELBERG"))).isEqualTo(key);
+        assertThat(AddressKey.of(pos(3L, "Untere Str.", "21a", 69117, "Heidelberg"))).isEqualTo(key);
+        assertThat(AddressKey.of(pos(4L, "Untere-Str", "21A", 69117, " Heidelberg "))).isEqualTo(key);
+        assertThat(AddressKey.of(pos(5L, "Untere Straße", "21b", 69117, "Heidelberg"))).isNotEqualTo(key);
+        assertThat(AddressKey.of(pos(6L, "Untere Straße", "12a", 69117, "Heidelberg"))).isNotEqualTo(key);
+        assertThat(AddressKey.of(pos(7L, "Untere Straße", "21a", 69115, "Heidelberg"))).isNotEqualTo(key);
+        assertThat(AddressKey.of(pos(8L, "Obere Straße", "21a", 69117, "Heidelberg"))).isNotEqualTo(key);
+    }
+
+    @Test
+    void testKeyOfDomainObjectMatchesKeyOfEntity() {
+        PosEntityMapper mapper = new PosEntityMapperImpl();
+        for (String houseNumber : List.of("21", "21a", "99B", "7 c", "1-3", "")) {
+            Pos pos = pos(1L, "Berliner Str.", houseNumber, 69120, "Heidelberg");
+            AddressEntity address = mapper.splitHouseNumber(pos, new AddressEntity());
+
+            assertThat(AddressKey.of(address.getStreet(), address.getHouseNumber(), address.getHouseNumberSuffix(),
+                    address.getPostalCode(), address.getCity()))
+                    .as("house number '%s'", houseNumber)
+                    .isEqualTo(AddressKey.of(pos));
+        }
+    }
+
+    @Test
+    void testCandidatesFollowUpdates() {
+        PosAddressIndex index = new PosAddressIndex();
+        Pos first = pos(1L, "Hauptstraße", "90", 69117, "Heidelberg");
+        Pos second = pos(2L, "Hauptstr.", "90", 69117, "Heidelberg");
+        Pos other = pos(3L, "Plöck", "1", 69117, "Heidelberg");
+        index.rebuild(List.of(first, second, other));
+
+        assertThat(index.candidates(first)).containsExactly(2L);
+        assertThat(index.candidates(other)).isEmpty();
+        // a new POS without ID is compared with all indexed POS at the address
+        assertThat(index.candidates(first.toBuilder().id(null).build())).containsExactlyInAnyOrder(1L, 2L);
+
+        // moving the second POS removes it from its old address
+        Pos moved = second.toBuilder().street("Plöck").houseNumber("1").build();
+        index.upsert(List.of(moved));
+        assertThat(index.candidates(first)).isEmpty();
+        assertThat(index.candidates(other)).containsExactly(2L);
+
+        index.clear();
+        assertThat(index.candidates(other)).isEmpty();
+    }
+
+    private static Pos pos(Long id, String street, String houseNumber, int postalCode, String city) {
+        return Pos.builder()
+                .id(id)
+                .name("POS " + id)
+                .description("Description")
+                .type(PosType.CAFE)
+                .campus(CampusType.ALTSTADT)
+                .street(street)
+                .houseNumber(houseNumber)
+                .postalCode(postalCode)
+                .city(city)
+                .build();
+    }
+}
@@ -0,0 +1,122 @@
+package de.seuhd.campuscoffee.data.index;
+
+import de.seuhd.campuscoffee.domain.model.CampusType;
+import de.seuhd.campuscoffee.domain.model.NearbyPos;
+import de.seuhd.campuscoffee.domain.model.Pos;
+import de.seuhd.campuscoffee.domain.model.PosType;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * Unit tests for the in-memory spatial index, comparing its results with a linear scan.
+ */
+public class PosSpatialIndexTests {
+
+    @Test
+    void testNearestMatchesLinearScan() {
+        Random random = new Random(42);
+        List<Pos> posList = new ArrayList<>();
+        for (long id = 1; id <= 5_000; id++) {
+            posList.add(pos(id, 49.3 + random.nextDouble() * 0.2, 8.6 + random.nextDouble() * 0.2));
+        }
+        PosSpatialIndex index = new PosSpatialIndex();
+        index.rebuild(posList);
+
+        for (int i = 0; i < 100; i++) {
+            double latitude = 49.3 + random.nextDouble() * 0.2;
+            double longitude = 8.6 + random.nextDouble() * 0.2;
+            assertThat(ids(index.nearest(latitude, longitude, 10)))
+                    .containsExactlyElementsOf(ids(linearScan(posList, latitude, longitude, 10)));
+        }
+    }
+
+    @Test
+    void testUpsertReplacesAndRemovesEntries() {
+        Random random = new Random(7);
+        List<Pos> posList = new ArrayList<>();
+        for (long id = 1; id <= 2_000; id++) {
+            posList.add(pos(id, random.nextDouble() * 180 - 90, random.nextDouble() * 360 - 180));
+        }
+        PosSpatialIndex index = new PosSpatialIndex();
+        index.rebuild(posList);
+
+        // move some POS, remove the location of others, and add new ones; enough changes to trigger a rebuild
+        for (int i = 0; i < 600; i++) {
+            int position = random.nextInt(posList.size());
+            Pos changed = i % 3 == 0
+                    ? posList.get(position).toBuilder().latitude(null).longitude(null).build()
+                    : posList.get(position).toBuilder().latitude(random.nextDouble() * 180 - 90).longitude(random.nextDouble() * 360 - 180).build();
+            posList.set(position, changed);
+            index.upsert(List.of(changed));
+            if (i % 100 == 0) {
+                Pos added = pos(10_000L + i, random.nextDouble() * 180 - 90, random.nextDouble() * 360 - 180);
+                posList.add(added);
+                index.upsert(List.of(added));
+            }
+        }
+
+        assertThat(index.size()).isEqualTo((int) posList.stream().filter(Pos::hasLocation).count());
+        for (int i = 0; i < 50; i++) {
+            double latitude = random.nextDouble() * 180 - 90;
+            double longitude = random.nextDouble() * 360 - 180;
+            assertThat(ids(index.nearest(latitude, longitude, 5)))
+                    .containsExactlyElementsOf(ids(linearScan(posList, latitude, longitude, 5)));
+        }
+    }
+
+    @Test
+    void testDistanceAcrossAntimeridian() {
+        PosSpatialIndex index = new PosSpatialIndex();
+        index.rebuild(List.of(pos(1L, 0.0, 179.9), pos(2L, 0.0, 170.0)));
+
+        List<NearbyPos> nearest = index.nearest(0.0, -179.9, 1);
+
+        assertThat(nearest.getFirst().pos().id()).isEqualTo(1L);
+        // 0.2 degrees of longitude at the equator
+        assertThat(nearest.getFirst().distanceMeters()).isCloseTo(22_239, within(10.0));
+    }
+
+    private static List<NearbyPos> linearScan(List<Pos> posList, double latitude, double longitude, int k) {
+        return posList.stream()
+                .filter(Pos::hasLocation)
+                .map(pos -> new NearbyPos(pos, haversine(latitude, longitude, pos.latitude(), pos.longitude())))
+                .sorted(Comparator.comparingDouble(NearbyPos::distanceMeters))
+                .limit(k)
+                .toList();
+    }
+
+    private static double haversine(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.pow(Math.sin(dLat / 2), 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) * Math.pow(Math.sin(dLon / 2), 2);
+        return 2 * PosSpatialIndex.EARTH_RADIUS_METERS * Math.asin(Math.sqrt(a));
+    }
+
+    private static List<Long> ids(List<NearbyPos> nearbyPos) {
+        return nearbyPos.stream().map(nearby -> nearby.pos().id()).toList();
+    }
+
+    private static Pos pos(Long id, double latitude, double longitude) {
+        return Pos.builder()
+                .id(id)
+                .name("POS " + id)
+                .description("Description")
+                .type(PosType.CAFE)
+                .campus(CampusType.ALTSTADT)
+                .street("Hauptstraße")
+                .houseNumber("1")
+                .postalCode(69117)
+                .city("Heidelberg")
+                .latitude(latitude)
+                .longitude(longitude)
+                .build();
+    }
+}
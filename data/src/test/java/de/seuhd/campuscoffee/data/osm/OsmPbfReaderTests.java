@@ -0,0 +1,257 @@
+package de.seuhd.campuscoffee.data.osm;
+
+import de.seuhd.campuscoffee.domain.model.OsmNode;
+import de.seuhd.campuscoffee.domain.ports.OsmDataService.NodeConsumer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.BiPredicate;
+import java.util.stream.LongStream;
+import java.util.zip.Deflater;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for the parallel OSM PBF reader, with PBF files encoded by the tests.
+ */
+public class OsmPbfReaderTests {
+    private static final BiPredicate<String, String> CAFE_FILTER =
+            (key, value) -> key.equals("amenity") && value.equals("cafe");
+
+    @TempDir
+    private Path tempDir;
+
+    @Test
+    void testReadsOnlyNodesMatchingTagFilter() throws IOException {
+        // a compressed blob with three dense nodes (café, untagged, crossing)
+        // and a raw blob with a café in the plain encoding and a way
+        ProtobufWriter denseBlock = new ProtobufWriter()
+                .message(1, stringTable("amenity", "cafe", "name", "Rada Coffee & Rösterei", "highway", "crossing"))
+                .message(2, new ProtobufWriter().message(2, new ProtobufWriter()
+                        .packedSigned(1, 5589879349L, 1, 10)
+                        .message(5, new ProtobufWriter().packed(1, 3, 1, 2))
+                        .packedSigned(8, 494122000, 100, -200)
+                        .packedSigned(9, 87100000, 100, -200)
+                        .packed(10, 1, 2, 3, 4, 0, 0, 5, 6, 0)))
+                .varint(17, 100);
+        ProtobufWriter plainBlock = new ProtobufWriter()
+                .message(1, stringTable("amenity", "cafe"))
+                .message(2, new ProtobufWriter().message(1, new ProtobufWriter()
+                        .signedVarint(1, 42)
+                        .packed(2, 1)
+                        .packed(3, 2)
+                        .message(4, new ProtobufWriter().varint(1, 7))
+                        .signedVarint(8, 490000000)
+                        .signedVarint(9, 80000000)))
+                .message(2, new ProtobufWriter().message(3, new ProtobufWriter().varint(1, 7)));
+        Path file = writeFile(header(), blob("OSMData", denseBlock.toByteArray(), true),
+                blob("OSMData", plainBlock.toByteArray(), false));
+
+        CollectingConsumer consumer = new CollectingConsumer();
+        long nodeCount = OsmPbfReader.read(file, CAFE_FILTER, consumer, 2);
+
+        assertThat(nodeCount).isEqualTo(4);
+        assertThat(consumer.filteredOut).isEqualTo(2);
+        assertThat(consumer.nodes).hasSize(2);
+        OsmNode rada = consumer.nodes.get(0);
+        assertThat(rada.nodeId()).isEqualTo(5589879349L);
+        assertThat(rada.getTag("name")).isEqualTo("Rada Coffee & Rösterei");
+        assertThat(rada.getTag("amenity")).isEqualTo("cafe");
+        assertThat(rada.latitude()).isEqualTo(49.4122);
+        assertThat(rada.longitude()).isEqualTo(8.71);
+        assertThat(rada.version()).isEqualTo(3L);
+        OsmNode plainNode = consumer.nodes.get(1);
+        assertThat(plainNode.nodeId()).isEqualTo(42L);
+        assertThat(plainNode.tags()).containsOnlyKeys("amenity");
+        assertThat(plainNode.latitude()).isEqualTo(49.0);
+        assertThat(plainNode.version()).isEqualTo(7L);
+    }
+
+    @Test
+    void testDeliversNodesOfParallelBlobsInFileOrder() throws IOException {
+        // more blobs than in flight at once, one café per blob
+        List<byte[]> blobs = new ArrayList<>();
+        blobs.add(header());
+        for (long nodeId = 1; nodeId <= 50; nodeId++) {
+            blobs.add(blob("OSMData", new ProtobufWriter()
+                    .message(1, stringTable("amenity", "cafe"))
+                    .message(2, new ProtobufWriter().message(2, new ProtobufWriter()
+                            .packedSigned(1, nodeId)
+                            .packedSigned(8, 0)
+                            .packedSigned(9, 0)
+                            .packed(10, 1, 2, 0)))
+                    .toByteArray(), true));
+        }
+        Path file = writeFile(blobs.toArray(byte[][]::new));
+
+        CollectingConsumer consumer = new CollectingConsumer();
+        long nodeCount = OsmPbfReader.read(file, CAFE_FILTER, consumer, 3);
+
+        assertThat(nodeCount).isEqualTo(50);
+        assertThat(consumer.nodes).extracting(OsmNode::nodeId)
+                .containsExactlyElementsOf(LongStream.rangeClosed(1, 50).boxed().toList());
+    }
+
+    @Test
+    void testRejectsUnsupportedRequiredFeature() throws IOException {
+        byte[] historyHeader = blob("OSMHeader", new ProtobufWriter()
+                .string(4, "OsmSchema-V0.6")
+                .string(4, "HistoricalInformation")
+                .toByteArray(), false);
+        Path file = writeFile(historyHeader);
+
+        assertThatThrownBy(() -> OsmPbfReader.read(file, CAFE_FILTER, new CollectingConsumer(), 1))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("HistoricalInformation");
+    }
+
+    @Test
+    void testRejectsTruncatedFile() throws IOException {
+        byte[] data = blob("OSMData", new ProtobufWriter().message(1, stringTable()).toByteArray(), true);
+        Path file = writeFile(header(), Arrays.copyOf(data, data.length - 3));
+
+        assertThatThrownBy(() -> OsmPbfReader.read(file, CAFE_FILTER, new CollectingConsumer(), 1))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("Truncated");
+    }
+
+    private Path writeFile(byte[]... blobs) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (byte[] blob : blobs) {
+            out.writeBytes(blob);
+        }
+        return Files.write(tempDir.resolve("extract.osm.pbf"), out.toByteArray());
+    }
+
+    private static byte[] header() {
+        return blob("OSMHeader", new ProtobufWriter()
+                .string(4, "OsmSchema-V0.6")
+                .string(4, "DenseNodes")
+                .string(16, "CampusCoffee tests")
+                .toByteArray(), false);
+    }
+
+    /**
+     * Encodes a blob with its header, as it is stored in the file.
+     */
+    private static byte[] blob(String type, byte[] data, boolean compress) {
+        ProtobufWriter blob = new ProtobufWriter();
+        if (compress) {
+            Deflater deflater = new Deflater();
+            deflater.setInput(data);
+            deflater.finish();
+            byte[] compressed = new byte[data.length + 64];
+            int length = deflater.deflate(compressed);
+            deflater.end();
+            blob.varint(2, data.length).bytes(3, Arrays.copyOf(compressed, length));
+        } else {
+            blob.bytes(1, data);
+        }
+        byte[] blobBytes = blob.toByteArray();
+        byte[] header = new ProtobufWriter().string(1, type).varint(3, blobBytes.length).toByteArray();
+        return ByteBuffer.allocate(4 + header.length + blobBytes.length)
+                .putInt(header.length)
+                .put(header)
+                .put(blobBytes)
+                .array();
+    }
+
+    /**
+     * Encodes a string table; index 0 is the empty string, which is never used as key or value.
+     */
+    private static ProtobufWriter stringTable(String... strings) {
+        ProtobufWriter stringTable = new ProtobufWriter().string(1, "");
+        for (String string : strings) {
+            stringTable.string(1, string);
+        }
+        return stringTable;
+    }
+
+    private static final class CollectingConsumer implements NodeConsumer {
+        private final List<OsmNode> nodes = new ArrayList<>();
+        private long filteredOut;
+
+        @Override
+        public void accept(OsmNode osmNode) {
+            nodes.add(osmNode);
+        }
+
+        @Override
+        public void filteredOut(long count) {
+            filteredOut += count;
+        }
+    }
+
+    /**
+     * Minimal protocol buffers writer to encode the test files.
+     */
+    private static final class ProtobufWriter {
+        private final ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        ProtobufWriter varint(int field, long value) {
+            writeVarint((long) field << 3);
+            writeVarint(value);
+            return this;
+        }
+
+        ProtobufWriter signedVarint(int field, long value) {
+            return varint(field, zigzag(value));
+        }
+
+        ProtobufWriter bytes(int field, byte[] value) {
+            writeVarint((long) field << 3 | 2);
+            writeVarint(value.length);
+            out.writeBytes(value);
+            return this;
+        }
+
+        ProtobufWriter string(int field, String value) {
+            return bytes(field, value.getBytes(StandardCharsets.UTF_8));
+        }
+
+        ProtobufWriter message(int field, ProtobufWriter message) {
+            return bytes(field, message.toByteArray());
+        }
+
+        ProtobufWriter packed(int field, long... values) {
+            ProtobufWriter packed = new ProtobufWriter();
+            for (long value : values) {
+                packed.writeVarint(value);
+            }
+            return bytes(field, packed.toByteArray());
+        }
+
+        /**
+         * Encodes packed zigzag values; callers pass the deltas of delta-encoded fields.
+         */
+        ProtobufWriter packedSigned(int field, long... values) {
+            return packed(field, Arrays.stream(values).map(ProtobufWriter::zigzag).toArray());
+        }
+
+        byte[] toByteArray() {
+            return out.toByteArray();
+        }
+
+        private void writeVarint(long value) {
+            while ((value & ~0x7FL) != 0) {
+                out.write((int) (value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            out.write((int) value);
+        }
+
+        private static long zigzag(long value) {
+            return (value << 1) ^ (value >> 63);
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package de.seuhd.campuscoffee.data.osm;
+
+import de.seuhd.campuscoffee.domain.model.OsmNode;
+import org.junit.jupiter.api.Test;
+
+import javax.xml.stream.XMLStreamException;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for the streaming OSM XML parser.
+ */
+public class OsmXmlParserTests {
+
+    @Test
+    void testParseMultipleNodes() throws XMLStreamException {
+        String xml = """
+                <?xml version="1.0" encoding="UTF-8"?>
+                <osm version="0.6">
+                 <node id="5589879349" lat="49.4122" lon="8.7100" version="3">
+                  <tag k="name" v="Rada Coffee &amp; Rösterei"/>
+                  <tag k="amenity" v="cafe"/>
+                 </node>
+                 <node id="42" lat="49.0" lon="8.0"/>
+                 <way id="7">
+                  <nd ref="42"/>
+                  <tag k="name" v="Some way"/>
+                 </way>
+                </osm>
+                """;
+
+        List<OsmNode> nodes = OsmXmlParser.parse(toStream(xml));
+
+        assertThat(nodes).hasSize(2);
+        assertThat(nodes.get(0).nodeId()).isEqualTo(5589879349L);
+        assertThat(nodes.get(0).getTag("name")).isEqualTo("Rada Coffee & Rösterei");
+        assertThat(nodes.get(0).getTag("amenity")).isEqualTo("cafe");
+        assertThat(nodes.get(0).latitude()).isEqualTo(49.4122);
+        assertThat(nodes.get(0).longitude()).isEqualTo(8.7100);
+        assertThat(nodes.get(0).version()).isEqualTo(3L);
+        assertThat(nodes.get(1).nodeId()).isEqualTo(42L);
+        assertThat(nodes.get(1).tags()).isEmpty();
+        assertThat(nodes.get(1).version()).isNull();
+    }
+
+    @Test
+    void testRejectsExternalEntities() {
+        String xml = """
+                <?xml version="1.0" encoding="UTF-8"?>
+                <!DOCTYPE osm [<!ENTITY xxe SYSTEM "file:///etc/passwd">]>
+                <osm version="0.6">
+                 <node id="1"><tag k="name" v="&xxe;"/></node>
+                </osm>
+                """;
+
+        assertThatThrownBy(() -> OsmXmlParser.parse(toStream(xml)))
+                .isInstanceOf(XMLStreamException.class);
+    }
+
+    @Test
+    void testRejectsInvalidNodeId() {
+        String xml = "<osm><node id=\"abc\"/></osm>";
+
+        assertThatThrownBy(() -> OsmXmlParser.parse(toStream(xml)))
+                .isInstanceOf(XMLStreamException.class);
+    }
+
+    private static InputStream toStream(String xml) {
+        return new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,25 @@
+package de.seuhd.campuscoffee.domain.exceptions;
+
+import org.jspecify.annotations.Nullable;
+
+import java.time.Duration;
+
+/**
+ * Exception thrown when the OpenStreetMap API is temporarily unavailable, e.g., because it is throttling requests,
+ * responds with server errors, or does not respond in time. Retrying later may succeed.
+ */
+public class OsmServiceUnavailableException extends RuntimeException {
+    private final @Nullable Duration retryAfter;
+
+    public OsmServiceUnavailableException(String reason, @Nullable Duration retryAfter, @Nullable Throwable cause) {
+        super("The OpenStreetMap API is currently unavailable: " + reason, cause);
+        this.retryAfter = retryAfter;
+    }
+
+    /**
+     * @return how long the caller should wait before trying again; null if unknown
+     */
+    public @Nullable Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
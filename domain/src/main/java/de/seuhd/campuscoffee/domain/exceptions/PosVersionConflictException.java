@@ -0,0 +1,16 @@
+package de.seuhd.campuscoffee.domain.exceptions;
+
+/**
+ * Exception thrown when attempting to update a POS based on an outdated version,
+ * i.e., the POS was modified concurrently since the client read it.
+ */
+public class PosVersionConflictException extends RuntimeException {
+    public PosVersionConflictException(Long posId, long expectedVersion, long currentVersion) {
+        super("POS with ID " + posId + " was modified concurrently (expected version " + expectedVersion
+                + ", current version " + currentVersion + ").");
+    }
+
+    public PosVersionConflictException(Long posId) {
+        super("POS with ID " + posId + " was modified concurrently.");
+    }
+}
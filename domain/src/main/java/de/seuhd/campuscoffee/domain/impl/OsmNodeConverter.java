@@ -0,0 +1,190 @@
+package de.seuhd.campuscoffee.domain.impl;
+
+import de.seuhd.campuscoffee.domain.exceptions.OsmNodeMissingFieldsException;
+import de.seuhd.campuscoffee.domain.model.CampusType;
+import de.seuhd.campuscoffee.domain.model.OsmNode;
+import de.seuhd.campuscoffee.domain.model.Pos;
+import de.seuhd.campuscoffee.domain.model.PosType;
+import lombok.extern.slf4j.Slf4j;
+import org.jspecify.annotations.NonNull;
+
+/**
+ * Converts OpenStreetMap nodes to POS domain objects; used by the OSM imports of {@link PosServiceImpl}.
+ */
+@Slf4j
+public final class OsmNodeConverter {
+    private OsmNodeConverter() {}
+
+    /**
+     * Checks whether an OSM node is tagged as a POS, i.e., as café, bakery, or vending machine
+     * (tags {@code amenity} or {@code shop}, as understood by {@link #determinePosType(OsmNode)}).
+     * Used to filter the nodes of OSM extracts before converting them.
+     *
+     * @param osmNode the OSM node
+     * @return true if the node is tagged as a POS, false otherwise
+     */
+    public static boolean isPos(@NonNull OsmNode osmNode) {
+        String amenity = osmNode.getTag("amenity");
+        if (amenity != null) {
+            return switch (amenity.toLowerCase()) {
+                case "cafe", "coffee", "bakery", "vending_machine" -> true;
+                default -> false;
+            };
+        }
+        String shop = osmNode.getTag("shop");
+        return shop != null && shop.toLowerCase().contains("bakery");
+    }
+
+    /**
+     * Checks whether a single tag can qualify an OSM node as a POS, i.e., whether {@link #isPos(OsmNode)} can
+     * only be true for nodes with at least one such tag. Used to filter the nodes of binary OSM extracts
+     * before materializing them.
+     *
+     * @param key   the tag key
+     * @param value the tag value
+     * @return true if the tag is a POS tag, false otherwise
+     */
+    public static boolean isPosTag(@NonNull String key, @NonNull String value) {
+        return switch (key) {
+            case "amenity" -> switch (value.toLowerCase()) {
+                case "cafe", "coffee", "bakery", "vending_machine" -> true;
+                default -> false;
+            };
+            case "shop" -> value.toLowerCase().contains("bakery");
+            default -> false;
+        };
+    }
+
+    /**
+     * Converts an OSM node to a POS domain object.
+     * Extracts relevant fields from OSM tags and maps them to POS attributes.
+     * Uses intelligent defaults for missing fields.
+     *
+     * @param osmNode the OSM node with tags
+     * @return a new POS object with data extracted from OSM tags, linked to the node and its version
+     * @throws OsmNodeMissingFieldsException if required fields are missing
+     */
+    public static @NonNull Pos toPos(@NonNull OsmNode osmNode) throws OsmNodeMissingFieldsException {
+        // Extract required fields
+        String name = osmNode.getTag("name");
+        if (name == null || name.isBlank()) {
+            log.warn("OSM node {} missing required 'name' tag", osmNode.nodeId());
+            throw new OsmNodeMissingFieldsException(osmNode.nodeId());
+        }
+
+        // Extract address components
+        String street = osmNode.getTag("addr:street");
+        String houseNumber = osmNode.getTag("addr:housenumber");
+        String postalCode = osmNode.getTag("addr:postcode");
+        String city = osmNode.getTag("addr:city");
+
+        // Validate critical address fields (the numeric part of the house number is required)
+        if (street == null || street.isBlank() ||
+            houseNumber == null || houseNumber.chars().noneMatch(c -> c >= '0' && c <= '9') ||
+            postalCode == null || postalCode.isBlank() ||
+            city == null || city.isBlank()) {
+            log.warn("OSM node {} missing required address fields", osmNode.nodeId());
+            throw new OsmNodeMissingFieldsException(osmNode.nodeId());
+        }
+
+        // Extract optional fields with defaults
+        String description = osmNode.getTag("description");
+        if (description == null || description.isBlank()) {
+            description = osmNode.getTag("amenity");
+            if (description == null || description.isBlank()) {
+                description = name; // Use name as fallback
+            }
+        }
+
+        // Determine POS type from OSM tags
+        PosType posType = determinePosType(osmNode);
+
+        // Determine campus type from address or default to ALTSTADT
+        CampusType campusType = determineCampusType(city, osmNode);
+
+        // Parse postal code
+        Integer postalCodeInt;
+        try {
+            postalCodeInt = Integer.parseInt(postalCode);
+        } catch (NumberFormatException e) {
+            log.warn("OSM node {} has invalid postal code: {}", osmNode.nodeId(), postalCode);
+            throw new OsmNodeMissingFieldsException(osmNode.nodeId());
+        }
+
+        log.debug("Successfully converted OSM node {} to POS: name='{}', street='{}', city='{}'",
+                osmNode.nodeId(), name, street, city);
+
+        return Pos.builder()
+                .name(name)
+                .description(description)
+                .type(posType)
+                .campus(campusType)
+                .street(street)
+                .houseNumber(houseNumber)
+                .postalCode(postalCodeInt)
+                .city(city)
+                .latitude(osmNode.latitude())
+                .longitude(osmNode.longitude())
+                .osmNodeId(osmNode.nodeId())
+                .osmVersion(osmNode.version())
+                .build();
+    }
+
+    /**
+     * Determines the POS type from OSM tags.
+     * Maps OSM amenity values to POS types.
+     *
+     * @param osmNode the OSM node
+     * @return the determined POS type, or CAFE as default
+     */
+    private static PosType determinePosType(@NonNull OsmNode osmNode) {
+        String amenity = osmNode.getTag("amenity");
+        String shop = osmNode.getTag("shop");
+
+        if (amenity != null) {
+            return switch (amenity.toLowerCase()) {
+                case "cafe" -> PosType.CAFE;
+                case "coffee" -> PosType.CAFE;
+                case "bakery" -> PosType.BAKERY;
+                case "vending_machine" -> PosType.VENDING_MACHINE;
+                case "fast_food" -> PosType.CAFETERIA;
+                case "restaurant" -> PosType.CAFETERIA;
+                default -> PosType.CAFE;
+            };
+        }
+
+        if (shop != null && shop.toLowerCase().contains("bakery")) {
+            return PosType.BAKERY;
+        }
+
+        // Default to CAFE for any coffee-related OSM entry
+        return PosType.CAFE;
+    }
+
+    /**
+     * Determines the campus type from city information and OSM tags.
+     * Currently defaults to ALTSTADT for Heidelberg and uses other campus types for known regions.
+     *
+     * @param city the city name from OSM
+     * @param osmNode the OSM node
+     * @return the determined campus type
+     */
+    private static CampusType determineCampusType(@NonNull String city, @NonNull OsmNode osmNode) {
+        if (!city.equalsIgnoreCase("Heidelberg")) {
+            return CampusType.ALTSTADT; // Default for non-Heidelberg cities
+        }
+
+        // For Heidelberg, check district or default to ALTSTADT
+        String district = osmNode.getTag("addr:district");
+        if (district != null) {
+            return switch (district.toLowerCase()) {
+                case "bergheim" -> CampusType.BERGHEIM;
+                case "inf" -> CampusType.INF;
+                case "neuenheim" -> CampusType.INF;
+                default -> CampusType.ALTSTADT;
+            };
+        }
+
+        return CampusType.ALTSTADT; // Default campus
+    }
+}
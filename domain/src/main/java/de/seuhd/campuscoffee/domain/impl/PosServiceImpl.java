@@ -3,21 +3,43 @@ package de.seuhd.campuscoffee.domain.impl;
 import de.seuhd.campuscoffee.domain.exceptions.DuplicatePosNameException;
 import de.seuhd.campuscoffee.domain.exceptions.OsmNodeMissingFieldsException;
 import de.seuhd.campuscoffee.domain.exceptions.OsmNodeNotFoundException;
-import de.seuhd.campuscoffee.domain.model.CampusType;
+import de.seuhd.campuscoffee.domain.model.DuplicatePosGroup;
+import de.seuhd.campuscoffee.domain.model.NearbyPos;
+import de.seuhd.campuscoffee.domain.model.OsmExtractImportReport;
+import de.seuhd.campuscoffee.domain.model.OsmImportReport;
+import de.seuhd.campuscoffee.domain.model.OsmImportResult;
 import de.seuhd.campuscoffee.domain.model.OsmNode;
+import de.seuhd.campuscoffee.domain.model.OsmNodeVersion;
+import de.seuhd.campuscoffee.domain.model.OsmSyncReport;
 import de.seuhd.campuscoffee.domain.model.Pos;
 import de.seuhd.campuscoffee.domain.exceptions.PosNotFoundException;
-import de.seuhd.campuscoffee.domain.model.PosType;
+import de.seuhd.campuscoffee.domain.exceptions.PosVersionConflictException;
+import de.seuhd.campuscoffee.domain.model.PosCollectionVersion;
+import de.seuhd.campuscoffee.domain.model.PosField;
+import de.seuhd.campuscoffee.domain.model.PosPage;
+import de.seuhd.campuscoffee.domain.model.PosQuery;
 import de.seuhd.campuscoffee.domain.ports.OsmDataService;
 import de.seuhd.campuscoffee.domain.ports.PosDataService;
 import de.seuhd.campuscoffee.domain.ports.PosService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
 import org.springframework.stereotype.Service;
 
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.Objects;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.function.Consumer;
 
 /**
  * Implementation of the POS service that handles business logic related to POS entities.
@@ -26,6 +48,11 @@ import java.util.Objects;
 @Service
 @RequiredArgsConstructor
 public class PosServiceImpl implements PosService {
+    /**
+     * Number of nodes read from an OSM extract between two progress reports if no batch is persisted in between.
+     */
+    private static final long EXTRACT_PROGRESS_INTERVAL = 1_000_000;
+
     private final PosDataService posDataService;
     private final OsmDataService osmDataService;
 
@@ -41,27 +68,124 @@ public class PosServiceImpl implements PosService {
         return posDataService.getAll();
     }
 
+    @Override
+    public @NonNull List<Pos> getAll(@NonNull Set<PosField> fields) {
+        log.debug("Retrieving fields {} of all POS", fields);
+        return posDataService.getAll(fields);
+    }
+
+    @Override
+    public @NonNull PosCollectionVersion getVersion() {
+        return posDataService.getVersion();
+    }
+
+    @Override
+    public @NonNull PosPage getPage(@Nullable Long after, int limit) {
+        validatePageLimit(limit);
+        log.debug("Retrieving up to {} POS after ID: {}", limit, after);
+        return posDataService.getPage(after, limit);
+    }
+
+    @Override
+    public @NonNull PosPage getPage(@Nullable Long after, int limit, @NonNull Set<PosField> fields) {
+        validatePageLimit(limit);
+        log.debug("Retrieving fields {} of up to {} POS after ID: {}", fields, limit, after);
+        return posDataService.getPage(after, limit, fields);
+    }
+
+    @Override
+    public @NonNull PosPage find(@NonNull PosQuery query) {
+        validateQuery(query);
+        log.debug("Retrieving POS matching query: {}", query);
+        return posDataService.find(query);
+    }
+
+    @Override
+    public @NonNull PosPage find(@NonNull PosQuery query, @NonNull Set<PosField> fields) {
+        validateQuery(query);
+        log.debug("Retrieving fields {} of POS matching query: {}", fields, query);
+        return posDataService.find(query, fields);
+    }
+
+    @Override
+    public @NonNull List<Pos> search(@NonNull String query, int limit) {
+        if (query.isBlank()) {
+            throw new IllegalArgumentException("Search query must not be blank.");
+        }
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Search limit must be between 1 and " + MAX_PAGE_SIZE + ".");
+        }
+        log.debug("Searching up to {} POS for: {}", limit, query);
+        return posDataService.search(query.strip(), limit);
+    }
+
+    @Override
+    public @NonNull List<NearbyPos> findNearest(double latitude, double longitude, int k) {
+        validateCoordinates(latitude, longitude);
+        if (k < 1 || k > MAX_NEAREST_COUNT) {
+            throw new IllegalArgumentException("Number of nearest POS must be between 1 and " + MAX_NEAREST_COUNT + ".");
+        }
+        log.debug("Retrieving {} POS nearest to ({}, {})", k, latitude, longitude);
+        return posDataService.findNearest(latitude, longitude, k);
+    }
+
+    @Override
+    public @NonNull List<DuplicatePosGroup> findDuplicates() {
+        log.debug("Retrieving likely duplicate POS");
+        return posDataService.findDuplicates();
+    }
+
+    @Override
+    public void exportAll(@NonNull Consumer<Pos> consumer) {
+        log.info("Exporting all POS");
+        posDataService.forEach(consumer);
+    }
+
     @Override
     public @NonNull Pos getById(@NonNull Long id) throws PosNotFoundException {
         log.debug("Retrieving POS with ID: {}", id);
         return posDataService.getById(id);
     }
 
+    @Override
+    public @NonNull Pos getById(@NonNull Long id, @NonNull Set<PosField> fields) throws PosNotFoundException {
+        log.debug("Retrieving fields {} of POS with ID: {}", fields, id);
+        return posDataService.getById(id, fields);
+    }
+
     @Override
     public @NonNull Pos upsert(@NonNull Pos pos) throws PosNotFoundException {
+        validateLocation(pos);
+        // only new POS are checked, so that updates neither pay for the lookup nor load the address index
         if (pos.id() == null) {
-            // Create new POS
-            log.info("Creating new POS: {}", pos.name());
-            return performUpsert(pos);
-        } else {
-            // Update existing POS
-            log.info("Updating POS with ID: {}", pos.id());
-            // POS ID must be set
-            Objects.requireNonNull(pos.id());
-            // POS must exist in the database before the update
-            posDataService.getById(pos.id());
-            return performUpsert(pos);
+            List<Pos> duplicateCandidates = posDataService.findDuplicateCandidates(pos);
+            if (!duplicateCandidates.isEmpty()) {
+                log.warn("POS '{}' has the same address as POS {}; possible duplicate",
+                        pos.name(), duplicateCandidates.stream().map(Pos::id).toList());
+            }
+        }
+        // POS with ID are updated; the data service checks existence and version in the same statement
+        return performUpsert(pos);
+    }
+
+    @Override
+    public @NonNull List<Pos> upsertAll(@NonNull List<Pos> posList) throws PosNotFoundException, DuplicatePosNameException, PosVersionConflictException {
+        if (posList.isEmpty() || posList.size() > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("Batch upsert requires between 1 and " + MAX_BATCH_SIZE + " POS.");
+        }
+        // reject names that occur twice in the batch before sending anything to the data store
+        Set<String> names = new HashSet<>();
+        for (Pos pos : posList) {
+            validateLocation(pos);
+            if (!names.add(pos.name())) {
+                throw new DuplicatePosNameException(pos.name());
+            }
         }
+
+        log.info("Upserting batch of {} POS", posList.size());
+        List<Pos> upsertedPos = posDataService.upsertAll(posList);
+        log.info("Successfully upserted batch of {} POS", upsertedPos.size());
+        return upsertedPos;
     }
 
     @Override
@@ -72,140 +196,310 @@ public class PosServiceImpl implements PosService {
         OsmNode osmNode = osmDataService.fetchNode(nodeId);
 
         // Convert OSM node to POS domain object and upsert it
-        // TODO: Implement the actual conversion (the response is currently hard-coded).
-        Pos savedPos = upsert(convertOsmNodeToPos(osmNode));
+        Pos savedPos = importPos(OsmNodeConverter.toPos(osmNode));
         log.info("Successfully imported POS '{}' from OSM node {}", savedPos.name(), nodeId);
 
         return savedPos;
     }
 
-    /**
-     * Converts an OSM node to a POS domain object.
-     * Extracts relevant fields from OSM tags and maps them to POS attributes.
-     * Uses intelligent defaults for missing fields.
-     *
-     * @param osmNode the OSM node with tags
-     * @return a new POS object with data extracted from OSM tags
-     * @throws OsmNodeMissingFieldsException if required fields are missing
-     */
-    private @NonNull Pos convertOsmNodeToPos(@NonNull OsmNode osmNode) throws OsmNodeMissingFieldsException {
-        // Extract required fields
-        String name = osmNode.getTag("name");
-        if (name == null || name.isBlank()) {
-            log.warn("OSM node {} missing required 'name' tag", osmNode.nodeId());
-            throw new OsmNodeMissingFieldsException(osmNode.nodeId());
-        }
-
-        // Extract address components
-        String street = osmNode.getTag("addr:street");
-        String houseNumber = osmNode.getTag("addr:housenumber");
-        String postalCode = osmNode.getTag("addr:postcode");
-        String city = osmNode.getTag("addr:city");
-
-        // Validate critical address fields
-        if (street == null || street.isBlank() ||
-            houseNumber == null || houseNumber.isBlank() ||
-            postalCode == null || postalCode.isBlank() ||
-            city == null || city.isBlank()) {
-            log.warn("OSM node {} missing required address fields", osmNode.nodeId());
-            throw new OsmNodeMissingFieldsException(osmNode.nodeId());
-        }
-
-        // Extract optional fields with defaults
-        String description = osmNode.getTag("description");
-        if (description == null || description.isBlank()) {
-            description = osmNode.getTag("amenity");
-            if (description == null || description.isBlank()) {
-                description = name; // Use name as fallback
-            }
+    @Override
+    public @NonNull OsmImportReport importFromOsmNodes(@NonNull Collection<Long> nodeIds) {
+        Set<Long> distinctNodeIds = new LinkedHashSet<>(nodeIds);
+        if (distinctNodeIds.isEmpty() || distinctNodeIds.size() > MAX_BULK_IMPORT_SIZE) {
+            throw new IllegalArgumentException("Bulk import requires between 1 and " + MAX_BULK_IMPORT_SIZE + " node IDs.");
         }
+        log.info("Importing {} POS from OpenStreetMap nodes...", distinctNodeIds.size());
 
-        // Determine POS type from OSM tags
-        PosType posType = determinePosType(osmNode);
+        // Fetch all nodes in batches using the port
+        Map<Long, OsmNode> osmNodes = osmDataService.fetchNodes(distinctNodeIds).stream()
+                .collect(Collectors.toMap(OsmNode::nodeId, Function.identity(), (first, second) -> first));
 
-        // Determine campus type from address or default to ALTSTADT
-        CampusType campusType = determineCampusType(city, osmNode);
+        // Convert and persist each node separately so that one invalid node does not fail the whole batch
+        List<OsmImportResult> results = distinctNodeIds.stream()
+                .map(nodeId -> importFetchedNode(nodeId, osmNodes.get(nodeId)))
+                .toList();
+        OsmImportReport report = OsmImportReport.builder().results(results).build();
+        log.info("Bulk import finished: {} imported, {} failed", report.importedCount(), report.failedCount());
 
-        // Parse postal code
-        Integer postalCodeInt;
-        try {
-            postalCodeInt = Integer.parseInt(postalCode);
-        } catch (NumberFormatException e) {
-            log.warn("OSM node {} has invalid postal code: {}", osmNode.nodeId(), postalCode);
-            throw new OsmNodeMissingFieldsException(osmNode.nodeId());
-        }
-
-        log.debug("Successfully converted OSM node {} to POS: name='{}', street='{}', city='{}'",
-                osmNode.nodeId(), name, street, city);
-
-        return Pos.builder()
-                .name(name)
-                .description(description)
-                .type(posType)
-                .campus(campusType)
-                .street(street)
-                .houseNumber(houseNumber)
-                .postalCode(postalCodeInt)
-                .city(city)
+        return report;
+    }
+
+    @Override
+    public @NonNull OsmSyncReport syncWithOsm() {
+        List<OsmNodeVersion> nodeVersions = posDataService.getOsmNodeVersions();
+        log.info("Synchronizing {} POS with OpenStreetMap...", nodeVersions.size());
+
+        int updated = 0;
+        int unchanged = 0;
+        int missing = 0;
+        int failed = 0;
+        for (int from = 0; from < nodeVersions.size(); from += OSM_SYNC_BATCH_SIZE) {
+            List<OsmNodeVersion> batch = nodeVersions.subList(from, Math.min(from + OSM_SYNC_BATCH_SIZE, nodeVersions.size()));
+
+            // Fetch the current state of the batch, bypassing caches
+            List<Long> nodeIds = batch.stream().map(OsmNodeVersion::nodeId).toList();
+            Map<Long, OsmNode> osmNodes = osmDataService.fetchCurrentNodes(nodeIds).stream()
+                    .collect(Collectors.toMap(OsmNode::nodeId, Function.identity(), (first, second) -> first));
+
+            // Convert and persist only the nodes that changed since the last import or sync
+            for (OsmNodeVersion nodeVersion : batch) {
+                OsmNode osmNode = osmNodes.get(nodeVersion.nodeId());
+                if (osmNode == null) {
+                    log.warn("OSM node {} of POS {} not found; keeping the POS", nodeVersion.nodeId(), nodeVersion.posId());
+                    missing++;
+                } else if (osmNode.version() != null && osmNode.version().equals(nodeVersion.version())) {
+                    unchanged++;
+                } else if (syncFetchedNode(nodeVersion, osmNode)) {
+                    updated++;
+                } else {
+                    failed++;
+                }
+            }
+        }
+
+        OsmSyncReport report = OsmSyncReport.builder()
+                .checked(nodeVersions.size())
+                .updated(updated)
+                .unchanged(unchanged)
+                .missing(missing)
+                .failed(failed)
                 .build();
+        log.info("OSM sync finished: {} checked, {} updated, {} unchanged, {} missing, {} failed",
+                report.checked(), report.updated(), report.unchanged(), report.missing(), report.failed());
+        return report;
+    }
+
+    @Override
+    public @NonNull OsmExtractImportReport importFromOsmExtract(@NonNull InputStream extract,
+                                                                @NonNull Consumer<OsmExtractImportReport> progressListener) {
+        log.info("Importing POS from OpenStreetMap extract...");
+        ExtractImport extractImport = new ExtractImport(progressListener);
+        osmDataService.readNodes(extract, extractImport);
+        return extractImport.finish();
+    }
+
+    @Override
+    public @NonNull OsmExtractImportReport importFromOsmPbfExtract(@NonNull Path extract,
+                                                                   @NonNull Consumer<OsmExtractImportReport> progressListener) {
+        log.info("Importing POS from OpenStreetMap PBF extract {}...", extract);
+        ExtractImport extractImport = new ExtractImport(progressListener);
+        // only nodes with a POS tag are materialized; ExtractImport still checks all tags of these nodes
+        osmDataService.readPbfNodes(extract, OsmNodeConverter::isPosTag, extractImport);
+        return extractImport.finish();
     }
 
     /**
-     * Determines the POS type from OSM tags.
-     * Maps OSM amenity values to POS types.
+     * Validates that a POS has either no location or a complete location with valid coordinates.
      *
-     * @param osmNode the OSM node
-     * @return the determined POS type, or CAFE as default
+     * @param pos the POS to validate
+     * @throws IllegalArgumentException if only one coordinate is set or a coordinate is out of range
      */
-    private PosType determinePosType(@NonNull OsmNode osmNode) {
-        String amenity = osmNode.getTag("amenity");
-        String shop = osmNode.getTag("shop");
+    private static void validateLocation(@NonNull Pos pos) {
+        if (pos.latitude() == null && pos.longitude() == null) {
+            return;
+        }
+        if (!pos.hasLocation()) {
+            throw new IllegalArgumentException("Latitude and longitude must either both be set or both be absent.");
+        }
+        validateCoordinates(pos.latitude(), pos.longitude());
+    }
 
-        if (amenity != null) {
-            return switch (amenity.toLowerCase()) {
-                case "cafe" -> PosType.CAFE;
-                case "coffee" -> PosType.CAFE;
-                case "bakery" -> PosType.BAKERY;
-                case "vending_machine" -> PosType.VENDING_MACHINE;
-                case "fast_food" -> PosType.CAFETERIA;
-                case "restaurant" -> PosType.CAFETERIA;
-                default -> PosType.CAFE;
-            };
+    private static void validateCoordinates(double latitude, double longitude) {
+        if (!(latitude >= -90 && latitude <= 90) || !(longitude >= -180 && longitude <= 180)) {
+            throw new IllegalArgumentException("Latitude must be between -90 and 90, longitude between -180 and 180.");
         }
+    }
 
-        if (shop != null && shop.toLowerCase().contains("bakery")) {
-            return PosType.BAKERY;
+    private static void validatePageLimit(int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page limit must be between 1 and " + MAX_PAGE_SIZE + ".");
         }
+    }
 
-        // Default to CAFE for any coffee-related OSM entry
-        return PosType.CAFE;
+    private static void validateQuery(@NonNull PosQuery query) {
+        if (query.limit() < 1 || query.limit() > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Query limit must be between 1 and " + MAX_PAGE_SIZE + ".");
+        }
+        if (query.postalCodeFrom() != null && query.postalCodeTo() != null
+                && query.postalCodeFrom() > query.postalCodeTo()) {
+            throw new IllegalArgumentException("Postal code range must not be empty.");
+        }
     }
 
     /**
-     * Determines the campus type from city information and OSM tags.
-     * Currently defaults to ALTSTADT for Heidelberg and uses other campus types for known regions.
+     * Converts and persists a single node fetched during a bulk import.
      *
-     * @param city the city name from OSM
-     * @param osmNode the OSM node
-     * @return the determined campus type
+     * @param nodeId the requested node ID
+     * @param osmNode the fetched node; null if it was not found
+     * @return the result for this node
      */
-    private CampusType determineCampusType(@NonNull String city, @NonNull OsmNode osmNode) {
-        if (!city.equalsIgnoreCase("Heidelberg")) {
-            return CampusType.ALTSTADT; // Default for non-Heidelberg cities
+    private @NonNull OsmImportResult importFetchedNode(@NonNull Long nodeId, OsmNode osmNode) {
+        try {
+            if (osmNode == null) {
+                throw new OsmNodeNotFoundException(nodeId);
+            }
+            return OsmImportResult.builder()
+                    .nodeId(nodeId)
+                    .pos(importPos(OsmNodeConverter.toPos(osmNode)))
+                    .build();
+        } catch (OsmNodeNotFoundException | OsmNodeMissingFieldsException | DuplicatePosNameException
+                 | PosVersionConflictException | IllegalArgumentException e) {
+            log.warn("Failed to import OSM node {}: {}", nodeId, e.getMessage());
+            return OsmImportResult.builder()
+                    .nodeId(nodeId)
+                    .error(e.getMessage())
+                    .build();
         }
+    }
 
-        // For Heidelberg, check district or default to ALTSTADT
-        String district = osmNode.getTag("addr:district");
-        if (district != null) {
-            return switch (district.toLowerCase()) {
-                case "bergheim" -> CampusType.BERGHEIM;
-                case "inf" -> CampusType.INF;
-                case "neuenheim" -> CampusType.INF;
-                default -> CampusType.ALTSTADT;
-            };
+    /**
+     * Converts a changed node fetched during a sync and updates the POS imported from it.
+     * The POS is updated by ID regardless of its version, so that a renamed node does not create a new POS.
+     *
+     * @param nodeVersion the POS and the node version at its last import or sync
+     * @param osmNode the current node
+     * @return true if the POS was updated, false if the node could not be converted or persisted
+     */
+    private boolean syncFetchedNode(@NonNull OsmNodeVersion nodeVersion, @NonNull OsmNode osmNode) {
+        try {
+            Pos syncedPos = OsmNodeConverter.toPos(osmNode).toBuilder()
+                    .id(nodeVersion.posId())
+                    .build();
+            validateLocation(syncedPos);
+            posDataService.upsert(syncedPos);
+            log.debug("Updated POS {} from OSM node {} (version {} -> {})",
+                    nodeVersion.posId(), osmNode.nodeId(), nodeVersion.version(), osmNode.version());
+            return true;
+        } catch (OsmNodeMissingFieldsException | DuplicatePosNameException | PosNotFoundException
+                 | IllegalArgumentException e) {
+            log.warn("Failed to sync POS {} with OSM node {}: {}", nodeVersion.posId(), osmNode.nodeId(), e.getMessage());
+            return false;
         }
+    }
 
-        return CampusType.ALTSTADT; // Default campus
+    /**
+     * Persists a POS converted from an OpenStreetMap node, using the name as natural key:
+     * re-importing a POS updates the POS with the same name in a single data store operation.
+     * If no POS has the same name, but a POS at the same normalized address was imported from the same node,
+     * the node was renamed, and that POS is updated instead (failing if it was changed concurrently).
+     * Other POS at the same address are only logged as possible duplicates; they may well be different POS
+     * in the same building and are listed by {@link #findDuplicates()}.
+     *
+     * @param importedPos the converted POS without ID
+     * @return the created or updated POS
+     */
+    private @NonNull Pos importPos(@NonNull Pos importedPos) {
+        validateLocation(importedPos);
+        List<Pos> duplicateCandidates = posDataService.findDuplicateCandidates(importedPos);
+        boolean sameNameAtAddress = duplicateCandidates.stream()
+                .anyMatch(candidate -> candidate.name().equals(importedPos.name()));
+        if (!sameNameAtAddress) {
+            Pos renamedPos = duplicateCandidates.stream()
+                    .filter(candidate -> candidate.osmNodeId() != null
+                            && candidate.osmNodeId().equals(importedPos.osmNodeId()))
+                    .findFirst()
+                    .orElse(null);
+            if (renamedPos != null) {
+                log.info("Updating POS with ID {} imported from the same OSM node under a different name", renamedPos.id());
+                return performUpsert(importedPos.toBuilder()
+                        .id(renamedPos.id())
+                        .version(renamedPos.version())
+                        .build());
+            }
+            if (!duplicateCandidates.isEmpty()) {
+                log.warn("POS '{}' has the same address as POS {}; possible duplicate",
+                        importedPos.name(), duplicateCandidates.stream().map(Pos::id).toList());
+            }
+        }
+        Pos upsertedPos = posDataService.upsertByName(importedPos);
+        log.info("Successfully upserted POS '{}' with ID: {}", upsertedPos.name(), upsertedPos.id());
+        return upsertedPos;
+    }
+
+    /**
+     * State of a running extract import: receives the streamed nodes, converts the POS nodes,
+     * and persists them whenever a batch is full. Not thread-safe; used by a single import.
+     */
+    private final class ExtractImport implements OsmDataService.NodeConsumer {
+        private final Consumer<OsmExtractImportReport> progressListener;
+        private final long startNanos = System.nanoTime();
+        private final List<Pos> batch = new ArrayList<>(OSM_EXTRACT_BATCH_SIZE);
+        private long nodesRead;
+        private long posNodes;
+        private long imported;
+        private long skipped;
+
+        ExtractImport(Consumer<OsmExtractImportReport> progressListener) {
+            this.progressListener = progressListener;
+        }
+
+        @Override
+        public void accept(OsmNode osmNode) {
+            countNodesRead(1);
+            if (OsmNodeConverter.isPos(osmNode)) {
+                posNodes++;
+                try {
+                    Pos pos = OsmNodeConverter.toPos(osmNode);
+                    validateLocation(pos);
+                    batch.add(pos);
+                } catch (OsmNodeMissingFieldsException | IllegalArgumentException e) {
+                    log.debug("Skipping OSM node {}: {}", osmNode.nodeId(), e.getMessage());
+                    skipped++;
+                }
+                if (batch.size() == OSM_EXTRACT_BATCH_SIZE) {
+                    flush();
+                }
+            }
+        }
+
+        @Override
+        public void filteredOut(long count) {
+            countNodesRead(count);
+        }
+
+        /**
+         * Persists the last, incomplete batch.
+         *
+         * @return the final report
+         */
+        OsmExtractImportReport finish() {
+            if (!batch.isEmpty()) {
+                flush();
+            }
+            OsmExtractImportReport report = report();
+            log.info("Extract import finished: {} nodes read, {} POS imported, {} skipped in {} s ({} rows/s)",
+                    report.nodesRead(), report.imported(), report.skipped(),
+                    report.elapsed().toMillis() / 1000.0, Math.round(report.rowsPerSecond()));
+            return report;
+        }
+
+        /**
+         * Counts read nodes and reports the progress whenever another {@link #EXTRACT_PROGRESS_INTERVAL} nodes were read.
+         */
+        private void countNodesRead(long count) {
+            long previous = nodesRead;
+            nodesRead += count;
+            if (previous / EXTRACT_PROGRESS_INTERVAL != nodesRead / EXTRACT_PROGRESS_INTERVAL) {
+                progressListener.accept(report());
+            }
+        }
+
+        private void flush() {
+            // nodes with the same name are folded into one POS, so count the upserted POS rather than the batch
+            imported += posDataService.upsertAllByName(List.copyOf(batch)).size();
+            batch.clear();
+            progressListener.accept(report());
+        }
+
+        private OsmExtractImportReport report() {
+            return OsmExtractImportReport.builder()
+                    .nodesRead(nodesRead)
+                    .posNodes(posNodes)
+                    .imported(imported)
+                    .skipped(skipped)
+                    .elapsed(Duration.ofNanos(System.nanoTime() - startNanos))
+                    .build();
+        }
     }
 
     /**
@@ -220,7 +514,11 @@ public class PosServiceImpl implements PosService {
     private @NonNull Pos performUpsert(@NonNull Pos pos) throws DuplicatePosNameException {
         try {
             Pos upsertedPos = posDataService.upsert(pos);
-            log.info("Successfully upserted POS with ID: {}", upsertedPos.id());
+            if (pos.id() == null) {
+                log.info("Successfully created POS '{}' with ID: {}", upsertedPos.name(), upsertedPos.id());
+            } else {
+                log.info("Successfully updated POS with ID: {}", upsertedPos.id());
+            }
             return upsertedPos;
         } catch (DuplicatePosNameException e) {
             log.error("Error upserting POS '{}': {}", pos.name(), e.getMessage());
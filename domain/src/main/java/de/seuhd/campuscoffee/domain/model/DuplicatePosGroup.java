@@ -0,0 +1,17 @@
+package de.seuhd.campuscoffee.domain.model;
+
+import lombok.Builder;
+import org.jspecify.annotations.NonNull;
+
+import java.util.List;
+
+/**
+ * Domain record for POS that share the same normalized address and are therefore likely duplicates,
+ * e.g., the same café imported twice under slightly different names.
+ *
+ * @param pos the POS at the same address, ordered by ID; at least two
+ */
+@Builder
+public record DuplicatePosGroup(
+        @NonNull List<Pos> pos
+) {}
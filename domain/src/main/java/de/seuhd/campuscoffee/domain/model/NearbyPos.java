@@ -0,0 +1,16 @@
+package de.seuhd.campuscoffee.domain.model;
+
+import lombok.Builder;
+import org.jspecify.annotations.NonNull;
+
+/**
+ * Domain record for a POS found by a nearest-neighbor search, together with its distance to the search location.
+ *
+ * @param pos            the POS; its location is always known
+ * @param distanceMeters the great-circle distance between the search location and the POS in meters
+ */
+@Builder
+public record NearbyPos(
+        @NonNull Pos pos,
+        double distanceMeters
+) {}
@@ -0,0 +1,35 @@
+package de.seuhd.campuscoffee.domain.model;
+
+import lombok.Builder;
+import org.jspecify.annotations.NonNull;
+
+import java.time.Duration;
+
+/**
+ * Progress or final report of an import of POS from an OpenStreetMap XML extract.
+ *
+ * @param nodesRead the number of nodes read from the extract so far
+ * @param posNodes  the number of nodes tagged as a POS (café, bakery, or vending machine)
+ * @param imported  the number of POS that were created or updated; POS nodes with the same name as another node of the
+ *                  same batch are folded into one POS, so this may be lower than {@code posNodes - skipped}
+ * @param skipped   the number of POS nodes that could not be converted (e.g., because the address is incomplete)
+ * @param elapsed   the time since the import started
+ */
+@Builder
+public record OsmExtractImportReport(
+        long nodesRead,
+        long posNodes,
+        long imported,
+        long skipped,
+        @NonNull Duration elapsed
+) {
+    /**
+     * Returns the write throughput of the import.
+     *
+     * @return the number of imported POS per second; 0 if no time has elapsed
+     */
+    public double rowsPerSecond() {
+        long nanos = elapsed.toNanos();
+        return nanos == 0 ? 0 : imported * 1e9 / nanos;
+    }
+}
@@ -0,0 +1,38 @@
+package de.seuhd.campuscoffee.domain.model;
+
+import lombok.Builder;
+import org.jspecify.annotations.NonNull;
+
+import java.util.List;
+
+/**
+ * Report of a bulk import of OpenStreetMap nodes with one result per requested node.
+ *
+ * @param results the per-node results in the order in which the nodes were requested
+ */
+@Builder
+public record OsmImportReport(
+        @NonNull List<OsmImportResult> results
+) {
+    public OsmImportReport {
+        results = List.copyOf(results);
+    }
+
+    /**
+     * Returns the number of nodes that were imported successfully.
+     *
+     * @return the number of imported nodes
+     */
+    public int importedCount() {
+        return (int) results.stream().filter(OsmImportResult::isSuccess).count();
+    }
+
+    /**
+     * Returns the number of nodes that could not be imported.
+     *
+     * @return the number of failed nodes
+     */
+    public int failedCount() {
+        return results.size() - importedCount();
+    }
+}
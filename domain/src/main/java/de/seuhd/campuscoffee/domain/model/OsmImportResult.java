@@ -0,0 +1,29 @@
+package de.seuhd.campuscoffee.domain.model;
+
+import lombok.Builder;
+import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Result of importing a single OpenStreetMap node as part of a bulk import.
+ * Exactly one of {@code pos} and {@code error} is set.
+ *
+ * @param nodeId the OpenStreetMap node ID
+ * @param pos    the created or updated POS; null if the import of this node failed
+ * @param error  the reason why the import of this node failed; null if it succeeded
+ */
+@Builder
+public record OsmImportResult(
+        @NonNull Long nodeId,
+        @Nullable Pos pos,
+        @Nullable String error
+) {
+    /**
+     * Convenience method to check whether the node was imported successfully.
+     *
+     * @return true if the node was imported, false otherwise
+     */
+    public boolean isSuccess() {
+        return pos != null;
+    }
+}
@@ -13,11 +13,17 @@ import java.util.Map;
  *
  * @param nodeId The OpenStreetMap node ID.
  * @param tags A map of OSM tags (name, address:street, address:housenumber, etc.)
+ * @param latitude The WGS 84 latitude of the node in degrees; null if unknown.
+ * @param longitude The WGS 84 longitude of the node in degrees; null if unknown.
+ * @param version The version of the node, incremented by OpenStreetMap on every edit; null if unknown.
  */
 @Builder(toBuilder = true)
 public record OsmNode(
         @NonNull Long nodeId,
-        @NonNull Map<String, String> tags
+        @NonNull Map<String, String> tags,
+        @Nullable Double latitude,
+        @Nullable Double longitude,
+        @Nullable Long version
 ) {
     public OsmNode {
         // Defensive copy to ensure immutability
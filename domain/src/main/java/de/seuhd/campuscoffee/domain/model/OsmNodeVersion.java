@@ -0,0 +1,20 @@
+package de.seuhd.campuscoffee.domain.model;
+
+import lombok.Builder;
+import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Domain record that links a POS to the OpenStreetMap node it was imported from.
+ * Comparing the stored node version with the current one reveals whether the POS is outdated.
+ *
+ * @param posId   the ID of the POS
+ * @param nodeId  the OpenStreetMap node ID
+ * @param version the version of the node at the last import or sync; null if unknown
+ */
+@Builder
+public record OsmNodeVersion(
+        @NonNull Long posId,
+        @NonNull Long nodeId,
+        @Nullable Long version
+) {}
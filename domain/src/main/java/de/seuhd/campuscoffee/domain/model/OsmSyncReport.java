@@ -0,0 +1,21 @@
+package de.seuhd.campuscoffee.domain.model;
+
+import lombok.Builder;
+
+/**
+ * Report of a synchronization of the imported POS with the current OpenStreetMap data.
+ *
+ * @param checked   the number of imported POS whose node was looked up
+ * @param updated   the number of POS that were updated because their node has a new version
+ * @param unchanged the number of POS whose node has the same version as at the last import or sync
+ * @param missing   the number of POS whose node could not be fetched (e.g., because it was deleted); they are kept
+ * @param failed    the number of POS whose changed node could not be converted or persisted
+ */
+@Builder
+public record OsmSyncReport(
+        int checked,
+        int updated,
+        int unchanged,
+        int missing,
+        int failed
+) {}
@@ -16,6 +16,8 @@ import java.time.LocalDateTime;
  * @param id          the unique identifier; null when the POS has not been created yet
  * @param createdAt   timestamp set on POS creation
  * @param updatedAt   timestamp set on POS creation and update
+ * @param version     the version for optimistic concurrency control, incremented by each update;
+ *                    null when the POS has not been created yet or to update it regardless of its version
  * @param name        the name of the POS
  * @param description a description of the POS
  * @param type        the type of POS (cafe, bakery, etc.)
@@ -24,12 +26,17 @@ import java.time.LocalDateTime;
  * @param houseNumber house number (may include suffix such as "21a")
  * @param postalCode  postal code
  * @param city        city name
+ * @param latitude    WGS 84 latitude in degrees; null if the location is unknown
+ * @param longitude   WGS 84 longitude in degrees; null if the location is unknown
+ * @param osmNodeId   the OpenStreetMap node the POS was imported from; null if it was not imported
+ * @param osmVersion  the version of the OpenStreetMap node at the last import or sync; null if unknown
  */
 @Builder(toBuilder = true)
 public record Pos(
         @Nullable Long id,
         @Nullable LocalDateTime createdAt,
         @Nullable LocalDateTime updatedAt,
+        @Nullable Long version,
         @NonNull String name,
         @NonNull String description,
         @NonNull PosType type,
@@ -37,8 +44,21 @@ public record Pos(
         @NonNull String street,
         @NonNull String houseNumber,
         @NonNull Integer postalCode,
-        @NonNull String city
+        @NonNull String city,
+        @Nullable Double latitude,
+        @Nullable Double longitude,
+        @Nullable Long osmNodeId,
+        @Nullable Long osmVersion
 ) implements Serializable { // serializable to allow cloning (see TestFixtures class).
     @Serial
     private static final long serialVersionUID = 1L;
+
+    /**
+     * Convenience method to check whether the location of the POS is known.
+     *
+     * @return true if latitude and longitude are set, false otherwise
+     */
+    public boolean hasLocation() {
+        return latitude != null && longitude != null;
+    }
 }
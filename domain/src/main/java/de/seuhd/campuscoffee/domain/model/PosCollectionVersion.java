@@ -0,0 +1,22 @@
+package de.seuhd.campuscoffee.domain.model;
+
+import lombok.Builder;
+import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
+
+import java.time.LocalDateTime;
+
+/**
+ * Domain record that identifies the current state of the collection of all POS.
+ * Every create or update changes the latest update timestamp, and clearing all POS changes the count,
+ * so two equal versions describe the same collection. This allows clients to detect changes
+ * without retrieving all POS.
+ *
+ * @param count         the number of POS
+ * @param lastUpdatedAt the latest update timestamp of all POS; null if there are no POS
+ */
+@Builder
+public record PosCollectionVersion(
+        @NonNull Long count,
+        @Nullable LocalDateTime lastUpdatedAt
+) {}
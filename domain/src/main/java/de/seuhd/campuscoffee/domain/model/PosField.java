@@ -0,0 +1,92 @@
+package de.seuhd.campuscoffee.domain.model;
+
+import org.jspecify.annotations.NonNull;
+
+import java.util.Set;
+
+/**
+ * Enum for the fields of a {@link Pos}, used to read only some of them (sparse fieldsets).
+ * Fields that are not selected are null in the returned POS; the ID is always selected.
+ */
+public enum PosField {
+    ID("id"),
+    CREATED_AT("createdAt"),
+    UPDATED_AT("updatedAt"),
+    VERSION("version"),
+    NAME("name"),
+    DESCRIPTION("description"),
+    TYPE("type"),
+    CAMPUS("campus"),
+    STREET("street"),
+    HOUSE_NUMBER("houseNumber"),
+    POSTAL_CODE("postalCode"),
+    CITY("city"),
+    LATITUDE("latitude"),
+    LONGITUDE("longitude"),
+    OSM_NODE_ID("osmNodeId"),
+    OSM_VERSION("osmVersion");
+
+    private final String propertyName;
+
+    PosField(String propertyName) {
+        this.propertyName = propertyName;
+    }
+
+    /**
+     * Returns the name of the field as in {@link Pos}, e.g., {@code houseNumber}.
+     *
+     * @return the property name
+     */
+    public @NonNull String getPropertyName() {
+        return propertyName;
+    }
+
+    /**
+     * Looks up a field by its property name (see {@link #getPropertyName()}).
+     *
+     * @param propertyName the property name
+     * @return the field
+     * @throws IllegalArgumentException if there is no field with this name
+     */
+    public static @NonNull PosField fromPropertyName(@NonNull String propertyName) {
+        for (PosField field : values()) {
+            if (field.propertyName.equals(propertyName)) {
+                return field;
+            }
+        }
+        throw new IllegalArgumentException("Unknown POS field: " + propertyName);
+    }
+
+    /**
+     * Copies the selected fields of a POS into a new POS whose other fields are null.
+     * This is for POS that are already in memory; POS from the data store should be read with only the selected fields.
+     *
+     * @param pos    the POS
+     * @param fields the fields to copy; the ID is always copied
+     * @return the POS with only the selected fields
+     */
+    public static @NonNull Pos project(@NonNull Pos pos, @NonNull Set<PosField> fields) {
+        Pos.PosBuilder projected = Pos.builder().id(pos.id());
+        for (PosField field : fields) {
+            switch (field) {
+                case ID -> {}
+                case CREATED_AT -> projected.createdAt(pos.createdAt());
+                case UPDATED_AT -> projected.updatedAt(pos.updatedAt());
+                case VERSION -> projected.version(pos.version());
+                case NAME -> projected.name(pos.name());
+                case DESCRIPTION -> projected.description(pos.description());
+                case TYPE -> projected.type(pos.type());
+                case CAMPUS -> projected.campus(pos.campus());
+                case STREET -> projected.street(pos.street());
+                case HOUSE_NUMBER -> projected.houseNumber(pos.houseNumber());
+                case POSTAL_CODE -> projected.postalCode(pos.postalCode());
+                case CITY -> projected.city(pos.city());
+                case LATITUDE -> projected.latitude(pos.latitude());
+                case LONGITUDE -> projected.longitude(pos.longitude());
+                case OSM_NODE_ID -> projected.osmNodeId(pos.osmNodeId());
+                case OSM_VERSION -> projected.osmVersion(pos.osmVersion());
+            }
+        }
+        return projected.build();
+    }
+}
@@ -0,0 +1,34 @@
+package de.seuhd.campuscoffee.domain.model;
+
+import lombok.Builder;
+import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
+
+import java.util.List;
+
+/**
+ * Domain record for one page of POS retrieved via keyset (cursor) pagination.
+ * POS are ordered by their ID or, for a {@link PosQuery}, in the requested order; the cursor is the ID of the last POS
+ * on the page.
+ *
+ * @param items      the POS on this page, ordered by ascending ID or in the requested order
+ * @param nextCursor the cursor to pass as {@code after} to retrieve the next page; null if this is the last page
+ */
+@Builder
+public record PosPage(
+        @NonNull List<Pos> items,
+        @Nullable Long nextCursor
+) {
+    public PosPage {
+        items = List.copyOf(items);
+    }
+
+    /**
+     * Convenience method to check if there is another page after this one.
+     *
+     * @return true if a next page exists, false otherwise
+     */
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+}
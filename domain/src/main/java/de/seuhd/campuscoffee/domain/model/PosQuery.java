@@ -0,0 +1,33 @@
+package de.seuhd.campuscoffee.domain.model;
+
+import lombok.Builder;
+import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Domain record for a filtered and sorted POS query.
+ * All filter criteria are optional and combined with AND; a null criterion matches every POS.
+ *
+ * @param campus         only POS on this campus
+ * @param type           only POS of this type
+ * @param city           only POS in this city (exact match)
+ * @param postalCodeFrom only POS with a postal code greater than or equal to this value
+ * @param postalCodeTo   only POS with a postal code less than or equal to this value
+ * @param sortKey        the attribute to sort by
+ * @param descending     whether to sort in descending instead of ascending order
+ * @param after          the cursor, i.e., the ID of the last POS of the previous page; the results continue after
+ *                       this POS in the requested order; null to start with the first page
+ * @param limit          the maximum number of POS to return
+ */
+@Builder(toBuilder = true)
+public record PosQuery(
+        @Nullable CampusType campus,
+        @Nullable PosType type,
+        @Nullable String city,
+        @Nullable Integer postalCodeFrom,
+        @Nullable Integer postalCodeTo,
+        @NonNull PosSortKey sortKey,
+        boolean descending,
+        @Nullable Long after,
+        int limit
+) {}
@@ -0,0 +1,13 @@
+package de.seuhd.campuscoffee.domain.model;
+
+/**
+ * Enum for the attributes by which POS query results can be sorted.
+ * Results with equal sort values are always ordered by ID.
+ */
+public enum PosSortKey {
+    ID,
+    NAME,
+    CITY,
+    POSTAL_CODE,
+    UPDATED_AT
+}
@@ -2,8 +2,16 @@ package de.seuhd.campuscoffee.domain.ports;
 
 import de.seuhd.campuscoffee.domain.model.OsmNode;
 import de.seuhd.campuscoffee.domain.exceptions.OsmNodeNotFoundException;
+import de.seuhd.campuscoffee.domain.exceptions.OsmServiceUnavailableException;
 import org.jspecify.annotations.NonNull;
 
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.BiPredicate;
+import java.util.function.Consumer;
+
 /**
  * Port for importing Point of Sale data from OpenStreetMap.
  * This interface defines the contract for fetching OSM node data.
@@ -16,6 +24,73 @@ public interface OsmDataService {
      * @param nodeId the OpenStreetMap node ID to fetch
      * @return the OSM node data with tags
      * @throws OsmNodeNotFoundException if the node doesn't exist or can't be fetched
+     * @throws OsmServiceUnavailableException if the OSM API is temporarily unavailable
+     */
+    @NonNull OsmNode fetchNode(@NonNull Long nodeId) throws OsmNodeNotFoundException, OsmServiceUnavailableException;
+
+    /**
+     * Fetches multiple OpenStreetMap nodes by their IDs.
+     * Implementations should fetch the nodes in as few requests as possible.
+     * Nodes that don't exist are omitted from the result; other errors, such as an invalid response, are thrown
+     * instead of being reported as missing nodes.
+     *
+     * @param nodeIds the OpenStreetMap node IDs to fetch
+     * @return the OSM nodes that were found, in no particular order; never null, but may be empty
+     * @throws OsmServiceUnavailableException if the OSM API is temporarily unavailable
+     */
+    @NonNull List<OsmNode> fetchNodes(@NonNull Collection<Long> nodeIds) throws OsmServiceUnavailableException;
+
+    /**
+     * Fetches the current state of multiple OpenStreetMap nodes, like {@link #fetchNodes(Collection)}.
+     * In contrast to {@link #fetchNodes(Collection)}, implementations must not answer from a cache,
+     * since the result is used to detect changed nodes; they may refresh their cache with the result.
+     *
+     * @param nodeIds the OpenStreetMap node IDs to fetch
+     * @return the OSM nodes that were found, in no particular order; never null, but may be empty
+     * @throws OsmServiceUnavailableException if the OSM API is temporarily unavailable
+     */
+    @NonNull List<OsmNode> fetchCurrentNodes(@NonNull Collection<Long> nodeIds) throws OsmServiceUnavailableException;
+
+    /**
+     * Reads all nodes from an OpenStreetMap XML document, e.g., a regional extract, without contacting the OSM API.
+     * Implementations must stream the document: each node is passed to the consumer as soon as it has been read,
+     * so that memory usage does not depend on the size of the document.
+     *
+     * @param document the OSM XML document; not closed by this method
+     * @param consumer the consumer that receives the nodes in document order
+     * @return the number of nodes read
+     * @throws IllegalArgumentException if the document is not well-formed OSM XML or cannot be read;
+     *                                  the nodes read before were already passed to the consumer
+     */
+    long readNodes(@NonNull InputStream document, @NonNull Consumer<OsmNode> consumer);
+
+    /**
+     * Reads the nodes of a local OpenStreetMap PBF file, the binary format of regional and country extracts,
+     * without contacting the OSM API. Only nodes with at least one tag accepted by the tag filter are materialized
+     * and passed to the consumer; all other nodes are only counted (see {@link NodeConsumer#filteredOut(long)}).
+     * Implementations may decode the file in parallel, but must call the consumer from the calling thread, in file order,
+     * and bound their memory usage independent of the size of the file.
+     *
+     * @param extract   the path of the PBF file
+     * @param tagFilter accepts the tags (key and value) that qualify a node for materialization
+     * @param consumer  the consumer that receives the materialized nodes in file order
+     * @return the number of nodes read, including the filtered-out nodes
+     * @throws IllegalArgumentException if the file cannot be read or is not a valid OSM PBF file;
+     *                                  the nodes read before were already passed to the consumer
+     */
+    long readPbfNodes(@NonNull Path extract, @NonNull BiPredicate<String, String> tagFilter,
+                      @NonNull NodeConsumer consumer);
+
+    /**
+     * Consumer of the nodes read from an OpenStreetMap extract that is also notified of the nodes that the reader
+     * skipped without materializing them.
      */
-    @NonNull OsmNode fetchNode(@NonNull Long nodeId) throws OsmNodeNotFoundException;
+    interface NodeConsumer extends Consumer<OsmNode> {
+        /**
+         * Called after nodes were skipped because none of their tags matched the tag filter.
+         *
+         * @param count the number of skipped nodes
+         */
+        default void filteredOut(long count) {}
+    }
 }
@@ -1,10 +1,22 @@
 package de.seuhd.campuscoffee.domain.ports;
 
+import de.seuhd.campuscoffee.domain.model.DuplicatePosGroup;
+import de.seuhd.campuscoffee.domain.model.NearbyPos;
+import de.seuhd.campuscoffee.domain.model.OsmNodeVersion;
 import de.seuhd.campuscoffee.domain.model.Pos;
+import de.seuhd.campuscoffee.domain.exceptions.DuplicatePosNameException;
 import de.seuhd.campuscoffee.domain.exceptions.PosNotFoundException;
+import de.seuhd.campuscoffee.domain.exceptions.PosVersionConflictException;
+import de.seuhd.campuscoffee.domain.model.PosCollectionVersion;
+import de.seuhd.campuscoffee.domain.model.PosField;
+import de.seuhd.campuscoffee.domain.model.PosPage;
+import de.seuhd.campuscoffee.domain.model.PosQuery;
 import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
 
 import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
 
 /**
  * Port interface for POS data operations.
@@ -28,6 +40,120 @@ public interface PosDataService {
      */
     @NonNull List<Pos> getAll();
 
+    /**
+     * Retrieves all POS entities with only the given fields (see {@link PosField}).
+     * Implementations must read only the columns of these fields from the data store.
+     *
+     * @param fields the fields to read; the ID is always read
+     * @return a list of all POS entities, whose other fields are null; never null, but may be empty
+     */
+    @NonNull List<Pos> getAll(@NonNull Set<PosField> fields);
+
+    /**
+     * Determines the version of the collection of all POS entities without loading them.
+     *
+     * @return the count and latest update timestamp of all POS; never null
+     */
+    @NonNull PosCollectionVersion getVersion();
+
+    /**
+     * Retrieves one page of POS entities ordered by ID using keyset (cursor) pagination.
+     * Only POS with an ID greater than {@code after} are returned, so the cost of a page
+     * does not depend on its position in the data store.
+     *
+     * @param after the ID of the last POS of the previous page; null to start with the first page
+     * @param limit the maximum number of POS on the page; must be positive
+     * @return the requested page; never null, but its items may be empty
+     */
+    @NonNull PosPage getPage(@Nullable Long after, int limit);
+
+    /**
+     * Retrieves one page of POS entities like {@link #getPage(Long, int)}, with only the given fields.
+     *
+     * @param after  the ID of the last POS of the previous page; null to start with the first page
+     * @param limit  the maximum number of POS on the page; must be positive
+     * @param fields the fields to read; the ID is always read
+     * @return the requested page, whose POS have null in all other fields; never null, but its items may be empty
+     */
+    @NonNull PosPage getPage(@Nullable Long after, int limit, @NonNull Set<PosField> fields);
+
+    /**
+     * Retrieves one page of the POS entities matching the filter criteria of the query, sorted as requested.
+     * Implementations must filter, sort, and limit in the data store rather than in memory. If the query has a
+     * cursor, the page starts after the POS of the cursor in the requested order (keyset pagination).
+     *
+     * @param query the filter criteria, sort order, cursor, and limit; the limit must be positive
+     * @return the matching POS in the requested order with the cursor for the next page; never null
+     * @throws IllegalArgumentException if the POS of the cursor no longer exists
+     */
+    @NonNull PosPage find(@NonNull PosQuery query);
+
+    /**
+     * Retrieves the POS entities matching the query like {@link #find(PosQuery)}, with only the given fields.
+     *
+     * @param query  the filter criteria, sort order, cursor, and limit; the limit must be positive
+     * @param fields the fields to read; the ID is always read
+     * @return the matching POS in the requested order, whose other fields are null, with the cursor for the next page;
+     *         never null
+     * @throws IllegalArgumentException if the POS of the cursor no longer exists
+     */
+    @NonNull PosPage find(@NonNull PosQuery query, @NonNull Set<PosField> fields);
+
+    /**
+     * Searches POS entities by keywords in their name and description.
+     *
+     * @param query the search query; must not be blank
+     * @param limit the maximum number of POS to return; must be positive
+     * @return the matching POS ordered by descending relevance; never null
+     */
+    @NonNull List<Pos> search(@NonNull String query, int limit);
+
+    /**
+     * Finds the POS entities closest to the given location using a spatial index.
+     * POS without a known location are ignored.
+     *
+     * @param latitude  the WGS 84 latitude of the search location in degrees
+     * @param longitude the WGS 84 longitude of the search location in degrees
+     * @param k         the maximum number of POS to return; must be positive
+     * @return up to {@code k} POS ordered by ascending distance; never null
+     */
+    @NonNull List<NearbyPos> findNearest(double latitude, double longitude, int k);
+
+    /**
+     * Finds the POS entities at the same normalized address as the given POS (ignoring case, whitespace,
+     * punctuation, and common spelling variants such as "Str." for "Straße").
+     * Implementations must answer this with an index lookup in constant time, since it is called on every create
+     * and import.
+     *
+     * @param pos the POS to check; it does not need to be persisted
+     * @return the other POS at the same address, ordered by ID; never null, but usually empty
+     */
+    @NonNull List<Pos> findDuplicateCandidates(@NonNull Pos pos);
+
+    /**
+     * Finds all groups of POS entities that share the same normalized address (see {@link #findDuplicateCandidates(Pos)}).
+     *
+     * @return the groups of likely duplicates, ordered by the smallest ID in each group; never null
+     */
+    @NonNull List<DuplicatePosGroup> findDuplicates();
+
+    /**
+     * Retrieves the OpenStreetMap node and node version of all POS imported from OpenStreetMap.
+     * Implementations should read only these fields instead of loading the POS entities.
+     *
+     * @return the node versions of all imported POS, ordered by node ID; never null, but may be empty
+     */
+    @NonNull List<OsmNodeVersion> getOsmNodeVersions();
+
+    /**
+     * Passes all POS entities in the data store to the given consumer, one at a time and ordered by ID.
+     * In contrast to {@link #getAll()}, the POS are not collected in memory, i.e., implementations
+     * should read them incrementally (e.g., using a database cursor).
+     *
+     * @param consumer the consumer that receives each POS; must not be null
+     */
+    void forEach(@NonNull Consumer<Pos> consumer);
+
     /**
      * Retrieves a single POS entity by its unique identifier.
      *
@@ -37,14 +163,61 @@ public interface PosDataService {
      */
     @NonNull Pos getById(@NonNull Long id) throws PosNotFoundException;
 
+    /**
+     * Retrieves a single POS entity by its unique identifier, with only the given fields.
+     *
+     * @param id     the unique identifier of the POS to retrieve; must not be null
+     * @param fields the fields to read; the ID is always read
+     * @return the POS entity with the specified ID, whose other fields are null; never null
+     * @throws PosNotFoundException if no POS exists with the given ID
+     */
+    @NonNull Pos getById(@NonNull Long id, @NonNull Set<PosField> fields) throws PosNotFoundException;
+
     /**
      * Creates a new POS or updates an existing one.
      * If the POS has an ID and exists in the data store, it will be updated.
      * If the POS has no ID (null), a new POS will be created.
+     * If the POS to update has a version, the update only takes effect if the stored POS has the same version.
+     * Implementations should check existence and version in the same statement as the update.
      *
      * @param pos the POS entity to create or update; must not be null
-     * @return the persisted POS entity with updated timestamps and ID; never null
+     * @return the persisted POS entity with updated timestamps, version, and ID; never null
+     * @throws PosNotFoundException if attempting to update a POS that does not exist
+     * @throws PosVersionConflictException if the version of the POS to update does not match the stored version
+     */
+    @NonNull Pos upsert(@NonNull Pos pos) throws PosNotFoundException, PosVersionConflictException;
+
+    /**
+     * Creates a POS or, if a POS with the same name exists, updates that POS, using the name as natural key.
+     * In contrast to {@link #upsert(Pos)}, an existing name is not an error; implementations should
+     * decide between insert and update atomically in the data store (e.g., with a single statement).
+     *
+     * @param pos the POS to create or update; its ID and version are ignored
+     * @return the persisted POS with the ID of the created or updated POS; never null
+     */
+    @NonNull Pos upsertByName(@NonNull Pos pos);
+
+    /**
+     * Creates or updates multiple POS like {@link #upsertByName(Pos)}, in a single transaction.
+     * Implementations should send the statements to the data store in a single batch.
+     * If the list contains several POS with the same name, the last one wins.
+     *
+     * @param posList the POS to create or update; their IDs and versions are ignored
+     * @return the persisted POS, one per distinct name, in no particular order; never null
+     */
+    @NonNull List<Pos> upsertAllByName(@NonNull List<Pos> posList);
+
+    /**
+     * Creates or updates multiple POS entities in a single transaction.
+     * POS without an ID are created, POS with an ID are updated (see {@link #upsert(Pos)}).
+     * Implementations should send the writes to the data store in batches.
+     * If any POS cannot be written, none of them is.
+     *
+     * @param posList the POS entities to create or update; must not be null
+     * @return the persisted POS entities in the same order; never null
      * @throws PosNotFoundException if attempting to update a POS that does not exist
+     * @throws DuplicatePosNameException if a POS name already exists
+     * @throws PosVersionConflictException if the version of a POS to update does not match the stored version
      */
-    @NonNull Pos upsert(@NonNull Pos pos) throws PosNotFoundException;
+    @NonNull List<Pos> upsertAll(@NonNull List<Pos> posList) throws PosNotFoundException, DuplicatePosNameException, PosVersionConflictException;
 }
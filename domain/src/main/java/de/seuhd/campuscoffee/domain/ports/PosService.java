@@ -4,11 +4,28 @@ package de.seuhd.campuscoffee.domain.ports;
 import de.seuhd.campuscoffee.domain.exceptions.DuplicatePosNameException;
 import de.seuhd.campuscoffee.domain.exceptions.OsmNodeMissingFieldsException;
 import de.seuhd.campuscoffee.domain.exceptions.OsmNodeNotFoundException;
+import de.seuhd.campuscoffee.domain.exceptions.OsmServiceUnavailableException;
 import de.seuhd.campuscoffee.domain.exceptions.PosNotFoundException;
+import de.seuhd.campuscoffee.domain.exceptions.PosVersionConflictException;
+import de.seuhd.campuscoffee.domain.model.DuplicatePosGroup;
+import de.seuhd.campuscoffee.domain.model.NearbyPos;
+import de.seuhd.campuscoffee.domain.model.OsmExtractImportReport;
+import de.seuhd.campuscoffee.domain.model.OsmImportReport;
+import de.seuhd.campuscoffee.domain.model.OsmSyncReport;
 import de.seuhd.campuscoffee.domain.model.Pos;
+import de.seuhd.campuscoffee.domain.model.PosCollectionVersion;
+import de.seuhd.campuscoffee.domain.model.PosField;
+import de.seuhd.campuscoffee.domain.model.PosPage;
+import de.seuhd.campuscoffee.domain.model.PosQuery;
 import org.jspecify.annotations.NonNull;
+import org.jspecify.annotations.Nullable;
 
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.Collection;
 import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
 
 /**
  * Service interface for POS (Point of Sale) operations.
@@ -18,6 +35,51 @@ import java.util.List;
  * data operations through the {@link PosDataService} port.
  */
 public interface PosService {
+    /**
+     * Default number of POS per page if the client does not specify a limit.
+     */
+    int DEFAULT_PAGE_SIZE = 100;
+
+    /**
+     * Maximum number of POS per page.
+     */
+    int MAX_PAGE_SIZE = 1000;
+
+    /**
+     * Maximum number of OpenStreetMap nodes per bulk import.
+     */
+    int MAX_BULK_IMPORT_SIZE = 10_000;
+
+    /**
+     * Number of OpenStreetMap nodes fetched together when synchronizing the imported POS.
+     */
+    int OSM_SYNC_BATCH_SIZE = 1000;
+
+    /**
+     * Number of POS persisted together when importing an OpenStreetMap extract.
+     */
+    int OSM_EXTRACT_BATCH_SIZE = 1000;
+
+    /**
+     * Maximum number of POS per batch upsert.
+     */
+    int MAX_BATCH_SIZE = 10_000;
+
+    /**
+     * Default number of POS returned by a full-text search.
+     */
+    int DEFAULT_SEARCH_LIMIT = 20;
+
+    /**
+     * Default number of POS returned by a nearest-neighbor search.
+     */
+    int DEFAULT_NEAREST_COUNT = 10;
+
+    /**
+     * Maximum number of POS returned by a nearest-neighbor search.
+     */
+    int MAX_NEAREST_COUNT = 100;
+
     /**
      * Clears all POS data.
      * This operation removes all Points of Sale from the system.
@@ -33,6 +95,111 @@ public interface PosService {
      */
     @NonNull List<Pos> getAll();
 
+    /**
+     * Retrieves all Points of Sale with only the given fields, e.g., for map and list views.
+     * Only the selected fields are read from the data store; all other fields of the returned POS are null.
+     *
+     * @param fields the fields to retrieve; the ID is always retrieved
+     * @return a list of all POS with the selected fields; never null, but may be empty if no POSs exist
+     */
+    @NonNull List<Pos> getAll(@NonNull Set<PosField> fields);
+
+    /**
+     * Determines the version of the collection of all Points of Sale without retrieving them.
+     * The version changes whenever a POS is created or updated or all POS are cleared,
+     * so it can be used to answer conditional requests.
+     *
+     * @return the current version of the POS collection; never null
+     */
+    @NonNull PosCollectionVersion getVersion();
+
+    /**
+     * Retrieves one page of Points of Sale ordered by ID.
+     * Pages are addressed by a cursor (the ID of the last POS of the previous page) instead of an offset,
+     * so retrieving a page costs the same regardless of how many POS exist.
+     *
+     * @param after the cursor returned with the previous page; null to retrieve the first page
+     * @param limit the maximum number of POS on the page; must be between 1 and {@link #MAX_PAGE_SIZE}
+     * @return the requested page with the cursor for the next page; never null
+     * @throws IllegalArgumentException if the limit is out of range
+     */
+    @NonNull PosPage getPage(@Nullable Long after, int limit);
+
+    /**
+     * Retrieves one page of Points of Sale like {@link #getPage(Long, int)}, with only the given fields.
+     *
+     * @param after  the cursor returned with the previous page; null to retrieve the first page
+     * @param limit  the maximum number of POS on the page; must be between 1 and {@link #MAX_PAGE_SIZE}
+     * @param fields the fields to retrieve; the ID is always retrieved
+     * @return the requested page with the cursor for the next page; never null
+     * @throws IllegalArgumentException if the limit is out of range
+     */
+    @NonNull PosPage getPage(@Nullable Long after, int limit, @NonNull Set<PosField> fields);
+
+    /**
+     * Retrieves one page of the Points of Sale matching the filter criteria of the query, sorted as requested.
+     * Further pages are retrieved by passing the cursor of the page as {@code after} of the same query.
+     *
+     * @param query the filter criteria, sort order, cursor, and limit; the limit must be between 1 and
+     *              {@link #MAX_PAGE_SIZE}
+     * @return up to {@code limit} matching POS in the requested order with the cursor for the next page; never null
+     * @throws IllegalArgumentException if the limit is out of range, the postal code range is empty,
+     *                                  or the POS of the cursor no longer exists
+     */
+    @NonNull PosPage find(@NonNull PosQuery query);
+
+    /**
+     * Retrieves the Points of Sale matching the query like {@link #find(PosQuery)}, with only the given fields.
+     *
+     * @param query  the filter criteria, sort order, cursor, and limit; the limit must be between 1 and
+     *               {@link #MAX_PAGE_SIZE}
+     * @param fields the fields to retrieve; the ID is always retrieved
+     * @return up to {@code limit} matching POS in the requested order with the cursor for the next page; never null
+     * @throws IllegalArgumentException if the limit is out of range, the postal code range is empty,
+     *                                  or the POS of the cursor no longer exists
+     */
+    @NonNull PosPage find(@NonNull PosQuery query, @NonNull Set<PosField> fields);
+
+    /**
+     * Searches Points of Sale by keywords in their name and description.
+     * Matches in the name rank higher than matches in the description.
+     * The query supports web search syntax: quoted phrases, {@code or}, and {@code -} to exclude words.
+     *
+     * @param query the search query; must not be blank
+     * @param limit the maximum number of POS to return; must be between 1 and {@link #MAX_PAGE_SIZE}
+     * @return the matching POS ordered by descending relevance; never null
+     * @throws IllegalArgumentException if the query is blank or the limit is out of range
+     */
+    @NonNull List<Pos> search(@NonNull String query, int limit);
+
+    /**
+     * Finds the Points of Sale closest to the given location.
+     * POS without a known location are ignored.
+     *
+     * @param latitude  the WGS 84 latitude of the search location in degrees; must be between -90 and 90
+     * @param longitude the WGS 84 longitude of the search location in degrees; must be between -180 and 180
+     * @param k         the maximum number of POS to return; must be between 1 and {@link #MAX_NEAREST_COUNT}
+     * @return up to {@code k} POS ordered by ascending distance; never null
+     * @throws IllegalArgumentException if the location or {@code k} is out of range
+     */
+    @NonNull List<NearbyPos> findNearest(double latitude, double longitude, int k);
+
+    /**
+     * Finds Points of Sale that are likely duplicates because they share the same normalized address.
+     *
+     * @return the groups of likely duplicates; never null, but empty if there are none
+     */
+    @NonNull List<DuplicatePosGroup> findDuplicates();
+
+    /**
+     * Exports all Points of Sale by passing them to the given consumer one at a time, ordered by ID.
+     * This is intended for full exports of large catalogs: POS are streamed from the data store
+     * instead of being collected in a list first.
+     *
+     * @param consumer the consumer that receives each POS; must not be null
+     */
+    void exportAll(@NonNull Consumer<Pos> consumer);
+
     /**
      * Retrieves a specific Point of Sale by its unique identifier.
      *
@@ -42,46 +209,137 @@ public interface PosService {
      */
     @NonNull Pos getById(@NonNull Long id) throws PosNotFoundException;
 
+    /**
+     * Retrieves a specific Point of Sale by its unique identifier, with only the given fields.
+     *
+     * @param id     the unique identifier of the POS to retrieve; must not be null
+     * @param fields the fields to retrieve; the ID is always retrieved
+     * @return the POS with the specified ID and the selected fields; never null
+     * @throws PosNotFoundException if no POS exists with the given ID
+     */
+    @NonNull Pos getById(@NonNull Long id, @NonNull Set<PosField> fields) throws PosNotFoundException;
+
     /**
      * Creates a new POS or updates an existing one.
      * This method performs an "upsert" operation:
      * <ul>
      *   <li>If the POS has no ID (null), a new POS is created</li>
      *   <li>If the POS has an ID, and it exists, the existing POS is updated</li>
+     *   <li>If the POS to update also has a version, it is only updated if it was not modified since that version
+     *   (optimistic concurrency control)</li>
      * </ul>
      * <p>
      * Business rules enforced:
      * <ul>
      *   <li>POS names must be unique (enforced by database constraint)</li>
+     *   <li>When a POS is created, other POS at the same normalized address are reported as likely duplicates
+     *   (logged, not rejected); updates are not checked</li>
      *   <li>All required fields must be present and valid</li>
      *   <li>Timestamps (createdAt, updatedAt) are managed by the {@link PosDataService}.</li>
      * </ul>
      *
      * @param pos the POS entity to create or update; must not be null
      * @return the persisted POS entity with populated ID and timestamps; never null
+     * @throws IllegalArgumentException if only one coordinate is set or a coordinate is out of range
      * @throws PosNotFoundException if attempting to update a POS that does not exist
      * @throws DuplicatePosNameException if a POS with the same name already exists
+     * @throws PosVersionConflictException if the POS was modified since the given version
+     */
+    @NonNull Pos upsert(@NonNull Pos pos) throws PosNotFoundException, DuplicatePosNameException, PosVersionConflictException;
+
+    /**
+     * Creates or updates multiple Points of Sale at once.
+     * Each POS is handled like in {@link #upsert(Pos)}, but all POS are written in a single transaction
+     * using batched statements: either all POS are persisted or none.
+     *
+     * @param posList the POS entities to create or update; must not be null
+     * @return the persisted POS entities in the same order; never null
+     * @throws IllegalArgumentException if no POS or more than {@link #MAX_BATCH_SIZE} POS are given
+     * @throws PosNotFoundException if attempting to update a POS that does not exist
+     * @throws DuplicatePosNameException if a POS name occurs twice in the batch or already exists
+     * @throws PosVersionConflictException if a POS was modified since its given version
      */
-    @NonNull Pos upsert(@NonNull Pos pos) throws PosNotFoundException, DuplicatePosNameException;
+    @NonNull List<Pos> upsertAll(@NonNull List<Pos> posList) throws PosNotFoundException, DuplicatePosNameException, PosVersionConflictException;
 
     /**
      * Imports a Point of Sale from an OpenStreetMap node.
      * Fetches POS data from OpenStreetMap using the {@link OsmDataService}, converts it to a POS entity,
-     * and saves it to the system. If a POS with the same name already exists, it will be updated.
+     * and saves it to the system. If a POS with the same name already exists, it is updated.
+     * Otherwise, if a POS at the same normalized address was imported from the same node, the node was renamed
+     * and that POS is updated. Other POS at the same address are kept and only logged as possible duplicates
+     * (see {@link #findDuplicates()}), since different POS can share an address.
      * <p>
      * The import process:
      * <ol>
      *   <li>Fetches the OSM node data using the provided node ID</li>
      *   <li>Extracts relevant tags (name, address, etc.)</li>
      *   <li>Maps OSM data to the POS domain model </li>
-     *   <li>Persists the POS entity using the upsert method</li>
+     *   <li>Looks up the POS at the same address</li>
+     *   <li>Persists the POS entity, creating it or updating the POS with the same name in one operation</li>
      * </ol>
      *
      * @param nodeId the OpenStreetMap node ID to import; must not be null
      * @return the created or updated POS entity; never null
      * @throws OsmNodeNotFoundException if the OSM node with the given ID doesn't exist or cannot be fetched
      * @throws OsmNodeMissingFieldsException if the OSM node lacks required fields for creating a valid POS
-     * @throws DuplicatePosNameException if a POS with the same name already exists
+     * @throws DuplicatePosNameException if the POS of a renamed node is renamed to the name of another POS
+     * @throws PosVersionConflictException if the POS of a renamed node was changed concurrently
+     * @throws OsmServiceUnavailableException if the OpenStreetMap API is temporarily unavailable
      */
     @NonNull Pos importFromOsmNode(@NonNull Long nodeId) throws OsmNodeNotFoundException, OsmNodeMissingFieldsException, DuplicatePosNameException;
+
+    /**
+     * Imports multiple Points of Sale from OpenStreetMap nodes.
+     * In contrast to {@link #importFromOsmNode(Long)}, the nodes are fetched in batches using the
+     * {@link OsmDataService} and a failure to import one node does not abort the import of the others.
+     *
+     * @param nodeIds the OpenStreetMap node IDs to import; duplicates are ignored
+     * @return a report with one result per distinct node ID; never null
+     * @throws IllegalArgumentException if no node IDs or more than {@link #MAX_BULK_IMPORT_SIZE} node IDs are given
+     * @throws OsmServiceUnavailableException if the OpenStreetMap API is temporarily unavailable; nothing is imported
+     */
+    @NonNull OsmImportReport importFromOsmNodes(@NonNull Collection<Long> nodeIds);
+
+    /**
+     * Synchronizes all POS imported from OpenStreetMap with the current OpenStreetMap data.
+     * The current versions of the nodes are fetched in batches of {@link #OSM_SYNC_BATCH_SIZE} nodes.
+     * Only POS whose node has a new version (or no version) are converted and persisted again; other POS are not written.
+     * Updated POS keep their ID, even if the node was renamed. POS whose node no longer exists are kept.
+     * A failure to convert or persist one node does not abort the synchronization of the others.
+     *
+     * @return a report with the number of checked, updated, unchanged, missing, and failed POS; never null
+     * @throws OsmServiceUnavailableException if the OpenStreetMap API is temporarily unavailable; the POS of
+     *                                        the batches fetched before remain updated
+     */
+    @NonNull OsmSyncReport syncWithOsm();
+
+    /**
+     * Imports Points of Sale from an OpenStreetMap XML extract (e.g., of a region) without contacting the OSM API.
+     * The extract is streamed, so memory usage does not depend on its size. Only nodes tagged as café, bakery,
+     * or vending machine are converted (like in {@link #importFromOsmNode(Long)}); they are persisted in batches of
+     * {@link #OSM_EXTRACT_BATCH_SIZE} POS, using the name as natural key. In contrast to single imports,
+     * POS at the same address are not merged (see {@link #findDuplicates()}).
+     * Nodes that cannot be converted are skipped.
+     *
+     * @param extract          the OSM XML document; not closed by this method
+     * @param progressListener receives a report after each persisted batch and every million nodes read
+     * @return the final report with the number of read, imported, and skipped nodes and the throughput; never null
+     * @throws IllegalArgumentException if the extract is not well-formed OSM XML; the batches persisted before remain
+     */
+    @NonNull OsmExtractImportReport importFromOsmExtract(@NonNull InputStream extract,
+                                                         @NonNull Consumer<OsmExtractImportReport> progressListener);
+
+    /**
+     * Imports Points of Sale from an OpenStreetMap PBF extract (e.g., of a country), like
+     * {@link #importFromOsmExtract(InputStream, Consumer)}. The binary format is decoded in parallel, and only nodes
+     * with a café, bakery, or vending machine tag are materialized, so that large extracts are imported in minutes.
+     *
+     * @param extract          the path of the PBF file
+     * @param progressListener receives a report after each persisted batch and every million nodes read
+     * @return the final report with the number of read, imported, and skipped nodes and the throughput; never null
+     * @throws IllegalArgumentException if the file cannot be read or is not a valid OSM PBF file; the batches
+     *                                  persisted before remain
+     */
+    @NonNull OsmExtractImportReport importFromOsmPbfExtract(@NonNull Path extract,
+                                                            @NonNull Consumer<OsmExtractImportReport> progressListener);
 }
@@ -0,0 +1,39 @@
+package de.seuhd.campuscoffee.domain.ports;
+
+import de.seuhd.campuscoffee.domain.exceptions.OsmNodeNotFoundException;
+import de.seuhd.campuscoffee.domain.exceptions.OsmServiceUnavailableException;
+import de.seuhd.campuscoffee.domain.model.OsmNode;
+import org.jspecify.annotations.NonNull;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+
+/**
+ * Non-blocking variant of the {@link OsmDataService} port.
+ * Requests are sent without occupying a thread while waiting for the OSM API,
+ * so that many nodes can be fetched concurrently.
+ */
+public interface ReactiveOsmDataService {
+    /**
+     * Fetches an OpenStreetMap node by its ID.
+     *
+     * @param nodeId the OpenStreetMap node ID to fetch
+     * @return a mono emitting the OSM node data with tags, or failing with an {@link OsmNodeNotFoundException}
+     *         if the node doesn't exist or can't be fetched, or with an {@link OsmServiceUnavailableException}
+     *         if the OSM API is temporarily unavailable
+     */
+    @NonNull Mono<OsmNode> fetchNode(@NonNull Long nodeId);
+
+    /**
+     * Fetches multiple OpenStreetMap nodes by their IDs.
+     * Implementations should fetch the nodes in as few requests as possible and send these requests concurrently.
+     * Nodes that don't exist are omitted from the result.
+     *
+     * @param nodeIds the OpenStreetMap node IDs to fetch
+     * @return a flux emitting the OSM nodes that were found, in no particular order, or failing with an
+     *         {@link OsmServiceUnavailableException} if the OSM API is temporarily unavailable, or with another
+     *         exception if it answers with another error or an invalid response
+     */
+    @NonNull Flux<OsmNode> fetchNodes(@NonNull Collection<Long> nodeIds);
+}
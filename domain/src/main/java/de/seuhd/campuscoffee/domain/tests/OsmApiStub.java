@@ -0,0 +1,231 @@
+package de.seuhd.campuscoffee.domain.tests;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.jspecify.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongFunction;
+import java.util.stream.Collectors;
+
+/**
+ * Local stand-in for the OpenStreetMap API for tests, answering {@code GET /api/0.6/node/{id}} and
+ * {@code GET /api/0.6/nodes?nodes=...}. Like the real API, a multi-fetch is answered with 404 if any of the nodes
+ * does not exist.
+ * <ul>
+ *   <li>Nodes are either stored explicitly (and can be edited and deleted) or generated for any ID.</li>
+ *   <li>Every response can be delayed to simulate a slow API.</li>
+ *   <li>Scripted responses (e.g., errors or invalid bodies) are returned in order before the regular ones.</li>
+ *   <li>Requests are counted, including the maximum number of concurrent requests.</li>
+ * </ul>
+ */
+public final class OsmApiStub implements AutoCloseable {
+    private final HttpServer server;
+    private final Map<Long, String> nodeXmlById = new ConcurrentHashMap<>();
+    private final Queue<ScriptedResponse> script = new ConcurrentLinkedQueue<>();
+    private volatile LongFunction<@Nullable String> generatedNodes = nodeId -> null;
+    private volatile Duration delay = Duration.ZERO;
+
+    private final AtomicInteger requests = new AtomicInteger();
+    private final AtomicInteger multiFetches = new AtomicInteger();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+
+    /**
+     * A response that is returned once instead of the regular one.
+     *
+     * @param status  the status code; other codes than 200 are sent without a body
+     * @param headers additional response headers
+     * @param delay   the time to wait before responding, in addition to the delay of the stub
+     * @param body    the body of a 200 response; null for the regular body with the requested nodes
+     */
+    public record ScriptedResponse(int status, Map<String, String> headers, Duration delay, @Nullable String body) {
+        public static ScriptedResponse status(int status) {
+            return new ScriptedResponse(status, Map.of(), Duration.ZERO, null);
+        }
+    }
+
+    private OsmApiStub(HttpServer server) {
+        this.server = server;
+    }
+
+    /**
+     * Starts a stub without nodes on a random local port.
+     *
+     * @return the running stub
+     */
+    public static OsmApiStub start() {
+        try {
+            HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+            // one virtual thread per request, so that the stub itself never limits concurrency
+            server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+            OsmApiStub stub = new OsmApiStub(server);
+            server.createContext("/api/0.6/node/", stub::handleNode);
+            server.createContext("/api/0.6/nodes", stub::handleNodes);
+            server.start();
+            return stub;
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to start OSM stub server", e);
+        }
+    }
+
+    /**
+     * Builds the XML element of a node located in Heidelberg.
+     *
+     * @param nodeId  the node ID
+     * @param version the node version
+     * @param tags    the tags of the node, e.g., {@code name} and {@code addr:street}
+     * @return the {@code <node>} element
+     */
+    public static String nodeXml(long nodeId, long version, Map<String, String> tags) {
+        String tagXml = tags.entrySet().stream()
+                .map(tag -> "<tag k=\"%s\" v=\"%s\"/>".formatted(tag.getKey(), tag.getValue()))
+                .collect(Collectors.joining());
+        return "<node id=\"%d\" version=\"%d\" lat=\"49.41\" lon=\"8.69\">%s</node>".formatted(nodeId, version, tagXml);
+    }
+
+    public String baseUrl() {
+        return "http://localhost:" + server.getAddress().getPort() + "/api/0.6";
+    }
+
+    /**
+     * Generates the nodes that are not stored explicitly.
+     *
+     * @param generatedNodes returns the {@code <node>} element for an ID, or null if the node does not exist
+     */
+    public void generateNodes(LongFunction<@Nullable String> generatedNodes) {
+        this.generatedNodes = generatedNodes;
+    }
+
+    public void putNode(long nodeId, String nodeXml) {
+        nodeXmlById.put(nodeId, nodeXml);
+    }
+
+    public void deleteNode(long nodeId) {
+        nodeXmlById.remove(nodeId);
+    }
+
+    public void setDelay(Duration delay) {
+        this.delay = delay;
+    }
+
+    public void enqueue(ScriptedResponse response) {
+        script.add(response);
+    }
+
+    /**
+     * Removes all nodes and scripted responses, and resets the delay and the request counts.
+     */
+    public void reset() {
+        nodeXmlById.clear();
+        script.clear();
+        generatedNodes = nodeId -> null;
+        delay = Duration.ZERO;
+        requests.set(0);
+        multiFetches.set(0);
+        maxInFlight.set(0);
+    }
+
+    public int requests() {
+        return requests.get();
+    }
+
+    public int singleFetches() {
+        return requests.get() - multiFetches.get();
+    }
+
+    public int multiFetches() {
+        return multiFetches.get();
+    }
+
+    public int maxInFlight() {
+        return maxInFlight.get();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+
+    private void handleNode(HttpExchange exchange) throws IOException {
+        String path = exchange.getRequestURI().getPath();
+        respond(exchange, List.of(path.substring(path.lastIndexOf('/') + 1)));
+    }
+
+    private void handleNodes(HttpExchange exchange) throws IOException {
+        multiFetches.incrementAndGet();
+        String query = exchange.getRequestURI().getQuery();
+        respond(exchange, Arrays.asList(query.substring("nodes=".length()).split(",")));
+    }
+
+    private void respond(HttpExchange exchange, List<String> nodeIds) throws IOException {
+        requests.incrementAndGet();
+        maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+        try (exchange) {
+            ScriptedResponse scripted = script.poll();
+            Thread.sleep(scripted == null ? delay : delay.plus(scripted.delay()));
+            if (scripted != null) {
+                scripted.headers().forEach(exchange.getResponseHeaders()::set);
+                if (scripted.status() != 200) {
+                    exchange.sendResponseHeaders(scripted.status(), -1);
+                    return;
+                }
+            }
+            String body = scripted != null && scripted.body() != null ? scripted.body() : nodesXml(nodeIds);
+            if (body == null) {
+                exchange.sendResponseHeaders(404, -1);
+                return;
+            }
+            byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "application/xml; charset=utf-8");
+            exchange.sendResponseHeaders(200, bytes.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(bytes);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException ignored) {
+            // the client gave up waiting (e.g., after a read timeout)
+        } finally {
+            inFlight.decrementAndGet();
+        }
+    }
+
+    /**
+     * @return the response document with the requested nodes, or null if a node does not exist
+     */
+    private @Nullable String nodesXml(List<String> nodeIds) {
+        StringBuilder nodes = new StringBuilder();
+        for (String nodeId : nodeIds) {
+            String nodeXml = findNode(nodeId);
+            if (nodeXml == null) {
+                return null;
+            }
+            nodes.append(nodeXml);
+        }
+        return "<?xml version=\"1.0\" encoding=\"UTF-8\"?><osm version=\"0.6\">" + nodes + "</osm>";
+    }
+
+    private @Nullable String findNode(String nodeId) {
+        long id;
+        try {
+            id = Long.parseLong(nodeId);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+        String nodeXml = nodeXmlById.get(id);
+        return nodeXml != null ? nodeXml : generatedNodes.apply(id);
+    }
+}
@@ -2,11 +2,16 @@ package de.seuhd.campuscoffee.domain.tests;
 
 import de.seuhd.campuscoffee.domain.exceptions.OsmNodeMissingFieldsException;
 import de.seuhd.campuscoffee.domain.model.CampusType;
+import de.seuhd.campuscoffee.domain.model.OsmExtractImportReport;
+import de.seuhd.campuscoffee.domain.model.OsmImportReport;
 import de.seuhd.campuscoffee.domain.model.OsmNode;
+import de.seuhd.campuscoffee.domain.model.OsmNodeVersion;
+import de.seuhd.campuscoffee.domain.model.OsmSyncReport;
 import de.seuhd.campuscoffee.domain.model.Pos;
 import de.seuhd.campuscoffee.domain.model.PosType;
 import de.seuhd.campuscoffee.domain.ports.OsmDataService;
 import de.seuhd.campuscoffee.domain.ports.PosDataService;
+import de.seuhd.campuscoffee.domain.ports.PosService;
 import de.seuhd.campuscoffee.domain.impl.PosServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -14,13 +19,20 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.io.ByteArrayInputStream;
+import java.nio.file.Path;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.function.BiPredicate;
+import java.util.function.Consumer;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 /**
@@ -58,6 +70,7 @@ public class OsmImportTests {
         OsmNode osmNode = OsmNode.builder()
                 .nodeId(5589879349L)
                 .tags(tags)
+                .version(4L)
                 .build();
 
         // Mock the OSM data service to return the node
@@ -78,7 +91,7 @@ public class OsmImportTests {
                 .city("Heidelberg")
                 .build();
 
-        when(posDataService.upsert(any(Pos.class))).thenReturn(persistedPos);
+        when(posDataService.upsertByName(any(Pos.class))).thenReturn(persistedPos);
 
         // Act
         Pos importedPos = posService.importFromOsmNode(5589879349L);
@@ -100,7 +113,9 @@ public class OsmImportTests {
 
         // Verify that the data services were called
         verify(osmDataService, times(1)).fetchNode(5589879349L);
-        verify(posDataService, times(1)).upsert(any(Pos.class));
+        // the POS is linked to the node and its version for later syncs
+        verify(posDataService, times(1)).upsertByName(argThat(pos ->
+                Long.valueOf(5589879349L).equals(pos.osmNodeId()) && Long.valueOf(4L).equals(pos.osmVersion())));
     }
 
     @Test
@@ -124,7 +139,7 @@ public class OsmImportTests {
         assertThatThrownBy(() -> posService.importFromOsmNode(123456L))
                 .isInstanceOf(OsmNodeMissingFieldsException.class);
 
-        verify(posDataService, never()).upsert(any());
+        verify(posDataService, never()).upsertByName(any());
     }
 
     @Test
@@ -147,7 +162,7 @@ public class OsmImportTests {
         assertThatThrownBy(() -> posService.importFromOsmNode(123456L))
                 .isInstanceOf(OsmNodeMissingFieldsException.class);
 
-        verify(posDataService, never()).upsert(any());
+        verify(posDataService, never()).upsertByName(any());
     }
 
     @Test
@@ -172,7 +187,7 @@ public class OsmImportTests {
         assertThatThrownBy(() -> posService.importFromOsmNode(123456L))
                 .isInstanceOf(OsmNodeMissingFieldsException.class);
 
-        verify(posDataService, never()).upsert(any());
+        verify(posDataService, never()).upsertByName(any());
     }
 
     @Test
@@ -207,7 +222,7 @@ public class OsmImportTests {
                 .city("Heidelberg")
                 .build();
 
-        when(posDataService.upsert(any(Pos.class))).thenReturn(persistedPos);
+        when(posDataService.upsertByName(any(Pos.class))).thenReturn(persistedPos);
 
         // Act
         Pos importedPos = posService.importFromOsmNode(999999L);
@@ -216,6 +231,355 @@ public class OsmImportTests {
         assertThat(importedPos.type()).isEqualTo(PosType.BAKERY);
     }
 
+    @Test
+    void testReimportOfRenamedNodeUpdatesPosAtSameAddress() {
+        // Arrange - the café was imported from the same node before, under a slightly different name
+        Map<String, String> tags = new HashMap<>();
+        tags.put("name", "Rada Coffee & Rösterei");
+        tags.put("amenity", "cafe");
+        tags.put("addr:street", "Untere Str.");
+        tags.put("addr:housenumber", "21");
+        tags.put("addr:postcode", "69117");
+        tags.put("addr:city", "Heidelberg");
+        OsmNode osmNode = OsmNode.builder().nodeId(5589879349L).tags(tags).build();
+        when(osmDataService.fetchNode(5589879349L)).thenReturn(osmNode);
+
+        Pos existingPos = Pos.builder()
+                .id(7L)
+                .version(3L)
+                .createdAt(LocalDateTime.now())
+                .updatedAt(LocalDateTime.now())
+                .name("Rada Coffee")
+                .description("cafe")
+                .type(PosType.CAFE)
+                .campus(CampusType.ALTSTADT)
+                .street("Untere Straße")
+                .houseNumber("21")
+                .postalCode(69117)
+                .city("Heidelberg")
+                .osmNodeId(5589879349L)
+                .build();
+        when(posDataService.findDuplicateCandidates(any(Pos.class))).thenReturn(List.of(existingPos));
+        when(posDataService.upsert(any(Pos.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        Pos importedPos = posService.importFromOsmNode(5589879349L);
+
+        // Assert - the existing POS is updated, guarded by its version, instead of creating a duplicate
+        assertThat(importedPos.id()).isEqualTo(7L);
+        assertThat(importedPos.name()).isEqualTo("Rada Coffee & Rösterei");
+        verify(posDataService, times(1)).upsert(argThat(pos ->
+                Long.valueOf(7L).equals(pos.id()) && Long.valueOf(3L).equals(pos.version())));
+        verify(posDataService, never()).upsertByName(any());
+    }
+
+    @Test
+    void testImportOfOtherNodeAtSameAddressKeepsBothPos() {
+        // Arrange - another café of the same type was imported from a different node at the same address
+        Map<String, String> tags = new HashMap<>();
+        tags.put("name", "Café Botanik");
+        tags.put("amenity", "cafe");
+        tags.put("addr:street", "Untere Straße");
+        tags.put("addr:housenumber", "21");
+        tags.put("addr:postcode", "69117");
+        tags.put("addr:city", "Heidelberg");
+        OsmNode osmNode = OsmNode.builder().nodeId(1234567890L).tags(tags).build();
+        when(osmDataService.fetchNode(1234567890L)).thenReturn(osmNode);
+
+        Pos existingPos = Pos.builder()
+                .id(7L)
+                .version(3L)
+                .name("Rada Coffee & Rösterei")
+                .description("cafe")
+                .type(PosType.CAFE)
+                .campus(CampusType.ALTSTADT)
+                .street("Untere Straße")
+                .houseNumber("21")
+                .postalCode(69117)
+                .city("Heidelberg")
+                .osmNodeId(5589879349L)
+                .build();
+        when(posDataService.findDuplicateCandidates(any(Pos.class))).thenReturn(List.of(existingPos));
+        when(posDataService.upsertByName(any(Pos.class)))
+                .thenAnswer(invocation -> invocation.<Pos>getArgument(0).toBuilder().id(8L).version(0L).build());
+
+        // Act
+        Pos importedPos = posService.importFromOsmNode(1234567890L);
+
+        // Assert - a new POS is created next to the existing one, which is left untouched
+        assertThat(importedPos.id()).isEqualTo(8L);
+        assertThat(importedPos.name()).isEqualTo("Café Botanik");
+        verify(posDataService, times(1)).upsertByName(argThat(pos -> pos.id() == null));
+        verify(posDataService, never()).upsert(any());
+    }
+
+    @Test
+    void testReimportWithSameNameUpsertsByName() {
+        // Arrange - the café was imported before under the same name and at the same address
+        Map<String, String> tags = new HashMap<>();
+        tags.put("name", "Rada Coffee & Rösterei");
+        tags.put("amenity", "cafe");
+        tags.put("addr:street", "Untere Straße");
+        tags.put("addr:housenumber", "21");
+        tags.put("addr:postcode", "69117");
+        tags.put("addr:city", "Heidelberg");
+        OsmNode osmNode = OsmNode.builder().nodeId(5589879349L).tags(tags).build();
+        when(osmDataService.fetchNode(5589879349L)).thenReturn(osmNode);
+
+        Pos existingPos = Pos.builder()
+                .id(7L)
+                .name("Rada Coffee & Rösterei")
+                .description("cafe")
+                .type(PosType.CAFE)
+                .campus(CampusType.ALTSTADT)
+                .street("Untere Straße")
+                .houseNumber("21")
+                .postalCode(69117)
+                .city("Heidelberg")
+                .build();
+        when(posDataService.findDuplicateCandidates(any(Pos.class))).thenReturn(List.of(existingPos));
+        when(posDataService.upsertByName(any(Pos.class))).thenReturn(existingPos.toBuilder().version(1L).build());
+
+        // Act
+        Pos importedPos = posService.importFromOsmNode(5589879349L);
+
+        // Assert - the natural-key upsert updates the existing POS without an update by ID
+        assertThat(importedPos.id()).isEqualTo(7L);
+        verify(posDataService, times(1)).upsertByName(argThat(pos -> pos.id() == null));
+        verify(posDataService, never()).upsert(any());
+    }
+
+    @Test
+    void testBulkImportReportsFailuresPerNode() {
+        // Arrange - one complete node, one node without name, and one node that does not exist
+        Map<String, String> tags = new HashMap<>();
+        tags.put("name", "Test Cafe");
+        tags.put("amenity", "cafe");
+        tags.put("addr:street", "Untere Straße");
+        tags.put("addr:housenumber", "21");
+        tags.put("addr:postcode", "69117");
+        tags.put("addr:city", "Heidelberg");
+        OsmNode validNode = OsmNode.builder().nodeId(1L).tags(tags).build();
+        OsmNode namelessNode = OsmNode.builder().nodeId(2L).tags(Map.of("amenity", "cafe")).build();
+
+        when(osmDataService.fetchNodes(any())).thenReturn(List.of(validNode, namelessNode));
+
+        Pos persistedPos = Pos.builder()
+                .id(1L)
+                .createdAt(LocalDateTime.now())
+                .updatedAt(LocalDateTime.now())
+                .name("Test Cafe")
+                .description("cafe")
+                .type(PosType.CAFE)
+                .campus(CampusType.ALTSTADT)
+                .street("Untere Straße")
+                .houseNumber("21")
+                .postalCode(69117)
+                .city("Heidelberg")
+                .build();
+        when(posDataService.upsertByName(any(Pos.class))).thenReturn(persistedPos);
+
+        // Act - node 1 is requested twice, but must be imported only once
+        OsmImportReport report = posService.importFromOsmNodes(List.of(1L, 2L, 3L, 1L));
+
+        // Assert
+        assertThat(report.results()).hasSize(3);
+        assertThat(report.importedCount()).isEqualTo(1);
+        assertThat(report.failedCount()).isEqualTo(2);
+        assertThat(report.results().get(0).pos()).isEqualTo(persistedPos);
+        assertThat(report.results().get(1).error()).contains("required fields");
+        assertThat(report.results().get(2).error()).contains("does not exist");
+
+        verify(osmDataService, times(1)).fetchNodes(any());
+        verify(posDataService, times(1)).upsertByName(any(Pos.class));
+    }
+
+    @Test
+    void testBulkImportReportsInvalidCoordinatesPerNode() {
+        // Arrange - the middle node of the batch has a latitude out of range
+        Map<String, String> tags = new HashMap<>();
+        tags.put("amenity", "cafe");
+        tags.put("addr:street", "Untere Straße");
+        tags.put("addr:postcode", "69117");
+        tags.put("addr:city", "Heidelberg");
+        List<OsmNode> osmNodes = new ArrayList<>();
+        for (long nodeId = 1; nodeId <= 3; nodeId++) {
+            Map<String, String> nodeTags = new HashMap<>(tags);
+            nodeTags.put("name", "Test Cafe " + nodeId);
+            nodeTags.put("addr:housenumber", String.valueOf(nodeId));
+            osmNodes.add(OsmNode.builder()
+                    .nodeId(nodeId)
+                    .tags(nodeTags)
+                    .latitude(nodeId == 2 ? 91.0 : 49.41)
+                    .longitude(8.69)
+                    .build());
+        }
+        when(osmDataService.fetchNodes(any())).thenReturn(osmNodes);
+        when(posDataService.upsertByName(any(Pos.class)))
+                .thenAnswer(invocation -> invocation.<Pos>getArgument(0).toBuilder().id(1L).build());
+
+        // Act
+        OsmImportReport report = posService.importFromOsmNodes(List.of(1L, 2L, 3L));
+
+        // Assert - the invalid node fails without aborting the nodes after it
+        assertThat(report.importedCount()).isEqualTo(2);
+        assertThat(report.failedCount()).isEqualTo(1);
+        assertThat(report.results().get(1).nodeId()).isEqualTo(2L);
+        assertThat(report.results().get(1).error()).contains("Latitude");
+        assertThat(report.results().get(2).pos().name()).isEqualTo("Test Cafe 3");
+        verify(posDataService, times(2)).upsertByName(any(Pos.class));
+    }
+
+    @Test
+    void testSyncUpdatesOnlyChangedNodes() {
+        // Arrange - four imported POS: node 1 is unchanged, node 2 has a new version (and a new name),
+        // node 3 was deleted, and node 4 has a new version but lost its name
+        Map<String, String> tags = new HashMap<>();
+        tags.put("name", "Renamed Cafe");
+        tags.put("amenity", "cafe");
+        tags.put("addr:street", "Untere Straße");
+        tags.put("addr:housenumber", "21");
+        tags.put("addr:postcode", "69117");
+        tags.put("addr:city", "Heidelberg");
+        when(posDataService.getOsmNodeVersions()).thenReturn(List.of(
+                OsmNodeVersion.builder().posId(11L).nodeId(1L).version(3L).build(),
+                OsmNodeVersion.builder().posId(12L).nodeId(2L).version(3L).build(),
+                OsmNodeVersion.builder().posId(13L).nodeId(3L).version(1L).build(),
+                OsmNodeVersion.builder().posId(14L).nodeId(4L).version(1L).build()
+        ));
+        when(osmDataService.fetchCurrentNodes(List.of(1L, 2L, 3L, 4L))).thenReturn(List.of(
+                OsmNode.builder().nodeId(1L).tags(tags).version(3L).build(),
+                OsmNode.builder().nodeId(2L).tags(tags).version(4L).build(),
+                OsmNode.builder().nodeId(4L).tags(Map.of("amenity", "cafe")).version(2L).build()
+        ));
+        when(posDataService.upsert(any(Pos.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        OsmSyncReport report = posService.syncWithOsm();
+
+        // Assert - only the POS of node 2 is written, by ID and with the new node version
+        assertThat(report).isEqualTo(OsmSyncReport.builder()
+                .checked(4).updated(1).unchanged(1).missing(1).failed(1).build());
+        verify(posDataService, times(1)).upsert(argThat(pos -> Long.valueOf(12L).equals(pos.id())
+                && "Renamed Cafe".equals(pos.name())
+                && Long.valueOf(2L).equals(pos.osmNodeId())
+                && Long.valueOf(4L).equals(pos.osmVersion())
+                && pos.version() == null));
+        verify(posDataService, never()).upsertByName(any());
+        verify(osmDataService, never()).fetchNodes(any());
+    }
+
+    @Test
+    void testExtractImportFiltersAndBatches() {
+        // Arrange - one batch and one more café, a node without POS tags, and a café without address
+        List<OsmNode> nodes = new ArrayList<>();
+        for (long nodeId = 1; nodeId <= PosService.OSM_EXTRACT_BATCH_SIZE + 1; nodeId++) {
+            Map<String, String> tags = new HashMap<>();
+            tags.put("name", "Cafe " + nodeId);
+            tags.put("amenity", "cafe");
+            tags.put("addr:street", "Untere Straße");
+            tags.put("addr:housenumber", "21");
+            tags.put("addr:postcode", "69117");
+            tags.put("addr:city", "Heidelberg");
+            nodes.add(OsmNode.builder().nodeId(nodeId).tags(tags).build());
+        }
+        nodes.add(OsmNode.builder().nodeId(-1L).tags(Map.of("highway", "bus_stop")).build());
+        nodes.add(OsmNode.builder().nodeId(-2L).tags(Map.of("name", "Incomplete Cafe", "amenity", "cafe")).build());
+        when(osmDataService.readNodes(any(), any())).thenAnswer(invocation -> {
+            Consumer<OsmNode> consumer = invocation.getArgument(1);
+            nodes.forEach(consumer);
+            return (long) nodes.size();
+        });
+        when(posDataService.upsertAllByName(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        List<OsmExtractImportReport> progress = new ArrayList<>();
+
+        // Act
+        OsmExtractImportReport report = posService.importFromOsmExtract(
+                new ByteArrayInputStream(new byte[0]), progress::add);
+
+        // Assert - POS are persisted in full batches, and progress is reported after each batch
+        assertThat(report.nodesRead()).isEqualTo(nodes.size());
+        assertThat(report.posNodes()).isEqualTo(PosService.OSM_EXTRACT_BATCH_SIZE + 2);
+        assertThat(report.imported()).isEqualTo(PosService.OSM_EXTRACT_BATCH_SIZE + 1);
+        assertThat(report.skipped()).isEqualTo(1);
+        assertThat(progress).extracting(OsmExtractImportReport::imported)
+                .containsExactly((long) PosService.OSM_EXTRACT_BATCH_SIZE, PosService.OSM_EXTRACT_BATCH_SIZE + 1L);
+        verify(posDataService, times(1)).upsertAllByName(argThat(batch -> batch.size() == PosService.OSM_EXTRACT_BATCH_SIZE
+                && batch.stream().allMatch(pos -> pos.id() == null && pos.osmNodeId() != null)));
+        verify(posDataService, times(1)).upsertAllByName(argThat(batch -> batch.size() == 1));
+        verify(posDataService, never()).upsertByName(any());
+    }
+
+    @Test
+    void testExtractImportCountsUpsertedPos() {
+        // Arrange - two nodes of a chain with the same name, which the data service folds into one POS
+        List<OsmNode> nodes = new ArrayList<>();
+        for (long nodeId = 1; nodeId <= 3; nodeId++) {
+            Map<String, String> tags = new HashMap<>();
+            tags.put("name", nodeId == 3 ? "Backhaus" : "Coffee Chain");
+            tags.put("amenity", "cafe");
+            tags.put("addr:street", "Untere Straße");
+            tags.put("addr:housenumber", String.valueOf(nodeId));
+            tags.put("addr:postcode", "69117");
+            tags.put("addr:city", "Heidelberg");
+            nodes.add(OsmNode.builder().nodeId(nodeId).tags(tags).build());
+        }
+        when(osmDataService.readNodes(any(), any())).thenAnswer(invocation -> {
+            Consumer<OsmNode> consumer = invocation.getArgument(1);
+            nodes.forEach(consumer);
+            return (long) nodes.size();
+        });
+        when(posDataService.upsertAllByName(any())).thenAnswer(invocation -> {
+            Map<String, Pos> posByName = new HashMap<>();
+            invocation.<List<Pos>>getArgument(0).forEach(pos -> posByName.put(pos.name(), pos));
+            return List.copyOf(posByName.values());
+        });
+
+        // Act
+        OsmExtractImportReport report = posService.importFromOsmExtract(
+                new ByteArrayInputStream(new byte[0]), progress -> {});
+
+        // Assert - all three nodes are POS nodes, but only two POS were upserted
+        assertThat(report.posNodes()).isEqualTo(3);
+        assertThat(report.imported()).isEqualTo(2);
+        assertThat(report.skipped()).isZero();
+    }
+
+    @Test
+    void testPbfExtractImportCountsFilteredNodes() {
+        // Arrange - the reader materializes one café and one restaurant with a bakery shop tag, and skips 98 nodes
+        Map<String, String> tags = new HashMap<>();
+        tags.put("name", "Test Cafe");
+        tags.put("amenity", "cafe");
+        tags.put("addr:street", "Untere Straße");
+        tags.put("addr:housenumber", "21");
+        tags.put("addr:postcode", "69117");
+        tags.put("addr:city", "Heidelberg");
+        Path extract = Path.of("extract.osm.pbf");
+        when(osmDataService.readPbfNodes(eq(extract), any(), any())).thenAnswer(invocation -> {
+            BiPredicate<String, String> tagFilter = invocation.getArgument(1);
+            assertThat(tagFilter.test("amenity", "cafe")).isTrue();
+            assertThat(tagFilter.test("shop", "bakery")).isTrue();
+            assertThat(tagFilter.test("highway", "crossing")).isFalse();
+            OsmDataService.NodeConsumer consumer = invocation.getArgument(2);
+            consumer.accept(OsmNode.builder().nodeId(1L).tags(tags).build());
+            consumer.filteredOut(98);
+            consumer.accept(OsmNode.builder().nodeId(2L)
+                    .tags(Map.of("name", "Restaurant", "amenity", "restaurant", "shop", "bakery")).build());
+            return 100L;
+        });
+        when(posDataService.upsertAllByName(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        OsmExtractImportReport report = posService.importFromOsmPbfExtract(extract, progress -> {});
+
+        // Assert - filtered-out nodes are counted as read; the restaurant is no POS despite its shop tag
+        assertThat(report.nodesRead()).isEqualTo(100);
+        assertThat(report.posNodes()).isEqualTo(1);
+        assertThat(report.imported()).isEqualTo(1);
+        verify(posDataService, times(1)).upsertAllByName(argThat(batch -> batch.size() == 1));
+    }
+
     @Test
     void testOsmNodeTagHelpers() {
         // Arrange